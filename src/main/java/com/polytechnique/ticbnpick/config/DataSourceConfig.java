@@ -1,9 +1,9 @@
 package com.polytechnique.ticbnpick.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import javax.sql.DataSource;
 
@@ -19,13 +19,19 @@ public class DataSourceConfig {
     @Value("${DB_PASSWORD}")
     private String dbPassword;
 
+    // Sized for the email outbox workers plus Liquibase
+    @Value("${jdbc.pool.max-size:5}")
+    private int maxPoolSize;
+
     @Bean
     public DataSource dataSource() {
-        DriverManagerDataSource ds = new DriverManagerDataSource();
+        HikariDataSource ds = new HikariDataSource();
         ds.setDriverClassName("org.postgresql.Driver");
-        ds.setUrl(dbUrl);
+        ds.setJdbcUrl(dbUrl);
         ds.setUsername(dbUsername);
         ds.setPassword(dbPassword);
+        ds.setMaximumPoolSize(maxPoolSize);
+        ds.setPoolName("ticbnpick-jdbc");
         return ds;
     }
-}
\ No newline at end of file
+}
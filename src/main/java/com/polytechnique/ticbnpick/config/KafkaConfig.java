@@ -1,7 +1,12 @@
 package com.polytechnique.ticbnpick.config;
 
+import com.polytechnique.ticbnpick.events.serialization.AvroEventCodec;
+import com.polytechnique.ticbnpick.events.serialization.EventDeserializer;
+import com.polytechnique.ticbnpick.events.serialization.EventSerializer;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,35 +15,113 @@ import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Kafka configuration.
  *
+ * <p>
+ * Partition counts are set per topic with
+ * {@code kafka.topics.<topic>.partitions}. Listeners whose throughput matters
+ * run one consumer per partition of their topic on every instance, so that
+ * every partition keeps a consumer however many instances share the group;
+ * the consumers beyond the partition count stay idle until instances leave.
+ * Records are keyed by the entity whose events must stay ordered, so
+ * concurrency never reorders them.
+ *
+ * <p>
+ * Event values are written in Avro when {@code events.serialization.format}
+ * is {@code avro} and in JSON when it is {@code json}; consumers read both, see
+ * {@link EventSerializer}.
+ *
  * @author Kengfack Lagrange
  * @date 19/12/2025
  */
 @Configuration
+@RequiredArgsConstructor
 public class KafkaConfig {
 
+    private final AvroEventCodec avroEventCodec;
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${events.serialization.format:avro}")
+    private String serializationFormat;
+
+    @Value("${kafka.producer.linger-ms:10}")
+    private int lingerMs;
+
+    @Value("${kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${kafka.producer.delivery-timeout-ms:120000}")
+    private int deliveryTimeoutMs;
+
+    @Value("${kafka.topics.replicas:1}")
+    private int replicas;
+
+    @Value("${kafka.topics.delivery-person-created.partitions:3}")
+    private int deliveryPersonCreatedPartitions;
+
+    @Value("${kafka.topics.delivery-person-validated.partitions:3}")
+    private int deliveryPersonValidatedPartitions;
+
+    @Value("${kafka.topics.delivery-person-profile-updated.partitions:3}")
+    private int deliveryPersonProfileUpdatedPartitions;
+
+    @Value("${kafka.topics.announcement-published.partitions:12}")
+    private int announcementPublishedPartitions;
+
+    @Value("${kafka.topics.subscription-attempts.partitions:12}")
+    private int subscriptionAttemptsPartitions;
+
+    @Value("${kafka.topics.courier-locations.partitions:6}")
+    private int courierLocationsPartitions;
+
+    @Value("${kafka.topics.open-announcements.partitions:6}")
+    private int openAnnouncementsPartitions;
+
+    @Value("${kafka.topics.notification-requested.partitions:6}")
+    private int notificationRequestedPartitions;
+
+    @Value("${kafka.topics.notification-receipts.partitions:3}")
+    private int notificationReceiptsPartitions;
+
+    @Value("${matching.reverse.ttl-minutes:1440}")
+    private long openAnnouncementTtlMinutes;
+
     /**
      * Creates the Kafka producer factory.
      *
+     * <p>
+     * The producer is idempotent (acks=all, retries without duplicates or
+     * reordering per partition) and batches records for up to
+     * {@code kafka.producer.linger-ms}, in batches of
+     * {@code kafka.producer.batch-size} bytes compressed with
+     * {@code kafka.producer.compression-type}.
+     *
      * @return the ProducerFactory bean
      */
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(),
+                new EventSerializer(avroEventCodec, "avro".equalsIgnoreCase(serializationFormat)));
     }
 
     /**
@@ -59,8 +142,8 @@ public class KafkaConfig {
     @Bean
     public NewTopic deliveryPersonCreatedTopic() {
         return TopicBuilder.name("delivery-person-created")
-                .partitions(1)
-                .replicas(1)
+                .partitions(deliveryPersonCreatedPartitions)
+                .replicas(replicas)
                 .build();
     }
 
@@ -72,21 +155,111 @@ public class KafkaConfig {
     @Bean
     public NewTopic deliveryPersonValidatedTopic() {
         return TopicBuilder.name("delivery-person-validated")
-                .partitions(1)
-                .replicas(1)
+                .partitions(deliveryPersonValidatedPartitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    /**
+     * Creates the delivery-person-profile-updated topic.
+     *
+     * @return the NewTopic bean
+     */
+    @Bean
+    public NewTopic deliveryPersonProfileUpdatedTopic() {
+        return TopicBuilder.name("delivery-person-profile-updated")
+                .partitions(deliveryPersonProfileUpdatedPartitions)
+                .replicas(replicas)
                 .build();
     }
 
     /**
-     * Creates the announcement-published topic.
+     * Creates the announcement-published topic, keyed by announcement.
      *
      * @return the NewTopic bean
      */
     @Bean
     public NewTopic announcementPublishedTopic() {
         return TopicBuilder.name("announcement-published")
-                .partitions(1)
-                .replicas(1)
+                .partitions(announcementPublishedPartitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    /**
+     * Creates the subscription-attempts topic, keyed by announcement so that
+     * the attempts on one announcement are processed one at a time.
+     *
+     * @return the NewTopic bean
+     */
+    @Bean
+    public NewTopic subscriptionAttemptsTopic() {
+        return TopicBuilder.name("subscription-attempts")
+                .partitions(subscriptionAttemptsPartitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    /**
+     * Creates the courier-locations topic, keyed by delivery person. The topic
+     * is compacted so that it keeps the last position of every courier.
+     *
+     * @return the NewTopic bean
+     */
+    @Bean
+    public NewTopic courierLocationsTopic() {
+        return TopicBuilder.name("courier-locations")
+                .partitions(courierLocationsPartitions)
+                .replicas(replicas)
+                .compact()
+                .build();
+    }
+
+    /**
+     * Creates the open-announcements topic, keyed by announcement. The topic
+     * is compacted so that it keeps the last state of every announcement, and
+     * records older than an open announcement can live are deleted.
+     *
+     * @return the NewTopic bean
+     */
+    @Bean
+    public NewTopic openAnnouncementsTopic() {
+        return TopicBuilder.name("open-announcements")
+                .partitions(openAnnouncementsPartitions)
+                .replicas(replicas)
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG,
+                        TopicConfig.CLEANUP_POLICY_COMPACT + "," + TopicConfig.CLEANUP_POLICY_DELETE)
+                .config(TopicConfig.RETENTION_MS_CONFIG,
+                        String.valueOf(Duration.ofMinutes(openAnnouncementTtlMinutes).toMillis()))
+                .build();
+    }
+
+    /**
+     * Creates the notification-requested topic, consumed by one consumer group
+     * per delivery channel. Its partition count is the upper bound of each
+     * channel's concurrency.
+     *
+     * @return the NewTopic bean
+     */
+    @Bean
+    public NewTopic notificationRequestedTopic() {
+        return TopicBuilder.name("notification-requested")
+                .partitions(notificationRequestedPartitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    /**
+     * Creates the notification-receipts topic, carrying the receipts reported
+     * by the delivery channels.
+     *
+     * @return the NewTopic bean
+     */
+    @Bean
+    public NewTopic notificationReceiptsTopic() {
+        return TopicBuilder.name("notification-receipts")
+                .partitions(notificationReceiptsPartitions)
+                .replicas(replicas)
                 .build();
     }
 
@@ -100,12 +273,8 @@ public class KafkaConfig {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_ID_CONFIG, "ticbnpick-group");
-        configProps.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
-                org.apache.kafka.common.serialization.StringDeserializer.class);
-        configProps.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
-                org.springframework.kafka.support.serializer.JsonDeserializer.class);
-        configProps.put(org.springframework.kafka.support.serializer.JsonDeserializer.TRUSTED_PACKAGES, "*");
-        return new org.springframework.kafka.core.DefaultKafkaConsumerFactory<>(configProps);
+        return new org.springframework.kafka.core.DefaultKafkaConsumerFactory<>(configProps,
+                new org.apache.kafka.common.serialization.StringDeserializer(), new EventDeserializer(avroEventCodec));
     }
 
     /**
@@ -121,6 +290,100 @@ public class KafkaConfig {
         return factory;
     }
 
+    /**
+     * Creates the listener container factory for announcement-published.
+     *
+     * <p>
+     * The listener acknowledges records asynchronously, once their reactive
+     * matching pipeline has completed. With async acks the container defers
+     * out-of-order commits until every previous offset of the partition has
+     * been acknowledged, which keeps the at-least-once guarantee while several
+     * announcements of the same partition are processed concurrently.
+     *
+     * <p>
+     * Each instance runs one consumer per partition of the topic.
+     *
+     * @param maxPollRecords maximum number of records returned by one poll
+     * @return the ConcurrentKafkaListenerContainerFactory bean
+     */
+    @Bean
+    public org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory<String, Object> announcementListenerContainerFactory(
+            @Value("${matching.consumer.max-poll-records:50}") int maxPollRecords) {
+        org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory<String, Object> factory = new org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setCommonErrorHandler(errorHandler());
+        factory.getContainerProperties().setAckMode(
+                org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        factory.setConcurrency(announcementPublishedPartitions);
+
+        java.util.Properties consumerProperties = new java.util.Properties();
+        consumerProperties.put(org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                String.valueOf(maxPollRecords));
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+        return factory;
+    }
+
+    /**
+     * Creates the batch listener container factory for subscription-attempts,
+     * with one consumer per partition of the topic on each instance.
+     *
+     * @param maxPollRecords maximum number of attempts handled at once
+     * @return the ConcurrentKafkaListenerContainerFactory bean
+     */
+    @Bean
+    public org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory<String, Object> subscriptionListenerContainerFactory(
+            @Value("${subscription.consumer.max-poll-records:500}") int maxPollRecords) {
+        org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory<String, Object> factory = new org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setCommonErrorHandler(errorHandler());
+        factory.setBatchListener(true);
+        factory.setConcurrency(subscriptionAttemptsPartitions);
+
+        java.util.Properties consumerProperties = new java.util.Properties();
+        consumerProperties.put(org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                String.valueOf(maxPollRecords));
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+        return factory;
+    }
+
+    /**
+     * Creates the batch listener container factory for the notification
+     * delivery channels.
+     *
+     * <p>
+     * Each channel listens in its own consumer group with its own concurrency,
+     * so a slow or failing channel only delays its own offsets.
+     *
+     * @param maxPollRecords maximum number of notifications handed to a
+     *                       channel at once
+     * @return the ConcurrentKafkaListenerContainerFactory bean
+     */
+    @Bean
+    public org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory<String, Object> notificationBatchListenerContainerFactory(
+            @Value("${notification.consumer.max-poll-records:100}") int maxPollRecords) {
+        org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory<String, Object> factory = new org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setCommonErrorHandler(errorHandler());
+        factory.setBatchListener(true);
+
+        java.util.Properties consumerProperties = new java.util.Properties();
+        consumerProperties.put(org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                String.valueOf(maxPollRecords));
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+        return factory;
+    }
+
+    /**
+     * Publishes failed records to the .DLT topic.
+     *
+     * @return the DeadLetterPublishingRecoverer bean
+     */
+    @Bean
+    public org.springframework.kafka.listener.DeadLetterPublishingRecoverer deadLetterPublishingRecoverer() {
+        return new org.springframework.kafka.listener.DeadLetterPublishingRecoverer(kafkaTemplate());
+    }
+
     /**
      * Configures a robust error handler with Retry and DLQ.
      * - Fixed BackOff: 1 second interval, 3 attempts.
@@ -133,9 +396,7 @@ public class KafkaConfig {
     public org.springframework.kafka.listener.DefaultErrorHandler errorHandler() {
         org.springframework.util.backoff.FixedBackOff fixedBackOff = new org.springframework.util.backoff.FixedBackOff(
                 1000L, 3);
-        org.springframework.kafka.listener.DeadLetterPublishingRecoverer recoverer = new org.springframework.kafka.listener.DeadLetterPublishingRecoverer(
-                kafkaTemplate());
-
-        return new org.springframework.kafka.listener.DefaultErrorHandler(recoverer, fixedBackOff);
+        return new org.springframework.kafka.listener.DefaultErrorHandler(deadLetterPublishingRecoverer(),
+                fixedBackOff);
     }
 }
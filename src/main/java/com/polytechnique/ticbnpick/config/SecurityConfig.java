@@ -36,6 +36,7 @@ public class SecurityConfig {
                                                 .pathMatchers(HttpMethod.GET, "/api/clients/check-national-id")
                                                 .permitAll() // Allow CNI check
                                                 .pathMatchers("/actuator/**").permitAll()
+                                                .pathMatchers(WebSocketConfig.COURIER_CHANNEL_PATH).permitAll()
                                                 .pathMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html",
                                                                 "/webjars/**")
                                                 .permitAll()
@@ -0,0 +1,32 @@
+package com.polytechnique.ticbnpick.config;
+
+import com.polytechnique.ticbnpick.websocket.CourierLocationWebSocketHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.Map;
+
+/**
+ * WebSocket endpoints configuration.
+ *
+ * <p>The courier location channel is mapped on {@code /ws/couriers}. The
+ * handshake is not authenticated by the security filter chain: the first
+ * frame of the connection carries the JWT.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Configuration
+public class WebSocketConfig {
+
+    public static final String COURIER_CHANNEL_PATH = "/ws/couriers";
+
+    @Bean
+    public HandlerMapping webSocketHandlerMapping(CourierLocationWebSocketHandler courierLocationWebSocketHandler) {
+        return new SimpleUrlHandlerMapping(Map.of(COURIER_CHANNEL_PATH, courierLocationWebSocketHandler),
+                Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -1,13 +1,24 @@
 package com.polytechnique.ticbnpick.controllers;
 
 import com.polytechnique.ticbnpick.dtos.requests.DeliveryPersonLocationUpdateRequest;
+import com.polytechnique.ticbnpick.dtos.responses.LocationHistoryPointResponse;
+import com.polytechnique.ticbnpick.exceptions.ForbiddenOperationException;
+import com.polytechnique.ticbnpick.exceptions.ResourceNotFoundException;
+import com.polytechnique.ticbnpick.exceptions.ValidationException;
 import com.polytechnique.ticbnpick.services.DeliveryPersonLocationService;
+import com.polytechnique.ticbnpick.services.NotificationRecipientResolver;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.security.Principal;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -22,6 +33,10 @@ import java.util.UUID;
 public class DeliveryPersonLocationController {
 
     private final DeliveryPersonLocationService deliveryPersonLocationService;
+    private final NotificationRecipientResolver notificationRecipientResolver;
+
+    @Value("${admin.email:admin@ticbnpick.com}")
+    private String adminEmail;
 
     @PatchMapping("/{id}/location")
     public Mono<ResponseEntity<Void>> updateLocation(
@@ -31,4 +46,43 @@ public class DeliveryPersonLocationController {
         return deliveryPersonLocationService.updateLocation(id, request.getLatitude(), request.getLongitude())
                 .then(Mono.just(ResponseEntity.ok().build()));
     }
+
+    /**
+     * Streams the recorded track of a delivery person over [from, to).
+     * Clients asking for application/x-ndjson receive one point per line as
+     * rows are read. Only the delivery person itself and the admin may read
+     * it.
+     */
+    @GetMapping(value = "/{id}/location-history",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<LocationHistoryPointResponse> getLocationHistory(
+            Principal principal,
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+
+        if (!from.isBefore(to)) {
+            return Flux.error(new ValidationException("'from' must be before 'to'"));
+        }
+        return authorizeHistory(principal.getName(), id)
+                .thenMany(Flux.defer(() -> deliveryPersonLocationService.getLocationHistory(id, from, to)))
+                .map(point -> new LocationHistoryPointResponse(
+                        point.getRecordedAt(), point.getLatitude(), point.getLongitude()));
+    }
+
+    /**
+     * Lets the admin through, and the person whose delivery person profile is
+     * requested.
+     */
+    private Mono<Void> authorizeHistory(String email, UUID deliveryPersonId) {
+        if (email.equalsIgnoreCase(adminEmail)) {
+            return Mono.empty();
+        }
+        return notificationRecipientResolver.recipientIds(email)
+                .onErrorResume(ResourceNotFoundException.class, e -> Mono.empty())
+                .filter(recipientIds -> recipientIds.contains(deliveryPersonId))
+                .switchIfEmpty(Mono.error(new ForbiddenOperationException(
+                        "Only the delivery person or an admin can read its location history")))
+                .then();
+    }
 }
@@ -0,0 +1,90 @@
+package com.polytechnique.ticbnpick.controllers;
+
+import com.polytechnique.ticbnpick.dtos.requests.DeviceTokenRegistrationRequest;
+import com.polytechnique.ticbnpick.dtos.requests.NotificationReceiptRequest;
+import com.polytechnique.ticbnpick.dtos.responses.NotificationResponse;
+import com.polytechnique.ticbnpick.dtos.responses.UnreadNotificationCountResponse;
+import com.polytechnique.ticbnpick.services.NotificationLifecycleService;
+import com.polytechnique.ticbnpick.services.NotificationStreamService;
+import com.polytechnique.ticbnpick.services.support.PushNotificationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Controller for the notifications of the authenticated person.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationStreamService notificationStreamService;
+    private final PushNotificationService pushNotificationService;
+    private final NotificationLifecycleService notificationLifecycleService;
+
+    /**
+     * Streams new notifications as Server-Sent Events. A client reconnecting
+     * with a Last-Event-ID header first receives what it missed.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<NotificationResponse>> stream(
+            Principal principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) UUID lastEventId) {
+        return notificationStreamService.stream(principal.getName(), lastEventId);
+    }
+
+    /**
+     * Registers the device of the authenticated person for push
+     * notifications. Registering a known token again refreshes it.
+     */
+    @PutMapping("/device-tokens")
+    public Mono<ResponseEntity<Void>> registerDeviceToken(
+            Principal principal,
+            @Valid @RequestBody DeviceTokenRegistrationRequest request) {
+        return pushNotificationService.registerDeviceToken(principal.getName(), request.getToken(),
+                        request.getPlatform())
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Marks a batch of notifications of the authenticated person as
+     * DELIVERED or READ. Notifications already further along, or belonging
+     * to someone else, are left unchanged.
+     */
+    @PostMapping("/receipts")
+    public Mono<ResponseEntity<Void>> acknowledge(
+            Principal principal,
+            @Valid @RequestBody NotificationReceiptRequest request) {
+        return notificationLifecycleService.acknowledge(principal.getName(), request.getNotificationIds(),
+                        request.getStatus())
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Returns the number of notifications the authenticated person has not
+     * read yet.
+     */
+    @GetMapping("/unread-count")
+    public Mono<UnreadNotificationCountResponse> unreadCount(Principal principal) {
+        return notificationLifecycleService.countUnread(principal.getName())
+                .map(UnreadNotificationCountResponse::new);
+    }
+}
@@ -2,6 +2,7 @@ package com.polytechnique.ticbnpick.dtos.announcement;
 
 import com.polytechnique.ticbnpick.dtos.address.AddressDTO;
 import com.polytechnique.ticbnpick.dtos.packet.PacketDTO;
+import com.polytechnique.ticbnpick.models.enums.delivery.DeliveryUrgency;
 import java.util.UUID;
 import lombok.Data;
 
@@ -18,6 +19,7 @@ public class AnnouncementRequestDTO {
     private String shipperEmail;
     private String shipperPhone;
     private Float amount;
+    private DeliveryUrgency urgency;
 
     private AddressDTO pickupAddress;
     private AddressDTO deliveryAddress;
@@ -3,6 +3,7 @@ package com.polytechnique.ticbnpick.dtos.announcement;
 import com.polytechnique.ticbnpick.dtos.address.AddressDTO;
 import com.polytechnique.ticbnpick.dtos.packet.PacketDTO;
 import com.polytechnique.ticbnpick.models.enums.announcement.AnnouncementStatus;
+import com.polytechnique.ticbnpick.models.enums.delivery.DeliveryUrgency;
 import java.time.Instant;
 import java.util.UUID;
 import lombok.Data;
@@ -34,6 +35,7 @@ public class AnnouncementResponseDTO {
     private String shipperEmail;
     private String shipperPhone;
     private Float amount;
+    private DeliveryUrgency urgency;
 
     private AddressDTO pickupAddress;
     private AddressDTO deliveryAddress;
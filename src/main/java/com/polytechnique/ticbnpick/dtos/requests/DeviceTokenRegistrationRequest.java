@@ -0,0 +1,26 @@
+package com.polytechnique.ticbnpick.dtos.requests;
+
+import com.polytechnique.ticbnpick.models.enums.device.DevicePlatform;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for registering a device for push notifications.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceTokenRegistrationRequest {
+
+    @NotBlank(message = "Token is required")
+    private String token;
+
+    @NotNull(message = "Platform is required")
+    private DevicePlatform platform;
+}
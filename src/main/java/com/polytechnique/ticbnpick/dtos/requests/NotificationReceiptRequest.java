@@ -0,0 +1,29 @@
+package com.polytechnique.ticbnpick.dtos.requests;
+
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for acknowledging a batch of notifications.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReceiptRequest {
+
+    @NotEmpty(message = "Notification IDs are required")
+    private List<@NotNull UUID> notificationIds;
+
+    @NotNull(message = "Status is required")
+    private NotificationStatus status;
+}
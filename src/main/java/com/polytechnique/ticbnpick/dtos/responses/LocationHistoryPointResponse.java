@@ -0,0 +1,21 @@
+package com.polytechnique.ticbnpick.dtos.responses;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One point of a delivery person's recorded track.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationHistoryPointResponse {
+    private Instant recordedAt;
+    private Double latitude;
+    private Double longitude;
+}
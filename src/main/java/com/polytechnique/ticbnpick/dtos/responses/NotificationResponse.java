@@ -0,0 +1,28 @@
+package com.polytechnique.ticbnpick.dtos.responses;
+
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A notification as delivered to the in-app notification stream.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationResponse {
+    private UUID id;
+    private NotificationType notificationType;
+    private String title;
+    private String message;
+    private UUID announcementId;
+    private Instant createdAt;
+}
@@ -0,0 +1,18 @@
+package com.polytechnique.ticbnpick.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for the number of unread notifications.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadNotificationCountResponse {
+    private long unread;
+}
@@ -0,0 +1,28 @@
+package com.polytechnique.ticbnpick.dtos.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Frame sent by a courier app over the location WebSocket.
+ *
+ * <p>The first frame of a connection must be {@code AUTH} with the JWT
+ * returned at login; the following ones are {@code LOCATION} frames.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourierInboundFrame {
+
+    public static final String AUTH = "AUTH";
+    public static final String LOCATION = "LOCATION";
+
+    private String type;
+    private String token;
+    private Double latitude;
+    private Double longitude;
+}
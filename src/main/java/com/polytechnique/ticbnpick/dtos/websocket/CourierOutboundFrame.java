@@ -0,0 +1,30 @@
+package com.polytechnique.ticbnpick.dtos.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Frame pushed to a courier app over the location WebSocket: the
+ * authentication acknowledgment, then the match offers.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourierOutboundFrame {
+
+    public static final String AUTH_OK = "AUTH_OK";
+    public static final String OFFER = "OFFER";
+
+    private String type;
+    private UUID announcementId;
+    private String title;
+    private String message;
+}
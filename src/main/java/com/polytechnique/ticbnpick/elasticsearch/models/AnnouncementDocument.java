@@ -1,6 +1,7 @@
 package com.polytechnique.ticbnpick.elasticsearch.models;
 
 import com.polytechnique.ticbnpick.dtos.packet.PacketDTO;
+import com.polytechnique.ticbnpick.models.enums.delivery.DeliveryUrgency;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -48,4 +49,7 @@ public class AnnouncementDocument {
 
     @Field(type = FieldType.Float)
     private Float amount;
+
+    @Field(type = FieldType.Keyword)
+    private DeliveryUrgency urgency;
 }
@@ -1,5 +1,7 @@
 package com.polytechnique.ticbnpick.elasticsearch.models;
 
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsClass;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -71,4 +73,19 @@ public class DeliveryPersonDocument {
 
     @Field(type = FieldType.Boolean)
     private Boolean isAvailable;
+
+    @Field(type = FieldType.Double)
+    private Double rating;
+
+    @Field(type = FieldType.Integer)
+    private Integer failedDeliveries;
+
+    @Field(type = FieldType.Keyword)
+    private LogisticsType logisticsType;
+
+    @Field(type = FieldType.Double)
+    private Double luggageMaxCapacity;
+
+    @Field(type = FieldType.Keyword)
+    private LogisticsClass logisticsClass;
 }
@@ -16,7 +16,10 @@ import java.util.UUID;
  * @date 03/02/2026
  */
 @Repository
-public interface DeliveryPersonSearchRepository extends ReactiveElasticsearchRepository<DeliveryPersonDocument, UUID> {
+public interface DeliveryPersonSearchRepository extends ReactiveElasticsearchRepository<DeliveryPersonDocument, UUID>,
+        DeliveryPersonSearchRepositoryCustom {
     Flux<DeliveryPersonDocument> findByIsAvailableTrueAndIsActiveTrueAndLocationNear(GeoPoint location,
             Distance distance);
+
+    Flux<DeliveryPersonDocument> findByIsAvailableTrueAndIsActiveTrue();
 }
@@ -0,0 +1,62 @@
+package com.polytechnique.ticbnpick.elasticsearch.repositories;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.services.matching.PacketRequirement;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custom queries of {@link DeliveryPersonSearchRepository} that cannot be
+ * derived from method names.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public interface DeliveryPersonSearchRepositoryCustom {
+
+    /**
+     * Finds the available and active couriers within a radius whose vehicle
+     * can carry a packet.
+     *
+     * @param center      center of the search
+     * @param radiusKm    search radius in kilometers
+     * @param requirement vehicle requirement of the packet
+     * @return the eligible couriers
+     */
+    Flux<DeliveryPersonDocument> findEligibleNear(GeoPoint center, double radiusKm, PacketRequirement requirement);
+
+    /**
+     * Writes a batch of courier positions with a single bulk request.
+     *
+     * @param locationUpdates couriers whose position and availability only are
+     *                        sent; the full document is indexed if missing
+     * @param fullWrites      couriers whose whole document is written
+     * @return a Mono completing once Elasticsearch acknowledged the batch
+     */
+    Mono<Void> bulkUpdateLocations(List<DeliveryPersonDocument> locationUpdates,
+            List<DeliveryPersonDocument> fullWrites);
+
+    /**
+     * Sets the availability of a batch of existing courier documents with a
+     * single bulk request.
+     *
+     * @param deliveryPersonIds the couriers to update
+     * @param available         the new availability
+     * @return a Mono completing once Elasticsearch acknowledged the batch
+     */
+    Mono<Void> bulkUpdateAvailability(Collection<UUID> deliveryPersonIds, boolean available);
+
+    /**
+     * Partially updates the non-null fields of a courier document, leaving
+     * its position and availability untouched.
+     *
+     * @param profile the courier document without location nor availability
+     * @return a Mono completing once Elasticsearch acknowledged the update
+     */
+    Mono<Void> updateProfile(DeliveryPersonDocument profile);
+}
@@ -0,0 +1,118 @@
+package com.polytechnique.ticbnpick.elasticsearch.repositories;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsClass;
+import com.polytechnique.ticbnpick.services.matching.PacketRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link DeliveryPersonSearchRepositoryCustom} on top of
+ * {@link ReactiveElasticsearchOperations}. The vehicle requirement is part of
+ * the geo query so ineligible couriers are never fetched, and location pings
+ * only send the changed fields.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@RequiredArgsConstructor
+public class DeliveryPersonSearchRepositoryCustomImpl implements DeliveryPersonSearchRepositoryCustom {
+
+    private final ReactiveElasticsearchOperations elasticsearchOperations;
+
+    @Override
+    public Flux<DeliveryPersonDocument> findEligibleNear(GeoPoint center, double radiusKm,
+            PacketRequirement requirement) {
+        Criteria criteria = new Criteria("isAvailable").is(true)
+                .and(new Criteria("isActive").is(true))
+                .and(new Criteria("location").within(center, radiusKm + "km"));
+
+        if (requirement.getMinLuggageCapacity() != null) {
+            // Couriers without a known capacity stay eligible
+            criteria = criteria.subCriteria(
+                    new Criteria("luggageMaxCapacity").greaterThanEqual(requirement.getMinLuggageCapacity())
+                            .or(new Criteria("luggageMaxCapacity").exists().not()));
+        }
+        if (requirement.isFragile()) {
+            criteria = criteria.and(new Criteria("logisticsClass").is(LogisticsClass.DAMAGED.name()).not());
+        }
+
+        return elasticsearchOperations.search(new CriteriaQuery(criteria, Pageable.unpaged()),
+                        DeliveryPersonDocument.class)
+                .map(SearchHit::getContent);
+    }
+
+    @Override
+    public Mono<Void> bulkUpdateLocations(List<DeliveryPersonDocument> locationUpdates,
+            List<DeliveryPersonDocument> fullWrites) {
+        List<UpdateQuery> queries = new ArrayList<>(locationUpdates.size() + fullWrites.size());
+        for (DeliveryPersonDocument document : locationUpdates) {
+            Document changes = Document.create();
+            changes.put("location",
+                    Map.of("lat", document.getLocation().getLat(), "lon", document.getLocation().getLon()));
+            changes.put("isAvailable", document.getIsAvailable());
+            queries.add(UpdateQuery.builder(document.getId().toString())
+                    .withDocument(changes)
+                    .withUpsert(toDocument(document))
+                    .build());
+        }
+        for (DeliveryPersonDocument document : fullWrites) {
+            queries.add(UpdateQuery.builder(document.getId().toString())
+                    .withDocument(toDocument(document))
+                    .withDocAsUpsert(true)
+                    .build());
+        }
+        if (queries.isEmpty()) {
+            return Mono.empty();
+        }
+        return elasticsearchOperations.bulkUpdate(queries,
+                elasticsearchOperations.getIndexCoordinatesFor(DeliveryPersonDocument.class));
+    }
+
+    @Override
+    public Mono<Void> bulkUpdateAvailability(Collection<UUID> deliveryPersonIds, boolean available) {
+        if (deliveryPersonIds.isEmpty()) {
+            return Mono.empty();
+        }
+        List<UpdateQuery> queries = new ArrayList<>(deliveryPersonIds.size());
+        for (UUID deliveryPersonId : deliveryPersonIds) {
+            Document changes = Document.create();
+            changes.put("isAvailable", available);
+            queries.add(UpdateQuery.builder(deliveryPersonId.toString())
+                    .withDocument(changes)
+                    .build());
+        }
+        return elasticsearchOperations.bulkUpdate(queries,
+                elasticsearchOperations.getIndexCoordinatesFor(DeliveryPersonDocument.class));
+    }
+
+    @Override
+    public Mono<Void> updateProfile(DeliveryPersonDocument profile) {
+        UpdateQuery query = UpdateQuery.builder(profile.getId().toString())
+                .withDocument(toDocument(profile))
+                .withDocAsUpsert(true)
+                .build();
+        return elasticsearchOperations
+                .update(query, elasticsearchOperations.getIndexCoordinatesFor(DeliveryPersonDocument.class))
+                .then();
+    }
+
+    private Document toDocument(DeliveryPersonDocument document) {
+        return elasticsearchOperations.getElasticsearchConverter().mapObject(document);
+    }
+}
@@ -0,0 +1,27 @@
+package com.polytechnique.ticbnpick.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event triggered when an announcement is deleted or taken by a delivery
+ * person.
+ *
+ * <p>Published to the compacted Kafka topic "open-announcements", keyed by
+ * announcement, so that every node stops reverse matching it and the
+ * announcement is not registered again on restart.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementClosedEvent {
+    private UUID announcementId;
+    private Instant closedAt;
+}
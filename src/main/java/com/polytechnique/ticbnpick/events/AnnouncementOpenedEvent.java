@@ -0,0 +1,45 @@
+package com.polytechnique.ticbnpick.events;
+
+import com.polytechnique.ticbnpick.dtos.packet.PacketDTO;
+import com.polytechnique.ticbnpick.models.enums.delivery.DeliveryUrgency;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event triggered when forward matching of an announcement is done and the
+ * announcement stays open for couriers arriving later.
+ *
+ * <p>Published to the compacted Kafka topic "open-announcements", keyed by
+ * announcement, so that every node, including one that restarts, registers
+ * it for reverse matching. {@code delta} is the expansion forward matching
+ * settled on, null if no courier was found.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementOpenedEvent {
+    private UUID announcementId;
+    private UUID clientId;
+    private Double pickupLatitude;
+    private Double pickupLongitude;
+    private Double deliveryLatitude;
+    private Double deliveryLongitude;
+    private PacketDTO packet;
+    private Instant createdAt;
+    private Float amount;
+    private DeliveryUrgency urgency;
+    private Double delta;
+    private List<UUID> notified;
+    private int maxNotifications;
+    private Instant expiresAt;
+}
@@ -0,0 +1,37 @@
+package com.polytechnique.ticbnpick.events;
+
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierProfile;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event triggered when the position or the availability of a delivery person
+ * changes.
+ *
+ * <p>Published to the compacted Kafka topic "courier-locations", keyed by
+ * delivery person, so that the courier index of every node follows every
+ * courier whichever node received the ping. A courier going offline is
+ * published with {@code available} false and no position.
+ *
+ * <p>A position carries the profile the receiving node had cached, so the
+ * other nodes index the courier without reading its profile from the
+ * database.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourierLocationChangedEvent {
+    private UUID deliveryPersonId;
+    private Double latitude;
+    private Double longitude;
+    private boolean available;
+    private Instant occurredAt;
+    private CourierProfile profile;
+}
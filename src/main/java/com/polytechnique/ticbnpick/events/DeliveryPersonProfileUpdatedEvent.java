@@ -0,0 +1,24 @@
+package com.polytechnique.ticbnpick.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Event triggered when the profile, vehicle or status of a delivery person
+ * changes.
+ *
+ * <p>Published to Kafka topic "delivery-person-profile-updated" so that every
+ * node refreshes its cached courier profile.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryPersonProfileUpdatedEvent {
+    private UUID deliveryPersonId;
+}
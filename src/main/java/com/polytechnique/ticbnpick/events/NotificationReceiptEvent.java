@@ -0,0 +1,27 @@
+package com.polytechnique.ticbnpick.events;
+
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published when a delivery channel learns what became of a
+ * notification, e.g. that it reached the device of its recipient.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReceiptEvent {
+    private UUID notificationId;
+    private NotificationStatus status;
+    private Instant occurredAt;
+}
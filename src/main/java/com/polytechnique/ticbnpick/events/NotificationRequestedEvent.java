@@ -0,0 +1,33 @@
+package com.polytechnique.ticbnpick.events;
+
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event published once a notification has been persisted, asking every
+ * delivery channel (email, push, in-app) to deliver it.
+ * Keyed by recipient so that the notifications of one person stay ordered.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationRequestedEvent {
+    private UUID notificationId;
+    private UUID recipientId;
+    private String recipientEmail;
+    private NotificationType notificationType;
+    private String title;
+    private String message;
+    private UUID announcementId;
+    private Instant createdAt;
+}
@@ -0,0 +1,126 @@
+package com.polytechnique.ticbnpick.events.serialization;
+
+import com.polytechnique.ticbnpick.events.serialization.EventSchemaRegistry.EventSchema;
+import lombok.RequiredArgsConstructor;
+import org.apache.avro.Conversions;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.reflect.ReflectData;
+import org.apache.avro.reflect.ReflectDatumReader;
+import org.apache.avro.reflect.ReflectDatumWriter;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avro binary encoding of the events.
+ *
+ * <p>An encoded event is a magic byte, the version of its schema as a 4-byte
+ * big-endian integer and the Avro binary body. The event classes are mapped
+ * by reflection, so they stay plain Lombok classes: the record and enum names
+ * of the schemas are the Java class names.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Component
+@RequiredArgsConstructor
+public class AvroEventCodec {
+
+    static final byte MAGIC_BYTE = 0x0;
+    static final int HEADER_SIZE = 5;
+
+    private static final String EVENTS_PACKAGE = "com.polytechnique.ticbnpick.events";
+
+    private static final ReflectData DATA = new ReflectData();
+
+    static {
+        DATA.addLogicalTypeConversion(new Conversions.UUIDConversion());
+        DATA.addLogicalTypeConversion(new TimeConversions.TimestampMicrosConversion());
+    }
+
+    private final EventSchemaRegistry eventSchemaRegistry;
+
+    private final Map<EventSchema, DatumWriter<Object>> writers = new ConcurrentHashMap<>();
+    private final Map<EventSchema, DatumReader<Object>> readers = new ConcurrentHashMap<>();
+
+    /**
+     * @param event an event
+     * @return the schema to write the event with, empty if it has none
+     */
+    public Optional<EventSchema> schemaFor(Object event) {
+        Class<?> type = event.getClass();
+        if (!EVENTS_PACKAGE.equals(type.getPackageName())) {
+            return Optional.empty();
+        }
+        return eventSchemaRegistry.latest(type.getSimpleName());
+    }
+
+    /**
+     * Encodes an event.
+     *
+     * @param schema the schema of the event, see {@link #schemaFor(Object)}
+     * @param event  the event
+     * @return the encoded event
+     */
+    public byte[] encode(EventSchema schema, Object event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(schema.version()).array());
+        try {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            writers.computeIfAbsent(schema, s -> new ReflectDatumWriter<>(s.schema(), DATA))
+                    .write(event, encoder);
+            encoder.flush();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Cannot encode " + schema.subject() + " v" + schema.version(), e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param data a record value
+     * @return true if the value was written by {@link #encode}
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC_BYTE;
+    }
+
+    /**
+     * Decodes an event, resolving the schema it was written with against the
+     * latest schema of its subject.
+     *
+     * @param subject the event subject
+     * @param data    the encoded event
+     * @return the event
+     */
+    public Object decode(String subject, byte[] data) {
+        if (!isEncoded(data)) {
+            throw new SerializationException("Not an Avro encoded " + subject);
+        }
+        int version = ByteBuffer.wrap(data, 1, Integer.BYTES).getInt();
+        EventSchema writer = eventSchemaRegistry.schema(subject, version)
+                .orElseThrow(() -> new SerializationException("Unknown schema " + subject + " v" + version));
+        EventSchema reader = eventSchemaRegistry.latest(subject).orElse(writer);
+        try {
+            BinaryDecoder decoder = DecoderFactory.get()
+                    .binaryDecoder(data, HEADER_SIZE, data.length - HEADER_SIZE, null);
+            return readers.computeIfAbsent(writer,
+                            w -> new ReflectDatumReader<>(w.schema(), reader.schema(), DATA))
+                    .read(null, decoder);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Cannot decode " + subject + " v" + version, e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.polytechnique.ticbnpick.events.serialization;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Kafka deserializer of the events written by {@link EventSerializer}.
+ *
+ * <p>Avro records are recognized by their subject header and magic byte;
+ * anything else is read as JSON, trusting only the types of the events
+ * package.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public class EventDeserializer implements Deserializer<Object> {
+
+    private static final String EVENTS_PACKAGE = "com.polytechnique.ticbnpick.events";
+
+    private final AvroEventCodec avroEventCodec;
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    /**
+     * @param avroEventCodec the Avro codec
+     */
+    public EventDeserializer(AvroEventCodec avroEventCodec) {
+        this.avroEventCodec = avroEventCodec;
+        this.jsonDeserializer.addTrustedPackages(EVENTS_PACKAGE);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Header subject = headers.lastHeader(EventSerializer.SUBJECT_HEADER);
+        if (subject != null && AvroEventCodec.isEncoded(data)) {
+            return avroEventCodec.decode(new String(subject.value(), StandardCharsets.UTF_8), data);
+        }
+        return jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,42 @@
+package com.polytechnique.ticbnpick.events.serialization;
+
+import org.apache.avro.Schema;
+
+import java.util.Optional;
+
+/**
+ * Versioned Avro schemas of the Kafka events.
+ *
+ * <p>A subject is the simple name of an event class of the
+ * {@code com.polytechnique.ticbnpick.events} package. Producers write with the
+ * latest version of a subject and tag each record with it; consumers read it
+ * back with the schema of that version, resolved against their own latest one.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public interface EventSchemaRegistry {
+
+    /**
+     * @param subject the event subject
+     * @return the latest schema of the subject, empty if it has none
+     */
+    Optional<EventSchema> latest(String subject);
+
+    /**
+     * @param subject the event subject
+     * @param version the schema version
+     * @return the schema, empty if the version is unknown
+     */
+    Optional<EventSchema> schema(String subject, int version);
+
+    /**
+     * One version of the schema of a subject.
+     *
+     * @param subject the event subject
+     * @param version the version, starting at 1
+     * @param schema  the Avro schema
+     */
+    record EventSchema(String subject, int version, Schema schema) {
+    }
+}
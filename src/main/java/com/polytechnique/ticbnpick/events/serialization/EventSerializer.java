@@ -0,0 +1,72 @@
+package com.polytechnique.ticbnpick.events.serialization;
+
+import com.polytechnique.ticbnpick.events.serialization.EventSchemaRegistry.EventSchema;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Kafka serializer of the events.
+ *
+ * <p>Events with a schema are written in Avro, see {@link AvroEventCodec},
+ * and carry their subject in the {@value #SUBJECT_HEADER} header. Other values,
+ * or every value when Avro is disabled, are written in JSON as before, so
+ * consumers read both during a rollout.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public class EventSerializer implements Serializer<Object> {
+
+    public static final String SUBJECT_HEADER = "event-subject";
+
+    private final AvroEventCodec avroEventCodec;
+    private final boolean avroEnabled;
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+
+    /**
+     * @param avroEventCodec the Avro codec
+     * @param avroEnabled    false to keep writing every event in JSON
+     */
+    public EventSerializer(AvroEventCodec avroEventCodec, boolean avroEnabled) {
+        this.avroEventCodec = avroEventCodec;
+        this.avroEnabled = avroEnabled;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof byte[] bytes) {
+            // Already serialized, e.g. a record that could not be read, on its way to a dead letter topic
+            return bytes;
+        }
+        headers.remove(SUBJECT_HEADER);
+        Optional<EventSchema> schema = avroEnabled ? avroEventCodec.schemaFor(data) : Optional.empty();
+        if (schema.isEmpty()) {
+            return jsonSerializer.serialize(topic, headers, data);
+        }
+        headers.add(SUBJECT_HEADER, schema.get().subject().getBytes(StandardCharsets.UTF_8));
+        return avroEventCodec.encode(schema.get(), data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
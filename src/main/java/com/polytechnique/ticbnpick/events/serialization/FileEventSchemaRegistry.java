@@ -0,0 +1,112 @@
+package com.polytechnique.ticbnpick.events.serialization;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.SchemaCompatibility.SchemaCompatibilityType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Schema registry backed by {@code .avsc} files, standing in for a schema
+ * registry server.
+ *
+ * <p>Schemas are loaded once from {@code events.schema-registry.location},
+ * laid out as {@code <subject>/v<version>.avsc}. Each version must be fully
+ * compatible with the previous one of its subject: it can read what the
+ * previous version wrote and the other way round, so producers and consumers
+ * can be upgraded in any order. An incompatible schema fails the startup.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+public class FileEventSchemaRegistry implements EventSchemaRegistry {
+
+    private static final Pattern SCHEMA_FILE = Pattern.compile("([^/]+)/v(\\d+)\\.avsc$");
+
+    private final Map<String, NavigableMap<Integer, EventSchema>> subjects = new TreeMap<>();
+
+    public FileEventSchemaRegistry(
+            @Value("${events.schema-registry.location:classpath*:avro/*/v*.avsc}") String location) {
+        this(new PathMatchingResourcePatternResolver(), location);
+    }
+
+    FileEventSchemaRegistry(ResourcePatternResolver resolver, String location) {
+        try {
+            for (Resource resource : resolver.getResources(location)) {
+                register(resource);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load the event schemas from " + location, e);
+        }
+        subjects.values().forEach(FileEventSchemaRegistry::checkCompatibility);
+        log.info("Loaded event schemas for {} subjects", subjects.size());
+    }
+
+    @Override
+    public Optional<EventSchema> latest(String subject) {
+        NavigableMap<Integer, EventSchema> versions = subjects.get(subject);
+        return versions == null ? Optional.empty() : Optional.of(versions.lastEntry().getValue());
+    }
+
+    @Override
+    public Optional<EventSchema> schema(String subject, int version) {
+        NavigableMap<Integer, EventSchema> versions = subjects.get(subject);
+        return versions == null ? Optional.empty() : Optional.ofNullable(versions.get(version));
+    }
+
+    private void register(Resource resource) throws IOException {
+        Matcher matcher = SCHEMA_FILE.matcher(resource.getURL().toString());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Schema file " + resource + " is not named <subject>/v<version>.avsc");
+        }
+        String subject = matcher.group(1);
+        int version = Integer.parseInt(matcher.group(2));
+        Schema schema;
+        try (InputStream in = resource.getInputStream()) {
+            // A parser per file: each schema declares its nested types itself
+            schema = new Schema.Parser().parse(in);
+        }
+        if (!schema.getName().equals(subject)) {
+            throw new IllegalStateException("Schema " + resource + " describes " + schema.getFullName()
+                    + ", not " + subject);
+        }
+        subjects.computeIfAbsent(subject, unused -> new TreeMap<>())
+                .put(version, new EventSchema(subject, version, schema));
+    }
+
+    private static void checkCompatibility(NavigableMap<Integer, EventSchema> versions) {
+        EventSchema previous = null;
+        for (EventSchema current : versions.values()) {
+            if (previous != null) {
+                requireCompatible(current, previous.schema(), current.schema());
+                requireCompatible(current, current.schema(), previous.schema());
+            }
+            previous = current;
+        }
+    }
+
+    private static void requireCompatible(EventSchema current, Schema reader, Schema writer) {
+        SchemaCompatibility.SchemaPairCompatibility compatibility =
+                SchemaCompatibility.checkReaderWriterCompatibility(reader, writer);
+        if (compatibility.getType() != SchemaCompatibilityType.COMPATIBLE) {
+            throw new IllegalStateException("Version " + current.version() + " of " + current.subject()
+                    + " is not compatible with the previous one: " + compatibility.getDescription());
+        }
+    }
+}
@@ -47,6 +47,32 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(error));
     }
 
+    /**
+     * Handles ValidationException.
+     * Returns 400 Bad Request.
+     *
+     * @param ex exception
+     * @param exchange web exchange
+     * @return error response
+     * @author François-Charles ATANGA
+     * @date 16/10/2026
+     */
+    @ExceptionHandler(ValidationException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleRequestValidationException(
+            ValidationException ex,
+            ServerWebExchange exchange) {
+
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                exchange.getRequest().getPath().value()
+        );
+
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error));
+    }
+
     /**
      * Handles DuplicateResourceException.
      * Returns 409 Conflict.
@@ -140,6 +166,32 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error));
     }
 
+    /**
+     * Handles ForbiddenOperationException.
+     * Returns 403 Forbidden.
+     *
+     * @param ex exception
+     * @param exchange web exchange
+     * @return error response
+     * @author François-Charles ATANGA
+     * @date 16/10/2026
+     */
+    @ExceptionHandler(ForbiddenOperationException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleForbiddenOperationException(
+            ForbiddenOperationException ex,
+            ServerWebExchange exchange) {
+
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.FORBIDDEN.value(),
+                "Forbidden",
+                ex.getMessage(),
+                exchange.getRequest().getPath().value()
+        );
+
+        return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).body(error));
+    }
+
     /**
      * Handles all other exceptions.
      * Returns 500 Internal Server Error.
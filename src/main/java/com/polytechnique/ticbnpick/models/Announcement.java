@@ -1,6 +1,7 @@
 package com.polytechnique.ticbnpick.models;
 
 import com.polytechnique.ticbnpick.models.enums.announcement.AnnouncementStatus;
+import com.polytechnique.ticbnpick.models.enums.delivery.DeliveryUrgency;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
 import java.util.UUID;
@@ -81,6 +82,9 @@ public class Announcement {
     @Column("amount")
     private Float amount;
 
+    @Column("urgency")
+    private DeliveryUrgency urgency;
+
     @Column("created_at")
     private Instant createdAt;
 
@@ -0,0 +1,29 @@
+package com.polytechnique.ticbnpick.models;
+
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents one recorded position of a delivery person.
+ * Rows are append-only and stored in the day-partitioned
+ * {@code delivery_person_location_history} table.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryPersonLocationHistory {
+
+    private UUID deliveryPersonId;
+
+    private Instant recordedAt;
+
+    private Double latitude;
+
+    private Double longitude;
+}
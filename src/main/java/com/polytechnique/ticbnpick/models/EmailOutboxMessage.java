@@ -0,0 +1,70 @@
+package com.polytechnique.ticbnpick.models;
+
+import com.polytechnique.ticbnpick.models.enums.email.EmailOutboxStatus;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Represents an email waiting in, or sent from, the outbox.
+ * Rows are inserted by the application and updated by the SMTP workers,
+ * which keep the retry state in {@code attempts} and {@code nextAttemptAt}.
+ * Emails delivering a notification carry its id so that the workers can
+ * report the outcome.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("email_outbox")
+public class EmailOutboxMessage {
+
+    @Id
+    @Column("id")
+    private UUID id;
+
+    @NotNull
+    @Column("recipient")
+    private String recipient;
+
+    @NotNull
+    @Column("subject")
+    private String subject;
+
+    @NotNull
+    @Column("body")
+    private String body;
+
+    @NotNull
+    @Column("status")
+    private EmailOutboxStatus status;
+
+    @Column("attempts")
+    private Integer attempts;
+
+    @Column("next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column("locked_until")
+    private Instant lockedUntil;
+
+    @Column("last_error")
+    private String lastError;
+
+    @Column("created_at")
+    private Instant createdAt;
+
+    @Column("sent_at")
+    private Instant sentAt;
+
+    @Column("notification_id")
+    private UUID notificationId;
+}
@@ -3,6 +3,7 @@ package com.polytechnique.ticbnpick.models;
 import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
 import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
 import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -47,4 +48,7 @@ public class Notification {
     @NotNull
     @Column("notification_status")
     private NotificationStatus notificationStatus;
+
+    @Column("created_at")
+    private Instant createdAt;
 }
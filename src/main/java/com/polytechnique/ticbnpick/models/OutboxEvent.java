@@ -0,0 +1,47 @@
+package com.polytechnique.ticbnpick.models;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Represents a domain event waiting in the outbox to be relayed to Kafka.
+ * The payload is the JSON form of an instance of {@code eventType}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull
+    @Column("topic")
+    private String topic;
+
+    @NotNull
+    @Column("event_key")
+    private String eventKey;
+
+    @NotNull
+    @Column("event_type")
+    private String eventType;
+
+    @NotNull
+    @Column("payload")
+    private String payload;
+
+    @Column("created_at")
+    private Instant createdAt;
+}
@@ -0,0 +1,33 @@
+package com.polytechnique.ticbnpick.models.enums.device;
+
+/**
+ * Represents the platform of a device registered for push notifications.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public enum DevicePlatform {
+
+    ANDROID("ANDROID"),
+    IOS("IOS"),
+    WEB("WEB");
+
+    private final String value;
+
+    DevicePlatform(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static DevicePlatform fromValue(String value) {
+        for (DevicePlatform platform : DevicePlatform.values()) {
+            if (platform.value.equalsIgnoreCase(value)) {
+                return platform;
+            }
+        }
+        throw new IllegalArgumentException("Unknown device platform: " + value);
+    }
+}
@@ -0,0 +1,34 @@
+package com.polytechnique.ticbnpick.models.enums.email;
+
+/**
+ * Represents the delivery state of an email in the outbox.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public enum EmailOutboxStatus {
+
+    PENDING("PENDING"),
+    SENDING("SENDING"),
+    SENT("SENT"),
+    FAILED("FAILED");
+
+    private final String value;
+
+    EmailOutboxStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static EmailOutboxStatus fromValue(String value) {
+        for (EmailOutboxStatus status : EmailOutboxStatus.values()) {
+            if (status.value.equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown email outbox status: " + value);
+    }
+}
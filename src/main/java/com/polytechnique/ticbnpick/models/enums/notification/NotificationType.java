@@ -12,7 +12,8 @@ public enum NotificationType {
     PARCEL_IN_TRANSIT("PARCEL_IN_TRANSIT"),
     PARCEL_DELIVERED("PARCEL_DELIVERED"),
     DELIVERY_PARCEL("DELIVERY_PARCEL"),
-    NEW_ANNOUNCEMENT("NEW_ANNOUNCEMENT");
+    NEW_ANNOUNCEMENT("NEW_ANNOUNCEMENT"),
+    NEW_ANNOUNCEMENTS_DIGEST("NEW_ANNOUNCEMENTS_DIGEST");
 
     private final String value;
 
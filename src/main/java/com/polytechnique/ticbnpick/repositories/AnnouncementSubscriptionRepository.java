@@ -14,7 +14,8 @@ import java.util.UUID;
  * @date 04/02/2026
  */
 @Repository
-public interface AnnouncementSubscriptionRepository extends ReactiveCrudRepository<AnnouncementSubscription, UUID> {
+public interface AnnouncementSubscriptionRepository extends ReactiveCrudRepository<AnnouncementSubscription, UUID>,
+        AnnouncementSubscriptionRepositoryCustom {
     reactor.core.publisher.Mono<AnnouncementSubscription> findByAnnouncementIdAndDeliveryPersonId(UUID announcementId,
             UUID deliveryPersonId);
 }
@@ -0,0 +1,26 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import com.polytechnique.ticbnpick.models.AnnouncementSubscription;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Custom operations of {@link AnnouncementSubscriptionRepository} that cannot
+ * be derived from method names.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public interface AnnouncementSubscriptionRepositoryCustom {
+
+    /**
+     * Inserts a batch of subscriptions with a single statement, skipping those
+     * whose delivery person is already subscribed to the announcement, and
+     * those whose delivery person or announcement has been deleted.
+     *
+     * @param subscriptions the subscriptions to insert, without identifiers
+     * @return the subscriptions actually inserted, with their identifiers
+     */
+    Flux<AnnouncementSubscription> insertAllIfAbsent(List<AnnouncementSubscription> subscriptions);
+}
@@ -0,0 +1,60 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import com.polytechnique.ticbnpick.models.AnnouncementSubscription;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link AnnouncementSubscriptionRepositoryCustom} on top
+ * of the {@link DatabaseClient}. The rows are bound as arrays and expanded
+ * with {@code unnest}, so the statement does not grow with the batch. Rows
+ * whose delivery person or announcement no longer exists are skipped rather
+ * than failing the whole statement on a foreign key.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@RequiredArgsConstructor
+public class AnnouncementSubscriptionRepositoryCustomImpl implements AnnouncementSubscriptionRepositoryCustom {
+
+    static final String INSERT_IF_ABSENT_SQL = "INSERT INTO announcement_subscriptions"
+            + " (announcement_id, delivery_person_id, status, created_at)"
+            + " SELECT t.announcement_id, t.delivery_person_id, t.status, t.created_at"
+            + " FROM unnest($1::uuid[], $2::uuid[], $3::varchar[], $4::timestamptz[])"
+            + " AS t (announcement_id, delivery_person_id, status, created_at)"
+            + " WHERE EXISTS (SELECT 1 FROM delivery_persons dp WHERE dp.id = t.delivery_person_id)"
+            + " AND EXISTS (SELECT 1 FROM announcements a WHERE a.id = t.announcement_id)"
+            + " ON CONFLICT (announcement_id, delivery_person_id) DO NOTHING"
+            + " RETURNING id, announcement_id, delivery_person_id, status, created_at";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<AnnouncementSubscription> insertAllIfAbsent(List<AnnouncementSubscription> subscriptions) {
+        if (subscriptions.isEmpty()) {
+            return Flux.empty();
+        }
+        Instant now = Instant.now();
+        return databaseClient.sql(INSERT_IF_ABSENT_SQL)
+                .bind(0, subscriptions.stream().map(AnnouncementSubscription::getAnnouncementId)
+                        .toArray(UUID[]::new))
+                .bind(1, subscriptions.stream().map(AnnouncementSubscription::getDeliveryPersonId)
+                        .toArray(UUID[]::new))
+                .bind(2, subscriptions.stream().map(AnnouncementSubscription::getStatus).toArray(String[]::new))
+                .bind(3, subscriptions.stream()
+                        .map(subscription -> subscription.getCreatedAt() != null ? subscription.getCreatedAt() : now)
+                        .toArray(Instant[]::new))
+                .map((row, metadata) -> new AnnouncementSubscription(
+                        row.get("id", UUID.class),
+                        row.get("announcement_id", UUID.class),
+                        row.get("delivery_person_id", UUID.class),
+                        row.get("status", String.class),
+                        row.get("created_at", Instant.class)))
+                .all();
+    }
+}
@@ -0,0 +1,150 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import com.polytechnique.ticbnpick.models.DeliveryPersonLocationHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the append-only courier location history.
+ *
+ * <p>The table is range-partitioned by day, which Spring Data R2DBC
+ * repositories cannot express, so statements are issued through the
+ * {@link DatabaseClient}: batches are written as a single multi-row INSERT and
+ * tracks are streamed with a bounded fetch size.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeliveryPersonLocationHistoryRepository {
+
+    static final String TABLE = "delivery_person_location_history";
+    static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int COLUMNS = 4;
+    private static final int TRACK_FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Appends a batch of positions in one statement.
+     *
+     * @param points the positions to write
+     * @return Mono<Void>
+     */
+    public Mono<Void> insertAll(List<DeliveryPersonLocationHistory> points) {
+        if (points.isEmpty()) {
+            return Mono.empty();
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(insertSql(points.size()));
+        int index = 0;
+        for (DeliveryPersonLocationHistory point : points) {
+            spec = spec.bind(index++, point.getDeliveryPersonId())
+                    .bind(index++, point.getRecordedAt())
+                    .bind(index++, point.getLatitude())
+                    .bind(index++, point.getLongitude());
+        }
+        return spec.then();
+    }
+
+    /**
+     * Streams the positions of a courier recorded in [from, to), oldest first.
+     * The range predicate prunes the day partitions and the
+     * (delivery_person_id, recorded_at) index serves the rest.
+     *
+     * @param deliveryPersonId the courier identifier
+     * @param from             inclusive lower bound
+     * @param to               exclusive upper bound
+     * @return Flux of positions
+     */
+    public Flux<DeliveryPersonLocationHistory> findTrack(UUID deliveryPersonId, Instant from, Instant to) {
+        return databaseClient.sql("SELECT delivery_person_id, recorded_at, latitude, longitude FROM " + TABLE
+                        + " WHERE delivery_person_id = $1 AND recorded_at >= $2 AND recorded_at < $3"
+                        + " ORDER BY recorded_at")
+                .bind(0, deliveryPersonId)
+                .bind(1, from)
+                .bind(2, to)
+                .filter(statement -> statement.fetchSize(TRACK_FETCH_SIZE))
+                .map((row, metadata) -> new DeliveryPersonLocationHistory(
+                        row.get("delivery_person_id", UUID.class),
+                        row.get("recorded_at", Instant.class),
+                        row.get("latitude", Double.class),
+                        row.get("longitude", Double.class)))
+                .all();
+    }
+
+    /**
+     * Creates the partition holding the positions of one UTC day, if missing.
+     *
+     * @param day the day to cover
+     * @return Mono<Void>
+     */
+    public Mono<Void> createDailyPartition(LocalDate day) {
+        String lower = day.atStartOfDay(ZoneOffset.UTC).toInstant().toString();
+        String upper = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().toString();
+        return databaseClient.sql("CREATE TABLE IF NOT EXISTS " + partitionName(day) + " PARTITION OF " + TABLE
+                        + " FOR VALUES FROM ('" + lower + "') TO ('" + upper + "')")
+                .then();
+    }
+
+    /**
+     * Lists the days covered by the existing daily partitions.
+     *
+     * @return Flux of partition days
+     */
+    public Flux<LocalDate> findPartitionDays() {
+        return databaseClient.sql("SELECT child.relname AS name FROM pg_inherits"
+                        + " JOIN pg_class parent ON parent.oid = pg_inherits.inhparent"
+                        + " JOIN pg_class child ON child.oid = pg_inherits.inhrelid"
+                        + " WHERE parent.relname = '" + TABLE + "'")
+                .map((row, metadata) -> row.get("name", String.class))
+                .all()
+                .filter(name -> name.startsWith(PARTITION_PREFIX))
+                .map(name -> LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+    }
+
+    /**
+     * Drops the partition of one day along with its positions.
+     *
+     * @param day the day to drop
+     * @return Mono<Void>
+     */
+    public Mono<Void> dropDailyPartition(LocalDate day) {
+        return databaseClient.sql("DROP TABLE IF EXISTS " + partitionName(day)).then();
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+
+    static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(TABLE)
+                .append(" (delivery_person_id, recorded_at, latitude, longitude) VALUES ");
+        int marker = 1;
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append('(');
+            for (int column = 0; column < COLUMNS; column++) {
+                if (column > 0) {
+                    sql.append(", ");
+                }
+                sql.append('$').append(marker++);
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+}
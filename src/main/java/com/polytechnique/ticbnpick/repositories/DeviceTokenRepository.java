@@ -0,0 +1,96 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import com.polytechnique.ticbnpick.models.enums.device.DevicePlatform;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Repository for the push notification tokens of each person's devices.
+ *
+ * <p>A token belongs to one device, so registering it again, possibly for
+ * another person after a logout, moves it instead of duplicating it.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceTokenRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO device_tokens (person_id, token, platform)"
+            + " VALUES ($1, $2, $3)"
+            + " ON CONFLICT (token) DO UPDATE SET person_id = EXCLUDED.person_id,"
+            + " platform = EXCLUDED.platform, last_seen_at = now()";
+
+    // Match notifications are addressed to delivery persons, tokens to their person
+    private static final String FIND_TOKENS_SQL = "SELECT DISTINCT r.recipient_id, dt.token"
+            + " FROM unnest($1::uuid[]) AS r(recipient_id)"
+            + " LEFT JOIN delivery_persons dp ON dp.id = r.recipient_id"
+            + " JOIN device_tokens dt ON dt.person_id = COALESCE(dp.person_id, r.recipient_id)";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Device token of a recipient.
+     *
+     * @param recipientId the person or delivery person the token was looked up for
+     * @param token       the provider token of the device
+     */
+    public record RecipientToken(UUID recipientId, String token) {
+    }
+
+    /**
+     * Registers the token of a device.
+     *
+     * @param personId the owner of the device
+     * @param token    the provider token of the device
+     * @param platform the device platform
+     * @return Mono<Void>
+     */
+    public Mono<Void> upsert(UUID personId, String token, DevicePlatform platform) {
+        return databaseClient.sql(UPSERT_SQL)
+                .bind(0, personId)
+                .bind(1, token)
+                .bind(2, platform.name())
+                .then();
+    }
+
+    /**
+     * Reads the device tokens of a set of recipients in one query.
+     *
+     * @param recipientIds person or delivery person identifiers
+     * @return the distinct tokens of their devices, with their recipient
+     */
+    public Flux<RecipientToken> findTokens(Collection<UUID> recipientIds) {
+        if (recipientIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(FIND_TOKENS_SQL)
+                .bind(0, recipientIds.toArray(new UUID[0]))
+                .map((row, metadata) -> new RecipientToken(row.get("recipient_id", UUID.class),
+                        row.get("token", String.class)))
+                .all();
+    }
+
+    /**
+     * Removes tokens the push provider no longer accepts.
+     *
+     * @param tokens the tokens to remove
+     * @return the number of removed tokens
+     */
+    public Mono<Long> deleteTokens(Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql("DELETE FROM device_tokens WHERE token = ANY($1)")
+                .bind(0, tokens.toArray(new String[0]))
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,106 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import com.polytechnique.ticbnpick.models.EmailOutboxMessage;
+import com.polytechnique.ticbnpick.models.enums.email.EmailOutboxStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Blocking access to the email outbox for the SMTP worker threads.
+ *
+ * <p>Workers claim due emails with {@code FOR UPDATE SKIP LOCKED}, so that
+ * several workers and nodes never pick the same row, and hold them under a
+ * lease: an email whose worker died is claimed again once
+ * {@code locked_until} has passed.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmailOutboxJdbcRepository {
+
+    private static final String CLAIM_SQL = "UPDATE email_outbox"
+            + " SET status = 'SENDING', attempts = attempts + 1,"
+            + " locked_until = now() + ? * interval '1 millisecond'"
+            + " WHERE id IN (SELECT id FROM email_outbox"
+            + " WHERE (status = 'PENDING' AND next_attempt_at <= now())"
+            + " OR (status = 'SENDING' AND locked_until < now())"
+            + " ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED)"
+            + " RETURNING id, recipient, subject, body, attempts, notification_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims the due emails, oldest first, and increments their attempt count.
+     *
+     * @param limit maximum number of emails to claim
+     * @param lease how long the caller may hold them
+     * @return the claimed emails
+     */
+    public List<EmailOutboxMessage> claimDue(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> {
+            EmailOutboxMessage message = new EmailOutboxMessage();
+            message.setId(rs.getObject("id", UUID.class));
+            message.setRecipient(rs.getString("recipient"));
+            message.setSubject(rs.getString("subject"));
+            message.setBody(rs.getString("body"));
+            message.setAttempts(rs.getInt("attempts"));
+            message.setNotificationId(rs.getObject("notification_id", UUID.class));
+            message.setStatus(EmailOutboxStatus.SENDING);
+            return message;
+        }, lease.toMillis(), limit);
+    }
+
+    /**
+     * Records a successful delivery.
+     *
+     * @param id the email identifier
+     */
+    public void markSent(UUID id) {
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'SENT', sent_at = now(), locked_until = NULL,"
+                + " last_error = NULL WHERE id = ?", id);
+    }
+
+    /**
+     * Puts an email back in the queue after a failed attempt.
+     *
+     * @param id    the email identifier
+     * @param delay time to wait before the next attempt
+     * @param error reason of the failure
+     */
+    public void markForRetry(UUID id, Duration delay, String error) {
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'PENDING',"
+                + " next_attempt_at = now() + ? * interval '1 millisecond', locked_until = NULL, last_error = ?"
+                + " WHERE id = ?", delay.toMillis(), truncate(error), id);
+    }
+
+    /**
+     * Gives up on an email.
+     *
+     * @param id    the email identifier
+     * @param error reason of the last failure
+     */
+    public void markFailed(UUID id, String error) {
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'FAILED', locked_until = NULL, last_error = ?"
+                + " WHERE id = ?", truncate(error), id);
+    }
+
+    /**
+     * @return the number of emails waiting to be sent
+     */
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM email_outbox WHERE status IN ('PENDING', 'SENDING')", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -0,0 +1,17 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import com.polytechnique.ticbnpick.models.EmailOutboxMessage;
+import java.util.UUID;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository used to enqueue emails in the outbox.
+ * The SMTP workers go through {@link EmailOutboxJdbcRepository}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Repository
+public interface EmailOutboxRepository extends ReactiveCrudRepository<EmailOutboxMessage, UUID> {
+}
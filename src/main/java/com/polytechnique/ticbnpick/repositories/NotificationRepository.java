@@ -12,5 +12,6 @@ import org.springframework.stereotype.Repository;
  * @date 21/01/2026
  */
 @Repository
-public interface NotificationRepository extends ReactiveCrudRepository<Notification, UUID> {
+public interface NotificationRepository
+        extends ReactiveCrudRepository<Notification, UUID>, NotificationRepositoryCustom {
 }
@@ -0,0 +1,62 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import com.polytechnique.ticbnpick.models.Notification;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custom operations of {@link NotificationRepository} that cannot be derived
+ * from method names.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Inserts a batch of notifications with multi-row INSERT statements,
+     * all in one transaction.
+     *
+     * @param notifications the notifications to insert, without identifiers
+     * @return the inserted notifications with their identifiers, in order
+     */
+    Flux<Notification> insertAll(List<Notification> notifications);
+
+    /**
+     * Reads the notifications of some persons created after a given one,
+     * oldest first.
+     *
+     * @param personIds          the recipients
+     * @param lastNotificationId the last notification already seen
+     * @param limit              maximum number of notifications to read
+     * @return the newer notifications, or nothing if the given one is unknown
+     */
+    Flux<Notification> findAfter(Collection<UUID> personIds, UUID lastNotificationId, int limit);
+
+    /**
+     * Moves a batch of notifications to a new status with one UPDATE, leaving
+     * alone those not in one of the expected current statuses.
+     *
+     * @param ids          the notifications to update
+     * @param status       the new status
+     * @param fromStatuses the statuses the notifications may be moved from
+     * @param ownerIds     if not null, only the notifications of these
+     *                     persons are updated
+     * @return the number of updated notifications
+     */
+    Mono<Long> updateStatus(Collection<UUID> ids, NotificationStatus status,
+            Collection<NotificationStatus> fromStatuses, Collection<UUID> ownerIds);
+
+    /**
+     * Counts the notifications of some persons not read yet.
+     *
+     * @param personIds the recipients
+     * @return the number of unread notifications
+     */
+    Mono<Long> countUnread(Collection<UUID> personIds);
+}
@@ -0,0 +1,152 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import com.polytechnique.ticbnpick.models.Notification;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link NotificationRepositoryCustom} on top of the
+ * {@link DatabaseClient}. Identifiers are generated here so that the rows of
+ * a batch do not need to be matched back to the RETURNING output.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+    private static final int COLUMNS = 7;
+
+    private static final String FIND_AFTER_SQL = "SELECT n.id, n.person_id, n.notification_type, n.title,"
+            + " n.message, n.notification_status, n.created_at"
+            + " FROM notifications n JOIN notifications last ON last.id = $2"
+            + " WHERE n.person_id = ANY($1) AND (n.created_at, n.id) > (last.created_at, last.id)"
+            + " ORDER BY n.created_at, n.id LIMIT $3";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    public NotificationRepositoryCustomImpl(DatabaseClient databaseClient,
+            @Qualifier("connectionFactoryTransactionManager") ReactiveTransactionManager transactionManager) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+    }
+
+    @Override
+    public Flux<Notification> insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return Flux.empty();
+        }
+        List<List<Notification>> chunks = new ArrayList<>();
+        for (int from = 0; from < notifications.size(); from += MAX_ROWS_PER_STATEMENT) {
+            chunks.add(notifications.subList(from, Math.min(notifications.size(), from + MAX_ROWS_PER_STATEMENT)));
+        }
+        return Flux.fromIterable(chunks)
+                .concatMap(this::insertChunk)
+                .as(transactionalOperator::transactional);
+    }
+
+    private Flux<Notification> insertChunk(List<Notification> chunk) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(insertSql(chunk.size()));
+        Instant now = Instant.now();
+        int index = 0;
+        for (Notification notification : chunk) {
+            if (notification.getId() == null) {
+                notification.setId(UUID.randomUUID());
+            }
+            if (notification.getCreatedAt() == null) {
+                notification.setCreatedAt(now);
+            }
+            spec = spec.bind(index++, notification.getId())
+                    .bind(index++, notification.getPersonId())
+                    .bind(index++, notification.getNotificationType().name())
+                    .bind(index++, notification.getTitle())
+                    .bind(index++, notification.getMessage())
+                    .bind(index++, notification.getNotificationStatus().name())
+                    .bind(index++, notification.getCreatedAt());
+        }
+        return spec.fetch().rowsUpdated()
+                .flatMapMany(rows -> rows == chunk.size()
+                        ? Flux.fromIterable(chunk)
+                        : Flux.error(new IllegalStateException(
+                                "Inserted " + rows + " notifications out of " + chunk.size())));
+    }
+
+    @Override
+    public Flux<Notification> findAfter(Collection<UUID> personIds, UUID lastNotificationId, int limit) {
+        return databaseClient.sql(FIND_AFTER_SQL)
+                .bind(0, personIds.toArray(new UUID[0]))
+                .bind(1, lastNotificationId)
+                .bind(2, limit)
+                .map((row, metadata) -> new Notification(
+                        row.get("id", UUID.class),
+                        row.get("person_id", UUID.class),
+                        NotificationType.valueOf(row.get("notification_type", String.class)),
+                        row.get("title", String.class),
+                        row.get("message", String.class),
+                        NotificationStatus.valueOf(row.get("notification_status", String.class)),
+                        row.get("created_at", Instant.class)))
+                .all();
+    }
+
+    @Override
+    public Mono<Long> updateStatus(Collection<UUID> ids, NotificationStatus status,
+            Collection<NotificationStatus> fromStatuses, Collection<UUID> ownerIds) {
+        if (ids.isEmpty()) {
+            return Mono.just(0L);
+        }
+        String sql = "UPDATE notifications SET notification_status = $1"
+                + " WHERE id = ANY($2) AND notification_status = ANY($3)"
+                + (ownerIds != null ? " AND person_id = ANY($4)" : "");
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind(0, status.name())
+                .bind(1, ids.toArray(new UUID[0]))
+                .bind(2, fromStatuses.stream().map(Enum::name).toArray(String[]::new));
+        if (ownerIds != null) {
+            spec = spec.bind(3, ownerIds.toArray(new UUID[0]));
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    @Override
+    public Mono<Long> countUnread(Collection<UUID> personIds) {
+        // Same predicate as idx_notifications_unread so that only unread rows are visited
+        return databaseClient.sql("SELECT count(*) AS unread FROM notifications"
+                        + " WHERE person_id = ANY($1) AND notification_status <> 'READ'")
+                .bind(0, personIds.toArray(new UUID[0]))
+                .map((row, metadata) -> row.get("unread", Long.class))
+                .one();
+    }
+
+    static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO notifications"
+                + " (id, person_id, notification_type, title, message, notification_status, created_at) VALUES ");
+        int marker = 1;
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append('(');
+            for (int column = 0; column < COLUMNS; column++) {
+                if (column > 0) {
+                    sql.append(", ");
+                }
+                sql.append('$').append(marker++);
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import com.polytechnique.ticbnpick.models.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Repository for the domain event outbox.
+ *
+ * <p>Events are appended through the {@link DatabaseClient}, so they join the
+ * R2DBC transaction of the caller. The relay claims them in id order with
+ * {@code FOR UPDATE SKIP LOCKED} and deletes them once Kafka has them.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventRepository {
+
+    // Arbitrary key of the advisory lock held by the relay draining the outbox
+    private static final long RELAY_LOCK_KEY = 0x7469636f7574L;
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events (topic, event_key, event_type, payload)"
+            + " VALUES ($1, $2, $3, $4)";
+
+    private static final String CLAIM_SQL = "SELECT id, topic, event_key, event_type, payload, created_at"
+            + " FROM outbox_events ORDER BY id LIMIT $1 FOR UPDATE SKIP LOCKED";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Appends an event to the outbox, in the current transaction if any.
+     *
+     * @param topic     the target topic
+     * @param key       the record key
+     * @param eventType the class of the event
+     * @param payload   the event as JSON
+     * @return Mono<Void>
+     */
+    public Mono<Void> append(String topic, String key, String eventType, String payload) {
+        return databaseClient.sql(INSERT_SQL)
+                .bind(0, topic)
+                .bind(1, key)
+                .bind(2, eventType)
+                .bind(3, payload)
+                .then();
+    }
+
+    /**
+     * Makes the current transaction the only relay draining the outbox, so
+     * that events leave in id order. The lock is released at commit.
+     *
+     * @return true if no other relay holds the lock
+     */
+    public Mono<Boolean> tryLockRelay() {
+        return databaseClient.sql("SELECT pg_try_advisory_xact_lock($1) AS locked")
+                .bind(0, RELAY_LOCK_KEY)
+                .map((row, metadata) -> row.get("locked", Boolean.class))
+                .one();
+    }
+
+    /**
+     * Locks the oldest events until the end of the current transaction.
+     *
+     * @param limit maximum number of events
+     * @return the events, in id order
+     */
+    public Flux<OutboxEvent> claimBatch(int limit) {
+        return databaseClient.sql(CLAIM_SQL)
+                .bind(0, limit)
+                .map((row, metadata) -> new OutboxEvent(
+                        row.get("id", Long.class),
+                        row.get("topic", String.class),
+                        row.get("event_key", String.class),
+                        row.get("event_type", String.class),
+                        row.get("payload", String.class),
+                        row.get("created_at", Instant.class)))
+                .all();
+    }
+
+    /**
+     * Removes relayed events.
+     *
+     * @param ids the event identifiers
+     * @return the number of removed events
+     */
+    public Mono<Long> deleteAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql("DELETE FROM outbox_events WHERE id = ANY($1)")
+                .bind(0, ids.toArray(new Long[0]))
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,104 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Repository for the reverse matching claims shared by every node.
+ *
+ * <p>A claim first takes a slot on the announcement's counter row, which
+ * enforces the notification cap and the ellipse delta, then records the
+ * courier. Both statements run in one transaction: the counter row lock
+ * serializes the claims of an announcement and the primary key of the claims
+ * rejects a courier claimed by another node.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Repository
+public class ReverseMatchClaimRepository {
+
+    /**
+     * Outcome of a claim.
+     */
+    public enum ClaimOutcome {
+        CLAIMED,
+        ALREADY_CLAIMED,
+        REJECTED
+    }
+
+    static final String TAKE_SLOT_SQL = "INSERT INTO reverse_match_counters"
+            + " (announcement_id, claimed, delta, expires_at) VALUES ($1, 1, $2, $3)"
+            + " ON CONFLICT (announcement_id) DO UPDATE SET claimed = reverse_match_counters.claimed + 1"
+            + " WHERE ($4 <= 0 OR reverse_match_counters.claimed < $4)"
+            + " AND reverse_match_counters.delta >= EXCLUDED.delta";
+
+    static final String CLAIM_SQL = "INSERT INTO reverse_match_claims (announcement_id, delivery_person_id)"
+            + " VALUES ($1, $2) ON CONFLICT DO NOTHING";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReverseMatchClaimRepository(DatabaseClient databaseClient,
+            @Qualifier("connectionFactoryTransactionManager") ReactiveTransactionManager transactionManager) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+    }
+
+    /**
+     * Claims a courier for an open announcement, once across the cluster.
+     *
+     * @param announcementId   the announcement identifier
+     * @param deliveryPersonId the courier identifier
+     * @param delta            the smallest delta whose ellipse holds the
+     *                         courier, or the delta forward matching settled
+     *                         on; the first claim fixes it for the others
+     * @param cap              claims allowed for the announcement, zero or
+     *                         less for none
+     * @param expiresAt        when the announcement stops being open
+     * @return the outcome of the claim
+     */
+    public Mono<ClaimOutcome> claim(UUID announcementId, UUID deliveryPersonId, double delta, int cap,
+            Instant expiresAt) {
+        return transactionalOperator.execute(status -> databaseClient.sql(TAKE_SLOT_SQL)
+                        .bind(0, announcementId)
+                        .bind(1, delta)
+                        .bind(2, expiresAt)
+                        .bind(3, cap)
+                        .fetch().rowsUpdated()
+                        .flatMap(slots -> slots == 0
+                                ? Mono.just(ClaimOutcome.REJECTED)
+                                : databaseClient.sql(CLAIM_SQL)
+                                        .bind(0, announcementId)
+                                        .bind(1, deliveryPersonId)
+                                        .fetch().rowsUpdated()
+                                        .map(rows -> {
+                                            if (rows == 0) {
+                                                // Claimed by another node, give the slot back
+                                                status.setRollbackOnly();
+                                                return ClaimOutcome.ALREADY_CLAIMED;
+                                            }
+                                            return ClaimOutcome.CLAIMED;
+                                        })))
+                .next();
+    }
+
+    /**
+     * Deletes the claims of the announcements that are no longer open.
+     *
+     * @param now the current time
+     * @return the number of announcements purged
+     */
+    public Mono<Long> deleteExpired(Instant now) {
+        return databaseClient.sql("DELETE FROM reverse_match_counters WHERE expires_at < $1")
+                .bind(0, now)
+                .fetch().rowsUpdated();
+    }
+}
@@ -2,6 +2,7 @@ package com.polytechnique.ticbnpick.services;
 
 import com.polytechnique.ticbnpick.dtos.requests.AdminDeliveryPersonValidationRequest;
 import com.polytechnique.ticbnpick.dtos.responses.DeliveryPersonDetailsResponse;
+import com.polytechnique.ticbnpick.events.DeliveryPersonProfileUpdatedEvent;
 import com.polytechnique.ticbnpick.events.DeliveryPersonValidatedEvent;
 import com.polytechnique.ticbnpick.exceptions.DeliveryPersonNotFoundException;
 import com.polytechnique.ticbnpick.exceptions.ForbiddenOperationException;
@@ -117,6 +118,8 @@ public class AdminDeliveryPersonService {
                             .flatMap(updated -> lecturePersonService.findById(updated.getPersonId())
                                     .doOnNext(person -> {
                                         emailService.sendAccountSuspended(person.getEmail());
+                                        kafkaEventPublisher.publishDeliveryPersonProfileUpdated(
+                                                new DeliveryPersonProfileUpdatedEvent(updated.getId()));
                                         log.info("Delivery person {} suspended", updated.getId());
                                     })
                                     .then()
@@ -149,6 +152,8 @@ public class AdminDeliveryPersonService {
                             .flatMap(updated -> lecturePersonService.findById(updated.getPersonId())
                                     .doOnNext(person -> {
                                         emailService.sendAccountRevoked(person.getEmail());
+                                        kafkaEventPublisher.publishDeliveryPersonProfileUpdated(
+                                                new DeliveryPersonProfileUpdatedEvent(updated.getId()));
                                         log.info("Delivery person {} revoked", updated.getId());
                                     })
                                     .then()
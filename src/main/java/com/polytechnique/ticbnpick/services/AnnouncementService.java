@@ -10,9 +10,11 @@ import com.polytechnique.ticbnpick.models.Packet;
 import com.polytechnique.ticbnpick.models.enums.announcement.AnnouncementStatus;
 import com.polytechnique.ticbnpick.repositories.AddressRepository;
 import com.polytechnique.ticbnpick.repositories.AnnouncementRepository;
+import com.polytechnique.ticbnpick.events.AnnouncementClosedEvent;
 import com.polytechnique.ticbnpick.events.AnnouncementPublishedEvent;
 import com.polytechnique.ticbnpick.repositories.PacketRepository;
 import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import com.polytechnique.ticbnpick.services.support.OutboxEventService;
 import java.time.Instant;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +31,7 @@ public class AnnouncementService {
     private final AddressRepository addressRepository;
     private final PacketRepository packetRepository;
     private final KafkaEventPublisher kafkaEventPublisher;
+    private final OutboxEventService outboxEventService;
 
     @Transactional("connectionFactoryTransactionManager")
     public Mono<AnnouncementResponseDTO> createAnnouncement(AnnouncementRequestDTO request) {
@@ -68,6 +71,7 @@ public class AnnouncementService {
                     announcement.setShipperEmail(request.getShipperEmail());
                     announcement.setShipperPhone(request.getShipperPhone());
                     announcement.setAmount(request.getAmount());
+                    announcement.setUrgency(request.getUrgency());
 
                     return announcementRepository.save(announcement)
                             .map(savedAnnouncement -> mapToResponse(savedAnnouncement, savedPickup, savedDelivery,
@@ -85,8 +89,10 @@ public class AnnouncementService {
         return announcementRepository.findById(id).flatMap(this::populateDetails);
     }
 
+    @Transactional("connectionFactoryTransactionManager")
     public Mono<Void> deleteAnnouncement(UUID id) {
-        return announcementRepository.deleteById(id);
+        return announcementRepository.deleteById(id)
+                .then(outboxEventService.appendAnnouncementClosed(new AnnouncementClosedEvent(id, Instant.now())));
     }
 
     private Mono<AnnouncementResponseDTO> populateDetails(Announcement announcement) {
@@ -129,6 +135,7 @@ public class AnnouncementService {
         response.setShipperEmail(announcement.getShipperEmail());
         response.setShipperPhone(announcement.getShipperPhone());
         response.setAmount(announcement.getAmount());
+        response.setUrgency(announcement.getUrgency());
 
         response.setPickupAddress(mapToAddressDTO(pickup));
         response.setDeliveryAddress(mapToAddressDTO(delivery));
@@ -181,6 +188,7 @@ public class AnnouncementService {
                     announcement.setShipperEmail(request.getShipperEmail());
                     announcement.setShipperPhone(request.getShipperPhone());
                     announcement.setAmount(request.getAmount());
+                    announcement.setUrgency(request.getUrgency());
                     announcement.setUpdatedAt(Instant.now());
 
                     return announcementRepository.save(announcement).flatMap(savedAnnouncement -> {
@@ -245,10 +253,11 @@ public class AnnouncementService {
                     announcement.setStatus(AnnouncementStatus.PUBLISHED);
                     return announcementRepository.save(announcement)
                             .flatMap(this::populateDetails)
-                            .doOnSuccess(dto -> {
+                            .flatMap(dto -> {
+                                // Recorded in this transaction, sent to Kafka by the outbox relay after commit
                                 AnnouncementPublishedEvent event = new AnnouncementPublishedEvent();
                                 event.setAnnouncement(dto);
-                                kafkaEventPublisher.publishAnnouncementPublished(event);
+                                return outboxEventService.appendAnnouncementPublished(event).thenReturn(dto);
                             });
                 });
     }
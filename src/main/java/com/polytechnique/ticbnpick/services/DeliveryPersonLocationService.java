@@ -2,14 +2,24 @@ package com.polytechnique.ticbnpick.services;
 
 import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
 import com.polytechnique.ticbnpick.elasticsearch.repositories.DeliveryPersonSearchRepository;
-import com.polytechnique.ticbnpick.services.deliveryperson.LectureDeliveryPersonService;
-import com.polytechnique.ticbnpick.services.person.LecturePersonService;
+import com.polytechnique.ticbnpick.events.CourierLocationChangedEvent;
+import com.polytechnique.ticbnpick.models.DeliveryPersonLocationHistory;
+import com.polytechnique.ticbnpick.repositories.DeliveryPersonLocationHistoryRepository;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierAvailabilityRegistry;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierLocationHistoryRecorder;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierLocationWriteBehind;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierProfileCache;
+import com.polytechnique.ticbnpick.services.deliveryperson.LocationUpdateFilter;
+import com.polytechnique.ticbnpick.services.matching.CourierSpatialIndex;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.elasticsearch.core.geo.GeoPoint;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -25,13 +35,29 @@ import java.util.UUID;
 public class DeliveryPersonLocationService {
 
     private final DeliveryPersonSearchRepository deliveryPersonSearchRepository;
-    private final LectureDeliveryPersonService lectureDeliveryPersonService;
-    private final LecturePersonService lecturePersonService;
+    private final CourierProfileCache courierProfileCache;
+    private final CourierLocationWriteBehind courierLocationWriteBehind;
+    private final CourierSpatialIndex courierSpatialIndex;
+    private final ReverseMatchingService reverseMatchingService;
+    private final CourierLocationHistoryRecorder courierLocationHistoryRecorder;
+    private final DeliveryPersonLocationHistoryRepository deliveryPersonLocationHistoryRepository;
+    private final LocationUpdateFilter locationUpdateFilter;
+    private final CourierAvailabilityRegistry courierAvailabilityRegistry;
+    private final KafkaEventPublisher kafkaEventPublisher;
 
     /**
      * Updates the location of a delivery person.
-     * Fetches current details from SQL DB to ensure the Elasticsearch document is
-     * fully populated/updated.
+     * The courier profile comes from the node-local cache and the document is
+     * handed to the write-behind buffer: the first ping after a (re)load
+     * writes the full Elasticsearch document, later pings only send the
+     * position and availability. The in-memory courier index used by matching
+     * is refreshed right away, the new position is published on the
+     * "courier-locations" topic for the indexes of the other nodes, and the
+     * open announcements the courier now qualifies for are checked. Every
+     * processed ping is also appended to the location history. Pings too
+     * close to the last processed one to change matching are dropped by the
+     * {@link LocationUpdateFilter}, but every ping keeps the courier
+     * available in the {@link CourierAvailabilityRegistry}.
      *
      * @param deliveryPersonId ID of the delivery person
      * @param latitude         New latitude
@@ -39,31 +65,98 @@ public class DeliveryPersonLocationService {
      * @return Mono<Void>
      */
     public Mono<Void> updateLocation(UUID deliveryPersonId, Double latitude, Double longitude) {
-        return lectureDeliveryPersonService.findById(deliveryPersonId)
-                .switchIfEmpty(
-                        Mono.error(new RuntimeException("Delivery Person not found with ID: " + deliveryPersonId)))
-                .flatMap(deliveryPerson -> lecturePersonService.findById(deliveryPerson.getPersonId())
-                        .flatMap(person -> {
+        Instant receivedAt = Instant.now();
+        courierAvailabilityRegistry.touch(deliveryPersonId, receivedAt);
+        if (!locationUpdateFilter.accept(deliveryPersonId, latitude, longitude)) {
+            log.trace("Suppressed location ping of delivery person {}", deliveryPersonId);
+            return Mono.empty();
+        }
+        boolean cached = courierProfileCache.isCached(deliveryPersonId);
+        GeoPoint location = new GeoPoint(latitude, longitude);
 
-                            DeliveryPersonDocument document = DeliveryPersonDocument.builder()
-                                    .id(deliveryPerson.getId())
-                                    .location(new GeoPoint(latitude, longitude))
-                                    .firstName(person.getFirstName())
-                                    .lastName(person.getLastName())
-                                    .email(person.getEmail())
-                                    .phone(person.getPhone())
-                                    .commercialName(deliveryPerson.getCommercialName())
-                                    .status(deliveryPerson.getStatus() != null ? deliveryPerson.getStatus().toString()
-                                            : null)
-                                    .isActive(deliveryPerson.getIsActive())
-                                    .isAvailable(true) // Assuming active update implies availability, logic can be
-                                                       // refined
-                                    .build();
-
-                            return deliveryPersonSearchRepository.save(document);
-                        }))
+        return courierProfileCache.get(deliveryPersonId)
+                .map(profile -> {
+                    DeliveryPersonDocument document = profile.toDocument(location,
+                            courierAvailabilityRegistry.isAvailable(deliveryPersonId));
+                    courierLocationWriteBehind.submit(document, !cached);
+                    courierLocationHistoryRecorder.record(deliveryPersonId, latitude, longitude, receivedAt);
+                    kafkaEventPublisher.publishCourierLocationChanged(new CourierLocationChangedEvent(
+                            deliveryPersonId, latitude, longitude, Boolean.TRUE.equals(document.getIsAvailable()),
+                            receivedAt, profile));
+                    return document;
+                })
+                .doOnNext(courierSpatialIndex::upsert)
+                .doOnNext(this::matchOpenAnnouncements)
                 .doOnSuccess(doc -> log.debug("Updated location for delivery person {}", deliveryPersonId))
-                .doOnError(e -> log.error("Failed to update location for delivery person {}", deliveryPersonId, e))
+                .doOnError(e -> {
+                    // Let the next ping through, nothing was recorded for this one
+                    locationUpdateFilter.reset(deliveryPersonId);
+                    log.error("Failed to update location for delivery person {}", deliveryPersonId, e);
+                })
                 .then();
     }
+
+    /**
+     * Streams the recorded track of a delivery person, oldest position first.
+     *
+     * @param deliveryPersonId ID of the delivery person
+     * @param from             inclusive start of the time range
+     * @param to               exclusive end of the time range
+     * @return Flux of recorded positions
+     */
+    public Flux<DeliveryPersonLocationHistory> getLocationHistory(UUID deliveryPersonId, Instant from, Instant to) {
+        return deliveryPersonLocationHistoryRepository.findTrack(deliveryPersonId, from, to);
+    }
+
+    /**
+     * Reloads the cached profile of a delivery person after a profile or
+     * status change, and propagates it to the courier index of this node
+     * without touching the last known position.
+     *
+     * @param deliveryPersonId ID of the delivery person
+     * @return Mono<Void>
+     */
+    public Mono<Void> refreshProfile(UUID deliveryPersonId) {
+        courierProfileCache.evict(deliveryPersonId);
+        return courierProfileCache.get(deliveryPersonId)
+                .doOnNext(profile -> {
+                    DeliveryPersonDocument indexed = courierSpatialIndex.get(deliveryPersonId);
+                    if (indexed != null) {
+                        courierSpatialIndex.upsert(
+                                profile.toDocument(indexed.getLocation(), indexed.getIsAvailable()));
+                    }
+                })
+                .doOnSuccess(unused -> log.debug("Refreshed profile of delivery person {}", deliveryPersonId))
+                .doOnError(e -> log.error("Failed to refresh profile of delivery person {}", deliveryPersonId, e))
+                .then();
+    }
+
+    /**
+     * Writes the current profile of a delivery person to Elasticsearch after
+     * a profile or status change, without touching the last known position.
+     * Called once per change for the whole cluster.
+     *
+     * @param deliveryPersonId ID of the delivery person
+     * @return Mono<Void>
+     */
+    public Mono<Void> updateSearchProfile(UUID deliveryPersonId) {
+        courierProfileCache.evict(deliveryPersonId);
+        return courierProfileCache.get(deliveryPersonId)
+                .flatMap(profile -> deliveryPersonSearchRepository.updateProfile(profile.toDocument(null, null)))
+                .doOnSuccess(unused -> log.debug("Indexed profile of delivery person {}", deliveryPersonId))
+                .doOnError(e -> log.error("Failed to index profile of delivery person {}", deliveryPersonId, e))
+                .then();
+    }
+
+    /**
+     * Runs reverse matching in the background so that notifications never
+     * delay the location update.
+     */
+    private void matchOpenAnnouncements(DeliveryPersonDocument document) {
+        reverseMatchingService.matchOpenAnnouncements(document)
+                .subscribe(
+                        unused -> {
+                        },
+                        e -> log.error("Reverse matching failed for delivery person {}", document.getId(), e));
+    }
 }
@@ -1,6 +1,7 @@
 package com.polytechnique.ticbnpick.services;
 
 import com.polytechnique.ticbnpick.dtos.requests.DeliveryPersonUpdateRequest;
+import com.polytechnique.ticbnpick.events.DeliveryPersonProfileUpdatedEvent;
 import com.polytechnique.ticbnpick.models.Address;
 import com.polytechnique.ticbnpick.models.DeliveryPerson;
 import com.polytechnique.ticbnpick.models.PersonAddress;
@@ -16,6 +17,7 @@ import com.polytechnique.ticbnpick.services.logistics.LectureLogisticsService;
 import com.polytechnique.ticbnpick.services.logistics.ModificationLogisticsService;
 import com.polytechnique.ticbnpick.services.person.LecturePersonService;
 import com.polytechnique.ticbnpick.services.person.ModificationPersonService;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -46,6 +48,7 @@ public class DeliveryPersonProfileService {
     private final AddressRepository addressRepository;
     private final CreationAddressService creationAddressService;
     private final ModificationAddressService modificationAddressService;
+    private final KafkaEventPublisher kafkaEventPublisher;
 
     /**
      * Updates a delivery person's profile with the provided data.
@@ -71,7 +74,9 @@ public class DeliveryPersonProfileService {
                     Mono<Void> updateLogistics = updateLogisticsFields(dp.getId(), request);
                     Mono<Void> updateAddress = updateAddressFields(dp.getPersonId(), request);
 
-                    return Mono.when(updatePerson, updateDeliveryPerson, updateLogistics, updateAddress);
+                    return Mono.when(updatePerson, updateDeliveryPerson, updateLogistics, updateAddress)
+                            .then(Mono.<Void>fromRunnable(() -> kafkaEventPublisher.publishDeliveryPersonProfileUpdated(
+                                    new DeliveryPersonProfileUpdatedEvent(dp.getId()))));
                 })
                 .switchIfEmpty(Mono.error(new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Delivery Person not found")));
@@ -6,26 +6,58 @@ import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
 import com.polytechnique.ticbnpick.elasticsearch.repositories.AnnouncementSearchRepository;
 import com.polytechnique.ticbnpick.elasticsearch.repositories.DeliveryPersonSearchRepository;
 import com.polytechnique.ticbnpick.events.AnnouncementPublishedEvent;
+import com.polytechnique.ticbnpick.services.matching.CandidateSelector;
+import com.polytechnique.ticbnpick.services.matching.CourierSpatialIndex;
+import com.polytechnique.ticbnpick.services.matching.EllipseMatcher;
+import com.polytechnique.ticbnpick.services.matching.EllipseMatcher.EllipseMatch;
+import com.polytechnique.ticbnpick.services.matching.GeoDistance;
+import com.polytechnique.ticbnpick.services.matching.PacketRequirement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.elasticsearch.core.geo.GeoPoint;
-import org.springframework.data.geo.Distance;
-import org.springframework.data.geo.Metrics;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service responsible for matching announcements with eligible delivery
  * persons.
  * Consumes Kafka events and performs spatial filtering.
  *
+ * <p>
+ * Published announcements are collected into short windows and matched as a
+ * batch: the batch is indexed with a single bulk request, and the courier
+ * candidates are fetched once per geographic cluster instead of once per
+ * announcement.
+ *
  * @author François-Charles ATANGA
  * @date 03/02/2026
  */
@@ -37,20 +69,273 @@ public class MatchingService {
     private final AnnouncementSearchRepository announcementSearchRepository;
     private final DeliveryPersonSearchRepository deliveryPersonSearchRepository;
     private final NotificationService notificationService;
+    private final CourierSpatialIndex courierSpatialIndex;
+    private final CandidateSelector candidateSelector;
+    private final ReverseMatchingService reverseMatchingService;
+    private final DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final MeterRegistry meterRegistry;
+
+    static final String LISTENER_ID = "announcement-matching";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(1);
+    private static final double CLUSTER_CELL_DEG = 0.1;
+
+    @Value("${matching.consumer.max-in-flight-per-partition:16}")
+    private int maxInFlightPerPartition;
+
+    @Value("${matching.batch.max-size:32}")
+    private int batchMaxSize;
+
+    @Value("${matching.batch.window-ms:200}")
+    private long batchWindowMs;
+
+    @Value("${matching.batch.concurrency:4}")
+    private int batchConcurrency;
 
-    private static final double EARTH_RADIUS_KM = 6371.0;
-    private static final double INITIAL_DELTA_KM = 1.5;
-    private static final double DELTA_INCREMENT_KM = 0.5;
+    private final Map<TopicPartition, InFlight> inFlightPerPartition = new ConcurrentHashMap<>();
+    private final Sinks.Many<PendingAnnouncement> pendingAnnouncements = Sinks.many().unicast()
+            .onBackpressureBuffer();
+
+    private Disposable batchSubscription;
+    private DistributionSummary batchSizeSummary;
+    private Counter indexRequestsCounter;
+    private Counter searchRequestsCounter;
+    private Counter savedRequestsCounter;
+    private Counter deadLetterFailuresCounter;
+
+    @PostConstruct
+    void startBatching() {
+        batchSizeSummary = DistributionSummary.builder("matching.batch.size")
+                .description("Announcements matched per batch")
+                .register(meterRegistry);
+        indexRequestsCounter = Counter.builder("matching.batch.es.requests")
+                .tag("phase", "index")
+                .description("Elasticsearch requests issued by batched matching")
+                .register(meterRegistry);
+        searchRequestsCounter = Counter.builder("matching.batch.es.requests")
+                .tag("phase", "search")
+                .description("Elasticsearch requests issued by batched matching")
+                .register(meterRegistry);
+        savedRequestsCounter = Counter.builder("matching.batch.es.requests.saved")
+                .description("Elasticsearch requests avoided compared to per-announcement matching")
+                .register(meterRegistry);
+        deadLetterFailuresCounter = Counter.builder("matching.dead-letter.failures")
+                .description("Failed announcement records that could not be dead-lettered and were skipped")
+                .register(meterRegistry);
+
+        batchSubscription = pendingAnnouncements.asFlux()
+                .bufferTimeout(batchMaxSize, Duration.ofMillis(batchWindowMs))
+                .onBackpressureBuffer()
+                .flatMap(this::processBatch, batchConcurrency)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stopBatching() {
+        if (batchSubscription != null) {
+            batchSubscription.dispose();
+        }
+    }
 
     /**
-     * Consumes the AnnouncementPublishedEvent and triggers the matching process.
+     * Consumes the AnnouncementPublishedEvent and hands it to the batching
+     * window without blocking the listener thread.
+     *
+     * <p>
+     * Once {@code matching.consumer.max-in-flight-per-partition} announcements
+     * of the same partition are in flight, the partition is paused in the
+     * container and resumed when one of them completes; the records of the
+     * poll already fetched are still handed over. The listener thread never
+     * waits, so the other partitions of the consumer keep flowing. Each record
+     * is acknowledged once its pipeline completes and the container commits
+     * the acknowledged offsets in partition order, so a crash replays every
+     * unfinished announcement (at-least-once).
+     *
+     * @param record         The consumed record.
+     * @param acknowledgment Handle used to acknowledge the record.
+     */
+    @KafkaListener(id = LISTENER_ID, topics = "announcement-published", groupId = "ticbnpick-group",
+            containerFactory = "announcementListenerContainerFactory")
+    public void consumeAnnouncementPublishedEvent(ConsumerRecord<String, AnnouncementPublishedEvent> record,
+            Acknowledgment acknowledgment) {
+        log.info("Received AnnouncementPublishedEvent: {}", record.value());
+
+        InFlight inFlight = inFlightPerPartition.computeIfAbsent(
+                new TopicPartition(record.topic(), record.partition()), InFlight::new);
+        inFlight.acquire();
+        try {
+            pendingAnnouncements.emitNext(new PendingAnnouncement(record, acknowledgment, inFlight),
+                    Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        } catch (RuntimeException e) {
+            // Never handed over, the container's error handling takes the record
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Indexes the published announcement in Elasticsearch and matches it with
+     * the eligible delivery persons, on its own.
      *
      * @param event The published announcement event.
+     * @return a Mono completing when matching and notifications are done
+     */
+    public Mono<Void> processAnnouncement(AnnouncementPublishedEvent event) {
+        AnnouncementDocument announcementDoc = toDocument(event);
+        if (announcementDoc == null) {
+            return Mono.empty();
+        }
+
+        return announcementSearchRepository.save(announcementDoc)
+                .doOnSuccess(saved -> log.info("Announcement indexed in Elasticsearch: {}", saved.getId()))
+                .flatMap(saved -> findCandidates(saved.getPickupLocation(),
+                        EllipseMatcher.maxSearchRadiusKm(saved.getPickupLocation(), saved.getDeliveryLocation()),
+                        PacketRequirement.of(saved.getPacket()))
+                        .flatMap(candidates -> matchAndNotify(saved, candidates)))
+                .doOnError(e -> log.error("Error processing announcement {}", announcementDoc.getId(), e));
+    }
+
+    /**
+     * Matches a window of announcements.
+     *
+     * <p>
+     * The batch is indexed with one bulk request, then grouped by the
+     * {@value #CLUSTER_CELL_DEG} degree cell of the pickup point. Each cluster
+     * gets one candidate snapshot covering the search radius of all its
+     * announcements, and every announcement is matched in memory against it.
+     * If the shared phase fails, each announcement falls back to
+     * {@link #processAnnouncement} with its own retries.
+     *
+     * <p>
+     * Completes once every announcement of the batch is acknowledged, so that
+     * {@code matching.batch.concurrency} bounds the batches being matched.
+     */
+    private Mono<Void> processBatch(List<PendingAnnouncement> batch) {
+        List<PendingAnnouncement> valid = new ArrayList<>();
+        List<Mono<Void>> skipped = new ArrayList<>();
+        for (PendingAnnouncement pending : batch) {
+            pending.document = toDocument(pending.record.value());
+            if (pending.document == null) {
+                skipped.add(complete(pending, Mono.empty()));
+            } else {
+                valid.add(pending);
+            }
+        }
+        if (valid.isEmpty()) {
+            return Mono.when(skipped);
+        }
+
+        Map<Long, List<PendingAnnouncement>> clusters = new LinkedHashMap<>();
+        for (PendingAnnouncement pending : valid) {
+            clusters.computeIfAbsent(clusterKey(pending.document.getPickupLocation()), k -> new ArrayList<>())
+                    .add(pending);
+        }
+
+        boolean localSnapshots = courierSpatialIndex.isWarm();
+        int searchRequests = localSnapshots ? 0 : clusters.size();
+        int unbatchedSearchRequests = localSnapshots ? 0 : valid.size();
+
+        Mono<Void> matched = announcementSearchRepository.saveAll(valid.stream().map(p -> p.document).toList())
+                .then(Flux.fromIterable(clusters.values())
+                        .flatMap(cluster -> takeSnapshot(cluster)
+                                .doOnNext(snapshot -> cluster.forEach(p -> p.snapshot = snapshot)))
+                        .then())
+                .thenReturn(true)
+                .onErrorResume(e -> {
+                    log.warn("Batched matching of {} announcements failed, falling back to one by one",
+                            valid.size(), e);
+                    return Mono.just(false);
+                })
+                .flatMap(shared -> {
+                    if (shared) {
+                        recordBatch(valid.size(), searchRequests, unbatchedSearchRequests);
+                    }
+                    return Flux.fromIterable(valid)
+                            .flatMap(p -> complete(p, shared
+                                    ? Mono.defer(() -> matchAndNotify(p.document, p.snapshot))
+                                    : Mono.defer(() -> processAnnouncement(p.record.value()))))
+                            .then();
+                });
+        return Mono.when(skipped).then(matched);
+    }
+
+    /**
+     * Fetches one candidate snapshot for a cluster of announcements, centered
+     * on their mean pickup point and filtered by the loosest packet
+     * requirement of the cluster.
+     */
+    private Mono<List<DeliveryPersonDocument>> takeSnapshot(List<PendingAnnouncement> cluster) {
+        double centerLat = 0;
+        double centerLon = 0;
+        for (PendingAnnouncement pending : cluster) {
+            centerLat += pending.document.getPickupLocation().getLat();
+            centerLon += pending.document.getPickupLocation().getLon();
+        }
+        GeoPoint center = new GeoPoint(centerLat / cluster.size(), centerLon / cluster.size());
+
+        double radius = 0;
+        List<PacketRequirement> requirements = new ArrayList<>(cluster.size());
+        for (PendingAnnouncement pending : cluster) {
+            requirements.add(PacketRequirement.of(pending.document.getPacket()));
+            GeoPoint pickup = pending.document.getPickupLocation();
+            double offset = GeoDistance.haversineKm(center.getLat(), center.getLon(), pickup.getLat(),
+                    pickup.getLon());
+            radius = Math.max(radius,
+                    offset + EllipseMatcher.maxSearchRadiusKm(pickup, pending.document.getDeliveryLocation()));
+        }
+        return findCandidates(center, radius, PacketRequirement.loosest(requirements));
+    }
+
+    private void recordBatch(int announcements, int searchRequests, int unbatchedSearchRequests) {
+        // Per-announcement matching costs one index request each, plus one search while the index is cold
+        int saved = (announcements - 1) + (unbatchedSearchRequests - searchRequests);
+        batchSizeSummary.record(announcements);
+        indexRequestsCounter.increment();
+        searchRequestsCounter.increment(searchRequests);
+        savedRequestsCounter.increment(saved);
+        log.info("Matched batch of {} announcements with {} search request(s), {} Elasticsearch requests saved",
+                announcements, searchRequests, saved);
+    }
+
+    /**
+     * Runs one announcement's pipeline, retrying it on its own on failure, then
+     * releases its in-flight slot and acknowledges the record.
+     *
+     * <p>
+     * A record whose retries are exhausted is dead-lettered. If that fails
+     * too, the record is logged, counted and acknowledged anyway: an
+     * unacknowledged record would hold back the commits of every later offset
+     * of its partition.
+     *
+     * @return a Mono completing once the record is acknowledged, never failing
      */
-    @KafkaListener(topics = "announcement-published", groupId = "ticbnpick-group")
-    public void consumeAnnouncementPublishedEvent(AnnouncementPublishedEvent event) {
-        log.info("Received AnnouncementPublishedEvent: {}", event);
+    private Mono<Void> complete(PendingAnnouncement pending, Mono<Void> work) {
+        ConsumerRecord<String, AnnouncementPublishedEvent> record = pending.record;
+        return work.onErrorResume(e -> Mono.defer(() -> processAnnouncement(record.value()))
+                        .retryWhen(Retry.backoff(MAX_ATTEMPTS, RETRY_BACKOFF)))
+                .onErrorResume(e -> deadLetter(record, e)
+                        .retryWhen(Retry.backoff(MAX_ATTEMPTS, RETRY_BACKOFF)))
+                .onErrorResume(e -> {
+                    deadLetterFailuresCounter.increment();
+                    log.error("Announcement record {}-{}@{} could not be dead-lettered, skipping it",
+                            record.topic(), record.partition(), record.offset(), e);
+                    return Mono.empty();
+                })
+                .doOnSuccess(unused -> pending.acknowledgment.acknowledge())
+                .onErrorResume(e -> {
+                    log.error("Announcement record {}-{}@{} left unacknowledged", record.topic(),
+                            record.partition(), record.offset(), e);
+                    return Mono.empty();
+                })
+                .doFinally(signal -> pending.inFlight.release());
+    }
 
+    /**
+     * Builds the Elasticsearch document of a published announcement, or returns
+     * null if its coordinates are missing.
+     */
+    private AnnouncementDocument toDocument(AnnouncementPublishedEvent event) {
         AnnouncementResponseDTO announcementDTO = event.getAnnouncement();
 
         // 1. Index Announcement in Elasticsearch
@@ -60,6 +345,7 @@ public class MatchingService {
                 .packet(announcementDTO.getPacket())
                 .createdAt(announcementDTO.getCreatedAt() != null ? announcementDTO.getCreatedAt() : Instant.now())
                 .amount(announcementDTO.getAmount())
+                .urgency(announcementDTO.getUrgency())
                 .build();
 
         if (announcementDTO.getPickupAddress() != null
@@ -70,7 +356,7 @@ public class MatchingService {
                     announcementDTO.getPickupAddress().getLongitude()));
         } else {
             log.error("Pickup address or coordinates missing for announcement {}", announcementDTO.getId());
-            return;
+            return null;
         }
 
         if (announcementDTO.getDeliveryAddress() != null
@@ -81,81 +367,144 @@ public class MatchingService {
                     announcementDTO.getDeliveryAddress().getLongitude()));
         } else {
             log.error("Delivery address or coordinates missing for announcement {}", announcementDTO.getId());
-            return;
+            return null;
         }
-
-        // Execute the full reactive pipeline synchronously to ensure Kafka delivery
-        // guarantees
-        announcementSearchRepository.save(announcementDoc)
-                .doOnSuccess(saved -> log.info("Announcement indexed in Elasticsearch: {}", saved.getId()))
-                .flatMap(saved -> performMatching(saved, INITIAL_DELTA_KM))
-                .doOnError(e -> log.error("Error processing announcement {}", announcementDTO.getId(), e))
-                .block(); // Block to wait for completion or exception
+        return announcementDoc;
     }
 
-    private Mono<Void> performMatching(AnnouncementDocument announcement, double delta) {
+    /**
+     * Runs the ellipse filter against the given candidates and notifies the
+     * eligible delivery persons, then keeps the announcement open for reverse
+     * matching. Candidates that cannot carry the packet are
+     * dropped first, since cluster snapshots are only filtered by the loosest
+     * requirement of their announcements.
+     */
+    private Mono<Void> matchAndNotify(AnnouncementDocument announcement, List<DeliveryPersonDocument> candidates) {
         GeoPoint F1 = announcement.getPickupLocation();
         GeoPoint F2 = announcement.getDeliveryLocation();
+        List<DeliveryPersonDocument> carriers = PacketRequirement.of(announcement.getPacket()).filter(candidates);
 
-        double distF1F2 = calculateHaversineDistance(F1.getLat(), F1.getLon(), F2.getLat(), F2.getLon());
-        double dMax = distF1F2 + (2 * delta);
-
-        log.info("Starting matching for Announcement {} with delta={} km, Dmax={} km", announcement.getId(), delta,
-                dMax);
-
-        // 3. Initial Search in Elasticsearch with Radius = Dmax
-        return deliveryPersonSearchRepository
-                .findByIsAvailableTrueAndIsActiveTrueAndLocationNear(F1, new Distance(dMax, Metrics.KILOMETERS))
-                .collectList()
-                .flatMap(candidates -> {
-                    // 4. Spatial Filtering (Spherical Ellipse)
-                    List<DeliveryPersonDocument> eligibleCandidates = new ArrayList<>();
-                    for (DeliveryPersonDocument candidate : candidates) {
-                        double distP_F1 = calculateHaversineDistance(candidate.getLocation().getLat(),
-                                candidate.getLocation().getLon(), F1.getLat(), F1.getLon());
-                        double distP_F2 = calculateHaversineDistance(candidate.getLocation().getLat(),
-                                candidate.getLocation().getLon(), F2.getLat(), F2.getLon());
-
-                        if (distP_F1 + distP_F2 <= dMax) {
-                            eligibleCandidates.add(candidate);
-                        }
-                    }
+        // Spatial Filtering (Spherical Ellipse), smallest delta with a non-empty set
+        Optional<EllipseMatch> match = EllipseMatcher.match(carriers, F1, F2);
 
-                    if (eligibleCandidates.isEmpty()) {
-                        log.info("No eligible candidates found for delta={}. Expanding search...", delta);
-                        // 5. Expand Delta and Retry
-                        if (delta < 50.0) { // Safety break
-                            return performMatching(announcement, delta + DELTA_INCREMENT_KM);
-                        } else {
-                            log.warn("Matching failed after max expansion for Announcement {}", announcement.getId());
-                            return Mono.empty();
-                        }
-                    } else {
-                        log.info("Found {} eligible candidates: {}", eligibleCandidates.size(),
-                                eligibleCandidates.stream().map(DeliveryPersonDocument::getId).toList());
-
-                        // Proceed to Notification Phase
-                        return notificationService.notifyEligibleDeliveryPersons(eligibleCandidates, announcement)
-                                .then();
-                    }
+        if (match.isEmpty()) {
+            log.warn("Matching failed after max expansion for Announcement {}, waiting for couriers",
+                    announcement.getId());
+            return openForReverseMatching(announcement, null, List.of());
+        }
+
+        // Scoring: keep the best K candidates for the announcement urgency
+        List<DeliveryPersonDocument> selectedCandidates = candidateSelector.select(announcement, match.get());
+        log.info("Found {} eligible candidates for Announcement {} with delta={} km, Dmax={} km, notifying {}: {}",
+                match.get().getCandidates().size(), announcement.getId(), match.get().getDelta(),
+                match.get().getDMax(), selectedCandidates.size(),
+                selectedCandidates.stream().map(DeliveryPersonDocument::getId).toList());
+
+        // Proceed to Notification Phase
+        return notificationService.notifyEligibleDeliveryPersons(selectedCandidates, announcement)
+                .then(Mono.defer(() -> openForReverseMatching(announcement, match.get().getDelta(),
+                        selectedCandidates.stream().map(DeliveryPersonDocument::getId).toList())));
+    }
+
+    /**
+     * Keeps the announcement open for couriers arriving later. A failure only
+     * costs reverse matching, so it does not fail the announcement, whose
+     * couriers have already been notified.
+     */
+    private Mono<Void> openForReverseMatching(AnnouncementDocument announcement, Double delta,
+            List<UUID> notified) {
+        return reverseMatchingService.registerOpenAnnouncement(announcement, delta, notified)
+                .onErrorResume(e -> {
+                    log.error("Failed to open announcement {} for reverse matching", announcement.getId(), e);
+                    return Mono.empty();
                 });
     }
 
     /**
-     * Calculates the Haversine distance between two points in Kilometers.
+     * Fetches the couriers within the given radius of a point whose vehicle
+     * can carry the packet.
+     * Served from the in-memory index once it is warm, which every node keeps
+     * up to date from the "courier-locations" topic; Elasticsearch is only
+     * queried during cold start.
      */
-    private double calculateHaversineDistance(double lat1, double lon1, double lat2, double lon2) {
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
+    private Mono<List<DeliveryPersonDocument>> findCandidates(GeoPoint center, double radiusKm,
+            PacketRequirement requirement) {
+        if (courierSpatialIndex.isWarm()) {
+            return Mono.just(courierSpatialIndex.findWithinRadius(center.getLat(), center.getLon(), radiusKm,
+                    requirement));
+        }
+        return deliveryPersonSearchRepository.findEligibleNear(center, radiusKm, requirement).collectList();
+    }
+
+    /**
+     * Sends a record whose retries are exhausted to the dead letter topic so
+     * that its offset can be committed.
+     */
+    private Mono<Void> deadLetter(ConsumerRecord<String, AnnouncementPublishedEvent> record, Throwable error) {
+        return Mono.<Void>fromRunnable(() -> deadLetterPublishingRecoverer.accept(record, toException(error)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 
-        double lat1Rad = Math.toRadians(lat1);
-        double lat2Rad = Math.toRadians(lat2);
+    private static Exception toException(Throwable error) {
+        return error instanceof Exception exception ? exception : new IllegalStateException(error);
+    }
 
-        double a = Math.pow(Math.sin(dLat / 2), 2) +
-                Math.pow(Math.sin(dLon / 2), 2) * Math.cos(lat1Rad) * Math.cos(lat2Rad);
+    private static long clusterKey(GeoPoint point) {
+        long latCell = (long) Math.floor((point.getLat() + 90.0) / CLUSTER_CELL_DEG);
+        long lonCell = (long) Math.floor((point.getLon() + 180.0) / CLUSTER_CELL_DEG);
+        return latCell * 10_000L + lonCell;
+    }
 
-        double c = 2 * Math.asin(Math.sqrt(a));
+    /**
+     * An announcement record waiting in the batching window.
+     */
+    private static final class PendingAnnouncement {
+        private final ConsumerRecord<String, AnnouncementPublishedEvent> record;
+        private final Acknowledgment acknowledgment;
+        private final InFlight inFlight;
+        private AnnouncementDocument document;
+        private List<DeliveryPersonDocument> snapshot;
 
-        return EARTH_RADIUS_KM * c;
+        private PendingAnnouncement(ConsumerRecord<String, AnnouncementPublishedEvent> record,
+                Acknowledgment acknowledgment, InFlight inFlight) {
+            this.record = record;
+            this.acknowledgment = acknowledgment;
+            this.inFlight = inFlight;
+        }
+    }
+
+    /**
+     * Announcements of one partition in flight, pausing the partition at the
+     * limit and resuming it once it is back under.
+     */
+    private final class InFlight {
+        private final TopicPartition partition;
+        private int count;
+
+        private InFlight(TopicPartition partition) {
+            this.partition = partition;
+        }
+
+        private synchronized void acquire() {
+            if (++count == maxInFlightPerPartition) {
+                MessageListenerContainer container = container();
+                if (container != null) {
+                    container.pausePartition(partition);
+                }
+            }
+        }
+
+        private synchronized void release() {
+            if (count-- == maxInFlightPerPartition) {
+                MessageListenerContainer container = container();
+                if (container != null) {
+                    container.resumePartition(partition);
+                }
+            }
+        }
+
+        private MessageListenerContainer container() {
+            return kafkaListenerEndpointRegistry.getListenerContainer(LISTENER_ID);
+        }
     }
 }
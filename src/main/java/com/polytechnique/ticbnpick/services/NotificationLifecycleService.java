@@ -0,0 +1,113 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.exceptions.ValidationException;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.repositories.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Lifecycle of the notifications: PENDING once persisted, SENT once a
+ * delivery channel reports it handed them over, or FAILED when it could not,
+ * then DELIVERED and READ as receipts come back.
+ *
+ * <p>Receipts arrive in batches, from the bulk endpoint or the
+ * notification-receipts topic, and each batch is applied with one UPDATE per
+ * status. A status never goes backwards: a late delivery receipt leaves a
+ * read notification alone, and a channel that failed does not undo one that
+ * sent the notification.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationLifecycleService {
+
+    private static final Set<NotificationStatus> RECEIPT_STATUSES =
+            EnumSet.of(NotificationStatus.DELIVERED, NotificationStatus.READ);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationRecipientResolver notificationRecipientResolver;
+
+    @Value("${notification.receipts.max-batch-size:500}")
+    private int maxBatchSize;
+
+    /**
+     * Moves notifications to a new status, whoever they belong to.
+     *
+     * @param ids    the notifications
+     * @param status the new status
+     * @return the number of notifications actually moved
+     */
+    public Mono<Long> updateStatus(Collection<UUID> ids, NotificationStatus status) {
+        return notificationRepository.updateStatus(distinct(ids), status, previousStatuses(status), null);
+    }
+
+    /**
+     * Applies receipts sent by the authenticated person, ignoring the
+     * notifications that are not its own.
+     *
+     * @param email  email of the authenticated person
+     * @param ids    the notifications
+     * @param status DELIVERED or READ
+     * @return the number of notifications actually moved
+     */
+    public Mono<Long> acknowledge(String email, Collection<UUID> ids, NotificationStatus status) {
+        if (!RECEIPT_STATUSES.contains(status)) {
+            return Mono.error(new ValidationException("Receipt status must be DELIVERED or READ"));
+        }
+        Collection<UUID> distinctIds = distinct(ids);
+        if (distinctIds.size() > maxBatchSize) {
+            return Mono.error(new ValidationException(
+                    "At most " + maxBatchSize + " notifications can be acknowledged at once"));
+        }
+        return notificationRecipientResolver.recipientIds(email)
+                .flatMap(recipientIds -> notificationRepository.updateStatus(distinctIds, status,
+                        previousStatuses(status), recipientIds))
+                .doOnNext(updated -> log.debug("{} of {} notifications marked {} by {}", updated,
+                        distinctIds.size(), status, email));
+    }
+
+    /**
+     * @param email email of the authenticated person
+     * @return the number of notifications the person has not read yet
+     */
+    public Mono<Long> countUnread(String email) {
+        return notificationRecipientResolver.recipientIds(email)
+                .flatMap(notificationRepository::countUnread);
+    }
+
+    /**
+     * @param status the target status
+     * @return the statuses a notification may move to it from
+     */
+    static Set<NotificationStatus> previousStatuses(NotificationStatus status) {
+        return switch (status) {
+            case PENDING -> EnumSet.noneOf(NotificationStatus.class);
+            // Each channel reports on its own: one that sent the notification wins over one that failed
+            case SENT -> EnumSet.of(NotificationStatus.PENDING, NotificationStatus.FAILED);
+            case FAILED -> EnumSet.of(NotificationStatus.PENDING);
+            // A receipt proves the notification reached the device, even if a channel reported a failure
+            case DELIVERED -> EnumSet.of(NotificationStatus.PENDING, NotificationStatus.SENT,
+                    NotificationStatus.FAILED);
+            case READ -> EnumSet.of(NotificationStatus.PENDING, NotificationStatus.SENT,
+                    NotificationStatus.DELIVERED, NotificationStatus.FAILED);
+        };
+    }
+
+    private static Collection<UUID> distinct(Collection<UUID> ids) {
+        return ids instanceof Set<UUID> ? ids : List.copyOf(new LinkedHashSet<>(ids));
+    }
+}
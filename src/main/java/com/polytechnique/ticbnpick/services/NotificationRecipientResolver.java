@@ -0,0 +1,44 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.exceptions.ResourceNotFoundException;
+import com.polytechnique.ticbnpick.models.DeliveryPerson;
+import com.polytechnique.ticbnpick.services.deliveryperson.LectureDeliveryPersonService;
+import com.polytechnique.ticbnpick.services.person.LecturePersonService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resolves the recipient identifiers under which the notifications of an
+ * authenticated person are stored.
+ *
+ * <p>Notifications are addressed to the person, or to its delivery person
+ * profile for job offers.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationRecipientResolver {
+
+    private final LecturePersonService lecturePersonService;
+    private final LectureDeliveryPersonService lectureDeliveryPersonService;
+
+    /**
+     * @param email email of the authenticated person
+     * @return the person identifier, followed by its delivery person
+     *         identifier if it has one
+     */
+    public Mono<List<UUID>> recipientIds(String email) {
+        return lecturePersonService.findByEmail(email)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Person", "email", email)))
+                .flatMap(person -> lectureDeliveryPersonService.findByPersonId(person.getId())
+                        .map(DeliveryPerson::getId)
+                        .map(deliveryPersonId -> List.of(person.getId(), deliveryPersonId))
+                        .defaultIfEmpty(List.of(person.getId())));
+    }
+}
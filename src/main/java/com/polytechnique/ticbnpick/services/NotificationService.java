@@ -2,24 +2,38 @@ package com.polytechnique.ticbnpick.services;
 
 import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
 import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
 import com.polytechnique.ticbnpick.models.Notification;
 import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
 import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
 import com.polytechnique.ticbnpick.repositories.NotificationRepository;
-import com.polytechnique.ticbnpick.services.support.EmailService;
-import com.polytechnique.ticbnpick.services.support.PushNotificationService;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
 
 /**
  * Service responsible for managing and sending notifications.
- * Orchestrates Email, Push, and DB persistence.
+ * Persists them as PENDING and hands them to the delivery channels (email,
+ * push, in-app) through the notification-requested topic. They stay PENDING
+ * until a channel reports what became of them on notification-receipts; see
+ * {@link NotificationLifecycleService}.
+ * Match alerts go through {@link NotificationThrottle}; the matches it holds
+ * back are sent as one digest per courier every
+ * {@code notification.digest.interval-seconds}.
  *
  * @author François-Charles ATANGA
  * @date 03/02/2026
@@ -33,62 +47,157 @@ public class NotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
+    private static final String NEW_ANNOUNCEMENT_TITLE = "Nouvelle course disponible !";
+    private static final String NEW_ANNOUNCEMENT_MESSAGE =
+            "Une course correspond à votre position. Cliquez pour voir les détails.";
+    private static final String DIGEST_TITLE = "Nouvelles courses disponibles !";
+    private static final String DIGEST_MESSAGE =
+            "%d nouvelles courses près de vous. Ouvrez l'application pour voir les détails.";
+
     private final NotificationRepository notificationRepository;
-    private final EmailService emailService;
-    private final PushNotificationService pushNotificationService;
+    private final KafkaEventPublisher kafkaEventPublisher;
+    private final NotificationThrottle notificationThrottle;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.digest.interval-seconds:300}")
+    private long digestIntervalSeconds;
+
+    private Disposable digestSubscription;
+    private Counter publishFailuresCounter;
+
+    @PostConstruct
+    void startDigestFlush() {
+        registerMetrics();
+        digestSubscription = Flux.interval(Duration.ofSeconds(digestIntervalSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> flushDigests(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stopDigestFlush() {
+        if (digestSubscription != null) {
+            digestSubscription.dispose();
+        }
+    }
+
+    void registerMetrics() {
+        publishFailuresCounter = Counter.builder("notification.publish.failures")
+                .description("Notifications whose delivery request could not be published")
+                .register(meterRegistry);
+    }
 
     /**
      * Notifies eligible delivery persons about a new announcement match.
+     * Couriers alerted too often, or already alerted about this announcement,
+     * are left out. All notifications of the match are persisted with one bulk
+     * insert, then one notification-requested event per recipient is
+     * published; each channel consumes them at its own pace and reports the
+     * outcome. A notification whose event cannot be published is left out
+     * without failing the others, see {@code notification.publish.failures}. The throttle
+     * reservations are committed once the insert succeeds and released if it
+     * fails, or for the recipients whose event could not be published, so
+     * that a retry alerts them again.
      *
      * @param deliveryPersons List of eligible delivery persons.
      * @param announcement    The matched announcement.
-     * @return A Flux of saved Notifications.
+     * @return A Flux of the notifications handed to the channels.
      */
-    @Transactional("connectionFactoryTransactionManager")
     public Flux<Notification> notifyEligibleDeliveryPersons(List<DeliveryPersonDocument> deliveryPersons,
             AnnouncementDocument announcement) {
-        log.info("Notifying {} delivery persons for Announcement {}", deliveryPersons.size(), announcement.getId());
+        List<DeliveryPersonDocument> recipients = deliveryPersons.stream()
+                .filter(dp -> notificationThrottle.reserve(dp, announcement.getId())
+                        == NotificationThrottle.Decision.SEND)
+                .toList();
+        log.info("Notifying {} of {} delivery persons for Announcement {}", recipients.size(),
+                deliveryPersons.size(), announcement.getId());
+        if (recipients.isEmpty()) {
+            return Flux.empty();
+        }
 
-        return Flux.fromIterable(deliveryPersons)
-                .flatMap(dp -> sendNotification(dp, announcement));
+        List<Notification> notifications = recipients.stream()
+                .map(dp -> newNotification(dp, NotificationType.NEW_ANNOUNCEMENT, NEW_ANNOUNCEMENT_TITLE,
+                        NEW_ANNOUNCEMENT_MESSAGE))
+                .toList();
+        return persistAndRequestDelivery(recipients, notifications, announcement.getId());
     }
 
-    private Mono<Notification> sendNotification(DeliveryPersonDocument dp, AnnouncementDocument announcement) {
-        String title = "Nouvelle course disponible !";
-        String message = "Une course correspond à votre position. Cliquez pour voir les détails.";
+    /**
+     * Sends the pending digests of the matches held back by the throttle.
+     */
+    Mono<Void> flushDigests() {
+        List<NotificationThrottle.Digest> digests = notificationThrottle.drainDigests();
+        if (digests.isEmpty()) {
+            return Mono.empty();
+        }
+        List<DeliveryPersonDocument> recipients = digests.stream()
+                .map(NotificationThrottle.Digest::courier)
+                .toList();
+        List<Notification> notifications = digests.stream()
+                .map(digest -> newNotification(digest.courier(), NotificationType.NEW_ANNOUNCEMENTS_DIGEST,
+                        DIGEST_TITLE, String.format(DIGEST_MESSAGE, digest.count())))
+                .toList();
+        return persistAndRequestDelivery(recipients, notifications, null)
+                .then()
+                .doOnSuccess(unused -> log.info("Sent {} notification digests", digests.size()))
+                .onErrorResume(e -> {
+                    log.error("Failed to send {} notification digests", digests.size(), e);
+                    return Mono.empty();
+                });
+    }
+
+    private Flux<Notification> persistAndRequestDelivery(List<DeliveryPersonDocument> recipients,
+            List<Notification> notifications, UUID announcementId) {
+        return notificationRepository.insertAll(notifications)
+                .collectList()
+                .doOnSuccess(saved -> forEachReservation(recipients, announcementId, notificationThrottle::commit))
+                .doOnError(e -> forEachReservation(recipients, announcementId, notificationThrottle::release))
+                .flatMapMany(saved -> Flux.range(0, saved.size())
+                        .flatMap(i -> requestDelivery(recipients.get(i), announcementId, saved.get(i))));
+    }
+
+    /**
+     * Applies a throttle step to the match reservations of the recipients.
+     * Digests, which have no announcement, hold none.
+     */
+    private static void forEachReservation(List<DeliveryPersonDocument> recipients, UUID announcementId,
+            BiConsumer<UUID, UUID> step) {
+        if (announcementId != null) {
+            recipients.forEach(dp -> step.accept(dp.getId(), announcementId));
+        }
+    }
 
-        // 1. Create Notification Entity
+    private Notification newNotification(DeliveryPersonDocument dp, NotificationType type, String title,
+            String message) {
         Notification notification = new Notification();
         notification.setPersonId(dp.getId());
-        notification.setNotificationType(NotificationType.NEW_ANNOUNCEMENT);
+        notification.setNotificationType(type);
         notification.setTitle(title);
         notification.setMessage(message);
-        notification.setNotificationStatus(NotificationStatus.SENT);
-
-        // 2. Persist to DB
-        return notificationRepository.save(notification)
-                .flatMap(savedNotification -> {
-                    // 3. Send Email
-                    Mono<Void> emailMono = emailService.sendSimpleMessageReactive(
-                            dp.getEmail(),
-                            title,
-                            message + "\n\nAnnonce ID: " + announcement.getId()).onErrorResume(e -> {
-                                log.error("Error sending email to {}: {}", dp.getEmail(), e.getMessage());
-                                return Mono.empty();
-                            });
-
-                    // 4. Send Push Notification
-                    Mono<Void> pushMono = pushNotificationService.sendPushNotification(
-                            dp.getId(),
-                            title,
-                            message).onErrorResume(e -> {
-                                log.error("Error sending push to user {}: {}", dp.getId(), e.getMessage());
-                                return Mono.empty();
-                            });
-
-                    // execute side effects without blocking the return of the saved notification
-                    return Mono.when(emailMono, pushMono)
-                            .thenReturn(savedNotification);
+        notification.setNotificationStatus(NotificationStatus.PENDING);
+        return notification;
+    }
+
+    private Mono<Notification> requestDelivery(DeliveryPersonDocument dp, UUID announcementId,
+            Notification savedNotification) {
+        return kafkaEventPublisher.publishNotificationRequested(NotificationRequestedEvent.builder()
+                        .notificationId(savedNotification.getId())
+                        .recipientId(dp.getId())
+                        .recipientEmail(dp.getEmail())
+                        .notificationType(savedNotification.getNotificationType())
+                        .title(savedNotification.getTitle())
+                        .message(savedNotification.getMessage())
+                        .announcementId(announcementId)
+                        .createdAt(savedNotification.getCreatedAt())
+                        .build())
+                .thenReturn(savedNotification)
+                .onErrorResume(e -> {
+                    // Left PENDING; the other recipients are still delivered
+                    publishFailuresCounter.increment();
+                    log.warn("Failed to request delivery of notification {} to {}", savedNotification.getId(),
+                            dp.getId(), e);
+                    forEachReservation(List.of(dp), announcementId, notificationThrottle::release);
+                    return Mono.empty();
                 });
     }
 }
@@ -0,0 +1,107 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.dtos.responses.NotificationResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Notification streams opened on this node, by recipient.
+ *
+ * <p>A person may have several streams open (one per device or tab), each
+ * with a bounded buffer of {@code notification.stream.buffer} notifications.
+ * A stream whose client does not keep up is ended instead of dropping
+ * notifications silently: the client reconnects with its Last-Event-ID and
+ * the missed notifications are replayed from the database.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+public class NotificationStreamRegistry {
+
+    private final Map<UUID, Set<Sinks.Many<NotificationResponse>>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${notification.stream.buffer:32}")
+    private int buffer;
+
+    /**
+     * Opens a stream receiving the notifications of the given recipients.
+     *
+     * @param recipientIds the identifiers the notifications may be addressed to
+     * @return the stream
+     */
+    public Sinks.Many<NotificationResponse> register(Collection<UUID> recipientIds) {
+        Sinks.Many<NotificationResponse> sink = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<NotificationResponse>get(buffer).get());
+        for (UUID recipientId : recipientIds) {
+            subscribers.compute(recipientId, (id, sinks) -> {
+                Set<Sinks.Many<NotificationResponse>> current = sinks != null ? sinks : ConcurrentHashMap.newKeySet();
+                current.add(sink);
+                return current;
+            });
+        }
+        return sink;
+    }
+
+    /**
+     * Closes a stream returned by {@link #register}.
+     *
+     * @param recipientIds the identifiers it was registered with
+     * @param sink         the stream
+     */
+    public void unregister(Collection<UUID> recipientIds, Sinks.Many<NotificationResponse> sink) {
+        for (UUID recipientId : recipientIds) {
+            subscribers.computeIfPresent(recipientId, (id, sinks) -> {
+                sinks.remove(sink);
+                return sinks.isEmpty() ? null : sinks;
+            });
+        }
+        synchronized (sink) {
+            sink.tryEmitComplete();
+        }
+    }
+
+    /**
+     * Delivers a notification to the streams of its recipient on this node.
+     *
+     * @param recipientId  the recipient
+     * @param notification the notification
+     * @return the number of streams it was queued on
+     */
+    public int publish(UUID recipientId, NotificationResponse notification) {
+        Set<Sinks.Many<NotificationResponse>> sinks = subscribers.get(recipientId);
+        if (sinks == null) {
+            return 0;
+        }
+        int delivered = 0;
+        for (Sinks.Many<NotificationResponse> sink : sinks) {
+            synchronized (sink) {
+                Sinks.EmitResult result = sink.tryEmitNext(notification);
+                if (result.isSuccess()) {
+                    delivered++;
+                } else if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                    log.warn("Notification stream of {} overflowed, closing it", recipientId);
+                    sink.tryEmitComplete();
+                }
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * @return the number of recipients with an open stream
+     */
+    public int size() {
+        return subscribers.size();
+    }
+}
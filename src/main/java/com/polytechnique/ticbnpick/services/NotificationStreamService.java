@@ -0,0 +1,108 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.dtos.responses.NotificationResponse;
+import com.polytechnique.ticbnpick.models.Notification;
+import com.polytechnique.ticbnpick.repositories.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Server-Sent Events stream of the notifications of a person.
+ *
+ * <p>New notifications reach the stream through
+ * {@link NotificationStreamRegistry}, fed from Kafka. On reconnect, the
+ * notifications created after the Last-Event-ID are replayed from the
+ * database first (at most {@code notification.stream.replay-limit}), then the
+ * stream goes live. A comment frame is sent every
+ * {@code notification.stream.heartbeat-seconds} so that proxies keep the
+ * connection open.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationStreamService {
+
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final NotificationRepository notificationRepository;
+    private final NotificationRecipientResolver notificationRecipientResolver;
+
+    @Value("${notification.stream.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${notification.stream.replay-limit:100}")
+    private int replayLimit;
+
+    @Value("${notification.stream.retry-ms:3000}")
+    private long retryMs;
+
+    /**
+     * Streams the notifications of the authenticated person.
+     *
+     * @param email       email of the authenticated person
+     * @param lastEventId identifier of the last notification received, if
+     *                    resuming
+     * @return the event stream
+     */
+    public Flux<ServerSentEvent<NotificationResponse>> stream(String email, UUID lastEventId) {
+        return notificationRecipientResolver.recipientIds(email).flatMapMany(recipientIds -> {
+            // Register before replaying so that nothing created meanwhile is missed
+            Sinks.Many<NotificationResponse> sink = notificationStreamRegistry.register(recipientIds);
+            Flux<NotificationResponse> replay = lastEventId != null
+                    ? notificationRepository.findAfter(recipientIds, lastEventId, replayLimit)
+                            .map(NotificationStreamService::toResponse)
+                    : Flux.empty();
+
+            Flux<ServerSentEvent<NotificationResponse>> notifications = replay.collectList()
+                    .flatMapMany(replayed -> {
+                        Set<UUID> replayedIds = replayed.stream()
+                                .map(NotificationResponse::getId)
+                                .collect(Collectors.toSet());
+                        return Flux.fromIterable(replayed)
+                                .concatWith(sink.asFlux().filter(n -> !replayedIds.contains(n.getId())));
+                    })
+                    .map(this::toEvent);
+
+            Flux<ServerSentEvent<NotificationResponse>> heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                    .map(tick -> ServerSentEvent.<NotificationResponse>builder()
+                            .comment("heartbeat")
+                            .build());
+
+            // Minimal prefetch so that a slow client fills its registry buffer, not operator queues
+            return notifications
+                    .publish(shared -> Flux.merge(1, shared, heartbeats.takeUntilOther(shared.then())), 1)
+                    .doFinally(signal -> notificationStreamRegistry.unregister(recipientIds, sink));
+        });
+    }
+
+    private ServerSentEvent<NotificationResponse> toEvent(NotificationResponse notification) {
+        return ServerSentEvent.<NotificationResponse>builder()
+                .id(notification.getId().toString())
+                .event(notification.getNotificationType().name())
+                .retry(Duration.ofMillis(retryMs))
+                .data(notification)
+                .build();
+    }
+
+    private static NotificationResponse toResponse(Notification notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .notificationType(notification.getNotificationType())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+}
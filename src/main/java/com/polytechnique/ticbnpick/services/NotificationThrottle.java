@@ -0,0 +1,260 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limits how often a courier is alerted about new jobs.
+ *
+ * <p>Each courier has a token bucket of {@code notification.rate-limit.capacity}
+ * alerts, refilled by one every
+ * {@code notification.rate-limit.refill-seconds}. A match with tokens left is
+ * sent; otherwise it is counted in the courier's digest, which
+ * {@link #drainDigests()} hands out on a timer as a single summary alert.
+ * The same announcement matched again within
+ * {@code notification.dedup.window-seconds}, e.g. by both the forward and the
+ * reverse matching, is dropped.
+ *
+ * <p>A match to send is first {@link #reserve reserved}: its token is taken
+ * and concurrent matches of the same announcement are dropped, but the
+ * deduplication window only starts once it is {@link #commit committed},
+ * after the notification was persisted. A match that could not be persisted
+ * or published is {@link #release released}, giving its token back, so that
+ * a retry alerts the courier again.
+ *
+ * <p>Exposed metrics: {@code notification.throttle} tagged
+ * {@code outcome=sent|duplicate|digested|released} and
+ * {@code notification.throttle.tracked}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Component
+public class NotificationThrottle {
+
+    /**
+     * What to do with a match notification.
+     */
+    public enum Decision {
+        SEND,
+        DUPLICATE,
+        DIGESTED
+    }
+
+    /**
+     * Matches of a courier folded into one alert.
+     *
+     * @param courier the courier, as last matched
+     * @param count   the number of matches
+     */
+    public record Digest(DeliveryPersonDocument courier, int count) {
+    }
+
+    @Value("${notification.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.rate-limit.capacity:3}")
+    private int capacity;
+
+    @Value("${notification.rate-limit.refill-seconds:60}")
+    private long refillSeconds;
+
+    @Value("${notification.dedup.window-seconds:300}")
+    private long dedupWindowSeconds;
+
+    private final Map<UUID, CourierState> states = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final Counter sentCounter;
+    private final Counter duplicateCounter;
+    private final Counter digestedCounter;
+    private final Counter releasedCounter;
+
+    @Autowired
+    public NotificationThrottle(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    NotificationThrottle(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.sentCounter = outcomeCounter(meterRegistry, "sent");
+        this.duplicateCounter = outcomeCounter(meterRegistry, "duplicate");
+        this.digestedCounter = outcomeCounter(meterRegistry, "digested");
+        this.releasedCounter = outcomeCounter(meterRegistry, "released");
+        Gauge.builder("notification.throttle.tracked", states, Map::size)
+                .description("Couriers with rate limiting or deduplication state")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.throttle")
+                .tag("outcome", outcome)
+                .description("Match notifications by rate limiting outcome")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Decides whether a courier is alerted about an announcement now. A SEND
+     * decision holds a reservation until it is committed or released.
+     *
+     * @param courier        the matched courier
+     * @param announcementId the matched announcement
+     * @return the decision
+     */
+    public Decision reserve(DeliveryPersonDocument courier, UUID announcementId) {
+        if (!enabled) {
+            sentCounter.increment();
+            return Decision.SEND;
+        }
+        long now = clock.millis();
+        Decision[] decision = new Decision[1];
+        states.compute(courier.getId(), (id, state) -> {
+            CourierState current = state != null ? state : new CourierState(capacity, now);
+            decision[0] = current.reserve(courier, announcementId, now);
+            return current;
+        });
+        switch (decision[0]) {
+            case SEND -> sentCounter.increment();
+            case DUPLICATE -> duplicateCounter.increment();
+            case DIGESTED -> digestedCounter.increment();
+        }
+        return decision[0];
+    }
+
+    /**
+     * Confirms a reservation once its notification is persisted, starting the
+     * deduplication window of the announcement.
+     *
+     * @param courierId      the courier
+     * @param announcementId the announcement
+     */
+    public void commit(UUID courierId, UUID announcementId) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        states.computeIfPresent(courierId, (id, state) -> {
+            if (state.reserved.remove(announcementId) != null) {
+                state.recentAnnouncements.put(announcementId, now);
+            }
+            return state;
+        });
+    }
+
+    /**
+     * Cancels a reservation, or a committed match whose notification could
+     * not be handed to the channels, giving its token back.
+     *
+     * @param courierId      the courier
+     * @param announcementId the announcement
+     */
+    public void release(UUID courierId, UUID announcementId) {
+        if (!enabled) {
+            return;
+        }
+        states.computeIfPresent(courierId, (id, state) -> {
+            if (state.reserved.remove(announcementId) != null
+                    || state.recentAnnouncements.remove(announcementId) != null) {
+                state.tokens = Math.min(capacity, state.tokens + 1);
+                releasedCounter.increment();
+            }
+            return state;
+        });
+    }
+
+    /**
+     * Takes the pending digests and forgets the couriers with nothing left to
+     * remember.
+     *
+     * @return one digest per courier with matches held back
+     */
+    public List<Digest> drainDigests() {
+        long now = clock.millis();
+        List<Digest> digests = new ArrayList<>();
+        for (UUID courierId : states.keySet()) {
+            states.computeIfPresent(courierId, (id, state) -> {
+                if (state.digestCount > 0) {
+                    digests.add(new Digest(state.digestCourier, state.digestCount));
+                    state.digestCount = 0;
+                    state.digestCourier = null;
+                }
+                return state.isIdle(now) ? null : state;
+            });
+        }
+        return digests;
+    }
+
+    /**
+     * Rate limiting and deduplication state of one courier, only accessed
+     * under the map lock of its entry.
+     */
+    private final class CourierState {
+
+        private double tokens;
+        private long refilledAt;
+        private final LinkedHashMap<UUID, Long> recentAnnouncements = new LinkedHashMap<>();
+        private final LinkedHashMap<UUID, Long> reserved = new LinkedHashMap<>();
+        private int digestCount;
+        private DeliveryPersonDocument digestCourier;
+
+        private CourierState(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        private Decision reserve(DeliveryPersonDocument courier, UUID announcementId, long now) {
+            forgetExpired(now);
+            if (recentAnnouncements.containsKey(announcementId) || reserved.containsKey(announcementId)) {
+                return Decision.DUPLICATE;
+            }
+            refill(now);
+            if (tokens >= 1) {
+                tokens--;
+                reserved.put(announcementId, now);
+                return Decision.SEND;
+            }
+            digestCount++;
+            digestCourier = courier;
+            return Decision.DIGESTED;
+        }
+
+        private boolean isIdle(long now) {
+            forgetExpired(now);
+            refill(now);
+            return digestCount == 0 && recentAnnouncements.isEmpty() && reserved.isEmpty() && tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) / (refillSeconds * 1000.0));
+            refilledAt = now;
+        }
+
+        private void forgetExpired(long now) {
+            // Insertion order is time order, so the expired entries come first.
+            // A reservation neither committed nor released within the window is abandoned.
+            long horizon = now - dedupWindowSeconds * 1000;
+            forgetBefore(recentAnnouncements, horizon);
+            forgetBefore(reserved, horizon);
+        }
+
+        private void forgetBefore(LinkedHashMap<UUID, Long> announcements, long horizon) {
+            Iterator<Long> seenAt = announcements.values().iterator();
+            while (seenAt.hasNext() && seenAt.next() <= horizon) {
+                seenAt.remove();
+            }
+        }
+    }
+}
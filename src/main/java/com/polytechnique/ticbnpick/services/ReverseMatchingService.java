@@ -0,0 +1,199 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.events.AnnouncementOpenedEvent;
+import com.polytechnique.ticbnpick.repositories.ReverseMatchClaimRepository;
+import com.polytechnique.ticbnpick.repositories.ReverseMatchClaimRepository.ClaimOutcome;
+import com.polytechnique.ticbnpick.services.matching.OpenAnnouncementIndex;
+import com.polytechnique.ticbnpick.services.matching.ScoringProfiles;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reverse matching: couriers that move or become available are matched
+ * against the announcements still open, instead of waiting for a new
+ * announcement to be published.
+ *
+ * <p>Once forward matching is done, the announcement is published on the
+ * compacted "open-announcements" topic together with the delta it settled on
+ * and the couriers already notified. Every node registers it from there, and
+ * replays the topic on startup, so a courier is matched whichever node
+ * receives its pings. The node finding a match claims the courier in
+ * PostgreSQL, so that a courier is notified once per announcement and the
+ * top-K of its urgency is counted across the cluster. An announcement stays
+ * open until it reaches that cap, is closed by an AnnouncementClosedEvent
+ * when it is deleted or taken, or expires after
+ * {@code matching.reverse.ttl-minutes}; expired claims are purged on the
+ * eviction timer.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReverseMatchingService {
+
+    private final OpenAnnouncementIndex openAnnouncementIndex;
+    private final ScoringProfiles scoringProfiles;
+    private final NotificationService notificationService;
+    private final KafkaEventPublisher kafkaEventPublisher;
+    private final ReverseMatchClaimRepository reverseMatchClaimRepository;
+
+    @Value("${matching.reverse.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${matching.reverse.eviction-interval-seconds:60}")
+    private long evictionIntervalSeconds;
+
+    private Disposable evictionSubscription;
+
+    @PostConstruct
+    void startEviction() {
+        evictionSubscription = Flux.interval(Duration.ofSeconds(evictionIntervalSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> {
+                    openAnnouncementIndex.evictExpired();
+                    return reverseMatchClaimRepository.deleteExpired(Instant.now())
+                            .onErrorResume(e -> {
+                                log.warn("Failed to purge expired reverse matching claims", e);
+                                return Mono.empty();
+                            });
+                }, 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stopEviction() {
+        if (evictionSubscription != null) {
+            evictionSubscription.dispose();
+        }
+    }
+
+    /**
+     * Keeps an announcement open for couriers arriving later, on every node.
+     *
+     * @param announcement the matched announcement
+     * @param delta        the delta forward matching settled on, null if it
+     *                     found no courier
+     * @param notified     couriers notified by forward matching
+     * @return a Mono completing once the announcement is published
+     */
+    public Mono<Void> registerOpenAnnouncement(AnnouncementDocument announcement, Double delta,
+            Collection<UUID> notified) {
+        GeoPoint pickup = announcement.getPickupLocation();
+        GeoPoint delivery = announcement.getDeliveryLocation();
+        AnnouncementOpenedEvent event = AnnouncementOpenedEvent.builder()
+                .announcementId(announcement.getId())
+                .clientId(announcement.getClientId())
+                .pickupLatitude(pickup.getLat())
+                .pickupLongitude(pickup.getLon())
+                .deliveryLatitude(delivery.getLat())
+                .deliveryLongitude(delivery.getLon())
+                .packet(announcement.getPacket())
+                .createdAt(announcement.getCreatedAt())
+                .amount(announcement.getAmount())
+                .urgency(announcement.getUrgency())
+                .delta(delta)
+                .notified(List.copyOf(notified))
+                .maxNotifications(scoringProfiles.forUrgency(announcement.getUrgency()).getTopK())
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(ttlMinutes)))
+                .build();
+        return kafkaEventPublisher.publishAnnouncementOpened(event);
+    }
+
+    /**
+     * Registers an announcement published by any node in the local index.
+     *
+     * @param event the open announcement
+     */
+    public void openAnnouncement(AnnouncementOpenedEvent event) {
+        AnnouncementDocument announcement = AnnouncementDocument.builder()
+                .id(event.getAnnouncementId())
+                .clientId(event.getClientId())
+                .pickupLocation(new GeoPoint(event.getPickupLatitude(), event.getPickupLongitude()))
+                .deliveryLocation(new GeoPoint(event.getDeliveryLatitude(), event.getDeliveryLongitude()))
+                .packet(event.getPacket())
+                .createdAt(event.getCreatedAt())
+                .amount(event.getAmount())
+                .urgency(event.getUrgency())
+                .build();
+        openAnnouncementIndex.register(announcement, event.getDelta(),
+                event.getNotified() != null ? event.getNotified() : List.of(), event.getMaxNotifications(),
+                event.getExpiresAt());
+    }
+
+    /**
+     * Closes an announcement for reverse matching on this node.
+     *
+     * @param announcementId the announcement identifier
+     */
+    public void closeAnnouncement(UUID announcementId) {
+        openAnnouncementIndex.remove(announcementId);
+    }
+
+    /**
+     * Notifies a courier about the open announcements it has just become
+     * eligible for. Each announcement is notified at most once per courier,
+     * whichever node receives its pings.
+     *
+     * @param courier the courier's latest document
+     * @return a Mono completing when the notifications are sent
+     */
+    public Mono<Void> matchOpenAnnouncements(DeliveryPersonDocument courier) {
+        List<OpenAnnouncementIndex.Match> matches = openAnnouncementIndex.findMatches(courier);
+        if (matches.isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.fromIterable(matches)
+                .concatMap(match -> claim(courier, match))
+                .collectList()
+                .flatMap(announcements -> {
+                    if (announcements.isEmpty()) {
+                        return Mono.empty();
+                    }
+                    log.info("Delivery person {} matched {} open announcement(s)", courier.getId(),
+                            announcements.size());
+                    return Flux.fromIterable(announcements)
+                            .flatMap(announcement -> notificationService
+                                    .notifyEligibleDeliveryPersons(List.of(courier), announcement))
+                            .then();
+                });
+    }
+
+    /**
+     * Claims a courier for a candidate match across the cluster and records
+     * the outcome in the local index.
+     */
+    private Mono<AnnouncementDocument> claim(DeliveryPersonDocument courier, OpenAnnouncementIndex.Match match) {
+        UUID announcementId = match.announcement().getId();
+        return reverseMatchClaimRepository.claim(announcementId, courier.getId(), match.delta(), match.cap(),
+                        match.expiresAt())
+                .flatMap(outcome -> {
+                    if (outcome == ClaimOutcome.CLAIMED) {
+                        openAnnouncementIndex.recordClaim(announcementId, courier.getId(), match.delta());
+                        return Mono.just(match.announcement());
+                    }
+                    if (outcome == ClaimOutcome.ALREADY_CLAIMED) {
+                        openAnnouncementIndex.recordClaim(announcementId, courier.getId(), null);
+                    }
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,76 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.events.CourierLocationChangedEvent;
+import com.polytechnique.ticbnpick.exceptions.DeliveryPersonNotFoundException;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierAvailabilityRegistry;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierProfileCache;
+import com.polytechnique.ticbnpick.services.matching.CourierSpatialIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Kafka Consumer keeping the courier index of this node in line with the
+ * positions and availability reported to every node.
+ * Each node uses its own consumer group so that every node's index receives
+ * every event, including the ones this node published itself. The events
+ * also tell the {@link CourierAvailabilityRegistry} when any node last saw
+ * each courier.
+ *
+ * <p>Positions carry the courier profile, so indexing them needs no database
+ * read. The group is named after the node ({@code kafka.node-id}, the host
+ * name by default) rather than a random id, so that a restart reuses it
+ * instead of leaving an orphan group behind; the consumer rewinds to the
+ * start of the compacted topic on assignment to rebuild the index.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourierLocationConsumer implements ConsumerSeekAware {
+
+    private final CourierProfileCache courierProfileCache;
+    private final CourierSpatialIndex courierSpatialIndex;
+    private final CourierAvailabilityRegistry courierAvailabilityRegistry;
+
+    @KafkaListener(topics = "courier-locations", groupId = "ticbnpick-courier-index-${kafka.node-id:${random.uuid}}")
+    public void consumeCourierLocationChanged(CourierLocationChangedEvent event) {
+        courierAvailabilityRegistry.observe(event);
+        if (!event.isAvailable() || event.getLatitude() == null || event.getLongitude() == null) {
+            log.debug("Removing delivery person {} from the courier index", event.getDeliveryPersonId());
+            courierSpatialIndex.remove(event.getDeliveryPersonId());
+            return;
+        }
+        GeoPoint location = new GeoPoint(event.getLatitude(), event.getLongitude());
+        if (event.getProfile() != null) {
+            courierSpatialIndex.upsert(event.getProfile().toDocument(location, true));
+            return;
+        }
+        // Published without a profile by an older node
+        courierProfileCache.get(event.getDeliveryPersonId())
+                .map(profile -> profile.toDocument(location, true))
+                .doOnNext(courierSpatialIndex::upsert)
+                .onErrorResume(DeliveryPersonNotFoundException.class, e -> {
+                    // Deleted since the ping, nothing to index
+                    log.warn("Ignoring location of unknown delivery person {}", event.getDeliveryPersonId());
+                    courierSpatialIndex.remove(event.getDeliveryPersonId());
+                    return Mono.empty();
+                })
+                .block();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        // The index is in memory: replay the last state of every courier
+        callback.seekToBeginning(assignments.keySet());
+    }
+}
@@ -0,0 +1,53 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.events.DeliveryPersonProfileUpdatedEvent;
+import com.polytechnique.ticbnpick.events.DeliveryPersonValidatedEvent;
+import com.polytechnique.ticbnpick.services.DeliveryPersonLocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Kafka Consumer refreshing the cached courier profiles when a profile or a
+ * status changes.
+ * Each node uses its own consumer group so that every node's cache and
+ * courier index receive every event, while the Elasticsearch document is
+ * updated once for the whole cluster from a shared group. Refreshes complete
+ * before the record is acknowledged, so a failed refresh reaches the
+ * container's error handler.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourierProfileRefreshConsumer {
+
+    private final DeliveryPersonLocationService deliveryPersonLocationService;
+
+    @KafkaListener(topics = "delivery-person-profile-updated", groupId = "ticbnpick-profile-cache-${random.uuid}")
+    public void consumeProfileUpdated(DeliveryPersonProfileUpdatedEvent event) {
+        log.info("Refreshing courier profile {} after profile update", event.getDeliveryPersonId());
+        deliveryPersonLocationService.refreshProfile(event.getDeliveryPersonId()).block();
+    }
+
+    @KafkaListener(topics = "delivery-person-validated", groupId = "ticbnpick-profile-cache-${random.uuid}")
+    public void consumeValidated(DeliveryPersonValidatedEvent event) {
+        log.info("Refreshing courier profile {} after validation", event.getDeliveryPersonId());
+        deliveryPersonLocationService.refreshProfile(event.getDeliveryPersonId()).block();
+    }
+
+    @KafkaListener(topics = "delivery-person-profile-updated", groupId = "ticbnpick-profile-index")
+    public void indexProfileUpdated(DeliveryPersonProfileUpdatedEvent event) {
+        log.info("Indexing courier profile {} after profile update", event.getDeliveryPersonId());
+        deliveryPersonLocationService.updateSearchProfile(event.getDeliveryPersonId()).block();
+    }
+
+    @KafkaListener(topics = "delivery-person-validated", groupId = "ticbnpick-profile-index")
+    public void indexValidated(DeliveryPersonValidatedEvent event) {
+        log.info("Indexing courier profile {} after validation", event.getDeliveryPersonId());
+        deliveryPersonLocationService.updateSearchProfile(event.getDeliveryPersonId()).block();
+    }
+}
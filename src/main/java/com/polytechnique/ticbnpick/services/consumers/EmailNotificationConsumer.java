@@ -0,0 +1,51 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import com.polytechnique.ticbnpick.services.support.EmailService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Kafka Consumer delivering requested notifications by email.
+ * Consumes notification-requested in its own consumer group and queues the
+ * emails of a whole poll in the email outbox, so SMTP latency never holds up
+ * the other channels. The SMTP workers report whether each email was sent.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailNotificationConsumer {
+
+    private final EmailService emailService;
+
+    @Value("${notification.email.write-concurrency:8}")
+    private int writeConcurrency;
+
+    @KafkaListener(topics = "notification-requested", groupId = "ticbnpick-notification-email",
+            containerFactory = "notificationBatchListenerContainerFactory",
+            concurrency = "${notification.email.concurrency:2}")
+    public void consumeNotificationRequested(List<NotificationRequestedEvent> events) {
+        log.debug("Queueing {} notification emails", events.size());
+        Flux.fromIterable(events)
+                .filter(event -> event.getRecipientEmail() != null)
+                .flatMap(event -> emailService.sendSimpleMessageReactive(event.getRecipientEmail(),
+                        event.getTitle(), body(event), event.getNotificationId()), writeConcurrency)
+                .then()
+                .block();
+    }
+
+    private static String body(NotificationRequestedEvent event) {
+        return event.getAnnouncementId() != null
+                ? event.getMessage() + "\n\nAnnonce ID: " + event.getAnnouncementId()
+                : event.getMessage();
+    }
+}
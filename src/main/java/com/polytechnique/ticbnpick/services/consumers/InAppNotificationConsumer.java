@@ -0,0 +1,57 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.dtos.websocket.CourierOutboundFrame;
+import com.polytechnique.ticbnpick.events.NotificationReceiptEvent;
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import com.polytechnique.ticbnpick.websocket.CourierSessionRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Kafka Consumer delivering new announcement offers on the couriers' live
+ * location channels.
+ * Each node uses its own consumer group, since a courier is only connected
+ * to one node and only that node can reach it.
+ * Offers handed to a live session are reported DELIVERED on
+ * notification-receipts.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InAppNotificationConsumer {
+
+    private final CourierSessionRegistry courierSessionRegistry;
+    private final KafkaEventPublisher kafkaEventPublisher;
+
+    @KafkaListener(topics = "notification-requested", groupId = "ticbnpick-notification-inapp-${random.uuid}")
+    public void consumeNotificationRequested(NotificationRequestedEvent event) {
+        if (event.getNotificationType() != NotificationType.NEW_ANNOUNCEMENT) {
+            return;
+        }
+        boolean sent = courierSessionRegistry.send(event.getRecipientId(), CourierOutboundFrame.builder()
+                .type(CourierOutboundFrame.OFFER)
+                .announcementId(event.getAnnouncementId())
+                .title(event.getTitle())
+                .message(event.getMessage())
+                .build());
+        if (sent) {
+            log.debug("Offer for announcement {} sent to courier {}", event.getAnnouncementId(),
+                    event.getRecipientId());
+            kafkaEventPublisher.publishNotificationReceipt(NotificationReceiptEvent.builder()
+                    .notificationId(event.getNotificationId())
+                    .status(NotificationStatus.DELIVERED)
+                    .occurredAt(Instant.now())
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.events.NotificationReceiptEvent;
+import com.polytechnique.ticbnpick.services.NotificationLifecycleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Kafka Consumer applying the receipts reported by the delivery channels.
+ * The receipts of a whole poll are grouped by status and applied with one
+ * UPDATE per status.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationReceiptConsumer {
+
+    private final NotificationLifecycleService notificationLifecycleService;
+
+    @KafkaListener(topics = "notification-receipts", groupId = "ticbnpick-notification-receipts",
+            containerFactory = "notificationBatchListenerContainerFactory")
+    public void consumeNotificationReceipts(List<NotificationReceiptEvent> events) {
+        Flux.fromIterable(events.stream()
+                        .filter(event -> event.getNotificationId() != null && event.getStatus() != null)
+                        .collect(Collectors.groupingBy(NotificationReceiptEvent::getStatus,
+                                Collectors.mapping(NotificationReceiptEvent::getNotificationId,
+                                        Collectors.toSet())))
+                        .entrySet())
+                .concatMap(byStatus -> notificationLifecycleService.updateStatus(byStatus.getValue(),
+                                byStatus.getKey())
+                        .doOnNext(updated -> log.debug("{} of {} notifications marked {}", updated,
+                                byStatus.getValue().size(), byStatus.getKey())))
+                .then()
+                .block();
+    }
+}
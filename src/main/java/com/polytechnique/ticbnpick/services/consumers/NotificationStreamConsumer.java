@@ -0,0 +1,54 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.dtos.responses.NotificationResponse;
+import com.polytechnique.ticbnpick.events.NotificationReceiptEvent;
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.services.NotificationStreamRegistry;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Kafka Consumer feeding the notification streams opened on this node.
+ * Each node uses its own consumer group, since a client is only connected
+ * to one node.
+ * Notifications handed to at least one stream are reported DELIVERED on
+ * notification-receipts.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationStreamConsumer {
+
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final KafkaEventPublisher kafkaEventPublisher;
+
+    @KafkaListener(topics = "notification-requested", groupId = "ticbnpick-notification-stream-${random.uuid}")
+    public void consumeNotificationRequested(NotificationRequestedEvent event) {
+        int delivered = notificationStreamRegistry.publish(event.getRecipientId(), NotificationResponse.builder()
+                .id(event.getNotificationId())
+                .notificationType(event.getNotificationType())
+                .title(event.getTitle())
+                .message(event.getMessage())
+                .announcementId(event.getAnnouncementId())
+                .createdAt(event.getCreatedAt())
+                .build());
+        if (delivered > 0) {
+            log.debug("Notification {} streamed to {} clients of {}", event.getNotificationId(), delivered,
+                    event.getRecipientId());
+            kafkaEventPublisher.publishNotificationReceipt(NotificationReceiptEvent.builder()
+                    .notificationId(event.getNotificationId())
+                    .status(NotificationStatus.DELIVERED)
+                    .occurredAt(Instant.now())
+                    .build());
+        }
+    }
+}
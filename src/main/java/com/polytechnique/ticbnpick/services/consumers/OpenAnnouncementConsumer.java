@@ -0,0 +1,42 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.events.AnnouncementClosedEvent;
+import com.polytechnique.ticbnpick.events.AnnouncementOpenedEvent;
+import com.polytechnique.ticbnpick.services.ReverseMatchingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Kafka Consumer keeping the open announcements of this node in line with
+ * the announcements opened and closed on every node.
+ * Each node uses its own consumer group, read from the earliest offset, so
+ * that every node's index receives every event and a restarted node rebuilds
+ * its index from the compacted topic.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@KafkaListener(topics = "open-announcements", groupId = "ticbnpick-open-announcements-${random.uuid}",
+        properties = "auto.offset.reset=earliest")
+public class OpenAnnouncementConsumer {
+
+    private final ReverseMatchingService reverseMatchingService;
+
+    @KafkaHandler
+    public void consumeAnnouncementOpened(AnnouncementOpenedEvent event) {
+        log.debug("Opening announcement {} for reverse matching", event.getAnnouncementId());
+        reverseMatchingService.openAnnouncement(event);
+    }
+
+    @KafkaHandler
+    public void consumeAnnouncementClosed(AnnouncementClosedEvent event) {
+        log.debug("Closing announcement {} for reverse matching", event.getAnnouncementId());
+        reverseMatchingService.closeAnnouncement(event.getAnnouncementId());
+    }
+}
@@ -0,0 +1,79 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.events.NotificationReceiptEvent;
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.services.push.PushMessage;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import com.polytechnique.ticbnpick.services.support.PushNotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Kafka Consumer delivering requested notifications as push notifications.
+ * Consumes notification-requested in its own consumer group; a push that
+ * fails is logged and skipped so one recipient cannot stall the partition.
+ * The notifications of a poll that share the same text are multicast
+ * together. Each notification is then reported SENT on notification-receipts
+ * if its recipient was reached on at least one device, FAILED otherwise.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PushNotificationConsumer {
+
+    private final PushNotificationService pushNotificationService;
+    private final KafkaEventPublisher kafkaEventPublisher;
+
+    @Value("${notification.push.send-concurrency:4}")
+    private int sendConcurrency;
+
+    @KafkaListener(topics = "notification-requested", groupId = "ticbnpick-notification-push",
+            containerFactory = "notificationBatchListenerContainerFactory",
+            concurrency = "${notification.push.concurrency:2}")
+    public void consumeNotificationRequested(List<NotificationRequestedEvent> events) {
+        log.debug("Sending {} push notifications", events.size());
+        // Recipients of the same text share multicast provider calls
+        Map<PushMessage, List<NotificationRequestedEvent>> eventsByMessage = events.stream()
+                .collect(Collectors.groupingBy(event -> new PushMessage(event.getTitle(), event.getMessage()),
+                        LinkedHashMap::new, Collectors.toList()));
+        Flux.fromIterable(eventsByMessage.entrySet())
+                .flatMap(entry -> pushNotificationService.sendPushNotifications(
+                                entry.getValue().stream().map(NotificationRequestedEvent::getRecipientId).toList(),
+                                entry.getKey().title(), entry.getKey().body())
+                        .onErrorResume(e -> {
+                            log.error("Error sending push to {} users: {}", entry.getValue().size(), e.getMessage());
+                            return Mono.just(Set.of());
+                        })
+                        .doOnNext(reached -> report(entry.getValue(), reached)), sendConcurrency)
+                .then()
+                .block();
+    }
+
+    private void report(List<NotificationRequestedEvent> sent, Set<UUID> reached) {
+        Instant now = Instant.now();
+        sent.forEach(event -> kafkaEventPublisher.publishNotificationReceipt(NotificationReceiptEvent.builder()
+                .notificationId(event.getNotificationId())
+                .status(reached.contains(event.getRecipientId())
+                        ? NotificationStatus.SENT
+                        : NotificationStatus.FAILED)
+                .occurredAt(now)
+                .build()));
+    }
+}
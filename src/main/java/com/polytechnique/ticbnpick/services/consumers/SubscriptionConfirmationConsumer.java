@@ -1,24 +1,43 @@
 package com.polytechnique.ticbnpick.services.consumers;
 
+import com.polytechnique.ticbnpick.events.AnnouncementClosedEvent;
 import com.polytechnique.ticbnpick.events.SubscriptionAttemptEvent;
 import com.polytechnique.ticbnpick.models.Announcement;
 import com.polytechnique.ticbnpick.models.AnnouncementSubscription;
 import com.polytechnique.ticbnpick.models.enums.announcement.AnnouncementStatus;
 import com.polytechnique.ticbnpick.repositories.AnnouncementRepository;
 import com.polytechnique.ticbnpick.repositories.AnnouncementSubscriptionRepository;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Kafka Consumer responsible for processing subscription attempts.
  * Verifies that the announcement is still published and ensures a delivery
  * person cannot subscribe twice.
  * Creates the official link in the database if all conditions are met.
+ * Attempts are keyed by announcement, so those on one announcement are
+ * handled in order by a single consumer.
+ *
+ * <p>Attempts are consumed in batches: they are grouped by announcement, the
+ * announcements of the batch are loaded with one query, and the subscriptions
+ * to the published ones are inserted with one statement that skips the
+ * delivery persons already subscribed. An announcement with a subscription
+ * is taken, so it is then closed for reverse matching on every node. A batch
+ * that fails is retried as a whole, which the insert makes harmless.
  *
  * @author François-Charles ATANGA
  * @date 04/02/2026
@@ -28,49 +47,96 @@ import java.time.Instant;
 @RequiredArgsConstructor
 public class SubscriptionConfirmationConsumer {
 
+        static final String PENDING = "PENDING";
+
         private final AnnouncementRepository announcementRepository;
         private final AnnouncementSubscriptionRepository subscriptionRepository;
+        private final KafkaEventPublisher kafkaEventPublisher;
 
-        @KafkaListener(topics = "subscription-attempts", groupId = "ticbnpick-subscription-group")
-        public void consumeSubscriptionAttempt(SubscriptionAttemptEvent event) {
-                log.info("Processing subscription attempt for Announcement {} by DeliveryPerson {}",
-                                event.getAnnouncementId(), event.getDeliveryPersonId());
-
-                announcementRepository.findById(event.getAnnouncementId())
-                                .flatMap(announcement -> {
-                                        if (announcement.getStatus() == AnnouncementStatus.PUBLISHED) {
-                                                // Check if subscription already exists
-                                                return subscriptionRepository.findByAnnouncementIdAndDeliveryPersonId(
-                                                                event.getAnnouncementId(), event.getDeliveryPersonId())
-                                                                .flatMap(existing -> {
-                                                                        log.info("Delivery Person {} already subscribed to Announcement {}",
-                                                                                        event.getDeliveryPersonId(),
-                                                                                        event.getAnnouncementId());
-                                                                        return Mono.empty();
-                                                                })
-                                                                .switchIfEmpty(Mono.defer(() -> {
-                                                                        // Create the Subscription Link (PENDING status)
-                                                                        AnnouncementSubscription subscription = new AnnouncementSubscription();
-                                                                        subscription.setAnnouncementId(
-                                                                                        announcement.getId());
-                                                                        subscription.setDeliveryPersonId(
-                                                                                        event.getDeliveryPersonId());
-                                                                        subscription.setStatus("PENDING");
-                                                                        subscription.setCreatedAt(Instant.now());
+        @KafkaListener(topics = "subscription-attempts", groupId = "ticbnpick-subscription-group",
+                        containerFactory = "subscriptionListenerContainerFactory")
+        public void consumeSubscriptionAttempts(List<SubscriptionAttemptEvent> events) {
+                Map<UUID, Map<UUID, Instant>> attempts = groupByAnnouncement(events);
+                if (attempts.isEmpty()) {
+                        return;
+                }
+                log.debug("Processing {} subscription attempts on {} announcements", events.size(), attempts.size());
 
-                                                                        return subscriptionRepository.save(subscription)
-                                                                                        .doOnSuccess(sub -> log.info(
-                                                                                                        "Subscription REGISTERED for Announcement {}",
-                                                                                                        event.getAnnouncementId()));
-                                                                }));
-                                        } else {
-                                                log.warn("Subscription REJECTED: Announcement {} is not PUBLISHED (Status: {})",
-                                                                announcement.getId(), announcement.getStatus());
-                                                return Mono.empty();
-                                        }
+                announcementRepository.findAllById(attempts.keySet())
+                                .collectList()
+                                .flatMap(announcements -> {
+                                        List<AnnouncementSubscription> subscriptions =
+                                                        subscriptionsToPublished(announcements, attempts);
+                                        return subscriptionRepository.insertAllIfAbsent(subscriptions)
+                                                        .doOnNext(subscription -> log.info(
+                                                                        "Subscription REGISTERED for Announcement {} by DeliveryPerson {}",
+                                                                        subscription.getAnnouncementId(),
+                                                                        subscription.getDeliveryPersonId()))
+                                                        .count()
+                                                        .doOnNext(registered -> log.debug(
+                                                                        "{} of {} subscriptions registered, the others already existed",
+                                                                        registered, subscriptions.size()))
+                                                        .then(closeTaken(subscriptions));
                                 })
-                                .doOnError(e -> log.error("Error processing subscription for Announcement {}",
-                                                event.getAnnouncementId(), e))
+                                .doOnError(e -> log.error("Error processing subscriptions for Announcements {}",
+                                                attempts.keySet(), e))
+                                .then()
                                 .block();
         }
+
+        /**
+         * Groups the attempts by announcement, then by delivery person, keeping
+         * the first attempt of each delivery person.
+         */
+        private static Map<UUID, Map<UUID, Instant>> groupByAnnouncement(List<SubscriptionAttemptEvent> events) {
+                Map<UUID, Map<UUID, Instant>> attempts = new LinkedHashMap<>();
+                for (SubscriptionAttemptEvent event : events) {
+                        if (event == null || event.getAnnouncementId() == null
+                                        || event.getDeliveryPersonId() == null) {
+                                log.warn("Ignoring incomplete subscription attempt {}", event);
+                                continue;
+                        }
+                        attempts.computeIfAbsent(event.getAnnouncementId(), id -> new LinkedHashMap<>())
+                                        .putIfAbsent(event.getDeliveryPersonId(), event.getTimestamp());
+                }
+                return attempts;
+        }
+
+        /**
+         * Closes the announcements subscribed to for reverse matching. Every
+         * subscription of the batch counts, not only the new ones, so that a
+         * retried batch closes them again.
+         */
+        private Mono<Void> closeTaken(List<AnnouncementSubscription> subscriptions) {
+                Instant now = Instant.now();
+                return Flux.fromIterable(subscriptions)
+                                .map(AnnouncementSubscription::getAnnouncementId)
+                                .distinct()
+                                .flatMap(announcementId -> kafkaEventPublisher.publishAnnouncementClosed(
+                                                new AnnouncementClosedEvent(announcementId, now)))
+                                .then();
+        }
+
+        private static List<AnnouncementSubscription> subscriptionsToPublished(List<Announcement> announcements,
+                        Map<UUID, Map<UUID, Instant>> attempts) {
+                List<AnnouncementSubscription> subscriptions = new ArrayList<>();
+                Set<UUID> found = new HashSet<>();
+                for (Announcement announcement : announcements) {
+                        found.add(announcement.getId());
+                        Map<UUID, Instant> deliveryPersons = attempts.get(announcement.getId());
+                        if (announcement.getStatus() != AnnouncementStatus.PUBLISHED) {
+                                log.warn("{} subscriptions REJECTED: Announcement {} is not PUBLISHED (Status: {})",
+                                                deliveryPersons.size(), announcement.getId(), announcement.getStatus());
+                                continue;
+                        }
+                        deliveryPersons.forEach((deliveryPersonId, timestamp) -> subscriptions.add(
+                                        new AnnouncementSubscription(null, announcement.getId(), deliveryPersonId,
+                                                        PENDING, timestamp)));
+                }
+                attempts.keySet().stream()
+                                .filter(announcementId -> !found.contains(announcementId))
+                                .forEach(announcementId -> log.warn(
+                                                "Subscriptions REJECTED: Announcement {} does not exist", announcementId));
+                return subscriptions;
+        }
 }
@@ -0,0 +1,313 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import com.polytechnique.ticbnpick.elasticsearch.repositories.DeliveryPersonSearchRepository;
+import com.polytechnique.ticbnpick.events.CourierLocationChangedEvent;
+import com.polytechnique.ticbnpick.services.matching.CourierSpatialIndex;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Availability state of the couriers sending their location to this node.
+ *
+ * <p>A courier becomes available with its first location ping and stays so
+ * while it keeps pinging. Once it has been silent for
+ * {@code availability.ttl-seconds}, or its location channel closed, it is
+ * marked unavailable: it leaves the courier index right away, the other
+ * nodes are told through the "courier-locations" topic, and the transitions
+ * of a tick are written to Elasticsearch in one bulk request.
+ * The next ping makes it available again.
+ *
+ * <p>A courier may move to another node, e.g. when its app reconnects. Every
+ * node therefore also follows the last time any node saw each courier on the
+ * "courier-locations" stream, and only takes a courier offline for the whole
+ * cluster when no other node has seen it more recently than this one within
+ * the TTL. Otherwise it just stops tracking it and leaves it to the node it
+ * now pings.
+ *
+ * <p>Expiry uses a hashed timing wheel of {@code availability.tick-ms} slots
+ * covering the TTL. A ping only refreshes the last-seen time; the courier is
+ * rescheduled lazily when its slot comes up, so pings cost a map write and
+ * each tick only visits the couriers due in its slot.
+ *
+ * <p>Exposed metrics: {@code courier.availability.online} and
+ * {@code courier.availability.expired}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+public class CourierAvailabilityRegistry {
+
+    private final DeliveryPersonSearchRepository deliveryPersonSearchRepository;
+    private final CourierSpatialIndex courierSpatialIndex;
+    private final LocationUpdateFilter locationUpdateFilter;
+    private final KafkaEventPublisher kafkaEventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Value("${availability.ttl-seconds:120}")
+    private long ttlSeconds;
+
+    @Value("${availability.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${availability.max-batch-size:500}")
+    private int maxBatchSize;
+
+    private final Map<UUID, Long> lastSeen = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> lastSeenAnywhere = new ConcurrentHashMap<>();
+    private final Set<UUID> pendingOffline = ConcurrentHashMap.newKeySet();
+
+    private List<Set<UUID>> wheel;
+    private long currentTick;
+    private Disposable tickSubscription;
+    private Counter expiredCounter;
+
+    @Autowired
+    public CourierAvailabilityRegistry(DeliveryPersonSearchRepository deliveryPersonSearchRepository,
+            CourierSpatialIndex courierSpatialIndex, LocationUpdateFilter locationUpdateFilter,
+            KafkaEventPublisher kafkaEventPublisher, MeterRegistry meterRegistry) {
+        this(deliveryPersonSearchRepository, courierSpatialIndex, locationUpdateFilter, kafkaEventPublisher,
+                meterRegistry, Clock.systemUTC());
+    }
+
+    CourierAvailabilityRegistry(DeliveryPersonSearchRepository deliveryPersonSearchRepository,
+            CourierSpatialIndex courierSpatialIndex, LocationUpdateFilter locationUpdateFilter,
+            KafkaEventPublisher kafkaEventPublisher, MeterRegistry meterRegistry, Clock clock) {
+        this.deliveryPersonSearchRepository = deliveryPersonSearchRepository;
+        this.courierSpatialIndex = courierSpatialIndex;
+        this.locationUpdateFilter = locationUpdateFilter;
+        this.kafkaEventPublisher = kafkaEventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void start() {
+        initialize();
+        tickSubscription = Flux.interval(Duration.ofMillis(tickMs))
+                .onBackpressureDrop()
+                .concatMap(tick -> advance(), 1)
+                .subscribe();
+    }
+
+    /**
+     * Builds the timing wheel and registers the metrics.
+     */
+    void initialize() {
+        int slots = (int) Math.ceil(ttlSeconds * 1000.0 / tickMs) + 1;
+        wheel = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+        currentTick = clock.millis() / tickMs;
+
+        expiredCounter = Counter.builder("courier.availability.expired")
+                .description("Couriers marked unavailable after going silent or disconnecting")
+                .register(meterRegistry);
+        Gauge.builder("courier.availability.online", lastSeen, Map::size)
+                .description("Couriers currently available on this node")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (tickSubscription != null) {
+            tickSubscription.dispose();
+        }
+    }
+
+    /**
+     * Records a sign of life from a courier.
+     *
+     * @param deliveryPersonId the courier identifier
+     * @return true if the courier was unavailable until now
+     */
+    public boolean touch(UUID deliveryPersonId) {
+        return touch(deliveryPersonId, clock.instant());
+    }
+
+    /**
+     * Records a sign of life from a courier. Events published for this ping
+     * must carry the same {@code seenAt}, so that this node recognizes its own
+     * sightings on the "courier-locations" stream.
+     *
+     * @param deliveryPersonId the courier identifier
+     * @param seenAt           when the ping was received
+     * @return true if the courier was unavailable until now
+     */
+    public boolean touch(UUID deliveryPersonId, Instant seenAt) {
+        long seen = seenAt.toEpochMilli();
+        boolean[] appeared = {false};
+        lastSeen.compute(deliveryPersonId, (id, previous) -> {
+            appeared[0] = previous == null;
+            return previous == null ? seen : Math.max(previous, seen);
+        });
+        if (!appeared[0]) {
+            return false;
+        }
+        pendingOffline.remove(deliveryPersonId);
+        wheel.get(slot(deadlineTick(seen))).add(deliveryPersonId);
+        return true;
+    }
+
+    /**
+     * Follows a position or availability change reported by any node,
+     * including this one.
+     *
+     * @param event the event read from the "courier-locations" topic
+     */
+    public void observe(CourierLocationChangedEvent event) {
+        UUID deliveryPersonId = event.getDeliveryPersonId();
+        if (event.getOccurredAt() == null) {
+            return;
+        }
+        long occurredAt = event.getOccurredAt().toEpochMilli();
+        if (event.isAvailable()) {
+            lastSeenAnywhere.merge(deliveryPersonId, occurredAt, Math::max);
+            return;
+        }
+        // Sightings after the node that took it offline decided are still valid
+        lastSeenAnywhere.computeIfPresent(deliveryPersonId, (id, seen) -> seen <= occurredAt ? null : seen);
+        // Another node may have taken offline a courier that still pings this one:
+        // let its next ping through so that it is published available again
+        locationUpdateFilter.reset(deliveryPersonId);
+    }
+
+    /**
+     * Marks a courier unavailable right away, e.g. when its app disconnects.
+     *
+     * @param deliveryPersonId the courier identifier
+     */
+    public void markOffline(UUID deliveryPersonId) {
+        Long seen = lastSeen.remove(deliveryPersonId);
+        if (seen != null) {
+            goOffline(deliveryPersonId, seen);
+        }
+    }
+
+    /**
+     * @param deliveryPersonId the courier identifier
+     * @return true if the courier is currently available
+     */
+    public boolean isAvailable(UUID deliveryPersonId) {
+        return lastSeen.containsKey(deliveryPersonId);
+    }
+
+    /**
+     * Expires the couriers due up to now and writes the pending transitions.
+     */
+    Mono<Void> advance() {
+        long nowTick = clock.millis() / tickMs;
+        for (; currentTick <= nowTick; currentTick++) {
+            expireSlot(currentTick);
+        }
+        return flush();
+    }
+
+    private void expireSlot(long tick) {
+        int current = slot(tick);
+        Iterator<UUID> due = wheel.get(current).iterator();
+        while (due.hasNext()) {
+            UUID deliveryPersonId = due.next();
+            Long seen = lastSeen.get(deliveryPersonId);
+            if (seen != null && deadlineTick(seen) > tick) {
+                // Pinged since it was scheduled, wait for its new deadline
+                int next = slot(deadlineTick(seen));
+                if (next != current) {
+                    wheel.get(next).add(deliveryPersonId);
+                    due.remove();
+                }
+                continue;
+            }
+            due.remove();
+            if (seen != null && lastSeen.remove(deliveryPersonId, seen)) {
+                goOffline(deliveryPersonId, seen);
+            }
+            // Pinged concurrently: a ping landing before the remove above did not
+            // schedule the courier, so schedule it for its latest deadline
+            Long latest = lastSeen.get(deliveryPersonId);
+            if (latest != null) {
+                wheel.get(slot(deadlineTick(latest))).add(deliveryPersonId);
+            }
+        }
+    }
+
+    private void goOffline(UUID deliveryPersonId, long seen) {
+        Long seenAnywhere = lastSeenAnywhere.get(deliveryPersonId);
+        if (seenAnywhere != null && seenAnywhere > seen
+                && clock.millis() - seenAnywhere < ttlSeconds * 1000) {
+            // Pinging another node since, which now decides when it goes offline
+            log.debug("Delivery person {} moved to another node", deliveryPersonId);
+            return;
+        }
+        expiredCounter.increment();
+        courierSpatialIndex.remove(deliveryPersonId);
+        kafkaEventPublisher.publishCourierLocationChanged(new CourierLocationChangedEvent(
+                deliveryPersonId, null, null, false, Instant.now(clock), null));
+        // Its next ping must go through to make it available again
+        locationUpdateFilter.reset(deliveryPersonId);
+        pendingOffline.add(deliveryPersonId);
+    }
+
+    private Mono<Void> flush() {
+        List<UUID> batch = new ArrayList<>();
+        for (Iterator<UUID> it = pendingOffline.iterator(); it.hasNext() && batch.size() < maxBatchSize; ) {
+            UUID deliveryPersonId = it.next();
+            it.remove();
+            if (!lastSeen.containsKey(deliveryPersonId)) {
+                batch.add(deliveryPersonId);
+            }
+        }
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        return deliveryPersonSearchRepository.bulkUpdateAvailability(batch, false)
+                .doOnSuccess(unused -> log.debug("Marked {} delivery persons unavailable", batch.size()))
+                .onErrorResume(e -> {
+                    if (e instanceof BulkFailureException) {
+                        // Per-document failures, e.g. deleted couriers, would fail again
+                        log.warn("Some availability updates were rejected: {}", e.getMessage());
+                    } else {
+                        log.warn("Availability update of {} delivery persons failed, retrying", batch.size(), e);
+                        batch.stream()
+                                .filter(id -> !lastSeen.containsKey(id))
+                                .forEach(pendingOffline::add);
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    private long deadlineTick(long seenMillis) {
+        long deadlineMillis = seenMillis + ttlSeconds * 1000;
+        return (deadlineMillis + tickMs - 1) / tickMs;
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % wheel.size());
+    }
+}
@@ -0,0 +1,254 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import com.polytechnique.ticbnpick.models.DeliveryPersonLocationHistory;
+import com.polytechnique.ticbnpick.repositories.DeliveryPersonLocationHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffered ingestion of the courier location history.
+ *
+ * <p>Every accepted location ping is queued and written to PostgreSQL in
+ * multi-row INSERTs of at most {@code location.history.max-batch-size}
+ * positions, every {@code location.history.flush-interval-ms} or as soon as a
+ * full batch is pending. Unlike the Elasticsearch write-behind, nothing is
+ * coalesced: the history keeps every ping. The buffer is bounded by
+ * {@code location.history.max-buffered}; pings beyond it, or that cannot be
+ * re-queued after a failed flush, are dropped and counted.
+ *
+ * <p>Daily partitions are created {@code location.history.partitions-ahead}
+ * days in advance and partitions older than
+ * {@code location.history.retention-days} are dropped (0 keeps everything).
+ * The first maintenance runs before the first flush, so that today's
+ * positions never land in the DEFAULT partition: PostgreSQL refuses to
+ * create a day's partition while DEFAULT holds rows of that day.
+ *
+ * <p>Exposed metrics: {@code courier.location.history.flush.latency},
+ * {@code courier.location.history.flush.batch.size},
+ * {@code courier.location.history.dropped} and
+ * {@code courier.location.history.pending}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourierLocationHistoryRecorder {
+
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration PARTITION_MAINTENANCE_INTERVAL = Duration.ofHours(6);
+    private static final Duration PARTITION_MAINTENANCE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final DeliveryPersonLocationHistoryRepository locationHistoryRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${location.history.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${location.history.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${location.history.max-buffered:100000}")
+    private int maxBuffered;
+
+    @Value("${location.history.partitions-ahead:3}")
+    private int partitionsAhead;
+
+    @Value("${location.history.retention-days:0}")
+    private int retentionDays;
+
+    private final Queue<DeliveryPersonLocationHistory> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private Disposable flushSubscription;
+    private Disposable maintenanceSubscription;
+    private Timer flushLatencyTimer;
+    private DistributionSummary batchSizeSummary;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void startRecording() {
+        flushLatencyTimer = Timer.builder("courier.location.history.flush.latency")
+                .description("Duration of a location history batch insert")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("courier.location.history.flush.batch.size")
+                .description("Positions written per location history insert")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("courier.location.history.dropped")
+                .description("Positions dropped because the history buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("courier.location.history.pending", pendingCount, AtomicInteger::get)
+                .description("Positions waiting to be written to the history")
+                .register(meterRegistry);
+
+        // Today's partition must exist before the first position is written
+        maintainPartitions()
+                .timeout(PARTITION_MAINTENANCE_TIMEOUT)
+                .onErrorResume(e -> {
+                    log.error("Initial location history partition maintenance timed out", e);
+                    return Mono.empty();
+                })
+                .block();
+
+        flushSubscription = Flux.interval(Duration.ofMillis(flushIntervalMs))
+                .subscribe(tick -> triggerFlush());
+        maintenanceSubscription = Flux.interval(PARTITION_MAINTENANCE_INTERVAL, PARTITION_MAINTENANCE_INTERVAL)
+                .concatMap(tick -> maintainPartitions())
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stopRecording() {
+        if (flushSubscription != null) {
+            flushSubscription.dispose();
+        }
+        if (maintenanceSubscription != null) {
+            maintenanceSubscription.dispose();
+        }
+        flush().block(SHUTDOWN_FLUSH_TIMEOUT);
+    }
+
+    /**
+     * Queues a position for the history.
+     *
+     * @param deliveryPersonId the courier identifier
+     * @param latitude         latitude of the ping
+     * @param longitude        longitude of the ping
+     * @param recordedAt       time the ping was received
+     */
+    public void record(UUID deliveryPersonId, double latitude, double longitude, Instant recordedAt) {
+        if (!enqueue(new DeliveryPersonLocationHistory(deliveryPersonId, recordedAt, latitude, longitude))) {
+            return;
+        }
+        if (pendingCount.get() >= maxBatchSize) {
+            triggerFlush();
+        }
+    }
+
+    private boolean enqueue(DeliveryPersonLocationHistory point) {
+        if (pendingCount.incrementAndGet() > maxBuffered) {
+            pendingCount.decrementAndGet();
+            droppedCounter.increment();
+            return false;
+        }
+        pending.add(point);
+        return true;
+    }
+
+    private void triggerFlush() {
+        if (pending.isEmpty() || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        flush()
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> flushing.set(false))
+                .subscribe(
+                        unused -> {
+                        },
+                        e -> log.error("Location history flush failed", e));
+    }
+
+    /**
+     * Drains the positions queued so far into batch inserts. Callers must hold
+     * the flushing flag.
+     */
+    Mono<Void> flush() {
+        List<List<DeliveryPersonLocationHistory>> batches = new ArrayList<>();
+        List<DeliveryPersonLocationHistory> batch = new ArrayList<>();
+        int drained = pendingCount.get();
+        for (int i = 0; i < drained; i++) {
+            DeliveryPersonLocationHistory point = pending.poll();
+            if (point == null) {
+                break;
+            }
+            pendingCount.decrementAndGet();
+            batch.add(point);
+            if (batch.size() == maxBatchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+
+        return Flux.fromIterable(batches)
+                .concatMap(this::write)
+                .then();
+    }
+
+    private Mono<Void> write(List<DeliveryPersonLocationHistory> batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return locationHistoryRepository.insertAll(batch)
+                .doOnSuccess(unused -> {
+                    sample.stop(flushLatencyTimer);
+                    batchSizeSummary.record(batch.size());
+                    log.debug("Recorded {} courier positions", batch.size());
+                })
+                .onErrorResume(e -> {
+                    log.warn("Insert of {} courier positions failed, re-queuing", batch.size(), e);
+                    batch.forEach(this::enqueue);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Creates the upcoming daily partitions and drops the expired ones. Each
+     * day is handled on its own, so one failing partition does not hold back
+     * the others.
+     */
+    Mono<Void> maintainPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Mono<Void> create = Flux.range(0, partitionsAhead + 1)
+                .map(today::plusDays)
+                .concatMap(day -> locationHistoryRepository.createDailyPartition(day)
+                        .onErrorResume(e -> {
+                            log.error("Failed to create location history partition of {}", day, e);
+                            return Mono.empty();
+                        }))
+                .then();
+        Mono<Void> drop = retentionDays <= 0
+                ? Mono.empty()
+                : locationHistoryRepository.findPartitionDays()
+                        .filter(day -> day.isBefore(today.minusDays(retentionDays)))
+                        .concatMap(day -> locationHistoryRepository.dropDailyPartition(day)
+                                .doOnSuccess(unused -> log.info("Dropped location history partition of {}", day))
+                                .onErrorResume(e -> {
+                                    log.error("Failed to drop location history partition of {}", day, e);
+                                    return Mono.empty();
+                                }))
+                        .then()
+                        .onErrorResume(e -> {
+                            log.error("Failed to list location history partitions", e);
+                            return Mono.empty();
+                        });
+        return create.then(drop);
+    }
+}
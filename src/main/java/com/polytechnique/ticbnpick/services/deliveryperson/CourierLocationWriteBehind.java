@@ -0,0 +1,187 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.elasticsearch.repositories.DeliveryPersonSearchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer of courier locations.
+ *
+ * <p>Location pings are kept in a last-write-wins map keyed by courier and
+ * sent to Elasticsearch in one bulk request every
+ * {@code location.write-behind.flush-interval-ms}, or as soon as
+ * {@code location.write-behind.max-batch-size} couriers are pending. A burst
+ * of pings from one courier therefore costs a single write. Failed flushes
+ * are re-queued unless a newer ping arrived meanwhile.
+ *
+ * <p>Exposed metrics: {@code courier.location.flush.latency},
+ * {@code courier.location.flush.batch.size},
+ * {@code courier.location.updates.superseded} and
+ * {@code courier.location.pending}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourierLocationWriteBehind {
+
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    private final DeliveryPersonSearchRepository deliveryPersonSearchRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${location.write-behind.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${location.write-behind.max-batch-size:500}")
+    private int maxBatchSize;
+
+    private final Map<UUID, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private Disposable flushSubscription;
+    private Timer flushLatencyTimer;
+    private DistributionSummary batchSizeSummary;
+    private Counter supersededCounter;
+
+    @PostConstruct
+    void startFlushing() {
+        flushLatencyTimer = Timer.builder("courier.location.flush.latency")
+                .description("Duration of a courier location bulk flush")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("courier.location.flush.batch.size")
+                .description("Courier documents sent per bulk flush")
+                .register(meterRegistry);
+        supersededCounter = Counter.builder("courier.location.updates.superseded")
+                .description("Location pings dropped because a newer ping of the same courier was pending")
+                .register(meterRegistry);
+        Gauge.builder("courier.location.pending", pending, Map::size)
+                .description("Courier locations waiting to be flushed")
+                .register(meterRegistry);
+
+        flushSubscription = Flux.interval(Duration.ofMillis(flushIntervalMs))
+                .subscribe(tick -> triggerFlush());
+    }
+
+    @PreDestroy
+    void stopFlushing() {
+        if (flushSubscription != null) {
+            flushSubscription.dispose();
+        }
+        // Writes what is left; an in-flight flush only holds other couriers' entries
+        flush().block(SHUTDOWN_FLUSH_TIMEOUT);
+    }
+
+    /**
+     * Queues the latest document of a courier, replacing any pending one.
+     *
+     * @param document  the courier document at its new position
+     * @param fullWrite true to write the whole document, false to only send
+     *                  its location and availability
+     */
+    public void submit(DeliveryPersonDocument document, boolean fullWrite) {
+        pending.merge(document.getId(), new PendingWrite(document, fullWrite), (previous, latest) -> {
+            supersededCounter.increment();
+            // Keep the full write requested by a superseded ping
+            return previous.fullWrite() ? new PendingWrite(latest.document(), true) : latest;
+        });
+        if (pending.size() >= maxBatchSize) {
+            triggerFlush();
+        }
+    }
+
+    private void triggerFlush() {
+        if (pending.isEmpty() || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        flush()
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> flushing.set(false))
+                .subscribe(
+                        unused -> {
+                        },
+                        e -> log.error("Courier location flush failed", e));
+    }
+
+    /**
+     * Drains the buffer into bulk requests of at most max-batch-size
+     * documents. Callers must hold the flushing flag.
+     */
+    Mono<Void> flush() {
+        List<PendingWrite> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+        for (UUID id : pending.keySet()) {
+            PendingWrite write = pending.remove(id);
+            if (write != null) {
+                batch.add(write);
+            }
+        }
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Flux.fromIterable(partition(batch))
+                .concatMap(this::write)
+                .then();
+    }
+
+    private Mono<Void> write(List<PendingWrite> batch) {
+        List<DeliveryPersonDocument> locationUpdates = new ArrayList<>(batch.size());
+        List<DeliveryPersonDocument> fullWrites = new ArrayList<>();
+        for (PendingWrite write : batch) {
+            (write.fullWrite() ? fullWrites : locationUpdates).add(write.document());
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return deliveryPersonSearchRepository.bulkUpdateLocations(locationUpdates, fullWrites)
+                .doOnSuccess(unused -> {
+                    sample.stop(flushLatencyTimer);
+                    batchSizeSummary.record(batch.size());
+                    log.debug("Flushed {} courier locations", batch.size());
+                })
+                .onErrorResume(e -> {
+                    log.warn("Bulk flush of {} courier locations failed, re-queuing", batch.size(), e);
+                    // A newer ping keeps its position but inherits the failed full write
+                    batch.forEach(write -> pending.merge(write.document().getId(), write, (newer, failed) ->
+                            failed.fullWrite() ? new PendingWrite(newer.document(), true) : newer));
+                    return Mono.empty();
+                });
+    }
+
+    private List<List<PendingWrite>> partition(List<PendingWrite> batch) {
+        List<List<PendingWrite>> chunks = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += maxBatchSize) {
+            chunks.add(batch.subList(from, Math.min(batch.size(), from + maxBatchSize)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Latest pending document of a courier.
+     */
+    private record PendingWrite(DeliveryPersonDocument document, boolean fullWrite) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsClass;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.util.UUID;
+
+/**
+ * Projection of the delivery person, person and main vehicle data that the
+ * courier document needs, cached between location updates and carried by
+ * {@link com.polytechnique.ticbnpick.events.CourierLocationChangedEvent}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourierProfile {
+
+    private UUID deliveryPersonId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String commercialName;
+    private String status;
+    private Boolean isActive;
+    private Double rating;
+    private Integer failedDeliveries;
+    private LogisticsType logisticsType;
+    private Double luggageMaxCapacity;
+    private LogisticsClass logisticsClass;
+
+    /**
+     * Builds the courier document at a given position.
+     *
+     * @param location    the courier position, may be null
+     * @param isAvailable the courier availability, may be null
+     * @return the full document
+     */
+    public DeliveryPersonDocument toDocument(GeoPoint location, Boolean isAvailable) {
+        return DeliveryPersonDocument.builder()
+                .id(deliveryPersonId)
+                .location(location)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .phone(phone)
+                .commercialName(commercialName)
+                .status(status)
+                .isActive(isActive)
+                .isAvailable(isAvailable)
+                .rating(rating)
+                .failedDeliveries(failedDeliveries)
+                .logisticsType(logisticsType)
+                .luggageMaxCapacity(luggageMaxCapacity)
+                .logisticsClass(logisticsClass)
+                .build();
+    }
+}
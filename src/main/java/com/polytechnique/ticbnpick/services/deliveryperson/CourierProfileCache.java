@@ -0,0 +1,128 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.polytechnique.ticbnpick.exceptions.DeliveryPersonNotFoundException;
+import com.polytechnique.ticbnpick.models.Logistics;
+import com.polytechnique.ticbnpick.services.logistics.LectureLogisticsService;
+import com.polytechnique.ticbnpick.services.person.LecturePersonService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Node-local cache of {@link CourierProfile} projections, so that location
+ * updates do not read the delivery person, person and logistics tables on
+ * every ping.
+ *
+ * <p>Concurrent loads of the same courier share one SQL round trip. Failed
+ * loads are not cached. Entries are refreshed through {@link #evict} when a
+ * profile or status event arrives. The cache holds at most
+ * {@code courier.profile-cache.max-size} couriers and an entry expires
+ * {@code courier.profile-cache.ttl-minutes} after it was loaded, which also
+ * bounds how long a missed event leaves a profile stale.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourierProfileCache {
+
+    private final LectureDeliveryPersonService lectureDeliveryPersonService;
+    private final LecturePersonService lecturePersonService;
+    private final LectureLogisticsService lectureLogisticsService;
+
+    @Value("${courier.profile-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${courier.profile-cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private Cache<UUID, Mono<CourierProfile>> profiles;
+
+    @PostConstruct
+    void buildCache() {
+        profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    /**
+     * Returns the cached profile of a courier, loading it on a miss.
+     *
+     * @param deliveryPersonId ID of the delivery person
+     * @return the courier profile, or a DeliveryPersonNotFoundException
+     */
+    public Mono<CourierProfile> get(UUID deliveryPersonId) {
+        return profiles.get(deliveryPersonId, id -> load(id)
+                .doOnError(e -> profiles.invalidate(id))
+                .cache());
+    }
+
+    /**
+     * @param deliveryPersonId ID of the delivery person
+     * @return true if the profile is cached or being loaded
+     */
+    public boolean isCached(UUID deliveryPersonId) {
+        return profiles.getIfPresent(deliveryPersonId) != null;
+    }
+
+    /**
+     * Drops the cached profile of a courier.
+     *
+     * @param deliveryPersonId ID of the delivery person
+     */
+    public void evict(UUID deliveryPersonId) {
+        profiles.invalidate(deliveryPersonId);
+    }
+
+    private Mono<CourierProfile> load(UUID deliveryPersonId) {
+        return lectureDeliveryPersonService.findById(deliveryPersonId)
+                .switchIfEmpty(Mono.error(
+                        new DeliveryPersonNotFoundException("Delivery Person not found with ID: " + deliveryPersonId)))
+                .flatMap(deliveryPerson -> Mono.zip(
+                        lecturePersonService.findById(deliveryPerson.getPersonId()),
+                        lectureLogisticsService.findAllByDeliveryPersonId(deliveryPersonId).collectList())
+                        .map(tuple -> {
+                            Logistics vehicle = mainVehicle(tuple.getT2());
+                            return CourierProfile.builder()
+                                    .deliveryPersonId(deliveryPerson.getId())
+                                    .firstName(tuple.getT1().getFirstName())
+                                    .lastName(tuple.getT1().getLastName())
+                                    .email(tuple.getT1().getEmail())
+                                    .phone(tuple.getT1().getPhone())
+                                    .commercialName(deliveryPerson.getCommercialName())
+                                    .status(deliveryPerson.getStatus() != null
+                                            ? deliveryPerson.getStatus().toString()
+                                            : null)
+                                    .isActive(deliveryPerson.getIsActive())
+                                    .rating(tuple.getT1().getRating())
+                                    .failedDeliveries(deliveryPerson.getFailedDeliveries())
+                                    .logisticsType(vehicle != null ? vehicle.getLogisticsType() : null)
+                                    .luggageMaxCapacity(vehicle != null ? vehicle.getLuggageMaxCapacity() : null)
+                                    .logisticsClass(vehicle != null ? vehicle.getLogisticsClass() : null)
+                                    .build();
+                        }))
+                .doOnNext(profile -> log.debug("Loaded courier profile {}", deliveryPersonId));
+    }
+
+    /**
+     * Picks the vehicle with the largest luggage capacity, used for matching.
+     */
+    private static Logistics mainVehicle(List<Logistics> vehicles) {
+        return vehicles.stream()
+                .max(Comparator.comparing(l -> l.getLuggageMaxCapacity() != null ? l.getLuggageMaxCapacity() : 0.0))
+                .orElse(null);
+    }
+}
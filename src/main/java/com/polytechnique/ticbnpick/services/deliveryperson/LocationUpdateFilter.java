@@ -0,0 +1,172 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import com.polytechnique.ticbnpick.services.matching.GeoDistance;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which courier location pings are worth processing.
+ *
+ * <p>The last accepted fix of each courier is what matching works with, so a
+ * ping is only accepted when it makes that fix stale: the courier moved at
+ * least {@code location.filter.min-distance-meters} from it, turned by at
+ * least {@code location.filter.heading-change-degrees} after travelling
+ * {@code location.filter.min-heading-distance-meters}, or stayed silent for
+ * {@code location.filter.max-silence-seconds}. Parked couriers therefore cost
+ * one write per silence interval, while moving couriers, whose every ping
+ * exceeds the distance threshold, are tracked at full resolution.
+ *
+ * <p>Exposed metrics: {@code courier.location.pings} tagged
+ * {@code outcome=accepted|suppressed} and
+ * {@code courier.location.suppression.ratio}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Component
+public class LocationUpdateFilter {
+
+    private static final double METERS_PER_KM = 1000.0;
+
+    @Value("${location.filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${location.filter.min-distance-meters:25}")
+    private double minDistanceMeters;
+
+    @Value("${location.filter.heading-change-degrees:30}")
+    private double headingChangeDegrees;
+
+    @Value("${location.filter.min-heading-distance-meters:5}")
+    private double minHeadingDistanceMeters;
+
+    @Value("${location.filter.max-silence-seconds:30}")
+    private long maxSilenceSeconds;
+
+    private final Map<UUID, Fix> lastAccepted = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final Counter acceptedCounter;
+    private final Counter suppressedCounter;
+
+    @Autowired
+    public LocationUpdateFilter(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    LocationUpdateFilter(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.acceptedCounter = Counter.builder("courier.location.pings")
+                .tag("outcome", "accepted")
+                .description("Location pings processed")
+                .register(meterRegistry);
+        this.suppressedCounter = Counter.builder("courier.location.pings")
+                .tag("outcome", "suppressed")
+                .description("Location pings dropped because they could not change matching")
+                .register(meterRegistry);
+        Gauge.builder("courier.location.suppression.ratio", this, LocationUpdateFilter::suppressionRatio)
+                .description("Share of location pings dropped by the movement filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks a ping against the last accepted fix of the courier, and makes
+     * it the new reference when it is accepted.
+     *
+     * @param deliveryPersonId the courier identifier
+     * @param latitude         latitude of the ping
+     * @param longitude        longitude of the ping
+     * @return true if the ping must be processed
+     */
+    public boolean accept(UUID deliveryPersonId, double latitude, double longitude) {
+        if (!enabled) {
+            acceptedCounter.increment();
+            return true;
+        }
+        long now = clock.millis();
+        boolean[] accepted = new boolean[1];
+        lastAccepted.compute(deliveryPersonId, (id, previous) -> {
+            Fix next = evaluate(previous, latitude, longitude, now);
+            accepted[0] = next != previous;
+            return next;
+        });
+        (accepted[0] ? acceptedCounter : suppressedCounter).increment();
+        return accepted[0];
+    }
+
+    /**
+     * Forgets the reference fix of a courier, so that its next ping is
+     * accepted whatever its position.
+     *
+     * @param deliveryPersonId the courier identifier
+     */
+    public void reset(UUID deliveryPersonId) {
+        lastAccepted.remove(deliveryPersonId);
+    }
+
+    /**
+     * Returns the new reference fix, or {@code previous} itself when the ping
+     * is suppressed.
+     */
+    private Fix evaluate(Fix previous, double latitude, double longitude, long now) {
+        if (previous == null) {
+            return new Fix(latitude, longitude, Double.NaN, now);
+        }
+        double distanceMeters = GeoDistance.haversineKm(previous.latitude(), previous.longitude(), latitude,
+                longitude) * METERS_PER_KM;
+        double heading = distanceMeters >= minHeadingDistanceMeters
+                ? bearingDegrees(previous.latitude(), previous.longitude(), latitude, longitude)
+                : Double.NaN;
+
+        boolean silentTooLong = now - previous.acceptedAt() >= maxSilenceSeconds * 1000;
+        boolean moved = distanceMeters >= minDistanceMeters;
+        boolean turned = !Double.isNaN(heading) && !Double.isNaN(previous.heading())
+                && angleBetween(heading, previous.heading()) >= headingChangeDegrees;
+
+        if (!silentTooLong && !moved && !turned) {
+            return previous;
+        }
+        // Keep the known heading through stationary fixes so that the next turn is still detected
+        return new Fix(latitude, longitude, Double.isNaN(heading) ? previous.heading() : heading, now);
+    }
+
+    private double suppressionRatio() {
+        double suppressed = suppressedCounter.count();
+        double total = suppressed + acceptedCounter.count();
+        return total == 0 ? 0.0 : suppressed / total;
+    }
+
+    /**
+     * Initial bearing from the first point to the second, in degrees [0, 360).
+     */
+    static double bearingDegrees(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double y = Math.sin(dLon) * Math.cos(phi2);
+        double x = Math.cos(phi1) * Math.sin(phi2) - Math.sin(phi1) * Math.cos(phi2) * Math.cos(dLon);
+        return (Math.toDegrees(Math.atan2(y, x)) + 360.0) % 360.0;
+    }
+
+    /**
+     * Smallest angle between two headings, in degrees [0, 180].
+     */
+    static double angleBetween(double heading1, double heading2) {
+        double diff = Math.abs(heading1 - heading2) % 360.0;
+        return diff > 180.0 ? 360.0 - diff : diff;
+    }
+
+    /**
+     * Last accepted fix of a courier.
+     */
+    private record Fix(double latitude, double longitude, double heading, long acceptedAt) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+
+/**
+ * Scores a courier that passed the ellipse filter for an announcement.
+ * Provide another bean implementing this interface to change the ranking.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public interface CandidateScorer {
+
+    /**
+     * Scores a candidate, higher is better.
+     *
+     * @param candidate    the eligible courier
+     * @param excessKm     ellipse excess d(P,F1) + d(P,F2) - d(F1,F2), the
+     *                     detour of the courier in kilometers
+     * @param announcement the announcement being matched
+     * @param profile      the scoring profile of the announcement urgency
+     * @return the candidate score
+     */
+    double score(DeliveryPersonDocument candidate, double excessKm, AnnouncementDocument announcement,
+            ScoringProfile profile);
+}
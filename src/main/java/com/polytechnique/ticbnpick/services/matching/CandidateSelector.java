@@ -0,0 +1,53 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.services.matching.EllipseMatcher.EllipseMatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scoring stage run after the ellipse filter: keeps the best K candidates of
+ * a match according to the {@link CandidateScorer} and the profile of the
+ * announcement urgency.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Component
+@RequiredArgsConstructor
+public class CandidateSelector {
+
+    private final CandidateScorer candidateScorer;
+    private final ScoringProfiles scoringProfiles;
+
+    /**
+     * Selects the couriers to notify.
+     *
+     * @param announcement the matched announcement
+     * @param match        the ellipse match, candidates ordered by excess
+     * @return at most K couriers, best first
+     */
+    public List<DeliveryPersonDocument> select(AnnouncementDocument announcement, EllipseMatch match) {
+        ScoringProfile profile = scoringProfiles.forUrgency(announcement.getUrgency());
+        List<DeliveryPersonDocument> candidates = match.getCandidates();
+        if (profile.getTopK() <= 0 || candidates.size() <= profile.getTopK()) {
+            return candidates;
+        }
+
+        double[] excesses = match.getExcesses();
+        TopKSelector selector = new TopKSelector(profile.getTopK());
+        for (int i = 0; i < candidates.size(); i++) {
+            selector.offer(i, candidateScorer.score(candidates.get(i), excesses[i], announcement, profile));
+        }
+
+        List<DeliveryPersonDocument> selected = new ArrayList<>(selector.size());
+        for (int index : selector.drainDescending()) {
+            selected.add(candidates.get(index));
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,36 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.repositories.DeliveryPersonSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Loads the available and active delivery persons from Elasticsearch into the
+ * {@link CourierSpatialIndex} once the application is ready.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourierIndexWarmer {
+
+    private final DeliveryPersonSearchRepository deliveryPersonSearchRepository;
+    private final CourierSpatialIndex courierSpatialIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        deliveryPersonSearchRepository.findByIsAvailableTrueAndIsActiveTrue()
+                .collectList()
+                .retryWhen(Retry.backoff(5, Duration.ofSeconds(2)))
+                .subscribe(courierSpatialIndex::warmUp,
+                        e -> log.error("Could not warm the courier spatial index, matching stays on Elasticsearch", e));
+    }
+}
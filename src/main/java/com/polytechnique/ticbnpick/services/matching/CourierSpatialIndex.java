@@ -0,0 +1,351 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index of the available and active delivery persons.
+ *
+ * <p>Couriers are bucketed in fixed-size latitude/longitude cells. Positions
+ * are kept in primitive arrays (one slot per courier) so that radius queries
+ * only touch the cells overlapping the search area and compute distances
+ * without unboxing. Vehicle capacity and class are kept alongside so that
+ * packet requirements are checked before any distance is computed. The index is fed by
+ * {@link com.polytechnique.ticbnpick.services.DeliveryPersonLocationService}
+ * for the pings this node receives, and by
+ * {@link com.polytechnique.ticbnpick.services.consumers.CourierLocationConsumer}
+ * for the pings and expiries of every node, and warmed from Elasticsearch at
+ * startup; until then {@link #isWarm()} returns false and callers must fall
+ * back to Elasticsearch.
+ *
+ * <p>Longitude wrap-around at the antimeridian is not handled.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+public class CourierSpatialIndex {
+
+    static final double CELL_SIZE_DEG = 0.01;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long LON_CELLS = (long) Math.ceil(360.0 / CELL_SIZE_DEG) + 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> slotById = new HashMap<>();
+    private final Map<Long, IntBag> cells = new HashMap<>();
+
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private long[] cellKeys = new long[INITIAL_CAPACITY];
+    private double[] capacities = new double[INITIAL_CAPACITY];
+    private boolean[] damaged = new boolean[INITIAL_CAPACITY];
+    private DeliveryPersonDocument[] documents = new DeliveryPersonDocument[INITIAL_CAPACITY];
+    private int size;
+
+    private volatile boolean warm;
+
+    /**
+     * Indexes or refreshes a delivery person. Couriers that are not both
+     * active and available are removed from the index.
+     *
+     * @param document the latest Elasticsearch representation of the courier
+     */
+    public void upsert(DeliveryPersonDocument document) {
+        if (document == null || document.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            upsertLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a delivery person from the index.
+     *
+     * @param deliveryPersonId the courier identifier
+     */
+    public void remove(UUID deliveryPersonId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(deliveryPersonId);
+            if (slot != null) {
+                removeSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the indexed document of a courier.
+     *
+     * @param deliveryPersonId the courier identifier
+     * @return the document, or null if the courier is not indexed
+     */
+    public DeliveryPersonDocument get(UUID deliveryPersonId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotById.get(deliveryPersonId);
+            return slot != null ? documents[slot] : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the cold-start snapshot. Couriers already indexed by a live
+     * location update are kept as they are, since they are fresher than the
+     * snapshot.
+     *
+     * @param snapshot available and active couriers read from Elasticsearch
+     */
+    public void warmUp(Collection<DeliveryPersonDocument> snapshot) {
+        lock.writeLock().lock();
+        try {
+            for (DeliveryPersonDocument document : snapshot) {
+                if (document.getId() != null && !slotById.containsKey(document.getId())) {
+                    upsertLocked(document);
+                }
+            }
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Courier spatial index warmed with {} delivery persons", size());
+    }
+
+    /**
+     * @return true once the cold-start snapshot has been loaded
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * @return the number of indexed couriers
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the couriers located within the given radius of a point.
+     *
+     * @param latitude  latitude of the center
+     * @param longitude longitude of the center
+     * @param radiusKm  search radius in kilometers
+     * @return the matching couriers, in no particular order
+     */
+    public List<DeliveryPersonDocument> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        return findWithinRadius(latitude, longitude, radiusKm, PacketRequirement.NONE);
+    }
+
+    /**
+     * Returns the couriers located within the given radius of a point whose
+     * vehicle satisfies a packet requirement.
+     *
+     * @param latitude    latitude of the center
+     * @param longitude   longitude of the center
+     * @param radiusKm    search radius in kilometers
+     * @param requirement vehicle requirement of the packet
+     * @return the matching couriers, in no particular order
+     */
+    public List<DeliveryPersonDocument> findWithinRadius(double latitude, double longitude, double radiusKm,
+            PacketRequirement requirement) {
+        double latSpan = radiusKm / GeoDistance.KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + latSpan)));
+        double lonSpan = Math.min(180.0, radiusKm / (GeoDistance.KM_PER_DEGREE * cosLat));
+
+        long minLatCell = latCell(Math.max(-90.0, latitude - latSpan));
+        long maxLatCell = latCell(Math.min(90.0, latitude + latSpan));
+        long minLonCell = lonCell(Math.max(-180.0, longitude - lonSpan));
+        long maxLonCell = lonCell(Math.min(180.0, longitude + lonSpan));
+
+        List<DeliveryPersonDocument> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long coveredCells = (maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1);
+            if (coveredCells > cells.size()) {
+                // Large radius over a sparse fleet: walking the occupied cells is cheaper
+                for (Map.Entry<Long, IntBag> entry : cells.entrySet()) {
+                    long key = entry.getKey();
+                    long latIdx = key / LON_CELLS;
+                    long lonIdx = key % LON_CELLS;
+                    if (latIdx >= minLatCell && latIdx <= maxLatCell && lonIdx >= minLonCell && lonIdx <= maxLonCell) {
+                        collect(entry.getValue(), latitude, longitude, radiusKm, requirement, result);
+                    }
+                }
+            } else {
+                for (long latIdx = minLatCell; latIdx <= maxLatCell; latIdx++) {
+                    for (long lonIdx = minLonCell; lonIdx <= maxLonCell; lonIdx++) {
+                        IntBag bag = cells.get(latIdx * LON_CELLS + lonIdx);
+                        if (bag != null) {
+                            collect(bag, latitude, longitude, radiusKm, requirement, result);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void collect(IntBag bag, double latitude, double longitude, double radiusKm,
+            PacketRequirement requirement, List<DeliveryPersonDocument> result) {
+        boolean constrained = !requirement.isUnconstrained();
+        for (int i = 0; i < bag.size; i++) {
+            int slot = bag.values[i];
+            if (constrained && !requirement.accepts(capacities[slot], damaged[slot])) {
+                continue;
+            }
+            if (GeoDistance.haversineKm(latitudes[slot], longitudes[slot], latitude, longitude) <= radiusKm) {
+                result.add(documents[slot]);
+            }
+        }
+    }
+
+    private void upsertLocked(DeliveryPersonDocument document) {
+        Integer existing = slotById.get(document.getId());
+        boolean indexable = document.getLocation() != null
+                && Boolean.TRUE.equals(document.getIsActive())
+                && Boolean.TRUE.equals(document.getIsAvailable());
+
+        if (!indexable) {
+            if (existing != null) {
+                removeSlot(existing);
+            }
+            return;
+        }
+
+        double lat = document.getLocation().getLat();
+        double lon = document.getLocation().getLon();
+        long cellKey = cellKey(lat, lon);
+
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            if (cellKeys[slot] != cellKey) {
+                cells.get(cellKeys[slot]).remove(slot);
+                if (cells.get(cellKeys[slot]).size == 0) {
+                    cells.remove(cellKeys[slot]);
+                }
+                cells.computeIfAbsent(cellKey, k -> new IntBag()).add(slot);
+            }
+        } else {
+            ensureCapacity(size + 1);
+            slot = size++;
+            slotById.put(document.getId(), slot);
+            cells.computeIfAbsent(cellKey, k -> new IntBag()).add(slot);
+        }
+
+        latitudes[slot] = lat;
+        longitudes[slot] = lon;
+        cellKeys[slot] = cellKey;
+        capacities[slot] = document.getLuggageMaxCapacity() != null ? document.getLuggageMaxCapacity() : Double.NaN;
+        damaged[slot] = document.getLogisticsClass() == LogisticsClass.DAMAGED;
+        documents[slot] = document;
+    }
+
+    private void removeSlot(int slot) {
+        IntBag bag = cells.get(cellKeys[slot]);
+        bag.remove(slot);
+        if (bag.size == 0) {
+            cells.remove(cellKeys[slot]);
+        }
+        slotById.remove(documents[slot].getId());
+
+        // Move the last slot into the hole to keep the arrays dense
+        int last = --size;
+        if (slot != last) {
+            latitudes[slot] = latitudes[last];
+            longitudes[slot] = longitudes[last];
+            cellKeys[slot] = cellKeys[last];
+            capacities[slot] = capacities[last];
+            damaged[slot] = damaged[last];
+            documents[slot] = documents[last];
+            cells.get(cellKeys[slot]).replace(last, slot);
+            slotById.put(documents[slot].getId(), slot);
+        }
+        documents[last] = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= latitudes.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, latitudes.length * 2);
+        latitudes = Arrays.copyOf(latitudes, newCapacity);
+        longitudes = Arrays.copyOf(longitudes, newCapacity);
+        cellKeys = Arrays.copyOf(cellKeys, newCapacity);
+        capacities = Arrays.copyOf(capacities, newCapacity);
+        damaged = Arrays.copyOf(damaged, newCapacity);
+        documents = Arrays.copyOf(documents, newCapacity);
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return latCell(latitude) * LON_CELLS + lonCell(longitude);
+    }
+
+    private static long latCell(double latitude) {
+        return (long) Math.floor((latitude + 90.0) / CELL_SIZE_DEG);
+    }
+
+    private static long lonCell(double longitude) {
+        return (long) Math.floor((longitude + 180.0) / CELL_SIZE_DEG);
+    }
+
+    /**
+     * Growable bag of slot numbers belonging to one cell.
+     */
+    private static final class IntBag {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+
+        void replace(int oldValue, int newValue) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == oldValue) {
+                    values[i] = newValue;
+                    return;
+                }
+            }
+        }
+    }
+}
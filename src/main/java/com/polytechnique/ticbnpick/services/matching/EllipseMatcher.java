@@ -0,0 +1,157 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single-pass spherical ellipse matching.
+ *
+ * <p>A courier P is eligible for an announcement with foci F1 (pickup) and
+ * F2 (delivery) at expansion delta when d(P,F1) + d(P,F2) &lt;= d(F1,F2) + 2 *
+ * delta. Delta starts at {@link #INITIAL_DELTA_KM} and grows by
+ * {@link #DELTA_INCREMENT_KM} up to {@link #MAX_DELTA_KM}; the first delta
+ * yielding at least one courier wins. Instead of re-querying and re-filtering
+ * for every step, the matcher computes the focal distance sum of every
+ * candidate once, derives the smallest winning delta from the minimum sum and
+ * keeps the candidates below the resulting bound.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public final class EllipseMatcher {
+
+    public static final double INITIAL_DELTA_KM = 1.5;
+    public static final double DELTA_INCREMENT_KM = 0.5;
+    public static final double MAX_DELTA_KM = 50.0;
+
+    private EllipseMatcher() {
+    }
+
+    /**
+     * Radius around F1 that contains every courier eligible at the largest
+     * delta. Candidates fetched within this radius are enough for a single
+     * pass.
+     *
+     * @param pickup   focus F1
+     * @param delivery focus F2
+     * @return the search radius in kilometers
+     */
+    public static double maxSearchRadiusKm(GeoPoint pickup, GeoPoint delivery) {
+        return focalDistanceKm(pickup, delivery) + 2 * MAX_DELTA_KM;
+    }
+
+    /**
+     * Distance between the two foci, in kilometers.
+     */
+    public static double focalDistanceKm(GeoPoint pickup, GeoPoint delivery) {
+        return GeoDistance.haversineKm(pickup.getLat(), pickup.getLon(), delivery.getLat(), delivery.getLon());
+    }
+
+    /**
+     * Finds the smallest delta yielding eligible couriers and returns them.
+     *
+     * @param candidates couriers fetched within {@link #maxSearchRadiusKm}
+     * @param pickup     focus F1
+     * @param delivery   focus F2
+     * @return the match, or empty if no courier is eligible at
+     *         {@link #MAX_DELTA_KM}
+     */
+    public static Optional<EllipseMatch> match(List<DeliveryPersonDocument> candidates, GeoPoint pickup,
+            GeoPoint delivery) {
+        double distF1F2 = focalDistanceKm(pickup, delivery);
+
+        int n = candidates.size();
+        double[] sums = new double[n];
+        double minSum = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            GeoPoint location = candidates.get(i).getLocation();
+            if (location == null) {
+                sums[i] = Double.POSITIVE_INFINITY;
+                continue;
+            }
+            sums[i] = GeoDistance.haversineKm(location.getLat(), location.getLon(), pickup.getLat(), pickup.getLon())
+                    + GeoDistance.haversineKm(location.getLat(), location.getLon(), delivery.getLat(),
+                            delivery.getLon());
+            minSum = Math.min(minSum, sums[i]);
+        }
+
+        double delta = smallestDelta(distF1F2, minSum);
+        if (Double.isNaN(delta)) {
+            return Optional.empty();
+        }
+        double dMax = distF1F2 + (2 * delta);
+
+        // Only the eligible subset is sorted, closest detour first
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (sums[i] <= dMax) {
+                indexes.add(i);
+            }
+        }
+        indexes.sort((a, b) -> Double.compare(sums[a], sums[b]));
+
+        int eligibleCount = indexes.size();
+
+        List<DeliveryPersonDocument> eligible = new ArrayList<>(eligibleCount);
+        double[] excesses = new double[eligibleCount];
+        for (int i = 0; i < eligibleCount; i++) {
+            int index = indexes.get(i);
+            eligible.add(candidates.get(index));
+            excesses[i] = sums[index] - distF1F2;
+        }
+        return Optional.of(new EllipseMatch(delta, dMax, Collections.unmodifiableList(eligible), excesses));
+    }
+
+    /**
+     * Returns the first delta of the expansion sequence whose ellipse contains
+     * a point with the given focal distance sum, or NaN if none does. Uses the
+     * same arithmetic as the step-by-step expansion so results are identical.
+     */
+    static double smallestDelta(double distF1F2, double minSum) {
+        if (Double.isInfinite(minSum)) {
+            return Double.NaN;
+        }
+        for (double delta = INITIAL_DELTA_KM; delta <= MAX_DELTA_KM; delta += DELTA_INCREMENT_KM) {
+            if (minSum <= distF1F2 + (2 * delta)) {
+                return delta;
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Outcome of a single-pass match.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class EllipseMatch {
+
+        /**
+         * Winning expansion delta, in kilometers.
+         */
+        private final double delta;
+
+        /**
+         * Ellipse bound d(F1,F2) + 2 * delta, in kilometers.
+         */
+        private final double dMax;
+
+        /**
+         * Eligible couriers, ordered by increasing ellipse excess.
+         */
+        private final List<DeliveryPersonDocument> candidates;
+
+        /**
+         * Ellipse excess d(P,F1) + d(P,F2) - d(F1,F2) of each candidate, in
+         * kilometers, aligned with {@link #candidates}.
+         */
+        private final double[] excesses;
+    }
+}
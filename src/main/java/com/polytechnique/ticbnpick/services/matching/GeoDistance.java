@@ -0,0 +1,39 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+/**
+ * Spherical distance helpers shared by the matching components.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public final class GeoDistance {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    /**
+     * Approximate length of one degree of latitude, in kilometers.
+     */
+    public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoDistance() {
+    }
+
+    /**
+     * Calculates the Haversine distance between two points in Kilometers.
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+
+        double lat1Rad = Math.toRadians(lat1);
+        double lat2Rad = Math.toRadians(lat2);
+
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat + sinLon * sinLon * Math.cos(lat1Rad) * Math.cos(lat2Rad);
+
+        double c = 2 * Math.asin(Math.sqrt(a));
+
+        return EARTH_RADIUS_KM * c;
+    }
+}
@@ -0,0 +1,307 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Standing index of the open announcements, used for reverse matching: when a
+ * courier moves or becomes available, only the announcements whose corridor
+ * covers the courier's cell are checked.
+ *
+ * <p>Couriers are held to the same ellipse as forward matching. An
+ * announcement forward matching found couriers for keeps the delta it settled
+ * on; one it found none for is open up to {@link EllipseMatcher#MAX_DELTA_KM}
+ * until the first courier arrives, which fixes the delta the way
+ * {@link EllipseMatcher} would have with that courier alone. The corridor of an
+ * announcement is the set of {@value #CELL_SIZE_DEG} degree cells overlapping
+ * its ellipse at the registered delta. The index only finds the candidate
+ * matches of a courier whose vehicle can carry the packet; the claim itself
+ * is shared by every node, see
+ * {@link com.polytechnique.ticbnpick.repositories.ReverseMatchClaimRepository},
+ * and its outcome is recorded back with {@link #recordClaim}. An
+ * announcement leaves the index once the couriers recorded for it reach its
+ * notification cap, or when it is removed or expires.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+public class OpenAnnouncementIndex {
+
+    static final double CELL_SIZE_DEG = 0.1;
+    private static final long LON_CELLS = (long) Math.ceil(360.0 / CELL_SIZE_DEG) + 1;
+
+    private final Map<UUID, OpenAnnouncement> byId = new ConcurrentHashMap<>();
+    private final Map<Long, Set<OpenAnnouncement>> cells = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public OpenAnnouncementIndex() {
+        this(Clock.systemUTC());
+    }
+
+    OpenAnnouncementIndex(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Registers an announcement that may still be matched with couriers
+     * arriving later. Replaces any previous registration of the announcement.
+     *
+     * @param announcement     the announcement, with pickup and delivery points
+     * @param delta            the delta forward matching settled on, null if
+     *                         it found no courier
+     * @param alreadyNotified  couriers already notified for it
+     * @param maxNotifications total notification cap, zero or less for none
+     * @param expiresAt        when the announcement stops being open
+     */
+    public void register(AnnouncementDocument announcement, Double delta, Collection<UUID> alreadyNotified,
+            int maxNotifications, Instant expiresAt) {
+        if ((maxNotifications > 0 && alreadyNotified.size() >= maxNotifications)
+                || clock.instant().isAfter(expiresAt)) {
+            remove(announcement.getId());
+            return;
+        }
+        GeoPoint pickup = announcement.getPickupLocation();
+        GeoPoint delivery = announcement.getDeliveryLocation();
+        double focalDistance = EllipseMatcher.focalDistanceKm(pickup, delivery);
+        double corridorDelta = delta != null ? delta : EllipseMatcher.MAX_DELTA_KM;
+
+        OpenAnnouncement open = new OpenAnnouncement(announcement,
+                PacketRequirement.of(announcement.getPacket()),
+                focalDistance,
+                delta,
+                corridor(pickup, delivery, focalDistance, corridorDelta),
+                maxNotifications,
+                expiresAt,
+                alreadyNotified);
+
+        remove(announcement.getId());
+        byId.put(announcement.getId(), open);
+        for (long cell : open.cells) {
+            cells.computeIfAbsent(cell, k -> ConcurrentHashMap.newKeySet()).add(open);
+        }
+    }
+
+    /**
+     * Removes an announcement, e.g. when it is deleted or taken.
+     *
+     * @param announcementId the announcement identifier
+     */
+    public void remove(UUID announcementId) {
+        OpenAnnouncement open = byId.remove(announcementId);
+        if (open == null) {
+            return;
+        }
+        for (long cell : open.cells) {
+            cells.computeIfPresent(cell, (k, set) -> {
+                set.remove(open);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * A candidate match of a courier with an open announcement.
+     *
+     * @param announcement the announcement
+     * @param delta        the delta to claim the courier at: the one settled
+     *                     on, or the smallest holding the courier
+     * @param cap          claims left to reverse matching, zero or less for
+     *                     none
+     * @param expiresAt    when the announcement stops being open
+     */
+    public record Match(AnnouncementDocument announcement, double delta, int cap, Instant expiresAt) {
+    }
+
+    /**
+     * Returns the open announcements a courier has just become eligible for,
+     * as far as this node knows. Nothing is recorded until
+     * {@link #recordClaim} is called.
+     *
+     * @param courier the courier's latest document
+     * @return the candidate matches to claim
+     */
+    public List<Match> findMatches(DeliveryPersonDocument courier) {
+        if (courier.getId() == null || courier.getLocation() == null
+                || !Boolean.TRUE.equals(courier.getIsActive())
+                || !Boolean.TRUE.equals(courier.getIsAvailable())) {
+            return List.of();
+        }
+        double lat = courier.getLocation().getLat();
+        double lon = courier.getLocation().getLon();
+        Set<OpenAnnouncement> candidates = cells.get(cellKey(latCell(lat), lonCell(lon)));
+        if (candidates == null) {
+            return List.of();
+        }
+
+        Instant now = clock.instant();
+        List<Match> matches = new ArrayList<>();
+        for (OpenAnnouncement open : candidates) {
+            if (now.isAfter(open.expiresAt)) {
+                remove(open.announcement.getId());
+                continue;
+            }
+            if (open.notified.contains(courier.getId()) || !open.requirement.accepts(courier)) {
+                continue;
+            }
+            GeoPoint pickup = open.announcement.getPickupLocation();
+            GeoPoint delivery = open.announcement.getDeliveryLocation();
+            double sum = GeoDistance.haversineKm(lat, lon, pickup.getLat(), pickup.getLon())
+                    + GeoDistance.haversineKm(lat, lon, delivery.getLat(), delivery.getLon());
+            double delta = open.deltaFor(sum);
+            if (!Double.isNaN(delta)) {
+                matches.add(new Match(open.announcement, delta, open.reverseCap, open.expiresAt));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Records a courier claimed for an announcement, by this node or by
+     * another one, so that it is not claimed again from here.
+     *
+     * @param announcementId the announcement identifier
+     * @param courierId      the courier identifier
+     * @param delta          the delta the claim was made at, fixing the
+     *                       announcement's delta if it had none; null if the
+     *                       courier was claimed by another node
+     */
+    public void recordClaim(UUID announcementId, UUID courierId, Double delta) {
+        OpenAnnouncement open = byId.get(announcementId);
+        if (open != null && open.record(courierId, delta)) {
+            remove(announcementId);
+        }
+    }
+
+    /**
+     * Drops the expired announcements.
+     *
+     * @return the number of announcements removed
+     */
+    public int evictExpired() {
+        Instant now = clock.instant();
+        int evicted = 0;
+        for (OpenAnnouncement open : byId.values()) {
+            if (now.isAfter(open.expiresAt)) {
+                remove(open.announcement.getId());
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} expired open announcements, {} left", evicted, byId.size());
+        }
+        return evicted;
+    }
+
+    /**
+     * @return the number of open announcements
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Cells overlapping the ellipse at the given delta. Every point of the
+     * ellipse is within (dMax + d(F1,F2)) / 2 of both foci, so the corridor is
+     * the intersection of the bounding boxes of those two disks.
+     */
+    private static long[] corridor(GeoPoint pickup, GeoPoint delivery, double focalDistance, double delta) {
+        double radiusKm = focalDistance + delta;
+        double latSpan = radiusKm / GeoDistance.KM_PER_DEGREE;
+        double maxAbsLat = Math.min(89.0, Math.max(Math.abs(pickup.getLat()), Math.abs(delivery.getLat())) + latSpan);
+        double lonSpan = Math.min(180.0, radiusKm / (GeoDistance.KM_PER_DEGREE * Math.cos(Math.toRadians(maxAbsLat))));
+
+        long minLatCell = latCell(Math.max(-90.0, Math.max(pickup.getLat(), delivery.getLat()) - latSpan));
+        long maxLatCell = latCell(Math.min(90.0, Math.min(pickup.getLat(), delivery.getLat()) + latSpan));
+        long minLonCell = lonCell(Math.max(-180.0, Math.max(pickup.getLon(), delivery.getLon()) - lonSpan));
+        long maxLonCell = lonCell(Math.min(180.0, Math.min(pickup.getLon(), delivery.getLon()) + lonSpan));
+
+        long[] keys = new long[(int) ((maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1))];
+        int i = 0;
+        for (long latIdx = minLatCell; latIdx <= maxLatCell; latIdx++) {
+            for (long lonIdx = minLonCell; lonIdx <= maxLonCell; lonIdx++) {
+                keys[i++] = cellKey(latIdx, lonIdx);
+            }
+        }
+        return keys;
+    }
+
+    private static long cellKey(long latIdx, long lonIdx) {
+        return latIdx * LON_CELLS + lonIdx;
+    }
+
+    private static long latCell(double latitude) {
+        return (long) Math.floor((latitude + 90.0) / CELL_SIZE_DEG);
+    }
+
+    private static long lonCell(double longitude) {
+        return (long) Math.floor((longitude + 180.0) / CELL_SIZE_DEG);
+    }
+
+    /**
+     * An announcement waiting for couriers.
+     */
+    private static final class OpenAnnouncement {
+        private final AnnouncementDocument announcement;
+        private final PacketRequirement requirement;
+        private final double focalDistance;
+        private Double delta;
+        private final long[] cells;
+        private final int maxNotifications;
+        private final int reverseCap;
+        private final Instant expiresAt;
+        private final Set<UUID> notified;
+
+        private OpenAnnouncement(AnnouncementDocument announcement, PacketRequirement requirement,
+                double focalDistance, Double delta, long[] cells, int maxNotifications, Instant expiresAt,
+                Collection<UUID> alreadyNotified) {
+            this.announcement = announcement;
+            this.requirement = requirement;
+            this.focalDistance = focalDistance;
+            this.delta = delta;
+            this.cells = cells;
+            this.maxNotifications = maxNotifications;
+            this.reverseCap = maxNotifications > 0 ? maxNotifications - alreadyNotified.size() : 0;
+            this.expiresAt = expiresAt;
+            this.notified = ConcurrentHashMap.newKeySet();
+            this.notified.addAll(alreadyNotified);
+        }
+
+        /**
+         * Delta to claim a courier whose focal distance sum is {@code sum} at,
+         * or NaN if the courier is outside the ellipse. Without a delta yet,
+         * the smallest one holding the courier.
+         */
+        private synchronized double deltaFor(double sum) {
+            if (delta == null) {
+                return EllipseMatcher.smallestDelta(focalDistance, sum);
+            }
+            return sum <= focalDistance + 2 * delta ? delta : Double.NaN;
+        }
+
+        /**
+         * Records a claimed courier and returns true once the cap is reached.
+         */
+        private synchronized boolean record(UUID courierId, Double claimDelta) {
+            if (delta == null && claimDelta != null) {
+                delta = claimDelta;
+            }
+            notified.add(courierId);
+            return maxNotifications > 0 && notified.size() >= maxNotifications;
+        }
+    }
+}
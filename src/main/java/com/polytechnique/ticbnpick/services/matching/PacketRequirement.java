@@ -0,0 +1,125 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.dtos.packet.PacketDTO;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsClass;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Vehicle capacity a courier needs to carry an announcement's packet.
+ *
+ * <p>Packet dimensions are in centimeters and the luggage capacity of a
+ * vehicle in liters, so the packet volume is width x length x thickness / 1000.
+ * Fragile packets exclude {@link LogisticsClass#DAMAGED} vehicles. Couriers
+ * whose capacity or class is unknown are kept.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PacketRequirement {
+
+    public static final PacketRequirement NONE = new PacketRequirement(null, false);
+
+    private static final double CM3_PER_LITER = 1000.0;
+
+    /**
+     * Minimum luggage capacity in liters, or null when the packet dimensions
+     * are unknown.
+     */
+    private final Double minLuggageCapacity;
+
+    /**
+     * Whether vehicles of class DAMAGED must be excluded.
+     */
+    private final boolean fragile;
+
+    /**
+     * @param packet the announcement packet, may be null
+     * @return the requirement of the packet
+     */
+    public static PacketRequirement of(PacketDTO packet) {
+        if (packet == null) {
+            return NONE;
+        }
+        Double volume = packet.getWidth() != null && packet.getLength() != null && packet.getThickness() != null
+                ? packet.getWidth() * packet.getLength() * packet.getThickness() / CM3_PER_LITER
+                : null;
+        boolean fragile = Boolean.TRUE.equals(packet.getFragile());
+        return volume == null && !fragile ? NONE : new PacketRequirement(volume, fragile);
+    }
+
+    /**
+     * Returns the loosest requirement satisfied by every courier that
+     * satisfies at least one of the given requirements, used to fetch one
+     * candidate snapshot for several announcements.
+     */
+    public static PacketRequirement loosest(Collection<PacketRequirement> requirements) {
+        Double minCapacity = null;
+        boolean fragile = !requirements.isEmpty();
+        boolean unconstrainedCapacity = requirements.isEmpty();
+        for (PacketRequirement requirement : requirements) {
+            fragile &= requirement.fragile;
+            if (requirement.minLuggageCapacity == null) {
+                unconstrainedCapacity = true;
+            } else if (minCapacity == null || requirement.minLuggageCapacity < minCapacity) {
+                minCapacity = requirement.minLuggageCapacity;
+            }
+        }
+        Double capacity = unconstrainedCapacity ? null : minCapacity;
+        return capacity == null && !fragile ? NONE : new PacketRequirement(capacity, fragile);
+    }
+
+    /**
+     * @return true if every courier satisfies this requirement
+     */
+    public boolean isUnconstrained() {
+        return minLuggageCapacity == null && !fragile;
+    }
+
+    /**
+     * @param courier a courier document
+     * @return true if the courier's vehicle can carry the packet
+     */
+    public boolean accepts(DeliveryPersonDocument courier) {
+        return accepts(courier.getLuggageMaxCapacity() != null ? courier.getLuggageMaxCapacity() : Double.NaN,
+                courier.getLogisticsClass() == LogisticsClass.DAMAGED);
+    }
+
+    /**
+     * Primitive variant of {@link #accepts(DeliveryPersonDocument)}.
+     *
+     * @param luggageCapacity the vehicle capacity in liters, NaN if unknown
+     * @param damaged         whether the vehicle class is DAMAGED
+     */
+    public boolean accepts(double luggageCapacity, boolean damaged) {
+        if (fragile && damaged) {
+            return false;
+        }
+        return minLuggageCapacity == null || Double.isNaN(luggageCapacity) || luggageCapacity >= minLuggageCapacity;
+    }
+
+    /**
+     * @param couriers candidate couriers
+     * @return the couriers satisfying this requirement
+     */
+    public List<DeliveryPersonDocument> filter(List<DeliveryPersonDocument> couriers) {
+        if (isUnconstrained()) {
+            return couriers;
+        }
+        List<DeliveryPersonDocument> accepted = new ArrayList<>(couriers.size());
+        for (DeliveryPersonDocument courier : couriers) {
+            if (accepts(courier)) {
+                accepted.add(courier);
+            }
+        }
+        return accepted;
+    }
+}
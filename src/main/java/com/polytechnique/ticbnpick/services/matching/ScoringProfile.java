@@ -0,0 +1,27 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Number of couriers to notify and scoring weights for one delivery urgency.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Getter
+@Builder
+public class ScoringProfile {
+
+    /**
+     * Maximum number of couriers notified; zero or less notifies every
+     * eligible courier.
+     */
+    private final int topK;
+
+    private final double detourWeight;
+    private final double ratingWeight;
+    private final double capacityWeight;
+    private final double failedDeliveriesWeight;
+    private final double vehicleWeight;
+}
@@ -0,0 +1,50 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.models.enums.delivery.DeliveryUrgency;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves the {@link ScoringProfile} of each {@link DeliveryUrgency} from the
+ * {@code matching.scoring.<urgency>.*} properties. Announcements without
+ * urgency use the NORMAL profile.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Component
+public class ScoringProfiles {
+
+    private final Map<DeliveryUrgency, ScoringProfile> profiles = new EnumMap<>(DeliveryUrgency.class);
+
+    public ScoringProfiles(Environment environment) {
+        for (DeliveryUrgency urgency : DeliveryUrgency.values()) {
+            boolean express = urgency == DeliveryUrgency.EXPRESS;
+            String prefix = "matching.scoring." + urgency.name().toLowerCase(Locale.ROOT) + ".";
+            profiles.put(urgency, ScoringProfile.builder()
+                    .topK(environment.getProperty(prefix + "top-k", Integer.class, express ? 5 : 10))
+                    .detourWeight(weight(environment, prefix, "detour", express ? 2.0 : 1.0))
+                    .ratingWeight(weight(environment, prefix, "rating", express ? 0.5 : 1.0))
+                    .capacityWeight(weight(environment, prefix, "capacity", express ? 0.25 : 0.5))
+                    .failedDeliveriesWeight(weight(environment, prefix, "failed-deliveries", 1.0))
+                    .vehicleWeight(weight(environment, prefix, "vehicle", express ? 1.0 : 0.5))
+                    .build());
+        }
+    }
+
+    /**
+     * @param urgency the announcement urgency, may be null
+     * @return the scoring profile to apply
+     */
+    public ScoringProfile forUrgency(DeliveryUrgency urgency) {
+        return profiles.get(urgency != null ? urgency : DeliveryUrgency.NORMAL);
+    }
+
+    private static double weight(Environment environment, String prefix, String name, double defaultValue) {
+        return environment.getProperty(prefix + "weight." + name, Double.class, defaultValue);
+    }
+}
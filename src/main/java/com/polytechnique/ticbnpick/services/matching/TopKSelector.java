@@ -0,0 +1,119 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+/**
+ * Keeps the K best scored items of a stream in a fixed-size binary min-heap
+ * of primitives, without sorting the whole stream.
+ *
+ * <p>Items are identified by their position in the caller's list. On equal
+ * scores the lower position wins, so callers can pre-order their list by a
+ * secondary criterion.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public final class TopKSelector {
+
+    private final int[] indexes;
+    private final double[] scores;
+    private int size;
+
+    /**
+     * @param k number of items to keep, must be positive
+     */
+    public TopKSelector(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.indexes = new int[k];
+        this.scores = new double[k];
+    }
+
+    /**
+     * Offers an item; it is kept if it ranks among the K best seen so far.
+     *
+     * @param index position of the item in the caller's list
+     * @param score score of the item, higher is better
+     */
+    public void offer(int index, double score) {
+        if (size < indexes.length) {
+            indexes[size] = index;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (worse(indexes[0], scores[0], index, score)) {
+            indexes[0] = index;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * @return the number of kept items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Empties the heap and returns the kept positions, best first.
+     *
+     * @return positions of the kept items ordered by decreasing score
+     */
+    public int[] drainDescending() {
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = indexes[0];
+            size--;
+            if (size > 0) {
+                indexes[0] = indexes[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * True when item a ranks below item b.
+     */
+    private static boolean worse(int indexA, double scoreA, int indexB, double scoreB) {
+        return scoreA < scoreB || (scoreA == scoreB && indexA > indexB);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!worse(indexes[position], scores[position], indexes[parent], scores[parent])) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int left = 2 * position + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int smallest = right < size && worse(indexes[right], scores[right], indexes[left], scores[left])
+                    ? right
+                    : left;
+            if (!worse(indexes[smallest], scores[smallest], indexes[position], scores[position])) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int index = indexes[a];
+        indexes[a] = indexes[b];
+        indexes[b] = index;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,57 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default scorer: a weighted sum of the detour, the courier rating, the
+ * luggage capacity, the vehicle type and the failed deliveries.
+ *
+ * <p>Each term is normalized to roughly [0, 1] except the detour, which is
+ * counted per kilometer. Unknown values are neutral.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Component
+public class WeightedCandidateScorer implements CandidateScorer {
+
+    private static final double MAX_RATING = 5.0;
+    private static final double CAPACITY_HALF_SCORE = 50.0;
+
+    @Override
+    public double score(DeliveryPersonDocument candidate, double excessKm, AnnouncementDocument announcement,
+            ScoringProfile profile) {
+        double rating = candidate.getRating() != null ? candidate.getRating() / MAX_RATING : 0.5;
+        double capacity = candidate.getLuggageMaxCapacity() != null
+                ? candidate.getLuggageMaxCapacity() / (candidate.getLuggageMaxCapacity() + CAPACITY_HALF_SCORE)
+                : 0.0;
+        double failures = candidate.getFailedDeliveries() != null
+                ? Math.log1p(candidate.getFailedDeliveries())
+                : 0.0;
+
+        return -profile.getDetourWeight() * excessKm
+                + profile.getRatingWeight() * rating
+                + profile.getCapacityWeight() * capacity
+                + profile.getVehicleWeight() * vehicleSpeed(candidate.getLogisticsType())
+                - profile.getFailedDeliveriesWeight() * failures;
+    }
+
+    /**
+     * Relative speed of a vehicle type in urban traffic.
+     */
+    private static double vehicleSpeed(LogisticsType type) {
+        if (type == null) {
+            return 0.5;
+        }
+        return switch (type) {
+            case MOTORBIKE -> 1.0;
+            case BIKE -> 0.7;
+            case CAR -> 0.6;
+            case VAN -> 0.4;
+            case TRUCK -> 0.2;
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.polytechnique.ticbnpick.services.push;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Push provider calling a multicast HTTP endpoint, in the shape of the FCM
+ * batch API.
+ *
+ * <p>One POST to {@code push.http.url} carries the message and up to
+ * {@code push.http.max-tokens-per-call} tokens; the response lists the
+ * outcome of each token in the same order. Tokens reported as
+ * {@code UNREGISTERED} or {@code INVALID_ARGUMENT} are invalid, other errors
+ * are transient. A 4xx response fails the whole call for good, a 5xx or an
+ * I/O error may be retried.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "push.provider", havingValue = "http")
+public class HttpPushProvider implements PushProvider {
+
+    private static final Set<String> INVALID_TOKEN_ERRORS = Set.of("UNREGISTERED", "INVALID_ARGUMENT");
+
+    private final WebClient webClient;
+    private final int maxTokensPerCall;
+    private final Duration timeout;
+
+    public HttpPushProvider(WebClient.Builder webClientBuilder,
+            @Value("${push.http.url}") String url,
+            @Value("${push.http.api-key:}") String apiKey,
+            @Value("${push.http.max-tokens-per-call:500}") int maxTokensPerCall,
+            @Value("${push.http.timeout-ms:5000}") long timeoutMs) {
+        WebClient.Builder builder = webClientBuilder.clone().baseUrl(url);
+        if (!apiKey.isBlank()) {
+            builder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey);
+        }
+        this.webClient = builder.build();
+        this.maxTokensPerCall = maxTokensPerCall;
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    @Override
+    public String name() {
+        return "http";
+    }
+
+    @Override
+    public int maxTokensPerCall() {
+        return maxTokensPerCall;
+    }
+
+    @Override
+    public Mono<PushResult> send(PushMessage message, List<String> tokens) {
+        return webClient.post()
+                .bodyValue(new MulticastRequest(tokens, new Notification(message.title(), message.body())))
+                .retrieve()
+                .bodyToMono(MulticastResponse.class)
+                .timeout(timeout)
+                .map(response -> toResult(tokens, response));
+    }
+
+    @Override
+    public boolean isRetryable(Throwable error) {
+        return !(error instanceof WebClientResponseException responseException)
+                || responseException.getStatusCode().is5xxServerError();
+    }
+
+    private static PushResult toResult(List<String> tokens, MulticastResponse response) {
+        List<TokenResult> results = response.results() != null ? response.results() : List.of();
+        int delivered = 0;
+        List<String> invalid = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String error = i < results.size() ? results.get(i).error() : "MISSING_RESULT";
+            if (error == null) {
+                delivered++;
+            } else if (INVALID_TOKEN_ERRORS.contains(error)) {
+                invalid.add(tokens.get(i));
+            } else {
+                failed.add(tokens.get(i));
+            }
+        }
+        return new PushResult(delivered, invalid, failed);
+    }
+
+    record MulticastRequest(List<String> tokens, Notification notification) {
+    }
+
+    record Notification(String title, String body) {
+    }
+
+    record MulticastResponse(List<TokenResult> results) {
+    }
+
+    record TokenResult(String error) {
+    }
+}
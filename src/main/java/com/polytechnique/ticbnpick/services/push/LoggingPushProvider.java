@@ -0,0 +1,41 @@
+package com.polytechnique.ticbnpick.services.push;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Push provider only logging the notifications, used until a real provider
+ * is configured with {@code push.provider}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "push.provider", havingValue = "log", matchIfMissing = true)
+public class LoggingPushProvider implements PushProvider {
+
+    private static final int MAX_TOKENS_PER_CALL = 500;
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public int maxTokensPerCall() {
+        return MAX_TOKENS_PER_CALL;
+    }
+
+    @Override
+    public Mono<PushResult> send(PushMessage message, List<String> tokens) {
+        return Mono.fromSupplier(() -> {
+            log.info("[SIMULATION] PUSH NOTIFICATION '{}' SENT to {} devices", message.title(), tokens.size());
+            return new PushResult(tokens.size(), List.of(), List.of());
+        });
+    }
+}
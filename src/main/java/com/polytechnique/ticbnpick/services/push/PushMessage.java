@@ -0,0 +1,13 @@
+package com.polytechnique.ticbnpick.services.push;
+
+/**
+ * Content of a push notification, sent identically to every token of a
+ * provider call.
+ *
+ * @param title the notification title
+ * @param body  the notification text
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public record PushMessage(String title, String body) {
+}
@@ -0,0 +1,42 @@
+package com.polytechnique.ticbnpick.services.push;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * A push notification provider able to multicast one message to several
+ * device tokens per call.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public interface PushProvider {
+
+    /**
+     * @return the provider name, used as metrics tag
+     */
+    String name();
+
+    /**
+     * @return the maximum number of tokens accepted by one call
+     */
+    int maxTokensPerCall();
+
+    /**
+     * Sends a message to a batch of tokens.
+     *
+     * @param message the message
+     * @param tokens  at most {@link #maxTokensPerCall()} tokens
+     * @return the per-token outcome, or an error if the call itself failed
+     */
+    Mono<PushResult> send(PushMessage message, List<String> tokens);
+
+    /**
+     * @param error an error returned by {@link #send}
+     * @return true if the same call may succeed later
+     */
+    default boolean isRetryable(Throwable error) {
+        return true;
+    }
+}
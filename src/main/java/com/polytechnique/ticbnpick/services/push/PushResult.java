@@ -0,0 +1,17 @@
+package com.polytechnique.ticbnpick.services.push;
+
+import java.util.List;
+
+/**
+ * Per-token outcome of one provider call.
+ *
+ * @param delivered     number of tokens the provider accepted
+ * @param invalidTokens tokens the provider rejected for good, e.g.
+ *                      uninstalled apps
+ * @param failedTokens  tokens that failed for a transient reason and may be
+ *                      retried
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+public record PushResult(int delivered, List<String> invalidTokens, List<String> failedTokens) {
+}
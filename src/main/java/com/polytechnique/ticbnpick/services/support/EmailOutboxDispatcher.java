@@ -0,0 +1,319 @@
+package com.polytechnique.ticbnpick.services.support;
+
+import com.polytechnique.ticbnpick.events.NotificationReceiptEvent;
+import com.polytechnique.ticbnpick.models.EmailOutboxMessage;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.repositories.EmailOutboxJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed pool of SMTP workers draining the email outbox.
+ *
+ * <p>Each of the {@code email.outbox.workers} threads claims up to
+ * {@code email.outbox.batch-size} due emails at a time and sends them over
+ * its own long-lived {@link Transport}, reconnecting after
+ * {@code email.outbox.messages-per-session} messages or a connection error,
+ * and closing it after {@code email.outbox.session-idle-seconds} without
+ * work. The number of concurrent SMTP sessions is therefore bounded by the
+ * pool size, whatever the load on the application.
+ *
+ * <p>Failed emails are retried with exponential backoff, from
+ * {@code email.outbox.initial-backoff-seconds} up to
+ * {@code email.outbox.max-backoff-seconds}, and marked FAILED after
+ * {@code email.outbox.max-attempts} attempts or when the recipient is
+ * rejected.
+ *
+ * <p>The outcome of an email delivering a notification is reported as a SENT
+ * or FAILED receipt on notification-receipts.
+ *
+ * <p>Exposed metrics: {@code email.outbox.sent}, {@code email.outbox.retried},
+ * {@code email.outbox.failed}, {@code email.outbox.send.latency} and
+ * {@code email.outbox.backlog}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final EmailOutboxJdbcRepository emailOutboxJdbcRepository;
+    private final JavaMailSenderImpl mailSender;
+    private final KafkaEventPublisher kafkaEventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${email.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${email.outbox.workers:2}")
+    private int workers;
+
+    @Value("${email.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${email.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${email.outbox.messages-per-session:100}")
+    private int messagesPerSession;
+
+    @Value("${email.outbox.session-idle-seconds:30}")
+    private long sessionIdleSeconds;
+
+    @Value("${email.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${email.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${email.outbox.from:noreply@ticbnpick.com}")
+    private String from;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private volatile boolean running;
+    private ExecutorService executor;
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+    private Timer sendTimer;
+
+    @PostConstruct
+    void start() {
+        registerMetrics();
+        if (!enabled) {
+            log.info("Email outbox dispatcher disabled");
+            return;
+        }
+        running = true;
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.submit(new Worker()::run);
+        }
+        log.info("Email outbox dispatcher started with {} workers", workers);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    void registerMetrics() {
+        sentCounter = Counter.builder("email.outbox.sent")
+                .description("Emails delivered to the SMTP relay")
+                .register(meterRegistry);
+        retriedCounter = Counter.builder("email.outbox.retried")
+                .description("Email attempts that failed and were rescheduled")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("email.outbox.failed")
+                .description("Emails given up on")
+                .register(meterRegistry);
+        sendTimer = Timer.builder("email.outbox.send.latency")
+                .description("Duration of one SMTP send on an open session")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.backlog", backlog, AtomicLong::get)
+                .description("Emails waiting to be sent, as seen by the last idle poll")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens an SMTP session with the relay configured in {@code spring.mail.*}.
+     */
+    Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+                mailSender.getPassword());
+        return transport;
+    }
+
+    Duration backoff(int attempts) {
+        long seconds = initialBackoffSeconds << Math.min(Math.max(attempts - 1, 0), 20);
+        return Duration.ofSeconds(Math.min(seconds, maxBackoffSeconds));
+    }
+
+    /**
+     * One SMTP worker, holding its own session.
+     */
+    class Worker {
+
+        private Transport transport;
+        private int sentOnSession;
+        private long lastUsedNanos;
+
+        void run() {
+            try {
+                while (running && !Thread.currentThread().isInterrupted()) {
+                    int processed;
+                    try {
+                        processed = drainOnce();
+                    } catch (RuntimeException e) {
+                        log.error("Email outbox poll failed", e);
+                        processed = 0;
+                    }
+                    if (processed == 0) {
+                        Thread.sleep(pollIntervalMs);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                closeTransport();
+            }
+        }
+
+        /**
+         * Claims and sends one batch of due emails.
+         *
+         * @return the number of emails claimed
+         */
+        int drainOnce() {
+            List<EmailOutboxMessage> batch = emailOutboxJdbcRepository.claimDue(batchSize,
+                    Duration.ofSeconds(leaseSeconds));
+            if (batch.isEmpty()) {
+                backlog.set(emailOutboxJdbcRepository.countPending());
+                if (System.nanoTime() - lastUsedNanos > TimeUnit.SECONDS.toNanos(sessionIdleSeconds)) {
+                    closeTransport();
+                }
+                return 0;
+            }
+            for (EmailOutboxMessage message : batch) {
+                send(message);
+            }
+            return batch.size();
+        }
+
+        private void send(EmailOutboxMessage message) {
+            try {
+                MimeMessage mime = toMimeMessage(message);
+                Transport session = session();
+                long start = System.nanoTime();
+                session.sendMessage(mime, mime.getAllRecipients());
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                sentOnSession++;
+                lastUsedNanos = System.nanoTime();
+                emailOutboxJdbcRepository.markSent(message.getId());
+                sentCounter.increment();
+                report(message, NotificationStatus.SENT);
+            } catch (AddressException e) {
+                giveUp(message, "Invalid recipient: " + e.getMessage());
+            } catch (SendFailedException e) {
+                // The relay refused the recipient, another attempt would fail the same way
+                giveUp(message, e.getMessage());
+            } catch (MessagingException e) {
+                // The session may be broken, start a new one for the next message
+                closeTransport();
+                retryLater(message, e.getMessage());
+            }
+        }
+
+        private void retryLater(EmailOutboxMessage message, String error) {
+            if (message.getAttempts() >= maxAttempts) {
+                giveUp(message, error);
+                return;
+            }
+            Duration delay = backoff(message.getAttempts());
+            log.warn("Email {} to {} failed (attempt {}), retrying in {}: {}", message.getId(),
+                    message.getRecipient(), message.getAttempts(), delay, error);
+            emailOutboxJdbcRepository.markForRetry(message.getId(), delay, error);
+            retriedCounter.increment();
+        }
+
+        private void giveUp(EmailOutboxMessage message, String error) {
+            log.error("Email {} to {} failed after {} attempts: {}", message.getId(), message.getRecipient(),
+                    message.getAttempts(), error);
+            emailOutboxJdbcRepository.markFailed(message.getId(), error);
+            failedCounter.increment();
+            report(message, NotificationStatus.FAILED);
+        }
+
+        private void report(EmailOutboxMessage message, NotificationStatus status) {
+            if (message.getNotificationId() == null) {
+                return;
+            }
+            kafkaEventPublisher.publishNotificationReceipt(NotificationReceiptEvent.builder()
+                    .notificationId(message.getNotificationId())
+                    .status(status)
+                    .occurredAt(Instant.now())
+                    .build());
+        }
+
+        private Transport session() throws MessagingException {
+            if (transport != null && (sentOnSession >= messagesPerSession || !transport.isConnected())) {
+                closeTransport();
+            }
+            if (transport == null) {
+                transport = connect();
+                sentOnSession = 0;
+            }
+            return transport;
+        }
+
+        private void closeTransport() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Closing SMTP session failed: {}", e.getMessage());
+            }
+            transport = null;
+        }
+
+        private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+            MimeMessage mime = new MimeMessage(mailSender.getSession());
+            mime.setFrom(new InternetAddress(from));
+            mime.setRecipients(Message.RecipientType.TO, InternetAddress.parse(message.getRecipient(), true));
+            mime.setSubject(message.getSubject(), StandardCharsets.UTF_8.name());
+            mime.setText(message.getBody(), StandardCharsets.UTF_8.name());
+            mime.saveChanges();
+            return mime;
+        }
+    }
+}
@@ -1,20 +1,23 @@
 package com.polytechnique.ticbnpick.services.support;
 
+import com.polytechnique.ticbnpick.models.EmailOutboxMessage;
+import com.polytechnique.ticbnpick.models.enums.email.EmailOutboxStatus;
+import com.polytechnique.ticbnpick.repositories.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.UUID;
 
 /**
  * Service for sending transactional emails via Gmail SMTP.
  *
  * <p>Provides methods for sending various notification emails related to
- * delivery person account lifecycle events. Uses Spring's JavaMailSender
- * configured with Gmail SMTP settings.
+ * delivery person account lifecycle events. Emails are not sent inline: they
+ * are written to the email outbox and delivered by
+ * {@link EmailOutboxDispatcher}, which retries failed deliveries.
  *
  * <p>All email methods are fire-and-forget and log errors without throwing.
  *
@@ -30,13 +33,12 @@ public class EmailService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
-    private final JavaMailSender emailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     /**
-     * Sends a simple email message synchronously.
+     * Queues a simple email message without waiting for the outbox write.
      *
      * <p>
-     * Constructs and sends an email using the configured JavaMailSender.
      * Errors are logged but not propagated to avoid breaking the main flow.
      *
      * @param to      the recipient's email address
@@ -44,25 +46,19 @@ public class EmailService {
      * @param text    the body text of the email
      */
     public void sendSimpleMessage(String to, String subject, String text) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-            message.setFrom("noreply@ticbnpick.com");
-            emailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
-        } catch (MailException e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-        }
+        sendSimpleMessageReactive(to, subject, text)
+                .subscribe(
+                        unused -> {
+                        },
+                        e -> log.error("Failed to queue email to {}: {}", to, e.getMessage()));
     }
 
     /**
-     * Sends a simple email message reactively.
+     * Queues a simple email message reactively.
      *
      * <p>
-     * Wraps the blocking email send operation in a Mono that executes
-     * on the bounded elastic scheduler to avoid blocking the event loop.
+     * Completes once the email is durably stored in the outbox; delivery
+     * happens later on the SMTP worker pool.
      *
      * @param to      the recipient's email address
      * @param subject the subject of the email
@@ -70,8 +66,35 @@ public class EmailService {
      * @return a Mono&lt;Void&gt; signaling completion
      */
     public Mono<Void> sendSimpleMessageReactive(String to, String subject, String text) {
-        return Mono.fromRunnable(() -> sendSimpleMessage(to, subject, text))
-                .subscribeOn(Schedulers.boundedElastic())
+        return sendSimpleMessageReactive(to, subject, text, null);
+    }
+
+    /**
+     * Queues the email delivering a notification reactively.
+     *
+     * <p>
+     * The SMTP workers report the outcome of the email as a receipt of the
+     * notification.
+     *
+     * @param to             the recipient's email address
+     * @param subject        the subject of the email
+     * @param text           the body text of the email
+     * @param notificationId the notification the email delivers
+     * @return a Mono&lt;Void&gt; signaling completion
+     */
+    public Mono<Void> sendSimpleMessageReactive(String to, String subject, String text, UUID notificationId) {
+        Instant now = Instant.now();
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setBody(text);
+        message.setStatus(EmailOutboxStatus.PENDING);
+        message.setAttempts(0);
+        message.setNextAttemptAt(now);
+        message.setCreatedAt(now);
+        message.setNotificationId(notificationId);
+        return emailOutboxRepository.save(message)
+                .doOnNext(saved -> log.debug("Email {} to {} queued", saved.getId(), to))
                 .then();
     }
 
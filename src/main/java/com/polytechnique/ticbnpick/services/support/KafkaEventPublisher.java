@@ -1,15 +1,38 @@
 package com.polytechnique.ticbnpick.services.support;
 
+import com.polytechnique.ticbnpick.events.AnnouncementClosedEvent;
+import com.polytechnique.ticbnpick.events.AnnouncementOpenedEvent;
+import com.polytechnique.ticbnpick.events.CourierLocationChangedEvent;
 import com.polytechnique.ticbnpick.events.DeliveryPersonCreatedEvent;
+import com.polytechnique.ticbnpick.events.DeliveryPersonProfileUpdatedEvent;
 import com.polytechnique.ticbnpick.events.DeliveryPersonValidatedEvent;
+import com.polytechnique.ticbnpick.events.NotificationReceiptEvent;
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for publishing Kafka events.
  *
+ * <p>Announcement events go through the outbox instead, see
+ * {@link OutboxEventService}.
+ *
+ * <p>Every event goes through {@link #send}, a Mono completing with the
+ * broker acknowledgement. Callers that do not wait for it still get failures
+ * logged. Exposed metrics, tagged by topic: {@code kafka.producer.send.latency}
+ * (send to acknowledgement) and {@code kafka.producer.send.errors}.
+ *
  * @author Kengfack Lagrange
  * @date 19/12/2025
  */
@@ -20,11 +43,41 @@ public class KafkaEventPublisher {
 
     private static final String TOPIC_DELIVERY_PERSON_CREATED = "delivery-person-created";
     private static final String TOPIC_DELIVERY_PERSON_VALIDATED = "delivery-person-validated";
+    private static final String TOPIC_DELIVERY_PERSON_PROFILE_UPDATED = "delivery-person-profile-updated";
 
-    private static final String TOPIC_ANNOUNCEMENT_PUBLISHED = "announcement-published";
     private static final String TOPIC_SUBSCRIPTION_ATTEMPTS = "subscription-attempts";
+    private static final String TOPIC_NOTIFICATION_REQUESTED = "notification-requested";
+    private static final String TOPIC_NOTIFICATION_RECEIPTS = "notification-receipts";
+    private static final String TOPIC_COURIER_LOCATIONS = "courier-locations";
+    private static final String TOPIC_OPEN_ANNOUNCEMENTS = "open-announcements";
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+
+    /**
+     * Sends an event and reports the broker acknowledgement.
+     *
+     * @param topic the target topic
+     * @param key   the record key, deciding the partition
+     * @param event the event to send
+     * @return a Mono emitting the send result once the broker has acknowledged
+     *         the record, or the send error
+     */
+    public Mono<SendResult<String, Object>> send(String topic, String key, Object event) {
+        return Mono.defer(() -> {
+            TopicMeters meters = topicMeters.computeIfAbsent(topic, this::registerMeters);
+            long start = System.nanoTime();
+            return Mono.fromFuture(() -> kafkaTemplate.send(topic, key, event))
+                    .doOnSuccess(result -> {
+                        meters.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        log.debug("Sent {} to {}-{}@{}", event.getClass().getSimpleName(), topic,
+                                result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
+                    })
+                    .doOnError(e -> meters.errors().increment());
+        });
+    }
 
     /**
      * Publishes a DeliveryPersonCreatedEvent to Kafka.
@@ -33,7 +86,7 @@ public class KafkaEventPublisher {
      */
     public void publishDeliveryPersonCreated(DeliveryPersonCreatedEvent event) {
         log.info("Publishing DeliveryPersonCreatedEvent for ID: {}", event.getDeliveryPersonId());
-        kafkaTemplate.send(TOPIC_DELIVERY_PERSON_CREATED, event.getDeliveryPersonId().toString(), event);
+        sendAndForget(TOPIC_DELIVERY_PERSON_CREATED, event.getDeliveryPersonId().toString(), event);
     }
 
     /**
@@ -44,27 +97,109 @@ public class KafkaEventPublisher {
     public void publishDeliveryPersonValidated(DeliveryPersonValidatedEvent event) {
         log.info("Publishing DeliveryPersonValidatedEvent for ID: {}, approved: {}",
                 event.getDeliveryPersonId(), event.isApproved());
-        kafkaTemplate.send(TOPIC_DELIVERY_PERSON_VALIDATED, event.getDeliveryPersonId().toString(), event);
+        sendAndForget(TOPIC_DELIVERY_PERSON_VALIDATED, event.getDeliveryPersonId().toString(), event);
     }
 
     /**
-     * Publishes an AnnouncementPublishedEvent to Kafka.
+     * Publishes a DeliveryPersonProfileUpdatedEvent to Kafka.
      *
      * @param event the event to publish
      */
-    public void publishAnnouncementPublished(com.polytechnique.ticbnpick.events.AnnouncementPublishedEvent event) {
-        log.info("Publishing AnnouncementPublishedEvent for announcement ID: {}", event.getAnnouncement().getId());
-        kafkaTemplate.send(TOPIC_ANNOUNCEMENT_PUBLISHED, event.getAnnouncement().getId().toString(), event);
+    public void publishDeliveryPersonProfileUpdated(DeliveryPersonProfileUpdatedEvent event) {
+        log.info("Publishing DeliveryPersonProfileUpdatedEvent for ID: {}", event.getDeliveryPersonId());
+        sendAndForget(TOPIC_DELIVERY_PERSON_PROFILE_UPDATED, event.getDeliveryPersonId().toString(), event);
     }
 
     /**
-     * Publishes a SubscriptionAttemptEvent to Kafka.
+     * Publishes a SubscriptionAttemptEvent to Kafka, keyed by announcement so
+     * that the attempts on one announcement are processed in order.
      *
      * @param event the event to publish
      */
     public void publishSubscriptionAttempt(com.polytechnique.ticbnpick.events.SubscriptionAttemptEvent event) {
         log.info("Publishing SubscriptionAttemptEvent for deliveryPerson: {} and announcement: {}",
                 event.getDeliveryPersonId(), event.getAnnouncementId());
-        kafkaTemplate.send(TOPIC_SUBSCRIPTION_ATTEMPTS, event.getAnnouncementId().toString(), event);
+        sendAndForget(TOPIC_SUBSCRIPTION_ATTEMPTS, event.getAnnouncementId().toString(), event);
+    }
+
+    /**
+     * Publishes a NotificationRequestedEvent to Kafka, keyed by recipient.
+     *
+     * @param event the event to publish
+     * @return a Mono completing once the broker has acknowledged the event
+     */
+    public Mono<Void> publishNotificationRequested(NotificationRequestedEvent event) {
+        log.debug("Publishing NotificationRequestedEvent {} for recipient {}", event.getNotificationId(),
+                event.getRecipientId());
+        return send(TOPIC_NOTIFICATION_REQUESTED, event.getRecipientId().toString(), event).then();
+    }
+
+    /**
+     * Publishes a NotificationReceiptEvent to Kafka, keyed by notification.
+     *
+     * @param event the event to publish
+     */
+    public void publishNotificationReceipt(NotificationReceiptEvent event) {
+        log.debug("Publishing NotificationReceiptEvent {} for notification {}", event.getStatus(),
+                event.getNotificationId());
+        sendAndForget(TOPIC_NOTIFICATION_RECEIPTS, event.getNotificationId().toString(), event);
+    }
+
+    /**
+     * Publishes a CourierLocationChangedEvent to Kafka, keyed by delivery
+     * person so that compaction keeps the last state of each courier.
+     *
+     * @param event the event to publish
+     */
+    public void publishCourierLocationChanged(CourierLocationChangedEvent event) {
+        log.trace("Publishing CourierLocationChangedEvent for delivery person {}", event.getDeliveryPersonId());
+        sendAndForget(TOPIC_COURIER_LOCATIONS, event.getDeliveryPersonId().toString(), event);
+    }
+
+    /**
+     * Publishes an AnnouncementOpenedEvent to Kafka, keyed by announcement.
+     *
+     * @param event the event to publish
+     * @return a Mono completing once the broker has acknowledged the event
+     */
+    public Mono<Void> publishAnnouncementOpened(AnnouncementOpenedEvent event) {
+        log.debug("Publishing AnnouncementOpenedEvent for announcement {}", event.getAnnouncementId());
+        return send(TOPIC_OPEN_ANNOUNCEMENTS, event.getAnnouncementId().toString(), event).then();
+    }
+
+    /**
+     * Publishes an AnnouncementClosedEvent to Kafka, keyed by announcement so
+     * that compaction drops the matching AnnouncementOpenedEvent.
+     *
+     * @param event the event to publish
+     * @return a Mono completing once the broker has acknowledged the event
+     */
+    public Mono<Void> publishAnnouncementClosed(AnnouncementClosedEvent event) {
+        log.debug("Publishing AnnouncementClosedEvent for announcement {}", event.getAnnouncementId());
+        return send(TOPIC_OPEN_ANNOUNCEMENTS, event.getAnnouncementId().toString(), event).then();
+    }
+
+    /**
+     * Sends an event without waiting for the acknowledgement; a failure is
+     * only logged.
+     */
+    private void sendAndForget(String topic, String key, Object event) {
+        send(topic, key, event).subscribe(null, e -> log.error("Failed to send {} with key {} to {}",
+                event.getClass().getSimpleName(), key, topic, e));
+    }
+
+    private TopicMeters registerMeters(String topic) {
+        return new TopicMeters(
+                Timer.builder("kafka.producer.send.latency")
+                        .tag("topic", topic)
+                        .description("Time from send to broker acknowledgement")
+                        .register(meterRegistry),
+                Counter.builder("kafka.producer.send.errors")
+                        .tag("topic", topic)
+                        .description("Records the broker did not acknowledge")
+                        .register(meterRegistry));
+    }
+
+    private record TopicMeters(Timer latency, Counter errors) {
     }
 }
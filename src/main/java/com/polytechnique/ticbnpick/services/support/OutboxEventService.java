@@ -0,0 +1,67 @@
+package com.polytechnique.ticbnpick.services.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polytechnique.ticbnpick.events.AnnouncementClosedEvent;
+import com.polytechnique.ticbnpick.events.AnnouncementPublishedEvent;
+import com.polytechnique.ticbnpick.repositories.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service recording domain events in the outbox, in the transaction of the
+ * change they describe. {@link OutboxRelay} sends them to Kafka once that
+ * transaction has committed, so an event is never sent for a rolled back
+ * change nor lost after a committed one.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxEventService {
+
+    private static final String TOPIC_ANNOUNCEMENT_PUBLISHED = "announcement-published";
+    private static final String TOPIC_OPEN_ANNOUNCEMENTS = "open-announcements";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Records an AnnouncementPublishedEvent, keyed by announcement.
+     *
+     * @param event the event to record
+     * @return Mono<Void>
+     */
+    public Mono<Void> appendAnnouncementPublished(AnnouncementPublishedEvent event) {
+        log.info("Recording AnnouncementPublishedEvent for announcement ID: {}", event.getAnnouncement().getId());
+        return append(TOPIC_ANNOUNCEMENT_PUBLISHED, event.getAnnouncement().getId().toString(), event);
+    }
+
+    /**
+     * Records an AnnouncementClosedEvent, keyed by announcement.
+     *
+     * @param event the event to record
+     * @return Mono<Void>
+     */
+    public Mono<Void> appendAnnouncementClosed(AnnouncementClosedEvent event) {
+        log.info("Recording AnnouncementClosedEvent for announcement ID: {}", event.getAnnouncementId());
+        return append(TOPIC_OPEN_ANNOUNCEMENTS, event.getAnnouncementId().toString(), event);
+    }
+
+    private Mono<Void> append(String topic, String key, Object event) {
+        return Mono.fromCallable(() -> serialize(event))
+                .flatMap(payload -> outboxEventRepository.append(topic, key, event.getClass().getName(), payload));
+    }
+
+    private String serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
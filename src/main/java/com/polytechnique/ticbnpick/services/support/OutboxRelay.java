@@ -0,0 +1,171 @@
+package com.polytechnique.ticbnpick.services.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polytechnique.ticbnpick.models.OutboxEvent;
+import com.polytechnique.ticbnpick.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Relays the outbox to Kafka.
+ *
+ * <p>Every {@code outbox.relay.poll-interval-ms}, and right away while there
+ * is a backlog, one transaction takes the relay advisory lock, claims up to
+ * {@code outbox.relay.batch-size} events with {@code FOR UPDATE SKIP LOCKED},
+ * sends them in id order, waits for every acknowledgement and deletes them.
+ * Only one relay of the cluster drains at a time, so events leave in the
+ * order they were recorded. If a send fails, the transaction rolls back and
+ * the batch is sent again: delivery is at-least-once and the consumers are
+ * expected to be idempotent.
+ *
+ * <p>Exposed metrics: {@code outbox.relay.published} and
+ * {@code outbox.relay.failed}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String EVENTS_PACKAGE = "com.polytechnique.ticbnpick.events.";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaEventPublisher kafkaEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionalOperator transactionalOperator;
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.relay.poll-interval-ms:500}")
+    private long pollIntervalMs;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    private Disposable pollSubscription;
+    private Counter publishedCounter;
+    private Counter failedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, KafkaEventPublisher kafkaEventPublisher,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Qualifier("connectionFactoryTransactionManager") ReactiveTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaEventPublisher = kafkaEventPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        registerMetrics();
+        if (!enabled) {
+            log.info("Outbox relay disabled");
+            return;
+        }
+        pollSubscription = Flux.interval(Duration.ofMillis(pollIntervalMs))
+                .onBackpressureDrop()
+                .concatMap(tick -> drain(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (pollSubscription != null) {
+            pollSubscription.dispose();
+        }
+    }
+
+    void registerMetrics() {
+        publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Outbox events sent to Kafka")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("outbox.relay.failed")
+                .description("Outbox batches rolled back after a failed send, and unreadable events dropped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until the outbox is empty or a batch fails.
+     */
+    Mono<Void> drain() {
+        return relayBatch()
+                .expand(relayed -> relayed == batchSize ? relayBatch() : Mono.empty())
+                .then()
+                .onErrorResume(e -> {
+                    failedCounter.increment();
+                    log.warn("Outbox relay failed, retrying at the next poll", e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Relays one batch in its own transaction.
+     *
+     * @return the number of events relayed
+     */
+    Mono<Integer> relayBatch() {
+        return outboxEventRepository.tryLockRelay()
+                .flatMap(locked -> locked
+                        ? outboxEventRepository.claimBatch(batchSize).collectList().flatMap(this::publish)
+                        : Mono.just(0))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Integer> publish(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return Mono.just(0);
+        }
+        // Subscribed in id order, so records are handed to the producer in id order
+        return Flux.fromIterable(batch)
+                .flatMapSequential(this::send, batch.size())
+                .then(Mono.defer(() -> outboxEventRepository.deleteAll(
+                        batch.stream().map(OutboxEvent::getId).toList())))
+                .doOnSuccess(deleted -> log.debug("Relayed {} outbox events", batch.size()))
+                .thenReturn(batch.size());
+    }
+
+    private Mono<Void> send(OutboxEvent event) {
+        Object payload;
+        try {
+            payload = deserialize(event);
+        } catch (IllegalStateException e) {
+            // It would block every later event, and no retry can make it readable
+            log.error("Dropping unreadable outbox event {}", event.getId(), e);
+            failedCounter.increment();
+            return Mono.empty();
+        }
+        return kafkaEventPublisher.send(event.getTopic(), event.getEventKey(), payload)
+                .doOnSuccess(result -> publishedCounter.increment())
+                .then();
+    }
+
+    private Object deserialize(OutboxEvent event) {
+        if (!event.getEventType().startsWith(EVENTS_PACKAGE)) {
+            throw new IllegalStateException("Unexpected outbox event type " + event.getEventType());
+        }
+        try {
+            return objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read outbox event " + event.getId(), e);
+        }
+    }
+}
@@ -1,23 +1,103 @@
 package com.polytechnique.ticbnpick.services.support;
 
+import com.polytechnique.ticbnpick.exceptions.ResourceNotFoundException;
+import com.polytechnique.ticbnpick.models.enums.device.DevicePlatform;
+import com.polytechnique.ticbnpick.repositories.DeviceTokenRepository;
+import com.polytechnique.ticbnpick.repositories.DeviceTokenRepository.RecipientToken;
+import com.polytechnique.ticbnpick.services.person.LecturePersonService;
+import com.polytechnique.ticbnpick.services.push.PushMessage;
+import com.polytechnique.ticbnpick.services.push.PushProvider;
+import com.polytechnique.ticbnpick.services.push.PushResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Service for sending push notifications.
- * Currently simulates sending notifications via logs.
- * Designed to be integrated with Firebase Admin SDK.
+ *
+ * <p>The device tokens of all recipients are read in one query and the
+ * message is multicast to them in batches of
+ * {@link PushProvider#maxTokensPerCall()} tokens, with at most
+ * {@code push.call-concurrency} provider calls in flight. Tokens that fail
+ * transiently are retried with exponential backoff, up to
+ * {@code push.max-attempts} attempts; tokens the provider reports invalid are
+ * removed from the registry. The recipients reached on at least one device
+ * are returned to the caller.
+ *
+ * <p>Exposed metrics, tagged by provider: {@code push.provider.call.latency},
+ * {@code push.provider.call.tokens} and {@code push.tokens} (tagged by
+ * outcome).
  *
  * @author François-Charles ATANGA
  * @date 03/02/2026
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class PushNotificationService {
 
+    private final PushProvider pushProvider;
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final LecturePersonService lecturePersonService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${push.call-concurrency:4}")
+    private int callConcurrency;
+
+    @Value("${push.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${push.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    private Timer callTimer;
+    private DistributionSummary callTokensSummary;
+    private Counter deliveredCounter;
+    private Counter invalidCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        String provider = pushProvider.name();
+        callTimer = Timer.builder("push.provider.call.latency")
+                .description("Duration of one push provider call")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        callTokensSummary = DistributionSummary.builder("push.provider.call.tokens")
+                .description("Device tokens sent per push provider call")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        deliveredCounter = tokenCounter(provider, "delivered");
+        invalidCounter = tokenCounter(provider, "invalid");
+        failedCounter = tokenCounter(provider, "failed");
+    }
+
+    private Counter tokenCounter(String provider, String outcome) {
+        return Counter.builder("push.tokens")
+                .description("Device tokens a push notification was sent to, by outcome")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     /**
      * Sends a push notification to a specific user.
      *
@@ -27,18 +107,108 @@ public class PushNotificationService {
      * @return A Mono<Void> signaling completion.
      */
     public Mono<Void> sendPushNotification(UUID userId, String title, String message) {
-        return Mono.fromRunnable(() -> {
-            // TODO: Integrate Firebase Admin SDK here
-            // String fcmToken = tokenService.getFcmToken(userId);
-            // Message msg = Message.builder().setToken(fcmToken)...build();
-            // FirebaseMessaging.getInstance().send(msg);
-
-            log.info("----------------------------------------------------------------");
-            log.info("[SIMULATION] PUSH NOTIFICATION SENT");
-            log.info("To UserID : {}", userId);
-            log.info("Title     : {}", title);
-            log.info("Message   : {}", message);
-            log.info("----------------------------------------------------------------");
-        });
+        return sendPushNotifications(List.of(userId), title, message).then();
+    }
+
+    /**
+     * Sends the same push notification to every device of several users.
+     *
+     * @param userIds The recipients, persons or delivery persons.
+     * @param title   The title of the notification.
+     * @param message The body message of the notification.
+     * @return A Mono of the recipients the provider accepted the notification
+     *         for on at least one device, once every batch was sent or given up.
+     */
+    public Mono<Set<UUID>> sendPushNotifications(Collection<UUID> userIds, String title, String message) {
+        PushMessage pushMessage = new PushMessage(title, message);
+        Map<String, UUID> recipientByToken = new ConcurrentHashMap<>();
+        return deviceTokenRepository.findTokens(userIds)
+                .doOnNext(token -> recipientByToken.put(token.token(), token.recipientId()))
+                .map(RecipientToken::token)
+                .buffer(pushProvider.maxTokensPerCall())
+                .flatMap(tokens -> sendBatch(pushMessage, tokens, 1), callConcurrency)
+                .flatMapIterable(delivered -> delivered)
+                .map(recipientByToken::get)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Registers a device of the authenticated person.
+     *
+     * @param email    email of the authenticated person
+     * @param token    the provider token of the device
+     * @param platform the device platform
+     * @return Mono<Void>
+     */
+    public Mono<Void> registerDeviceToken(String email, String token, DevicePlatform platform) {
+        return lecturePersonService.findByEmail(email)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Person", "email", email)))
+                .flatMap(person -> deviceTokenRepository.upsert(person.getId(), token, platform));
+    }
+
+    /**
+     * @return the tokens of the batch the provider accepted, retries included
+     */
+    private Mono<List<String>> sendBatch(PushMessage message, List<String> tokens, int attempt) {
+        callTokensSummary.record(tokens.size());
+        long start = System.nanoTime();
+        return pushProvider.send(message, tokens)
+                .doOnEach(signal -> {
+                    if (signal.isOnNext() || signal.isOnError()) {
+                        callTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                })
+                .flatMap(result -> handleResult(message, tokens, result, attempt))
+                .onErrorResume(e -> {
+                    if (attempt < maxAttempts && pushProvider.isRetryable(e)) {
+                        log.warn("Push call for {} tokens failed (attempt {}), retrying: {}", tokens.size(),
+                                attempt, e.getMessage());
+                        return retryLater(message, tokens, attempt);
+                    }
+                    log.error("Push call for {} tokens failed after {} attempts: {}", tokens.size(), attempt,
+                            e.getMessage());
+                    failedCounter.increment(tokens.size());
+                    return Mono.just(List.of());
+                });
+    }
+
+    private Mono<List<String>> handleResult(PushMessage message, List<String> tokens, PushResult result,
+            int attempt) {
+        deliveredCounter.increment(result.delivered());
+        invalidCounter.increment(result.invalidTokens().size());
+
+        Mono<Void> prune = deviceTokenRepository.deleteTokens(result.invalidTokens())
+                .doOnNext(removed -> {
+                    if (removed > 0) {
+                        log.info("Removed {} invalid device tokens", removed);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Could not remove invalid device tokens: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+
+        List<String> delivered = new ArrayList<>(tokens);
+        delivered.removeAll(result.invalidTokens());
+        delivered.removeAll(result.failedTokens());
+        List<String> failed = new ArrayList<>(result.failedTokens());
+        if (failed.isEmpty()) {
+            return prune.thenReturn(delivered);
+        }
+        if (attempt >= maxAttempts) {
+            failedCounter.increment(failed.size());
+            return prune.thenReturn(delivered);
+        }
+        return prune.then(retryLater(message, failed, attempt))
+                .map(retried -> {
+                    delivered.addAll(retried);
+                    return delivered;
+                });
+    }
+
+    private Mono<List<String>> retryLater(PushMessage message, List<String> tokens, int attempt) {
+        Duration delay = Duration.ofMillis(initialBackoffMs << Math.min(attempt - 1, 20));
+        return Mono.delay(delay).then(Mono.defer(() -> sendBatch(message, tokens, attempt + 1)));
     }
 }
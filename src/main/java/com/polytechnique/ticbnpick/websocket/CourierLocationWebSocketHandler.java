@@ -0,0 +1,146 @@
+package com.polytechnique.ticbnpick.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polytechnique.ticbnpick.dtos.websocket.CourierInboundFrame;
+import com.polytechnique.ticbnpick.dtos.websocket.CourierOutboundFrame;
+import com.polytechnique.ticbnpick.models.DeliveryPerson;
+import com.polytechnique.ticbnpick.security.AuthenticationManager;
+import com.polytechnique.ticbnpick.services.DeliveryPersonLocationService;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierAvailabilityRegistry;
+import com.polytechnique.ticbnpick.services.deliveryperson.LectureDeliveryPersonService;
+import com.polytechnique.ticbnpick.services.person.LecturePersonService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.UUID;
+
+/**
+ * Persistent location channel for courier apps, mapped on
+ * {@code /ws/couriers}.
+ *
+ * <p>The app authenticates once with an {@code AUTH} frame carrying its JWT,
+ * then streams {@code LOCATION} frames that go through
+ * {@link DeliveryPersonLocationService#updateLocation}, and receives its match
+ * offers on the same connection.
+ *
+ * <p>Location frames are processed one at a time; while one is in progress
+ * only the latest pending fix is kept, so a fast client cannot queue up stale
+ * positions. Outbound frames are buffered per connection by
+ * {@link CourierSessionRegistry}. Closing the connection makes the courier
+ * unavailable.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourierLocationWebSocketHandler implements WebSocketHandler {
+
+    private final AuthenticationManager authenticationManager;
+    private final LecturePersonService lecturePersonService;
+    private final LectureDeliveryPersonService lectureDeliveryPersonService;
+    private final DeliveryPersonLocationService deliveryPersonLocationService;
+    private final CourierSessionRegistry courierSessionRegistry;
+    private final CourierAvailabilityRegistry courierAvailabilityRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        return session.receive()
+                .concatMap(this::readFrame)
+                .switchOnFirst((first, frames) -> {
+                    CourierInboundFrame auth = first.get();
+                    if (auth == null || !CourierInboundFrame.AUTH.equals(auth.getType())) {
+                        return session.close(CloseStatus.POLICY_VIOLATION.withReason("AUTH frame expected"));
+                    }
+                    return authenticate(auth.getToken())
+                            .flatMap(deliveryPersonId -> serve(session, deliveryPersonId, frames.skip(1)))
+                            .switchIfEmpty(Mono.defer(() -> session.close(
+                                    CloseStatus.POLICY_VIOLATION.withReason("Invalid token"))));
+                })
+                .then();
+    }
+
+    /**
+     * Streams the location frames of an authenticated courier and its
+     * outbound frames until the connection closes.
+     */
+    private Mono<Void> serve(WebSocketSession session, UUID deliveryPersonId, Flux<CourierInboundFrame> frames) {
+        log.info("Delivery person {} connected to the location channel", deliveryPersonId);
+        Sinks.Many<CourierOutboundFrame> outbound = courierSessionRegistry.register(deliveryPersonId);
+        courierSessionRegistry.send(deliveryPersonId,
+                CourierOutboundFrame.builder().type(CourierOutboundFrame.AUTH_OK).build());
+
+        Mono<Void> input = frames
+                .filter(frame -> CourierInboundFrame.LOCATION.equals(frame.getType())
+                        && frame.getLatitude() != null && frame.getLongitude() != null)
+                .onBackpressureLatest()
+                .concatMap(frame -> deliveryPersonLocationService
+                        .updateLocation(deliveryPersonId, frame.getLatitude(), frame.getLongitude())
+                        .onErrorResume(e -> {
+                            log.warn("Location frame of delivery person {} rejected: {}", deliveryPersonId,
+                                    e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .then()
+                .doFinally(signal -> {
+                    if (courierSessionRegistry.unregister(deliveryPersonId, outbound)) {
+                        // The app is gone unless it already reconnected
+                        courierAvailabilityRegistry.markOffline(deliveryPersonId);
+                    }
+                    log.info("Delivery person {} disconnected from the location channel", deliveryPersonId);
+                });
+
+        Mono<Void> output = session.send(outbound.asFlux()
+                .concatMap(frame -> writeFrame(session, frame)));
+
+        return Mono.when(input, output);
+    }
+
+    /**
+     * Resolves the delivery person behind a JWT, or completes empty if the
+     * token is invalid or does not belong to a delivery person.
+     */
+    private Mono<UUID> authenticate(String token) {
+        if (token == null || token.isBlank()) {
+            return Mono.empty();
+        }
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(token, token))
+                .flatMap(authentication -> lecturePersonService.findByEmail(authentication.getName()))
+                .flatMap(person -> lectureDeliveryPersonService.findByPersonId(person.getId()))
+                .map(DeliveryPerson::getId)
+                .onErrorResume(e -> {
+                    log.warn("Location channel authentication failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<CourierInboundFrame> readFrame(WebSocketMessage message) {
+        try {
+            return Mono.just(objectMapper.readValue(message.getPayloadAsText(), CourierInboundFrame.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed location channel frame: {}", e.getOriginalMessage());
+            return Mono.empty();
+        }
+    }
+
+    private Mono<WebSocketMessage> writeFrame(WebSocketSession session, CourierOutboundFrame frame) {
+        try {
+            return Mono.just(session.textMessage(objectMapper.writeValueAsString(frame)));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize {} frame", frame.getType(), e);
+            return Mono.empty();
+        }
+    }
+}
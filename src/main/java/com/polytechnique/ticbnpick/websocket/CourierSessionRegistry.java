@@ -0,0 +1,95 @@
+package com.polytechnique.ticbnpick.websocket;
+
+import com.polytechnique.ticbnpick.dtos.websocket.CourierOutboundFrame;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Outbound channels of the couriers connected to the location WebSocket on
+ * this node.
+ *
+ * <p>Each connection gets a bounded buffer of
+ * {@code websocket.courier.outbound-buffer} frames. When a slow client lets it
+ * fill up, new frames are dropped; offers are also persisted and pushed
+ * through the other notification channels. A new connection of the same
+ * courier replaces the previous one.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@Slf4j
+@Component
+public class CourierSessionRegistry {
+
+    private final Map<UUID, Sinks.Many<CourierOutboundFrame>> sessions = new ConcurrentHashMap<>();
+
+    @Value("${websocket.courier.outbound-buffer:64}")
+    private int outboundBuffer;
+
+    /**
+     * Opens the outbound channel of a courier connection.
+     *
+     * @param deliveryPersonId the authenticated courier
+     * @return the channel to stream to the connection
+     */
+    public Sinks.Many<CourierOutboundFrame> register(UUID deliveryPersonId) {
+        Sinks.Many<CourierOutboundFrame> sink = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<CourierOutboundFrame>get(outboundBuffer).get());
+        Sinks.Many<CourierOutboundFrame> previous = sessions.put(deliveryPersonId, sink);
+        if (previous != null) {
+            previous.tryEmitComplete();
+        }
+        return sink;
+    }
+
+    /**
+     * Closes the outbound channel of a courier connection, unless a newer
+     * connection already replaced it.
+     *
+     * @param deliveryPersonId the courier
+     * @param sink             the channel returned by {@link #register}
+     * @return true if it was the current connection of the courier
+     */
+    public boolean unregister(UUID deliveryPersonId, Sinks.Many<CourierOutboundFrame> sink) {
+        boolean current = sessions.remove(deliveryPersonId, sink);
+        sink.tryEmitComplete();
+        return current;
+    }
+
+    /**
+     * Sends a frame to a courier if connected to this node.
+     *
+     * @param deliveryPersonId the courier
+     * @param frame            the frame to send
+     * @return true if the frame was queued
+     */
+    public boolean send(UUID deliveryPersonId, CourierOutboundFrame frame) {
+        Sinks.Many<CourierOutboundFrame> sink = sessions.get(deliveryPersonId);
+        if (sink == null) {
+            return false;
+        }
+        Sinks.EmitResult result;
+        synchronized (sink) {
+            result = sink.tryEmitNext(frame);
+        }
+        if (result.isFailure()) {
+            log.warn("Dropped {} frame for delivery person {}: {}", frame.getType(), deliveryPersonId, result);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of connected couriers
+     */
+    public int size() {
+        return sessions.size();
+    }
+}
@@ -0,0 +1,16 @@
+-- Append-only history of courier positions, partitioned by day on recorded_at.
+-- Daily partitions are created ahead of time by the application; the default
+-- partition only catches rows falling outside of them.
+CREATE TABLE delivery_person_location_history (
+    delivery_person_id UUID NOT NULL,
+    recorded_at TIMESTAMPTZ NOT NULL,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL
+) PARTITION BY RANGE (recorded_at);
+
+-- Track reads filter on the courier and a time range
+CREATE INDEX idx_location_history_courier_recorded_at
+    ON delivery_person_location_history (delivery_person_id, recorded_at);
+
+CREATE TABLE delivery_person_location_history_default
+    PARTITION OF delivery_person_location_history DEFAULT;
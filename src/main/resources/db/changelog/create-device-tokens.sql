@@ -0,0 +1,13 @@
+-- Push notification tokens of the devices of each person
+CREATE TABLE device_tokens (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    person_id UUID NOT NULL,
+    token VARCHAR NOT NULL,
+    platform VARCHAR NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    last_seen_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    CONSTRAINT uq_device_tokens_token UNIQUE (token),
+    CONSTRAINT fk_device_token_person FOREIGN KEY (person_id) REFERENCES persons(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_device_tokens_person ON device_tokens (person_id);
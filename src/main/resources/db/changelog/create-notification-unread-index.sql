@@ -0,0 +1,2 @@
+-- Partial index on unread notifications, so that unread counts only visit unread rows
+CREATE INDEX idx_notifications_unread ON notifications (person_id) WHERE notification_status <> 'READ';
@@ -0,0 +1,9 @@
+-- Domain events written in the transaction of the change they describe, relayed to Kafka in id order
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR NOT NULL,
+    event_key VARCHAR NOT NULL,
+    event_type VARCHAR NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
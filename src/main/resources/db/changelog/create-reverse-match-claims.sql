@@ -0,0 +1,20 @@
+-- Reverse matching state shared by every node: one row per open announcement
+-- a courier was claimed for, counting the claims against its notification cap
+CREATE TABLE reverse_match_counters (
+    announcement_id UUID PRIMARY KEY,
+    claimed INT NOT NULL,
+    delta DOUBLE PRECISION NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX idx_reverse_match_counters_expires_at ON reverse_match_counters (expires_at);
+
+-- Couriers claimed for each open announcement, at most once
+CREATE TABLE reverse_match_claims (
+    announcement_id UUID NOT NULL,
+    delivery_person_id UUID NOT NULL,
+    claimed_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (announcement_id, delivery_person_id),
+    CONSTRAINT fk_reverse_match_claim_counter FOREIGN KEY (announcement_id)
+        REFERENCES reverse_match_counters(announcement_id) ON DELETE CASCADE
+);
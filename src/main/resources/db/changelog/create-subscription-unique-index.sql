@@ -0,0 +1,9 @@
+-- One subscription per delivery person and announcement, keeping the earliest of any duplicates
+DELETE FROM announcement_subscriptions a
+    USING announcement_subscriptions b
+    WHERE a.announcement_id = b.announcement_id
+      AND a.delivery_person_id = b.delivery_person_id
+      AND (a.created_at, a.id) > (b.created_at, b.id);
+
+CREATE UNIQUE INDEX uq_announcement_subscriptions_delivery_person
+    ON announcement_subscriptions (announcement_id, delivery_person_id);
@@ -0,0 +1,2 @@
+-- Add urgency column to announcements table, used to pick the matching scoring profile
+ALTER TABLE announcements ADD COLUMN urgency VARCHAR;
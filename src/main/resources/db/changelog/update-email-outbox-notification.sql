@@ -0,0 +1,2 @@
+-- Notification an outbox email delivers, if any, so that the SMTP workers can report its outcome
+ALTER TABLE email_outbox ADD COLUMN notification_id UUID;
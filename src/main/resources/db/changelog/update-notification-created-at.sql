@@ -0,0 +1,4 @@
+-- Add creation time to notifications, used to order and resume the notification stream
+ALTER TABLE notifications ADD COLUMN created_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE INDEX idx_notifications_person_created ON notifications (person_id, created_at, id);
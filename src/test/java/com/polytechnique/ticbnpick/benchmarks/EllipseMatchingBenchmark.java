@@ -0,0 +1,110 @@
+package com.polytechnique.ticbnpick.benchmarks;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.services.matching.EllipseMatcher;
+import com.polytechnique.ticbnpick.services.matching.GeoDistance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former step-by-step delta expansion with the single-pass
+ * {@link EllipseMatcher} on synthetic fleets.
+ *
+ * <p>The legacy path re-filters the whole fleet at every 0.5 km step, which
+ * stands for the Elasticsearch query issued per step (network time excluded).
+ * The announcement sits at the edge of the fleet so that several expansion
+ * steps are needed.
+ *
+ * <p>Run with {@code mvn test-compile} then
+ * {@code java -cp target/test-classes:<test classpath> com.polytechnique.ticbnpick.benchmarks.EllipseMatchingBenchmark}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EllipseMatchingBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    private int fleetSize;
+
+    private List<DeliveryPersonDocument> fleet;
+    private GeoPoint pickup;
+    private GeoPoint delivery;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        fleet = new ArrayList<>(fleetSize);
+        for (int i = 0; i < fleetSize; i++) {
+            fleet.add(DeliveryPersonDocument.builder()
+                    .id(UUID.randomUUID())
+                    .location(new GeoPoint(3.70 + random.nextDouble() * 0.30, 11.40 + random.nextDouble() * 0.30))
+                    .isActive(true)
+                    .isAvailable(true)
+                    .build());
+        }
+        pickup = new GeoPoint(3.55, 11.25);
+        delivery = new GeoPoint(3.58, 11.30);
+    }
+
+    @Benchmark
+    public List<DeliveryPersonDocument> deltaExpansion() {
+        double distF1F2 = GeoDistance.haversineKm(pickup.getLat(), pickup.getLon(), delivery.getLat(),
+                delivery.getLon());
+        for (double delta = EllipseMatcher.INITIAL_DELTA_KM; ; delta += EllipseMatcher.DELTA_INCREMENT_KM) {
+            double dMax = distF1F2 + (2 * delta);
+            List<DeliveryPersonDocument> eligible = new ArrayList<>();
+            for (DeliveryPersonDocument candidate : fleet) {
+                double lat = candidate.getLocation().getLat();
+                double lon = candidate.getLocation().getLon();
+                double distPF1 = GeoDistance.haversineKm(lat, lon, pickup.getLat(), pickup.getLon());
+                if (distPF1 > dMax) {
+                    continue;
+                }
+                if (distPF1 + GeoDistance.haversineKm(lat, lon, delivery.getLat(), delivery.getLon()) <= dMax) {
+                    eligible.add(candidate);
+                }
+            }
+            if (!eligible.isEmpty() || delta >= EllipseMatcher.MAX_DELTA_KM) {
+                return eligible;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<DeliveryPersonDocument> singlePass() {
+        return EllipseMatcher.match(fleet, pickup, delivery)
+                .map(EllipseMatcher.EllipseMatch::getCandidates)
+                .orElse(List.of());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EllipseMatchingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,189 @@
+package com.polytechnique.ticbnpick.benchmarks;
+
+import com.polytechnique.ticbnpick.dtos.address.AddressDTO;
+import com.polytechnique.ticbnpick.dtos.announcement.AnnouncementResponseDTO;
+import com.polytechnique.ticbnpick.dtos.client.ClientResponseDTO;
+import com.polytechnique.ticbnpick.dtos.packet.PacketDTO;
+import com.polytechnique.ticbnpick.events.AnnouncementPublishedEvent;
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import com.polytechnique.ticbnpick.events.serialization.AvroEventCodec;
+import com.polytechnique.ticbnpick.events.serialization.EventDeserializer;
+import com.polytechnique.ticbnpick.events.serialization.EventSerializer;
+import com.polytechnique.ticbnpick.events.serialization.FileEventSchemaRegistry;
+import com.polytechnique.ticbnpick.models.enums.address.AddressType;
+import com.polytechnique.ticbnpick.models.enums.announcement.AnnouncementStatus;
+import com.polytechnique.ticbnpick.models.enums.delivery.DeliveryUrgency;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON and Avro encodings of the largest event,
+ * {@link AnnouncementPublishedEvent}, and of the most frequent one,
+ * {@link NotificationRequestedEvent}: serialization and deserialization time,
+ * through {@link EventSerializer} and {@link EventDeserializer} as the Kafka
+ * clients call them. The payload size is reported next to the timings as the
+ * {@code payloadBytes} counter.
+ *
+ * <p>Run with {@code mvn test-compile} then
+ * {@code java -cp target/test-classes:target/classes:<test classpath>
+ * com.polytechnique.ticbnpick.benchmarks.EventSerializationBenchmark}.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private static final String TOPIC = "benchmark";
+
+    @Param({ "json", "avro" })
+    private String format;
+
+    @Param({ "AnnouncementPublishedEvent", "NotificationRequestedEvent" })
+    private String event;
+
+    private EventSerializer serializer;
+    private EventDeserializer deserializer;
+    private Object value;
+    private RecordHeaders headers;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        AvroEventCodec codec = new AvroEventCodec(new FileEventSchemaRegistry("classpath*:avro/*/v*.avsc"));
+        serializer = new EventSerializer(codec, "avro".equals(format));
+        deserializer = new EventDeserializer(codec);
+        value = "AnnouncementPublishedEvent".equals(event)
+                ? announcementPublished()
+                : notificationRequested();
+        headers = new RecordHeaders();
+        payload = serializer.serialize(TOPIC, headers, value);
+    }
+
+    /**
+     * Size of the encoded event, reported by JMH as a secondary result of
+     * each benchmark.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize size) {
+        byte[] bytes = serializer.serialize(TOPIC, new RecordHeaders(), value);
+        size.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserialize(PayloadSize size) {
+        size.payloadBytes = payload.length;
+        return deserializer.deserialize(TOPIC, headers, payload);
+    }
+
+    private static AnnouncementPublishedEvent announcementPublished() {
+        AddressDTO pickup = new AddressDTO();
+        pickup.setStreet("Rue de la Joie");
+        pickup.setCity("Douala");
+        pickup.setCountry("Cameroun");
+        pickup.setType(AddressType.PRIMARY);
+        pickup.setLatitude(4.0511);
+        pickup.setLongitude(9.7679);
+        AddressDTO delivery = new AddressDTO();
+        delivery.setCity("Yaoundé");
+        delivery.setLatitude(3.848);
+        delivery.setLongitude(11.5021);
+
+        PacketDTO packet = new PacketDTO();
+        packet.setWidth(30.0);
+        packet.setLength(40.0);
+        packet.setThickness(10.0);
+        packet.setFragile(true);
+        packet.setIsPerishable(false);
+        packet.setDesignation("Colis");
+
+        AnnouncementResponseDTO announcement = new AnnouncementResponseDTO();
+        announcement.setId(UUID.randomUUID());
+        announcement.setClientId(UUID.randomUUID());
+        announcement.setTitle("Livraison urgente");
+        announcement.setDescription("Documents administratifs à remettre en main propre");
+        announcement.setRecipientEmail("jean.dupont@example.com");
+        announcement.setShipperName("Marie Ngono");
+        announcement.setShipperEmail("marie@example.com");
+        announcement.setShipperPhone("+237670000000");
+        announcement.setStatus(AnnouncementStatus.PUBLISHED);
+        announcement.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        announcement.setUpdatedAt(announcement.getCreatedAt());
+        announcement.setRecipientName("Jean Dupont");
+        announcement.setRecipientPhone("+237690000000");
+        announcement.setAmount(2500f);
+        announcement.setUrgency(DeliveryUrgency.EXPRESS);
+        announcement.setPickupAddress(pickup);
+        announcement.setDeliveryAddress(delivery);
+        announcement.setPacket(packet);
+
+        ClientResponseDTO client = new ClientResponseDTO();
+        client.setId(announcement.getClientId());
+        client.setPersonId(UUID.randomUUID());
+        client.setFirstName("Marie");
+        client.setLastName("Ngono");
+        client.setEmail("marie@example.com");
+        client.setRating(4.5);
+        client.setTotalDeliveries(12);
+
+        return new AnnouncementPublishedEvent(announcement, client);
+    }
+
+    private static NotificationRequestedEvent notificationRequested() {
+        return NotificationRequestedEvent.builder()
+                .notificationId(UUID.randomUUID())
+                .recipientId(UUID.randomUUID())
+                .recipientEmail("courier@example.com")
+                .notificationType(NotificationType.NEW_ANNOUNCEMENT)
+                .title("Nouvelle course disponible !")
+                .message("Une course correspond à votre position. Cliquez pour voir les détails.")
+                .announcementId(UUID.randomUUID())
+                .createdAt(Instant.now().truncatedTo(ChronoUnit.MICROS))
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,46 @@
+package com.polytechnique.ticbnpick.config;
+
+import com.polytechnique.ticbnpick.events.serialization.AvroEventCodec;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for KafkaConfig.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class KafkaConfigTest {
+
+    @Test
+    void listenerFactories_ShouldRunOneConsumerPerPartition() {
+        KafkaConfig config = new KafkaConfig(mock(AvroEventCodec.class));
+        ReflectionTestUtils.setField(config, "bootstrapServers", "localhost:9092");
+        ReflectionTestUtils.setField(config, "announcementPublishedPartitions", 12);
+        ReflectionTestUtils.setField(config, "subscriptionAttemptsPartitions", 8);
+
+        assertThat(ReflectionTestUtils.getField(config.announcementListenerContainerFactory(50), "concurrency"))
+                .isEqualTo(12);
+        assertThat(ReflectionTestUtils.getField(config.subscriptionListenerContainerFactory(500), "concurrency"))
+                .isEqualTo(8);
+    }
+
+    @Test
+    void topics_ShouldUseConfiguredPartitions() {
+        KafkaConfig config = new KafkaConfig(mock(AvroEventCodec.class));
+        ReflectionTestUtils.setField(config, "replicas", 1);
+        ReflectionTestUtils.setField(config, "announcementPublishedPartitions", 12);
+        ReflectionTestUtils.setField(config, "subscriptionAttemptsPartitions", 8);
+
+        NewTopic announcements = config.announcementPublishedTopic();
+        NewTopic subscriptions = config.subscriptionAttemptsTopic();
+
+        assertThat(announcements.numPartitions()).isEqualTo(12);
+        assertThat(subscriptions.name()).isEqualTo("subscription-attempts");
+        assertThat(subscriptions.numPartitions()).isEqualTo(8);
+    }
+}
@@ -1,22 +1,31 @@
 package com.polytechnique.ticbnpick.controllers;
 
 import com.polytechnique.ticbnpick.dtos.requests.DeliveryPersonLocationUpdateRequest;
+import com.polytechnique.ticbnpick.models.DeliveryPersonLocationHistory;
 import com.polytechnique.ticbnpick.services.DeliveryPersonLocationService;
+import com.polytechnique.ticbnpick.services.NotificationRecipientResolver;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
 
-@WebFluxTest(controllers = DeliveryPersonLocationController.class)
+@WebFluxTest(controllers = DeliveryPersonLocationController.class, properties = "admin.email=admin@ticbnpick.com")
 class DeliveryPersonLocationControllerTest {
 
     @Autowired
@@ -25,6 +34,9 @@ class DeliveryPersonLocationControllerTest {
     @MockBean
     private DeliveryPersonLocationService locationService;
 
+    @MockBean
+    private NotificationRecipientResolver notificationRecipientResolver;
+
     @Test
     @WithMockUser
     void updateLocation_Success() {
@@ -42,4 +54,72 @@ class DeliveryPersonLocationControllerTest {
                 .exchange()
                 .expectStatus().isOk();
     }
+
+    @Test
+    @WithMockUser(username = "courier@ticbnpick.com")
+    void getLocationHistory_Success() {
+        UUID id = UUID.randomUUID();
+        Instant from = Instant.parse("2026-10-16T08:00:00Z");
+        Instant to = Instant.parse("2026-10-16T09:00:00Z");
+
+        when(notificationRecipientResolver.recipientIds("courier@ticbnpick.com"))
+                .thenReturn(Mono.just(List.of(UUID.randomUUID(), id)));
+
+        when(locationService.getLocationHistory(eq(id), eq(from), eq(to)))
+                .thenReturn(Flux.just(new DeliveryPersonLocationHistory(id, from.plusSeconds(30), 3.848, 11.502)));
+
+        webTestClient.get()
+                .uri("/api/delivery-persons/{id}/location-history?from={from}&to={to}", id, from, to)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].latitude").isEqualTo(3.848)
+                .jsonPath("$[0].longitude").isEqualTo(11.502);
+    }
+
+    @Test
+    @WithMockUser(username = "other@ticbnpick.com")
+    void getLocationHistory_ForbiddenForAnotherPerson() {
+        UUID id = UUID.randomUUID();
+
+        when(notificationRecipientResolver.recipientIds("other@ticbnpick.com"))
+                .thenReturn(Mono.just(List.of(UUID.randomUUID(), UUID.randomUUID())));
+
+        webTestClient.get()
+                .uri("/api/delivery-persons/{id}/location-history?from={from}&to={to}",
+                        id, "2026-10-16T08:00:00Z", "2026-10-16T09:00:00Z")
+                .exchange()
+                .expectStatus().isForbidden();
+
+        verify(locationService, never()).getLocationHistory(any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@ticbnpick.com")
+    void getLocationHistory_AllowedForAdmin() {
+        UUID id = UUID.randomUUID();
+        Instant from = Instant.parse("2026-10-16T08:00:00Z");
+        Instant to = Instant.parse("2026-10-16T09:00:00Z");
+
+        when(locationService.getLocationHistory(eq(id), eq(from), eq(to))).thenReturn(Flux.empty());
+
+        webTestClient.get()
+                .uri("/api/delivery-persons/{id}/location-history?from={from}&to={to}", id, from, to)
+                .exchange()
+                .expectStatus().isOk();
+
+        verifyNoInteractions(notificationRecipientResolver);
+    }
+
+    @Test
+    @WithMockUser
+    void getLocationHistory_InvalidRange() {
+        UUID id = UUID.randomUUID();
+
+        webTestClient.get()
+                .uri("/api/delivery-persons/{id}/location-history?from={from}&to={to}",
+                        id, "2026-10-16T09:00:00Z", "2026-10-16T08:00:00Z")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
 }
@@ -0,0 +1,154 @@
+package com.polytechnique.ticbnpick.controllers;
+
+import com.polytechnique.ticbnpick.dtos.requests.DeviceTokenRegistrationRequest;
+import com.polytechnique.ticbnpick.dtos.requests.NotificationReceiptRequest;
+import com.polytechnique.ticbnpick.dtos.responses.NotificationResponse;
+import com.polytechnique.ticbnpick.models.enums.device.DevicePlatform;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
+import com.polytechnique.ticbnpick.services.NotificationLifecycleService;
+import com.polytechnique.ticbnpick.services.NotificationStreamService;
+import com.polytechnique.ticbnpick.services.support.PushNotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
+
+@WebFluxTest(controllers = NotificationController.class)
+class NotificationControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private NotificationStreamService notificationStreamService;
+
+    @MockBean
+    private PushNotificationService pushNotificationService;
+
+    @MockBean
+    private NotificationLifecycleService notificationLifecycleService;
+
+    @Test
+    @WithMockUser(username = "courier@ticbnpick.com")
+    void stream_ShouldResumeFromLastEventId() {
+        UUID lastEventId = UUID.randomUUID();
+        UUID notificationId = UUID.randomUUID();
+        NotificationResponse notification = NotificationResponse.builder()
+                .id(notificationId)
+                .notificationType(NotificationType.NEW_ANNOUNCEMENT)
+                .title("Nouvelle course disponible !")
+                .build();
+
+        when(notificationStreamService.stream(eq("courier@ticbnpick.com"), eq(lastEventId)))
+                .thenReturn(Flux.just(ServerSentEvent.<NotificationResponse>builder()
+                        .id(notificationId.toString())
+                        .event(NotificationType.NEW_ANNOUNCEMENT.name())
+                        .data(notification)
+                        .build()));
+
+        Flux<ServerSentEvent<NotificationResponse>> body = webTestClient.get()
+                .uri("/api/notifications/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", lastEventId.toString())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<NotificationResponse>>() {
+                })
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .expectNextMatches(event -> notificationId.toString().equals(event.id())
+                        && "Nouvelle course disponible !".equals(event.data().getTitle()))
+                .verifyComplete();
+    }
+
+    @Test
+    @WithMockUser(username = "courier@ticbnpick.com")
+    void registerDeviceToken_NoContent() {
+        when(pushNotificationService.registerDeviceToken("courier@ticbnpick.com", "fcm-token", DevicePlatform.ANDROID))
+                .thenReturn(Mono.empty());
+
+        webTestClient.mutateWith(csrf())
+                .put().uri("/api/notifications/device-tokens")
+                .bodyValue(new DeviceTokenRegistrationRequest("fcm-token", DevicePlatform.ANDROID))
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    @WithMockUser(username = "courier@ticbnpick.com")
+    void registerDeviceToken_BadRequestWithoutToken() {
+        webTestClient.mutateWith(csrf())
+                .put().uri("/api/notifications/device-tokens")
+                .bodyValue(new DeviceTokenRegistrationRequest(" ", DevicePlatform.ANDROID))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(pushNotificationService, never()).registerDeviceToken(eq("courier@ticbnpick.com"), eq(" "),
+                eq(DevicePlatform.ANDROID));
+    }
+
+    @Test
+    @WithMockUser(username = "courier@ticbnpick.com")
+    void acknowledge_NoContent() {
+        List<UUID> notificationIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(notificationLifecycleService.acknowledge("courier@ticbnpick.com", notificationIds,
+                NotificationStatus.READ)).thenReturn(Mono.just(2L));
+
+        webTestClient.mutateWith(csrf())
+                .post().uri("/api/notifications/receipts")
+                .bodyValue(new NotificationReceiptRequest(notificationIds, NotificationStatus.READ))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(notificationLifecycleService).acknowledge("courier@ticbnpick.com", notificationIds,
+                NotificationStatus.READ);
+    }
+
+    @Test
+    @WithMockUser(username = "courier@ticbnpick.com")
+    void acknowledge_BadRequestWithoutNotifications() {
+        webTestClient.mutateWith(csrf())
+                .post().uri("/api/notifications/receipts")
+                .bodyValue(new NotificationReceiptRequest(List.of(), NotificationStatus.READ))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(notificationLifecycleService, never()).acknowledge(anyString(), anyList(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "courier@ticbnpick.com")
+    void unreadCount_Ok() {
+        when(notificationLifecycleService.countUnread("courier@ticbnpick.com")).thenReturn(Mono.just(4L));
+
+        webTestClient.get()
+                .uri("/api/notifications/unread-count")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.unread").isEqualTo(4);
+    }
+}
@@ -0,0 +1,194 @@
+package com.polytechnique.ticbnpick.events.serialization;
+
+import com.polytechnique.ticbnpick.dtos.address.AddressDTO;
+import com.polytechnique.ticbnpick.dtos.announcement.AnnouncementResponseDTO;
+import com.polytechnique.ticbnpick.dtos.client.ClientResponseDTO;
+import com.polytechnique.ticbnpick.dtos.packet.PacketDTO;
+import com.polytechnique.ticbnpick.events.AnnouncementPublishedEvent;
+import com.polytechnique.ticbnpick.events.CourierLocationChangedEvent;
+import com.polytechnique.ticbnpick.events.DeliveryPersonCreatedEvent;
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import com.polytechnique.ticbnpick.events.serialization.EventSchemaRegistry.EventSchema;
+import com.polytechnique.ticbnpick.models.enums.address.AddressType;
+import com.polytechnique.ticbnpick.models.enums.announcement.AnnouncementStatus;
+import com.polytechnique.ticbnpick.models.enums.delivery.DeliveryUrgency;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsClass;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsType;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierProfile;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for AvroEventCodec.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class AvroEventCodecTest {
+
+    private final AvroEventCodec codec =
+            new AvroEventCodec(new FileEventSchemaRegistry("classpath*:avro/*/v*.avsc"));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void announcementPublished_ShouldRoundTrip() {
+        AnnouncementPublishedEvent event = announcementPublished();
+
+        byte[] encoded = codec.encode(codec.schemaFor(event).orElseThrow(), event);
+
+        assertThat(AvroEventCodec.isEncoded(encoded)).isTrue();
+        assertThat(codec.decode("AnnouncementPublishedEvent", encoded)).isEqualTo(event);
+    }
+
+    @Test
+    void announcementPublished_ShouldEncodeSmallerThanJson() {
+        AnnouncementPublishedEvent event = announcementPublished();
+
+        byte[] avro = codec.encode(codec.schemaFor(event).orElseThrow(), event);
+        byte[] json = new EventSerializer(codec, false).serialize("announcement-published", new RecordHeaders(), event);
+
+        assertThat(avro.length).isLessThan(json.length);
+    }
+
+    @Test
+    void notificationRequested_ShouldRoundTripWithNulls() {
+        NotificationRequestedEvent event = NotificationRequestedEvent.builder()
+                .notificationId(UUID.randomUUID())
+                .recipientId(UUID.randomUUID())
+                .notificationType(NotificationType.NEW_ANNOUNCEMENT)
+                .title("Nouvelle course disponible !")
+                .createdAt(Instant.now().truncatedTo(ChronoUnit.MICROS))
+                .build();
+
+        byte[] encoded = codec.encode(codec.schemaFor(event).orElseThrow(), event);
+
+        assertThat(codec.decode("NotificationRequestedEvent", encoded)).isEqualTo(event);
+    }
+
+    @Test
+    void courierLocationChanged_ShouldRoundTripWithProfile() {
+        UUID deliveryPersonId = UUID.randomUUID();
+        CourierProfile profile = CourierProfile.builder()
+                .deliveryPersonId(deliveryPersonId)
+                .firstName("Paul")
+                .isActive(true)
+                .rating(4.2)
+                .logisticsType(LogisticsType.MOTORBIKE)
+                .luggageMaxCapacity(20.0)
+                .logisticsClass(LogisticsClass.STANDARD)
+                .build();
+        CourierLocationChangedEvent event = new CourierLocationChangedEvent(deliveryPersonId, 3.86, 11.52, true,
+                Instant.now().truncatedTo(ChronoUnit.MICROS), profile);
+
+        byte[] encoded = codec.encode(codec.schemaFor(event).orElseThrow(), event);
+
+        assertThat(codec.decode("CourierLocationChangedEvent", encoded)).isEqualTo(event);
+    }
+
+    @Test
+    void schemaFor_ShouldIgnoreTypesOutsideEventsPackage() {
+        assertThat(codec.schemaFor(new AddressDTO())).isEmpty();
+        assertThat(codec.schemaFor("text")).isEmpty();
+    }
+
+    @Test
+    void decode_ShouldReadOlderVersionWithLatestSchema() throws IOException {
+        Path subject = Files.createDirectories(dir.resolve("DeliveryPersonCreatedEvent"));
+        Files.writeString(subject.resolve("v1.avsc"), """
+                {"type": "record", "name": "DeliveryPersonCreatedEvent",
+                 "namespace": "com.polytechnique.ticbnpick.events",
+                 "fields": [{"name": "deliveryPersonId", "type": ["null", {"type": "string", "logicalType": "uuid"}],
+                             "default": null}]}
+                """);
+        Files.writeString(subject.resolve("v2.avsc"), """
+                {"type": "record", "name": "DeliveryPersonCreatedEvent",
+                 "namespace": "com.polytechnique.ticbnpick.events",
+                 "fields": [{"name": "deliveryPersonId", "type": ["null", {"type": "string", "logicalType": "uuid"}],
+                             "default": null},
+                            {"name": "email", "type": ["null", {"type": "string", "avro.java.string": "String"}],
+                             "default": null}]}
+                """);
+        FileEventSchemaRegistry registry = new FileEventSchemaRegistry(dir.toUri() + "*/v*.avsc");
+        AvroEventCodec evolvingCodec = new AvroEventCodec(registry);
+        UUID deliveryPersonId = UUID.randomUUID();
+        EventSchema v1 = registry.schema("DeliveryPersonCreatedEvent", 1).orElseThrow();
+
+        byte[] encoded = evolvingCodec.encode(v1, new DeliveryPersonCreatedEvent(deliveryPersonId, "a@b.c"));
+
+        assertThat(evolvingCodec.decode("DeliveryPersonCreatedEvent", encoded))
+                .isEqualTo(new DeliveryPersonCreatedEvent(deliveryPersonId, null));
+    }
+
+    @Test
+    void decode_ShouldRejectUnknownVersion() {
+        byte[] encoded = codec.encode(codec.schemaFor(new DeliveryPersonCreatedEvent()).orElseThrow(),
+                new DeliveryPersonCreatedEvent(UUID.randomUUID(), "a@b.c"));
+        encoded[4] = 9;
+
+        assertThatThrownBy(() -> codec.decode("DeliveryPersonCreatedEvent", encoded))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("v9");
+    }
+
+    static AnnouncementPublishedEvent announcementPublished() {
+        AddressDTO pickup = new AddressDTO();
+        pickup.setStreet("Rue de la Joie");
+        pickup.setCity("Douala");
+        pickup.setCountry("Cameroun");
+        pickup.setType(AddressType.PRIMARY);
+        pickup.setLatitude(4.0511);
+        pickup.setLongitude(9.7679);
+        AddressDTO delivery = new AddressDTO();
+        delivery.setCity("Yaoundé");
+        delivery.setLatitude(3.848);
+        delivery.setLongitude(11.5021);
+
+        PacketDTO packet = new PacketDTO();
+        packet.setWidth(30.0);
+        packet.setLength(40.0);
+        packet.setThickness(10.0);
+        packet.setFragile(true);
+        packet.setIsPerishable(false);
+        packet.setDesignation("Colis");
+
+        AnnouncementResponseDTO announcement = new AnnouncementResponseDTO();
+        announcement.setId(UUID.randomUUID());
+        announcement.setClientId(UUID.randomUUID());
+        announcement.setTitle("Livraison urgente");
+        announcement.setStatus(AnnouncementStatus.PUBLISHED);
+        announcement.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        announcement.setRecipientName("Jean Dupont");
+        announcement.setRecipientPhone("+237690000000");
+        announcement.setAmount(2500f);
+        announcement.setUrgency(DeliveryUrgency.EXPRESS);
+        announcement.setPickupAddress(pickup);
+        announcement.setDeliveryAddress(delivery);
+        announcement.setPacket(packet);
+
+        ClientResponseDTO client = new ClientResponseDTO();
+        client.setId(announcement.getClientId());
+        client.setPersonId(UUID.randomUUID());
+        client.setFirstName("Marie");
+        client.setLastName("Ngono");
+        client.setEmail("marie@example.com");
+        client.setRating(4.5);
+        client.setTotalDeliveries(12);
+
+        return new AnnouncementPublishedEvent(announcement, client);
+    }
+}
@@ -0,0 +1,73 @@
+package com.polytechnique.ticbnpick.events.serialization;
+
+import com.polytechnique.ticbnpick.events.AnnouncementPublishedEvent;
+import com.polytechnique.ticbnpick.events.DeliveryPersonValidatedEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for EventSerializer and EventDeserializer.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class EventSerializerTest {
+
+    private static final String TOPIC = "announcement-published";
+
+    private final AvroEventCodec codec =
+            new AvroEventCodec(new FileEventSchemaRegistry("classpath*:avro/*/v*.avsc"));
+    private final EventDeserializer deserializer = new EventDeserializer(codec);
+
+    @Test
+    void avroFormat_ShouldWriteSmallerRecordsReadBackByDeserializer() {
+        AnnouncementPublishedEvent event = AvroEventCodecTest.announcementPublished();
+        RecordHeaders avroHeaders = new RecordHeaders();
+        RecordHeaders jsonHeaders = new RecordHeaders();
+
+        byte[] avro = serializer(true).serialize(TOPIC, avroHeaders, event);
+        byte[] json = serializer(false).serialize(TOPIC, jsonHeaders, event);
+
+        assertThat(avroHeaders.lastHeader(EventSerializer.SUBJECT_HEADER).value())
+                .asString().isEqualTo("AnnouncementPublishedEvent");
+        assertThat(avro.length).isLessThan(json.length / 2);
+        assertThat(deserializer.deserialize(TOPIC, avroHeaders, avro)).isEqualTo(event);
+    }
+
+    @Test
+    void jsonFormat_ShouldStillBeReadByDeserializer() {
+        DeliveryPersonValidatedEvent event = new DeliveryPersonValidatedEvent(UUID.randomUUID(), true);
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] json = serializer(false).serialize(TOPIC, headers, event);
+
+        assertThat(headers.lastHeader(EventSerializer.SUBJECT_HEADER)).isNull();
+        assertThat(deserializer.deserialize(TOPIC, headers, json)).isEqualTo(event);
+    }
+
+    @Test
+    void valueWithoutSchema_ShouldFallBackToJson() {
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] json = serializer(true).serialize(TOPIC, headers, Map.of("key", "value"));
+
+        assertThat(headers.lastHeader(EventSerializer.SUBJECT_HEADER)).isNull();
+        assertThat(json[0]).isEqualTo((byte) '{');
+    }
+
+    @Test
+    void rawBytes_ShouldBePassedThrough() {
+        byte[] raw = { 0, 1, 2 };
+
+        assertThat(serializer(true).serialize(TOPIC, new RecordHeaders(), raw)).isSameAs(raw);
+    }
+
+    private EventSerializer serializer(boolean avroEnabled) {
+        return new EventSerializer(codec, avroEnabled);
+    }
+}
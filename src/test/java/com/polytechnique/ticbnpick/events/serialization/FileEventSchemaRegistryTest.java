@@ -0,0 +1,94 @@
+package com.polytechnique.ticbnpick.events.serialization;
+
+import com.polytechnique.ticbnpick.events.serialization.EventSchemaRegistry.EventSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for FileEventSchemaRegistry.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class FileEventSchemaRegistryTest {
+
+    private static final String V1 = """
+            {"type": "record", "name": "DeliveryPersonCreatedEvent",
+             "namespace": "com.polytechnique.ticbnpick.events",
+             "fields": [{"name": "deliveryPersonId", "type": ["null", "string"], "default": null}]}
+            """;
+
+    private static final String V2_ADDS_OPTIONAL_FIELD = """
+            {"type": "record", "name": "DeliveryPersonCreatedEvent",
+             "namespace": "com.polytechnique.ticbnpick.events",
+             "fields": [{"name": "deliveryPersonId", "type": ["null", "string"], "default": null},
+                        {"name": "email", "type": ["null", "string"], "default": null}]}
+            """;
+
+    private static final String V2_ADDS_REQUIRED_FIELD = """
+            {"type": "record", "name": "DeliveryPersonCreatedEvent",
+             "namespace": "com.polytechnique.ticbnpick.events",
+             "fields": [{"name": "deliveryPersonId", "type": ["null", "string"], "default": null},
+                        {"name": "email", "type": "string"}]}
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void bundledSchemas_ShouldBeLoaded() {
+        FileEventSchemaRegistry registry = new FileEventSchemaRegistry("classpath*:avro/*/v*.avsc");
+
+        assertThat(registry.latest("AnnouncementPublishedEvent")).isPresent();
+        assertThat(registry.latest("NotificationRequestedEvent").map(EventSchema::version)).contains(1);
+        assertThat(registry.latest("UnknownEvent")).isEmpty();
+    }
+
+    @Test
+    void latest_ShouldReturnHighestVersion() throws IOException {
+        write("v1.avsc", V1);
+        write("v2.avsc", V2_ADDS_OPTIONAL_FIELD);
+
+        FileEventSchemaRegistry registry = new FileEventSchemaRegistry(location());
+
+        assertThat(registry.latest("DeliveryPersonCreatedEvent").map(EventSchema::version)).contains(2);
+        assertThat(registry.schema("DeliveryPersonCreatedEvent", 1)).isPresent();
+        assertThat(registry.schema("DeliveryPersonCreatedEvent", 3)).isEmpty();
+    }
+
+    @Test
+    void incompatibleVersion_ShouldFailStartup() throws IOException {
+        write("v1.avsc", V1);
+        write("v2.avsc", V2_ADDS_REQUIRED_FIELD);
+
+        assertThatThrownBy(() -> new FileEventSchemaRegistry(location()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Version 2 of DeliveryPersonCreatedEvent");
+    }
+
+    @Test
+    void schemaInWrongFolder_ShouldFailStartup() throws IOException {
+        Files.createDirectories(dir.resolve("PasswordSetupRequestedEvent"));
+        Files.writeString(dir.resolve("PasswordSetupRequestedEvent").resolve("v1.avsc"), V1);
+
+        assertThatThrownBy(() -> new FileEventSchemaRegistry(location()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not PasswordSetupRequestedEvent");
+    }
+
+    private void write(String file, String schema) throws IOException {
+        Path subject = Files.createDirectories(dir.resolve("DeliveryPersonCreatedEvent"));
+        Files.writeString(subject.resolve(file), schema);
+    }
+
+    private String location() {
+        return dir.toUri() + "*/v*.avsc";
+    }
+}
@@ -0,0 +1,87 @@
+package com.polytechnique.ticbnpick.repositories;
+
+import com.polytechnique.ticbnpick.models.AnnouncementSubscription;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for AnnouncementSubscriptionRepositoryCustomImpl.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class AnnouncementSubscriptionRepositoryCustomImplTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock
+    private RowsFetchSpec<AnnouncementSubscription> rows;
+
+    @InjectMocks
+    private AnnouncementSubscriptionRepositoryCustomImpl repository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertAllIfAbsent_ShouldSkipRowsOfDeletedDeliveryPersonsInsteadOfFailingTheBatch() {
+        UUID announcementId = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        UUID existing = UUID.randomUUID();
+        Instant now = Instant.now();
+        AnnouncementSubscription inserted = new AnnouncementSubscription(UUID.randomUUID(), announcementId,
+                existing, "PENDING", now);
+        when(databaseClient.sql(any(String.class))).thenReturn(executeSpec);
+        when(executeSpec.bind(anyInt(), any())).thenReturn(executeSpec);
+        when(executeSpec.<AnnouncementSubscription>map(any(BiFunction.class))).thenReturn(rows);
+        // The database only returns the row whose delivery person still exists
+        when(rows.all()).thenReturn(Flux.just(inserted));
+
+        StepVerifier.create(repository.insertAllIfAbsent(List.of(
+                        new AnnouncementSubscription(null, announcementId, deleted, "PENDING", now),
+                        new AnnouncementSubscription(null, announcementId, existing, "PENDING", now))))
+                .expectNext(inserted)
+                .verifyComplete();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient).sql(sql.capture());
+        assertThat(sql.getValue())
+                .contains("WHERE EXISTS (SELECT 1 FROM delivery_persons dp WHERE dp.id = t.delivery_person_id)")
+                .contains("EXISTS (SELECT 1 FROM announcements a WHERE a.id = t.announcement_id)")
+                .contains("ON CONFLICT (announcement_id, delivery_person_id) DO NOTHING");
+        ArgumentCaptor<Object> deliveryPersons = ArgumentCaptor.forClass(Object.class);
+        verify(executeSpec).bind(eq(1), deliveryPersons.capture());
+        assertThat((UUID[]) deliveryPersons.getValue()).containsExactly(deleted, existing);
+    }
+
+    @Test
+    void insertAllIfAbsent_ShouldSkipStatementForEmptyBatch() {
+        StepVerifier.create(repository.insertAllIfAbsent(List.of())).verifyComplete();
+
+        verifyNoInteractions(databaseClient);
+    }
+}
@@ -16,6 +16,7 @@ import com.polytechnique.ticbnpick.services.logistics.LectureLogisticsService;
 import com.polytechnique.ticbnpick.services.logistics.ModificationLogisticsService;
 import com.polytechnique.ticbnpick.services.person.LecturePersonService;
 import com.polytechnique.ticbnpick.services.person.ModificationPersonService;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -61,6 +62,8 @@ class DeliveryPersonProfileServiceTest {
 
     @Mock
     private ModificationPersonService modificationPersonService;
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
 
     @InjectMocks
     private DeliveryPersonProfileService service;
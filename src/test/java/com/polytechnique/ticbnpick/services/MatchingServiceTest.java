@@ -0,0 +1,309 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.dtos.address.AddressDTO;
+import com.polytechnique.ticbnpick.dtos.announcement.AnnouncementResponseDTO;
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.elasticsearch.repositories.AnnouncementSearchRepository;
+import com.polytechnique.ticbnpick.elasticsearch.repositories.DeliveryPersonSearchRepository;
+import com.polytechnique.ticbnpick.events.AnnouncementPublishedEvent;
+import com.polytechnique.ticbnpick.models.Notification;
+import com.polytechnique.ticbnpick.services.matching.CandidateSelector;
+import com.polytechnique.ticbnpick.services.matching.CourierSpatialIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for MatchingService. The batching window and the retries run on a
+ * virtual clock, driven by the tests.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class MatchingServiceTest {
+
+    private static final String TOPIC = "announcement-published";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Mock
+    private AnnouncementSearchRepository announcementSearchRepository;
+    @Mock
+    private DeliveryPersonSearchRepository deliveryPersonSearchRepository;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private CourierSpatialIndex courierSpatialIndex;
+    @Mock
+    private CandidateSelector candidateSelector;
+    @Mock
+    private ReverseMatchingService reverseMatchingService;
+    @Mock
+    private DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+    @Mock
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    @Mock
+    private MessageListenerContainer container;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VirtualTimeScheduler scheduler;
+    private MatchingService matchingService;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.getOrSet();
+        lenient().when(kafkaListenerEndpointRegistry.getListenerContainer(MatchingService.LISTENER_ID))
+                .thenReturn(container);
+        lenient().when(reverseMatchingService.registerOpenAnnouncement(any(), any(), any()))
+                .thenReturn(Mono.empty());
+
+        matchingService = new MatchingService(announcementSearchRepository, deliveryPersonSearchRepository,
+                notificationService, courierSpatialIndex, candidateSelector, reverseMatchingService,
+                deadLetterPublishingRecoverer, kafkaListenerEndpointRegistry, meterRegistry);
+        ReflectionTestUtils.setField(matchingService, "maxInFlightPerPartition", 2);
+        ReflectionTestUtils.setField(matchingService, "batchMaxSize", 2);
+        ReflectionTestUtils.setField(matchingService, "batchWindowMs", 200L);
+        ReflectionTestUtils.setField(matchingService, "batchConcurrency", 1);
+        matchingService.startBatching();
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchingService.stopBatching();
+        VirtualTimeScheduler.reset();
+    }
+
+    private static ConsumerRecord<String, AnnouncementPublishedEvent> record(long offset) {
+        return record(offset, 3.8667, 11.5167);
+    }
+
+    private static ConsumerRecord<String, AnnouncementPublishedEvent> record(long offset, double lat, double lon) {
+        AddressDTO pickup = new AddressDTO();
+        pickup.setLatitude(lat);
+        pickup.setLongitude(lon);
+        AddressDTO delivery = new AddressDTO();
+        delivery.setLatitude(lat - 0.05);
+        delivery.setLongitude(lon + 0.01);
+        AnnouncementResponseDTO announcement = new AnnouncementResponseDTO();
+        announcement.setId(UUID.randomUUID());
+        announcement.setPickupAddress(pickup);
+        announcement.setDeliveryAddress(delivery);
+        AnnouncementPublishedEvent event = AnnouncementPublishedEvent.builder().announcement(announcement).build();
+        return new ConsumerRecord<>(TOPIC, PARTITION.partition(), offset, announcement.getId().toString(), event);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consume_ShouldPausePartitionAtLimitAndResumeOnceAnAnnouncementCompletes() {
+        Sinks.Empty<Void> indexed = Sinks.empty();
+        when(announcementSearchRepository.saveAll(anyList()))
+                .thenReturn(indexed.asMono().thenMany(Flux.<AnnouncementDocument>empty()));
+        when(deliveryPersonSearchRepository.findEligibleNear(any(), anyDouble(), any())).thenReturn(Flux.empty());
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+
+        matchingService.consumeAnnouncementPublishedEvent(record(0), first);
+        verify(container, never()).pausePartition(any());
+        matchingService.consumeAnnouncementPublishedEvent(record(1), second);
+
+        verify(container).pausePartition(PARTITION);
+        verify(container, never()).resumePartition(any());
+
+        indexed.tryEmitEmpty();
+        scheduler.advanceTime();
+
+        verify(container).resumePartition(PARTITION);
+        verify(first).acknowledge();
+        verify(second).acknowledge();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consume_ShouldReleaseSlotWhenHandOverFails() {
+        Sinks.Many<Object> closed = mock(Sinks.Many.class);
+        doThrow(new Sinks.EmissionException(Sinks.EmitResult.FAIL_TERMINATED))
+                .when(closed).emitNext(any(), any());
+        ReflectionTestUtils.setField(matchingService, "pendingAnnouncements", closed);
+        ReflectionTestUtils.setField(matchingService, "maxInFlightPerPartition", 1);
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        assertThatThrownBy(() -> matchingService.consumeAnnouncementPublishedEvent(record(0), acknowledgment))
+                .isInstanceOf(Sinks.EmissionException.class);
+
+        // The partition was paused for the record and resumed once it was given back
+        verify(container).pausePartition(PARTITION);
+        verify(container).resumePartition(PARTITION);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void complete_ShouldAcknowledgeRecordThatCannotBeDeadLettered() {
+        when(announcementSearchRepository.saveAll(anyList()))
+                .thenReturn(Flux.error(new RuntimeException("elasticsearch down")));
+        when(announcementSearchRepository.save(any()))
+                .thenReturn(Mono.error(new RuntimeException("elasticsearch down")));
+        doThrow(new KafkaException("broker down"))
+                .when(deadLetterPublishingRecoverer).accept(any(ConsumerRecord.class), any(Exception.class));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        matchingService.consumeAnnouncementPublishedEvent(record(0), acknowledgment);
+        scheduler.advanceTimeBy(Duration.ofMinutes(5));
+
+        verify(deadLetterPublishingRecoverer, times(4)).accept(any(ConsumerRecord.class), any(Exception.class));
+        verify(acknowledgment).acknowledge();
+        assertThat(meterRegistry.counter("matching.dead-letter.failures").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void processBatch_ShouldIndexOnceAndShareSnapshotWithinCluster() {
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder()
+                .id(UUID.randomUUID())
+                .location(new GeoPoint(3.8667, 11.5167))
+                .build();
+        when(courierSpatialIndex.isWarm()).thenReturn(true);
+        when(courierSpatialIndex.findWithinRadius(anyDouble(), anyDouble(), anyDouble(), any()))
+                .thenReturn(List.of(courier));
+        when(announcementSearchRepository.saveAll(anyList())).thenReturn(Flux.empty());
+        when(candidateSelector.select(any(), any())).thenReturn(List.of(courier));
+        when(notificationService.notifyEligibleDeliveryPersons(any(), any())).thenReturn(Flux.empty());
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+
+        // Both pickups fall in the same cluster cell
+        matchingService.consumeAnnouncementPublishedEvent(record(0, 3.8667, 11.5167), first);
+        matchingService.consumeAnnouncementPublishedEvent(record(1, 3.8700, 11.5200), second);
+        scheduler.advanceTime();
+
+        verify(announcementSearchRepository).saveAll(anyList());
+        verify(announcementSearchRepository, never()).save(any());
+        verify(courierSpatialIndex).findWithinRadius(anyDouble(), anyDouble(), anyDouble(), any());
+        verifyNoInteractions(deliveryPersonSearchRepository);
+        verify(notificationService, times(2)).notifyEligibleDeliveryPersons(eq(List.of(courier)), any());
+        verify(first).acknowledge();
+        verify(second).acknowledge();
+        assertThat(meterRegistry.counter("matching.batch.es.requests.saved").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void complete_ShouldAcknowledgeOnlyOnceNotificationsAreDone() {
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder()
+                .id(UUID.randomUUID())
+                .location(new GeoPoint(3.8667, 11.5167))
+                .build();
+        Sinks.Empty<Void> notified = Sinks.empty();
+        when(announcementSearchRepository.saveAll(anyList())).thenReturn(Flux.empty());
+        when(deliveryPersonSearchRepository.findEligibleNear(any(), anyDouble(), any()))
+                .thenReturn(Flux.just(courier));
+        when(candidateSelector.select(any(), any())).thenReturn(List.of(courier));
+        when(notificationService.notifyEligibleDeliveryPersons(any(), any()))
+                .thenReturn(notified.asMono().thenMany(Flux.<Notification>empty()));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        matchingService.consumeAnnouncementPublishedEvent(record(0), acknowledgment);
+        scheduler.advanceTimeBy(Duration.ofMillis(200));
+
+        verify(notificationService).notifyEligibleDeliveryPersons(any(), any());
+        verify(acknowledgment, never()).acknowledge();
+
+        notified.tryEmitEmpty();
+
+        verify(reverseMatchingService).registerOpenAnnouncement(any(), any(), eq(List.of(courier.getId())));
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void processBatch_ShouldNotStartNextBatchBeforeMatchingCompletes() {
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder()
+                .id(UUID.randomUUID())
+                .location(new GeoPoint(3.8667, 11.5167))
+                .build();
+        Sinks.Empty<Void> notified = Sinks.empty();
+        when(announcementSearchRepository.saveAll(anyList())).thenReturn(Flux.empty());
+        when(deliveryPersonSearchRepository.findEligibleNear(any(), anyDouble(), any()))
+                .thenReturn(Flux.just(courier));
+        when(candidateSelector.select(any(), any())).thenReturn(List.of(courier));
+        when(notificationService.notifyEligibleDeliveryPersons(any(), any()))
+                .thenReturn(notified.asMono().thenMany(Flux.<Notification>empty()));
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+
+        matchingService.consumeAnnouncementPublishedEvent(record(0), first);
+        scheduler.advanceTimeBy(Duration.ofMillis(200));
+        matchingService.consumeAnnouncementPublishedEvent(record(1), second);
+        scheduler.advanceTimeBy(Duration.ofMillis(200));
+
+        // matching.batch.concurrency is 1: the second window waits for the first batch
+        verify(announcementSearchRepository, times(1)).saveAll(anyList());
+
+        notified.tryEmitEmpty();
+        scheduler.advanceTime();
+
+        verify(announcementSearchRepository, times(2)).saveAll(anyList());
+        verify(first).acknowledge();
+        verify(second).acknowledge();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void complete_ShouldFallBackToOneByOneThenDeadLetter() {
+        when(announcementSearchRepository.saveAll(anyList()))
+                .thenReturn(Flux.error(new RuntimeException("bulk rejected")));
+        when(announcementSearchRepository.save(any()))
+                .thenReturn(Mono.error(new RuntimeException("elasticsearch down")));
+        ConsumerRecord<String, AnnouncementPublishedEvent> record = record(0);
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        matchingService.consumeAnnouncementPublishedEvent(record, acknowledgment);
+        scheduler.advanceTimeBy(Duration.ofMillis(200));
+
+        // Fell back to the announcement's own pipeline, which is still retrying
+        verify(announcementSearchRepository, atLeastOnce()).save(any());
+        verify(deadLetterPublishingRecoverer, never()).accept(any(ConsumerRecord.class), any(Exception.class));
+        verify(acknowledgment, never()).acknowledge();
+
+        scheduler.advanceTimeBy(Duration.ofMinutes(1));
+
+        verify(deadLetterPublishingRecoverer).accept(eq(record), any(Exception.class));
+        verify(acknowledgment).acknowledge();
+        assertThat(meterRegistry.counter("matching.dead-letter.failures").count()).isZero();
+    }
+}
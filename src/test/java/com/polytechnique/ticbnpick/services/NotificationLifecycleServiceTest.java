@@ -0,0 +1,128 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.exceptions.ValidationException;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.repositories.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for NotificationLifecycleService.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationLifecycleServiceTest {
+
+    private static final String EMAIL = "courier@ticbnpick.com";
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationRecipientResolver notificationRecipientResolver;
+
+    @InjectMocks
+    private NotificationLifecycleService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxBatchSize", 3);
+    }
+
+    @Test
+    void previousStatuses_ShouldNeverMoveBackwards() {
+        assertThat(NotificationLifecycleService.previousStatuses(NotificationStatus.SENT))
+                .containsExactlyInAnyOrder(NotificationStatus.PENDING, NotificationStatus.FAILED);
+        assertThat(NotificationLifecycleService.previousStatuses(NotificationStatus.DELIVERED))
+                .doesNotContain(NotificationStatus.DELIVERED, NotificationStatus.READ);
+        assertThat(NotificationLifecycleService.previousStatuses(NotificationStatus.READ))
+                .doesNotContain(NotificationStatus.READ);
+        assertThat(NotificationLifecycleService.previousStatuses(NotificationStatus.FAILED))
+                .containsExactly(NotificationStatus.PENDING);
+        assertThat(NotificationLifecycleService.previousStatuses(NotificationStatus.PENDING)).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateStatus_ShouldApplyTheBatchInOneUpdateWithoutDuplicates() {
+        UUID id = UUID.randomUUID();
+        when(notificationRepository.updateStatus(anyCollection(), eq(NotificationStatus.DELIVERED), anyCollection(),
+                isNull())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(service.updateStatus(List.of(id, id), NotificationStatus.DELIVERED))
+                .expectNext(1L)
+                .verifyComplete();
+
+        ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(notificationRepository).updateStatus(ids.capture(), eq(NotificationStatus.DELIVERED), anyCollection(),
+                isNull());
+        assertThat(ids.getValue()).containsExactly(id);
+    }
+
+    @Test
+    void acknowledge_ShouldOnlyUpdateTheNotificationsOfTheRecipient() {
+        List<UUID> recipientIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(notificationRecipientResolver.recipientIds(EMAIL)).thenReturn(Mono.just(recipientIds));
+        when(notificationRepository.updateStatus(ids, NotificationStatus.READ,
+                NotificationLifecycleService.previousStatuses(NotificationStatus.READ), recipientIds))
+                .thenReturn(Mono.just(1L));
+
+        StepVerifier.create(service.acknowledge(EMAIL, ids, NotificationStatus.READ))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void acknowledge_ShouldRejectNonReceiptStatuses() {
+        StepVerifier.create(service.acknowledge(EMAIL, List.of(UUID.randomUUID()), NotificationStatus.SENT))
+                .verifyError(ValidationException.class);
+
+        verifyNoInteractions(notificationRecipientResolver, notificationRepository);
+    }
+
+    @Test
+    void acknowledge_ShouldRejectOversizedBatches() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        StepVerifier.create(service.acknowledge(EMAIL, ids, NotificationStatus.DELIVERED))
+                .verifyError(ValidationException.class);
+
+        verify(notificationRepository, never()).updateStatus(anyCollection(), any(), anyCollection(), any());
+    }
+
+    @Test
+    void countUnread_ShouldCountAcrossPersonAndCourierProfile() {
+        List<UUID> recipientIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(notificationRecipientResolver.recipientIds(EMAIL)).thenReturn(Mono.just(recipientIds));
+        when(notificationRepository.countUnread(recipientIds)).thenReturn(Mono.just(7L));
+
+        StepVerifier.create(service.countUnread(EMAIL))
+                .expectNext(7L)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,259 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import com.polytechnique.ticbnpick.models.Notification;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
+import com.polytechnique.ticbnpick.repositories.NotificationRepository;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for NotificationService.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    @Mock
+    private NotificationThrottle notificationThrottle;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationService.registerMetrics();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void notifyEligibleDeliveryPersons_ShouldPersistAllNotificationsInOneInsert() {
+        List<DeliveryPersonDocument> couriers = IntStream.range(0, 3)
+                .mapToObj(i -> DeliveryPersonDocument.builder()
+                        .id(UUID.randomUUID())
+                        .email("courier" + i + "@ticbnpick.com")
+                        .build())
+                .toList();
+        AnnouncementDocument announcement = AnnouncementDocument.builder().id(UUID.randomUUID()).build();
+
+        List<NotificationStatus> insertedStatuses = new ArrayList<>();
+        when(notificationThrottle.reserve(any(), any())).thenReturn(NotificationThrottle.Decision.SEND);
+        when(notificationRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> notifications = invocation.getArgument(0);
+            notifications.forEach(notification -> insertedStatuses.add(notification.getNotificationStatus()));
+            return Flux.fromIterable(notifications);
+        });
+        when(kafkaEventPublisher.publishNotificationRequested(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(notificationService.notifyEligibleDeliveryPersons(couriers, announcement))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(insertedStatuses).containsOnly(NotificationStatus.PENDING);
+
+        ArgumentCaptor<List<Notification>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository, times(1)).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).extracting(Notification::getPersonId)
+                .containsExactlyElementsOf(couriers.stream().map(DeliveryPersonDocument::getId).toList());
+        verify(notificationRepository, never()).save(any());
+        // Marked SENT by the receipts of the channels, not on publication
+        assertThat(inserted.getValue()).extracting(Notification::getNotificationStatus)
+                .containsOnly(NotificationStatus.PENDING);
+
+        ArgumentCaptor<NotificationRequestedEvent> published = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(kafkaEventPublisher, times(3)).publishNotificationRequested(published.capture());
+        assertThat(published.getAllValues()).extracting(NotificationRequestedEvent::getRecipientId)
+                .containsExactlyInAnyOrderElementsOf(couriers.stream().map(DeliveryPersonDocument::getId).toList());
+        assertThat(published.getAllValues()).allSatisfy(event -> {
+            assertThat(event.getAnnouncementId()).isEqualTo(announcement.getId());
+            assertThat(event.getRecipientEmail()).startsWith("courier");
+        });
+    }
+
+    @Test
+    void notifyEligibleDeliveryPersons_ShouldNotFanOutWhenInsertFails() {
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+        AnnouncementDocument announcement = AnnouncementDocument.builder().id(UUID.randomUUID()).build();
+        when(notificationThrottle.reserve(any(), any())).thenReturn(NotificationThrottle.Decision.SEND);
+        when(notificationRepository.insertAll(anyList())).thenReturn(Flux.error(new RuntimeException("db down")));
+
+        StepVerifier.create(notificationService.notifyEligibleDeliveryPersons(List.of(courier), announcement))
+                .verifyError(RuntimeException.class);
+
+        verify(kafkaEventPublisher, never()).publishNotificationRequested(any());
+        verify(notificationThrottle).release(courier.getId(), announcement.getId());
+        verify(notificationThrottle, never()).commit(any(), any());
+    }
+
+    @Test
+    void notifyEligibleDeliveryPersons_ShouldNotifyAgainWhenRetriedAfterInsertFailure() {
+        NotificationThrottle throttle = new NotificationThrottle(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(throttle, "enabled", true);
+        ReflectionTestUtils.setField(throttle, "capacity", 3);
+        ReflectionTestUtils.setField(throttle, "refillSeconds", 60L);
+        ReflectionTestUtils.setField(throttle, "dedupWindowSeconds", 300L);
+        NotificationService service = new NotificationService(notificationRepository, kafkaEventPublisher,
+                throttle, meterRegistry);
+        service.registerMetrics();
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+        AnnouncementDocument announcement = AnnouncementDocument.builder().id(UUID.randomUUID()).build();
+        when(notificationRepository.insertAll(anyList()))
+                .thenReturn(Flux.error(new RuntimeException("db down")))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Notification>>getArgument(0)));
+        when(kafkaEventPublisher.publishNotificationRequested(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.notifyEligibleDeliveryPersons(List.of(courier), announcement))
+                .verifyError(RuntimeException.class);
+        StepVerifier.create(service.notifyEligibleDeliveryPersons(List.of(courier), announcement))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(kafkaEventPublisher).publishNotificationRequested(any());
+        // Committed now: a third match of the same announcement is a duplicate
+        StepVerifier.create(service.notifyEligibleDeliveryPersons(List.of(courier), announcement))
+                .verifyComplete();
+        verify(notificationRepository, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    void notifyEligibleDeliveryPersons_ShouldLeaveNotificationsPendingWhenPublishFails() {
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+        AnnouncementDocument announcement = AnnouncementDocument.builder().id(UUID.randomUUID()).build();
+        when(notificationThrottle.reserve(any(), any())).thenReturn(NotificationThrottle.Decision.SEND);
+        when(notificationRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Notification>>getArgument(0)));
+        when(kafkaEventPublisher.publishNotificationRequested(any()))
+                .thenReturn(Mono.error(new RuntimeException("broker down")));
+
+        StepVerifier.create(notificationService.notifyEligibleDeliveryPersons(List.of(courier), announcement))
+                .verifyComplete();
+
+        assertThat(meterRegistry.counter("notification.publish.failures").count()).isEqualTo(1.0);
+        verify(notificationThrottle).commit(courier.getId(), announcement.getId());
+        verify(notificationThrottle).release(courier.getId(), announcement.getId());
+    }
+
+    @Test
+    void notifyEligibleDeliveryPersons_ShouldReturnPublishedNotificationsWhenSomePublishesFail() {
+        DeliveryPersonDocument delivered = DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+        DeliveryPersonDocument failed = DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+        AnnouncementDocument announcement = AnnouncementDocument.builder().id(UUID.randomUUID()).build();
+        when(notificationThrottle.reserve(any(), any())).thenReturn(NotificationThrottle.Decision.SEND);
+        when(notificationRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> notifications = invocation.getArgument(0);
+            notifications.forEach(notification -> notification.setId(UUID.randomUUID()));
+            return Flux.fromIterable(notifications);
+        });
+        when(kafkaEventPublisher.publishNotificationRequested(any())).thenAnswer(invocation ->
+                invocation.<NotificationRequestedEvent>getArgument(0).getRecipientId().equals(failed.getId())
+                        ? Mono.error(new RuntimeException("broker down"))
+                        : Mono.empty());
+
+        StepVerifier.create(notificationService.notifyEligibleDeliveryPersons(List.of(delivered, failed),
+                        announcement))
+                .expectNextMatches(notification -> notification.getPersonId().equals(delivered.getId())
+                        && notification.getNotificationStatus() == NotificationStatus.PENDING)
+                .verifyComplete();
+
+        verify(notificationThrottle).release(failed.getId(), announcement.getId());
+        verify(notificationThrottle, never()).release(delivered.getId(), announcement.getId());
+        assertThat(meterRegistry.counter("notification.publish.failures").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void notifyEligibleDeliveryPersons_ShouldOnlyNotifyAdmittedCouriers() {
+        DeliveryPersonDocument admitted = DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+        DeliveryPersonDocument throttled = DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+        AnnouncementDocument announcement = AnnouncementDocument.builder().id(UUID.randomUUID()).build();
+        when(notificationThrottle.reserve(admitted, announcement.getId())).thenReturn(NotificationThrottle.Decision.SEND);
+        when(notificationThrottle.reserve(throttled, announcement.getId()))
+                .thenReturn(NotificationThrottle.Decision.DIGESTED);
+        when(notificationRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Notification>>getArgument(0)));
+        when(kafkaEventPublisher.publishNotificationRequested(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(notificationService.notifyEligibleDeliveryPersons(List.of(admitted, throttled),
+                        announcement))
+                .expectNextMatches(notification -> notification.getPersonId().equals(admitted.getId()))
+                .verifyComplete();
+
+        ArgumentCaptor<List<Notification>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).hasSize(1);
+    }
+
+    @Test
+    void notifyEligibleDeliveryPersons_ShouldSkipInsertWhenEveryCourierIsThrottled() {
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+        AnnouncementDocument announcement = AnnouncementDocument.builder().id(UUID.randomUUID()).build();
+        when(notificationThrottle.reserve(courier, announcement.getId()))
+                .thenReturn(NotificationThrottle.Decision.DUPLICATE);
+
+        StepVerifier.create(notificationService.notifyEligibleDeliveryPersons(List.of(courier), announcement))
+                .verifyComplete();
+
+        verify(notificationRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void flushDigests_ShouldSendOneSummaryPerCourier() {
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder()
+                .id(UUID.randomUUID())
+                .email("courier@ticbnpick.com")
+                .build();
+        when(notificationThrottle.drainDigests()).thenReturn(List.of(new NotificationThrottle.Digest(courier, 5)));
+        when(notificationRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Notification>>getArgument(0)));
+        when(kafkaEventPublisher.publishNotificationRequested(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(notificationService.flushDigests()).verifyComplete();
+
+        ArgumentCaptor<NotificationRequestedEvent> published = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(kafkaEventPublisher).publishNotificationRequested(published.capture());
+        assertThat(published.getValue().getNotificationType()).isEqualTo(NotificationType.NEW_ANNOUNCEMENTS_DIGEST);
+        assertThat(published.getValue().getMessage()).startsWith("5 nouvelles courses");
+        assertThat(published.getValue().getAnnouncementId()).isNull();
+        assertThat(published.getValue().getRecipientEmail()).isEqualTo("courier@ticbnpick.com");
+    }
+}
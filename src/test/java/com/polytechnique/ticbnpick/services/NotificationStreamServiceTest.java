@@ -0,0 +1,146 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.dtos.responses.NotificationResponse;
+import com.polytechnique.ticbnpick.exceptions.ResourceNotFoundException;
+import com.polytechnique.ticbnpick.models.DeliveryPerson;
+import com.polytechnique.ticbnpick.models.Notification;
+import com.polytechnique.ticbnpick.models.Person;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationType;
+import com.polytechnique.ticbnpick.repositories.NotificationRepository;
+import com.polytechnique.ticbnpick.services.deliveryperson.LectureDeliveryPersonService;
+import com.polytechnique.ticbnpick.services.person.LecturePersonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for NotificationStreamService.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationStreamServiceTest {
+
+    private static final String EMAIL = "courier@ticbnpick.com";
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private LecturePersonService lecturePersonService;
+
+    @Mock
+    private LectureDeliveryPersonService lectureDeliveryPersonService;
+
+    private NotificationStreamRegistry registry;
+    private NotificationStreamService service;
+    private UUID personId;
+    private UUID deliveryPersonId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new NotificationStreamRegistry();
+        ReflectionTestUtils.setField(registry, "buffer", 8);
+        service = new NotificationStreamService(registry, notificationRepository,
+                new NotificationRecipientResolver(lecturePersonService, lectureDeliveryPersonService));
+        ReflectionTestUtils.setField(service, "heartbeatSeconds", 15L);
+        ReflectionTestUtils.setField(service, "replayLimit", 100);
+        ReflectionTestUtils.setField(service, "retryMs", 3000L);
+
+        personId = UUID.randomUUID();
+        deliveryPersonId = UUID.randomUUID();
+        Person person = new Person();
+        person.setId(personId);
+        DeliveryPerson deliveryPerson = new DeliveryPerson();
+        deliveryPerson.setId(deliveryPersonId);
+        deliveryPerson.setPersonId(personId);
+        lenient().when(lecturePersonService.findByEmail(EMAIL)).thenReturn(Mono.just(person));
+        lenient().when(lectureDeliveryPersonService.findByPersonId(personId)).thenReturn(Mono.just(deliveryPerson));
+    }
+
+    private static NotificationResponse live(UUID id) {
+        return NotificationResponse.builder()
+                .id(id)
+                .notificationType(NotificationType.NEW_ANNOUNCEMENT)
+                .title("Nouvelle course disponible !")
+                .build();
+    }
+
+    @Test
+    void stream_ShouldReplayMissedNotificationsThenGoLiveWithoutDuplicates() {
+        UUID lastEventId = UUID.randomUUID();
+        UUID missedId = UUID.randomUUID();
+        UUID newId = UUID.randomUUID();
+        when(notificationRepository.findAfter(eq(List.of(personId, deliveryPersonId)), eq(lastEventId), eq(100)))
+                .thenReturn(Flux.just(new Notification(missedId, deliveryPersonId, NotificationType.NEW_ANNOUNCEMENT,
+                        "Nouvelle course disponible !", "Une course correspond à votre position.",
+                        NotificationStatus.SENT, Instant.now())));
+
+        StepVerifier.create(service.stream(EMAIL, lastEventId))
+                .expectNextMatches(event -> missedId.toString().equals(event.id()))
+                .then(() -> {
+                    // Already replayed, must not be sent twice
+                    registry.publish(deliveryPersonId, live(missedId));
+                    registry.publish(deliveryPersonId, live(newId));
+                })
+                .expectNextMatches(event -> newId.toString().equals(event.id())
+                        && "NEW_ANNOUNCEMENT".equals(event.event()))
+                .thenCancel()
+                .verify();
+
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void stream_ShouldSendHeartbeatsWhileIdle() {
+        StepVerifier.withVirtualTime(() -> service.stream(EMAIL, null))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(15))
+                .expectNextMatches(event -> "heartbeat".equals(event.comment()) && event.data() == null)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void stream_ShouldEndWhenClientFallsBehind() {
+        StepVerifier.create(service.stream(EMAIL, null), 0)
+                .then(() -> {
+                    int queued = 0;
+                    for (int i = 0; i < 20; i++) {
+                        queued += registry.publish(personId, live(UUID.randomUUID()));
+                    }
+                    assertThat(queued).isLessThan(20);
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .thenConsumeWhile(event -> event.data() != null)
+                .verifyComplete();
+
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void stream_ShouldFailForUnknownPerson() {
+        when(lecturePersonService.findByEmail("ghost@ticbnpick.com")).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.stream("ghost@ticbnpick.com", null))
+                .verifyError(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,150 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static com.polytechnique.ticbnpick.services.NotificationThrottle.Decision.DIGESTED;
+import static com.polytechnique.ticbnpick.services.NotificationThrottle.Decision.DUPLICATE;
+import static com.polytechnique.ticbnpick.services.NotificationThrottle.Decision.SEND;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for NotificationThrottle.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class NotificationThrottleTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-16T08:00:00Z"));
+    private final DeliveryPersonDocument courier = DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+    private NotificationThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new NotificationThrottle(meterRegistry, clock);
+        ReflectionTestUtils.setField(throttle, "enabled", true);
+        ReflectionTestUtils.setField(throttle, "capacity", 2);
+        ReflectionTestUtils.setField(throttle, "refillSeconds", 60L);
+        ReflectionTestUtils.setField(throttle, "dedupWindowSeconds", 300L);
+    }
+
+    @Test
+    void reserve_ShouldFoldMatchesBeyondBurstIntoDigest() {
+        assertThat(throttle.reserve(courier, UUID.randomUUID())).isEqualTo(SEND);
+        assertThat(throttle.reserve(courier, UUID.randomUUID())).isEqualTo(SEND);
+        assertThat(throttle.reserve(courier, UUID.randomUUID())).isEqualTo(DIGESTED);
+        assertThat(throttle.reserve(courier, UUID.randomUUID())).isEqualTo(DIGESTED);
+
+        assertThat(throttle.drainDigests()).singleElement().satisfies(digest -> {
+            assertThat(digest.courier()).isSameAs(courier);
+            assertThat(digest.count()).isEqualTo(2);
+        });
+        assertThat(throttle.drainDigests()).isEmpty();
+
+        clock.advance(Duration.ofSeconds(60));
+        assertThat(throttle.reserve(courier, UUID.randomUUID())).isEqualTo(SEND);
+        assertThat(throttle.reserve(courier, UUID.randomUUID())).isEqualTo(DIGESTED);
+        assertThat(meterRegistry.get("notification.throttle").tag("outcome", "digested").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void reserve_ShouldDropSameAnnouncementWithinWindow() {
+        UUID announcementId = UUID.randomUUID();
+        assertThat(throttle.reserve(courier, announcementId)).isEqualTo(SEND);
+        throttle.commit(courier.getId(), announcementId);
+        clock.advance(Duration.ofSeconds(299));
+        assertThat(throttle.reserve(courier, announcementId)).isEqualTo(DUPLICATE);
+
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(throttle.reserve(courier, announcementId)).isEqualTo(SEND);
+    }
+
+    @Test
+    void release_ShouldGiveTokenBackAndAllowSameAnnouncementAgain() {
+        UUID announcementId = UUID.randomUUID();
+        assertThat(throttle.reserve(courier, announcementId)).isEqualTo(SEND);
+        // Still reserved: a concurrent match of the same announcement is dropped
+        assertThat(throttle.reserve(courier, announcementId)).isEqualTo(DUPLICATE);
+        assertThat(throttle.reserve(courier, UUID.randomUUID())).isEqualTo(SEND);
+
+        throttle.release(courier.getId(), announcementId);
+
+        assertThat(throttle.reserve(courier, announcementId)).isEqualTo(SEND);
+        assertThat(throttle.reserve(courier, UUID.randomUUID())).isEqualTo(DIGESTED);
+        assertThat(meterRegistry.get("notification.throttle").tag("outcome", "released").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void commit_ShouldStartDedupWindowAtCommitTime() {
+        UUID announcementId = UUID.randomUUID();
+        assertThat(throttle.reserve(courier, announcementId)).isEqualTo(SEND);
+        clock.advance(Duration.ofSeconds(200));
+        throttle.commit(courier.getId(), announcementId);
+
+        clock.advance(Duration.ofSeconds(200));
+        assertThat(throttle.reserve(courier, announcementId)).isEqualTo(DUPLICATE);
+        clock.advance(Duration.ofSeconds(101));
+        assertThat(throttle.reserve(courier, announcementId)).isEqualTo(SEND);
+    }
+
+    @Test
+    void drainDigests_ShouldForgetIdleCouriers() {
+        throttle.reserve(courier, UUID.randomUUID());
+        throttle.drainDigests();
+        assertThat(meterRegistry.get("notification.throttle.tracked").gauge().value()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(300));
+        throttle.drainDigests();
+        assertThat(meterRegistry.get("notification.throttle.tracked").gauge().value()).isZero();
+    }
+
+    @Test
+    void reserve_ShouldSendEverythingWhenDisabled() {
+        ReflectionTestUtils.setField(throttle, "enabled", false);
+        UUID announcementId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            assertThat(throttle.reserve(courier, announcementId)).isEqualTo(SEND);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.polytechnique.ticbnpick.services;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.repositories.ReverseMatchClaimRepository;
+import com.polytechnique.ticbnpick.repositories.ReverseMatchClaimRepository.ClaimOutcome;
+import com.polytechnique.ticbnpick.services.matching.OpenAnnouncementIndex;
+import com.polytechnique.ticbnpick.services.matching.ScoringProfiles;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for ReverseMatchingService.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class ReverseMatchingServiceTest {
+
+    @Mock
+    private OpenAnnouncementIndex openAnnouncementIndex;
+    @Mock
+    private ScoringProfiles scoringProfiles;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+    @Mock
+    private ReverseMatchClaimRepository reverseMatchClaimRepository;
+
+    @InjectMocks
+    private ReverseMatchingService reverseMatchingService;
+
+    private final DeliveryPersonDocument courier = DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+    private final Instant expiresAt = Instant.parse("2026-10-17T08:00:00Z");
+
+    private OpenAnnouncementIndex.Match match(AnnouncementDocument announcement) {
+        return new OpenAnnouncementIndex.Match(announcement, 1.5, 4, expiresAt);
+    }
+
+    @Test
+    void matchOpenAnnouncements_ShouldNotifyOnlyAnnouncementsClaimedHere() {
+        AnnouncementDocument claimed = AnnouncementDocument.builder().id(UUID.randomUUID()).build();
+        AnnouncementDocument elsewhere = AnnouncementDocument.builder().id(UUID.randomUUID()).build();
+        AnnouncementDocument full = AnnouncementDocument.builder().id(UUID.randomUUID()).build();
+        when(openAnnouncementIndex.findMatches(courier))
+                .thenReturn(List.of(match(claimed), match(elsewhere), match(full)));
+        when(reverseMatchClaimRepository.claim(claimed.getId(), courier.getId(), 1.5, 4, expiresAt))
+                .thenReturn(Mono.just(ClaimOutcome.CLAIMED));
+        when(reverseMatchClaimRepository.claim(elsewhere.getId(), courier.getId(), 1.5, 4, expiresAt))
+                .thenReturn(Mono.just(ClaimOutcome.ALREADY_CLAIMED));
+        when(reverseMatchClaimRepository.claim(full.getId(), courier.getId(), 1.5, 4, expiresAt))
+                .thenReturn(Mono.just(ClaimOutcome.REJECTED));
+        when(notificationService.notifyEligibleDeliveryPersons(List.of(courier), claimed)).thenReturn(Flux.empty());
+
+        StepVerifier.create(reverseMatchingService.matchOpenAnnouncements(courier)).verifyComplete();
+
+        verify(notificationService).notifyEligibleDeliveryPersons(List.of(courier), claimed);
+        verify(notificationService, never()).notifyEligibleDeliveryPersons(List.of(courier), elsewhere);
+        verify(openAnnouncementIndex).recordClaim(claimed.getId(), courier.getId(), 1.5);
+        verify(openAnnouncementIndex).recordClaim(elsewhere.getId(), courier.getId(), null);
+        verify(openAnnouncementIndex, never()).recordClaim(eq(full.getId()), any(), any());
+    }
+
+    @Test
+    void matchOpenAnnouncements_ShouldSkipClaimsWithoutCandidates() {
+        when(openAnnouncementIndex.findMatches(courier)).thenReturn(List.of());
+
+        StepVerifier.create(reverseMatchingService.matchOpenAnnouncements(courier)).verifyComplete();
+
+        verify(reverseMatchClaimRepository, never()).claim(any(), any(), anyDouble(), anyInt(), any());
+        verify(notificationService, never()).notifyEligibleDeliveryPersons(anyList(), any());
+    }
+}
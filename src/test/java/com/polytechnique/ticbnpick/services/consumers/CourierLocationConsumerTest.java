@@ -0,0 +1,130 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.events.CourierLocationChangedEvent;
+import com.polytechnique.ticbnpick.exceptions.DeliveryPersonNotFoundException;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierAvailabilityRegistry;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierProfile;
+import com.polytechnique.ticbnpick.services.deliveryperson.CourierProfileCache;
+import com.polytechnique.ticbnpick.services.matching.CourierSpatialIndex;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for CourierLocationConsumer.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class CourierLocationConsumerTest {
+
+    @Mock
+    private CourierProfileCache courierProfileCache;
+
+    @Mock
+    private CourierSpatialIndex courierSpatialIndex;
+
+    @Mock
+    private CourierAvailabilityRegistry courierAvailabilityRegistry;
+
+    @InjectMocks
+    private CourierLocationConsumer courierLocationConsumer;
+
+    @Test
+    void consume_ShouldIndexCourierReportedByAnotherNodeFromCarriedProfile() {
+        UUID dpId = UUID.randomUUID();
+        CourierProfile profile = CourierProfile.builder()
+                .deliveryPersonId(dpId)
+                .isActive(true)
+                .luggageMaxCapacity(20.0)
+                .build();
+
+        courierLocationConsumer.consumeCourierLocationChanged(
+                new CourierLocationChangedEvent(dpId, 3.86, 11.52, true, Instant.now(), profile));
+
+        ArgumentCaptor<DeliveryPersonDocument> indexed = ArgumentCaptor.forClass(DeliveryPersonDocument.class);
+        verify(courierSpatialIndex).upsert(indexed.capture());
+        assertThat(indexed.getValue().getId()).isEqualTo(dpId);
+        assertThat(indexed.getValue().getLuggageMaxCapacity()).isEqualTo(20.0);
+        assertThat(indexed.getValue().getLocation().getLat()).isEqualTo(3.86);
+        verifyNoInteractions(courierProfileCache);
+    }
+
+    @Test
+    void consume_ShouldLoadProfileMissingFromEvent() {
+        UUID dpId = UUID.randomUUID();
+        CourierProfile profile = CourierProfile.builder()
+                .deliveryPersonId(dpId)
+                .isActive(true)
+                .luggageMaxCapacity(20.0)
+                .build();
+        when(courierProfileCache.get(dpId)).thenReturn(Mono.just(profile));
+
+        courierLocationConsumer.consumeCourierLocationChanged(
+                new CourierLocationChangedEvent(dpId, 3.86, 11.52, true, Instant.now(), null));
+
+        ArgumentCaptor<DeliveryPersonDocument> indexed = ArgumentCaptor.forClass(DeliveryPersonDocument.class);
+        verify(courierSpatialIndex).upsert(indexed.capture());
+        assertThat(indexed.getValue().getId()).isEqualTo(dpId);
+        assertThat(indexed.getValue().getIsAvailable()).isTrue();
+        assertThat(indexed.getValue().getLocation().getLat()).isEqualTo(3.86);
+        assertThat(indexed.getValue().getLocation().getLon()).isEqualTo(11.52);
+    }
+
+    @Test
+    void consume_ShouldRemoveCourierGoneOffline() {
+        UUID dpId = UUID.randomUUID();
+
+        CourierLocationChangedEvent offline = new CourierLocationChangedEvent(dpId, null, null, false, Instant.now(), null);
+
+        courierLocationConsumer.consumeCourierLocationChanged(offline);
+
+        verify(courierAvailabilityRegistry).observe(offline);
+        verify(courierSpatialIndex).remove(dpId);
+        verify(courierSpatialIndex, never()).upsert(any());
+        verifyNoInteractions(courierProfileCache);
+    }
+
+    @Test
+    void consume_ShouldIgnoreDeletedCourier() {
+        UUID dpId = UUID.randomUUID();
+        when(courierProfileCache.get(dpId))
+                .thenReturn(Mono.error(new DeliveryPersonNotFoundException("Delivery Person not found")));
+
+        courierLocationConsumer.consumeCourierLocationChanged(
+                new CourierLocationChangedEvent(dpId, 3.86, 11.52, true, Instant.now(), null));
+
+        verify(courierSpatialIndex, never()).upsert(any());
+        verify(courierSpatialIndex).remove(dpId);
+    }
+
+    @Test
+    void onPartitionsAssigned_ShouldReplayTopicFromStart() {
+        Map<TopicPartition, Long> assignments = Map.of(new TopicPartition("courier-locations", 0), 42L);
+        ConsumerSeekAware.ConsumerSeekCallback callback = mock(ConsumerSeekAware.ConsumerSeekCallback.class);
+
+        courierLocationConsumer.onPartitionsAssigned(assignments, callback);
+
+        verify(callback).seekToBeginning(assignments.keySet());
+    }
+}
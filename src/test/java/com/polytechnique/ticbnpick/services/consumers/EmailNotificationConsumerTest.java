@@ -0,0 +1,80 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import com.polytechnique.ticbnpick.services.support.EmailService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for EmailNotificationConsumer.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailNotificationConsumerTest {
+
+    @Mock
+    private EmailService emailService;
+
+    @InjectMocks
+    private EmailNotificationConsumer emailNotificationConsumer;
+
+    private static NotificationRequestedEvent event(String email, UUID announcementId) {
+        return NotificationRequestedEvent.builder()
+                .notificationId(UUID.randomUUID())
+                .recipientId(UUID.randomUUID())
+                .recipientEmail(email)
+                .title("Nouvelle course disponible !")
+                .message("Une course correspond à votre position.")
+                .announcementId(announcementId)
+                .build();
+    }
+
+    @Test
+    void consumeNotificationRequested_ShouldQueueOneEmailPerRecipientWithEmail() {
+        ReflectionTestUtils.setField(emailNotificationConsumer, "writeConcurrency", 4);
+        UUID announcementId = UUID.randomUUID();
+        when(emailService.sendSimpleMessageReactive(anyString(), anyString(), anyString(), any(UUID.class)))
+                .thenReturn(Mono.empty());
+        NotificationRequestedEvent first = event("a@ticbnpick.com", announcementId);
+
+        emailNotificationConsumer.consumeNotificationRequested(List.of(
+                first,
+                event(null, announcementId),
+                event("b@ticbnpick.com", announcementId)));
+
+        verify(emailService, times(2)).sendSimpleMessageReactive(anyString(), anyString(), anyString(),
+                any(UUID.class));
+        verify(emailService).sendSimpleMessageReactive("a@ticbnpick.com", "Nouvelle course disponible !",
+                "Une course correspond à votre position.\n\nAnnonce ID: " + announcementId,
+                first.getNotificationId());
+    }
+
+    @Test
+    void consumeNotificationRequested_ShouldFailBatchWhenOutboxIsUnavailable() {
+        ReflectionTestUtils.setField(emailNotificationConsumer, "writeConcurrency", 4);
+        when(emailService.sendSimpleMessageReactive(eq("a@ticbnpick.com"), anyString(), anyString(), any(UUID.class)))
+                .thenReturn(Mono.error(new IllegalStateException("db down")));
+
+        assertThatThrownBy(() -> emailNotificationConsumer.consumeNotificationRequested(
+                List.of(event("a@ticbnpick.com", null))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
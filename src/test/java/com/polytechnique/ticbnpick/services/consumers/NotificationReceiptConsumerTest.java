@@ -0,0 +1,67 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.events.NotificationReceiptEvent;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.services.NotificationLifecycleService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for NotificationReceiptConsumer.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationReceiptConsumerTest {
+
+    @Mock
+    private NotificationLifecycleService notificationLifecycleService;
+
+    @InjectMocks
+    private NotificationReceiptConsumer notificationReceiptConsumer;
+
+    private static NotificationReceiptEvent receipt(UUID notificationId, NotificationStatus status) {
+        return NotificationReceiptEvent.builder()
+                .notificationId(notificationId)
+                .status(status)
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    @Test
+    void consumeNotificationReceipts_ShouldApplyOneUpdatePerStatus() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID read = UUID.randomUUID();
+        when(notificationLifecycleService.updateStatus(anyCollection(), eq(NotificationStatus.DELIVERED)))
+                .thenReturn(Mono.just(2L));
+        when(notificationLifecycleService.updateStatus(anyCollection(), eq(NotificationStatus.READ)))
+                .thenReturn(Mono.just(1L));
+
+        notificationReceiptConsumer.consumeNotificationReceipts(List.of(
+                receipt(first, NotificationStatus.DELIVERED),
+                receipt(read, NotificationStatus.READ),
+                receipt(second, NotificationStatus.DELIVERED),
+                receipt(first, NotificationStatus.DELIVERED),
+                receipt(null, NotificationStatus.DELIVERED)));
+
+        verify(notificationLifecycleService, times(1)).updateStatus(Set.of(first, second), NotificationStatus.DELIVERED);
+        verify(notificationLifecycleService, times(1)).updateStatus(Set.of(read), NotificationStatus.READ);
+    }
+}
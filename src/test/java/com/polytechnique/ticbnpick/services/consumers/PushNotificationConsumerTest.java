@@ -0,0 +1,98 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.events.NotificationReceiptEvent;
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import com.polytechnique.ticbnpick.services.support.PushNotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for PushNotificationConsumer.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class PushNotificationConsumerTest {
+
+    @Mock
+    private PushNotificationService pushNotificationService;
+
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    @InjectMocks
+    private PushNotificationConsumer pushNotificationConsumer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pushNotificationConsumer, "sendConcurrency", 4);
+    }
+
+    private static NotificationRequestedEvent event() {
+        return NotificationRequestedEvent.builder()
+                .notificationId(UUID.randomUUID())
+                .recipientId(UUID.randomUUID())
+                .title("Nouvelle course disponible !")
+                .message("Une course correspond à votre position.")
+                .build();
+    }
+
+    @Test
+    void consumeNotificationRequested_ShouldReportEachNotificationFromPushOutcome() {
+        NotificationRequestedEvent reached = event();
+        NotificationRequestedEvent withoutDevice = event();
+        when(pushNotificationService.sendPushNotifications(anyList(), anyString(), anyString()))
+                .thenReturn(Mono.just(Set.of(reached.getRecipientId())));
+
+        pushNotificationConsumer.consumeNotificationRequested(List.of(reached, withoutDevice));
+
+        // Same text: one multicast for both recipients
+        verify(pushNotificationService).sendPushNotifications(
+                List.of(reached.getRecipientId(), withoutDevice.getRecipientId()),
+                reached.getTitle(), reached.getMessage());
+        ArgumentCaptor<NotificationReceiptEvent> receipts = ArgumentCaptor.forClass(NotificationReceiptEvent.class);
+        verify(kafkaEventPublisher, times(2)).publishNotificationReceipt(receipts.capture());
+        Map<UUID, NotificationStatus> statuses = receipts.getAllValues().stream()
+                .collect(Collectors.toMap(NotificationReceiptEvent::getNotificationId,
+                        NotificationReceiptEvent::getStatus));
+        assertThat(statuses).containsEntry(reached.getNotificationId(), NotificationStatus.SENT)
+                .containsEntry(withoutDevice.getNotificationId(), NotificationStatus.FAILED);
+    }
+
+    @Test
+    void consumeNotificationRequested_ShouldReportFailureWhenPushFails() {
+        NotificationRequestedEvent notification = event();
+        when(pushNotificationService.sendPushNotifications(anyList(), anyString(), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("db down")));
+
+        pushNotificationConsumer.consumeNotificationRequested(List.of(notification));
+
+        ArgumentCaptor<NotificationReceiptEvent> receipt = ArgumentCaptor.forClass(NotificationReceiptEvent.class);
+        verify(kafkaEventPublisher).publishNotificationReceipt(receipt.capture());
+        assertThat(receipt.getValue().getNotificationId()).isEqualTo(notification.getNotificationId());
+        assertThat(receipt.getValue().getStatus()).isEqualTo(NotificationStatus.FAILED);
+    }
+}
@@ -0,0 +1,111 @@
+package com.polytechnique.ticbnpick.services.consumers;
+
+import com.polytechnique.ticbnpick.events.AnnouncementClosedEvent;
+import com.polytechnique.ticbnpick.events.SubscriptionAttemptEvent;
+import com.polytechnique.ticbnpick.models.Announcement;
+import com.polytechnique.ticbnpick.models.AnnouncementSubscription;
+import com.polytechnique.ticbnpick.models.enums.announcement.AnnouncementStatus;
+import com.polytechnique.ticbnpick.repositories.AnnouncementRepository;
+import com.polytechnique.ticbnpick.repositories.AnnouncementSubscriptionRepository;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for SubscriptionConfirmationConsumer.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class SubscriptionConfirmationConsumerTest {
+
+    @Mock
+    private AnnouncementRepository announcementRepository;
+
+    @Mock
+    private AnnouncementSubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    @InjectMocks
+    private SubscriptionConfirmationConsumer subscriptionConfirmationConsumer;
+
+    private static Announcement announcement(UUID id, AnnouncementStatus status) {
+        Announcement announcement = new Announcement();
+        announcement.setId(id);
+        announcement.setStatus(status);
+        return announcement;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consumeSubscriptionAttempts_ShouldInsertFirstAttemptsOnPublishedAnnouncementsAtOnce() {
+        UUID published = UUID.randomUUID();
+        UUID assigned = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Instant firstTap = Instant.parse("2026-10-16T10:00:00Z");
+        Instant secondTap = firstTap.plusMillis(20);
+        when(announcementRepository.findAllById(any(Iterable.class))).thenReturn(Flux.just(
+                announcement(published, AnnouncementStatus.PUBLISHED),
+                announcement(assigned, AnnouncementStatus.ASSIGNED)));
+        when(subscriptionRepository.insertAllIfAbsent(any())).thenAnswer(invocation -> Flux.fromIterable(
+                invocation.<List<AnnouncementSubscription>>getArgument(0).subList(0, 1)));
+        when(kafkaEventPublisher.publishAnnouncementClosed(any())).thenReturn(Mono.empty());
+
+        subscriptionConfirmationConsumer.consumeSubscriptionAttempts(List.of(
+                new SubscriptionAttemptEvent(published, first, firstTap),
+                new SubscriptionAttemptEvent(assigned, first, firstTap),
+                new SubscriptionAttemptEvent(published, second, secondTap),
+                new SubscriptionAttemptEvent(published, first, secondTap),
+                new SubscriptionAttemptEvent(missing, second, secondTap)));
+
+        ArgumentCaptor<Iterable<UUID>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(announcementRepository, times(1)).findAllById(ids.capture());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder(published, assigned, missing);
+
+        ArgumentCaptor<List<AnnouncementSubscription>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(subscriptionRepository, times(1)).insertAllIfAbsent(inserted.capture());
+        assertThat(inserted.getValue())
+                .extracting(AnnouncementSubscription::getAnnouncementId, AnnouncementSubscription::getDeliveryPersonId,
+                        AnnouncementSubscription::getStatus, AnnouncementSubscription::getCreatedAt)
+                .containsExactly(
+                        tuple(published, first, "PENDING", firstTap),
+                        tuple(published, second, "PENDING", secondTap));
+        verify(subscriptionRepository, never()).save(any());
+
+        ArgumentCaptor<AnnouncementClosedEvent> closed = ArgumentCaptor.forClass(AnnouncementClosedEvent.class);
+        verify(kafkaEventPublisher, times(1)).publishAnnouncementClosed(closed.capture());
+        assertThat(closed.getValue().getAnnouncementId()).isEqualTo(published);
+    }
+
+    @Test
+    void consumeSubscriptionAttempts_ShouldIgnoreIncompleteAttempts() {
+        subscriptionConfirmationConsumer.consumeSubscriptionAttempts(List.of(
+                new SubscriptionAttemptEvent(null, UUID.randomUUID(), Instant.now())));
+
+        verifyNoInteractions(announcementRepository, subscriptionRepository, kafkaEventPublisher);
+    }
+}
@@ -0,0 +1,244 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import com.polytechnique.ticbnpick.elasticsearch.repositories.DeliveryPersonSearchRepository;
+import com.polytechnique.ticbnpick.events.CourierLocationChangedEvent;
+import com.polytechnique.ticbnpick.services.matching.CourierSpatialIndex;
+import com.polytechnique.ticbnpick.services.support.KafkaEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for CourierAvailabilityRegistry.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class CourierAvailabilityRegistryTest {
+
+    @Mock
+    private DeliveryPersonSearchRepository deliveryPersonSearchRepository;
+
+    @Mock
+    private CourierSpatialIndex courierSpatialIndex;
+
+    @Mock
+    private LocationUpdateFilter locationUpdateFilter;
+
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-16T08:00:00Z"));
+    private CourierAvailabilityRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        // The tick loop is not started: the tests drive the wheel
+        registry = new CourierAvailabilityRegistry(deliveryPersonSearchRepository, courierSpatialIndex,
+                locationUpdateFilter, kafkaEventPublisher, new SimpleMeterRegistry(), clock);
+        ReflectionTestUtils.setField(registry, "ttlSeconds", 10L);
+        ReflectionTestUtils.setField(registry, "tickMs", 1000L);
+        ReflectionTestUtils.setField(registry, "maxBatchSize", 500);
+        registry.initialize();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void advance_ShouldExpireSilentCourierInOneBatch() {
+        when(deliveryPersonSearchRepository.bulkUpdateAvailability(anyCollection(), eq(false)))
+                .thenReturn(Mono.empty());
+        UUID silent = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        assertThat(registry.touch(silent)).isTrue();
+        assertThat(registry.touch(other)).isTrue();
+
+        clock.advance(Duration.ofSeconds(11));
+        StepVerifier.create(registry.advance()).verifyComplete();
+
+        ArgumentCaptor<Collection<UUID>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(deliveryPersonSearchRepository).bulkUpdateAvailability(batch.capture(), eq(false));
+        assertThat(batch.getValue()).containsExactlyInAnyOrder(silent, other);
+        assertThat(registry.isAvailable(silent)).isFalse();
+        verify(courierSpatialIndex).remove(silent);
+        ArgumentCaptor<CourierLocationChangedEvent> offline = ArgumentCaptor.forClass(CourierLocationChangedEvent.class);
+        verify(kafkaEventPublisher, times(2)).publishCourierLocationChanged(offline.capture());
+        assertThat(offline.getAllValues())
+                .extracting(CourierLocationChangedEvent::getDeliveryPersonId)
+                .containsExactlyInAnyOrder(silent, other);
+        assertThat(offline.getAllValues()).noneMatch(CourierLocationChangedEvent::isAvailable);
+        verify(locationUpdateFilter).reset(silent);
+    }
+
+    @Test
+    void advance_ShouldKeepCourierThatKeepsPinging() {
+        UUID courier = UUID.randomUUID();
+        registry.touch(courier);
+
+        for (int i = 0; i < 5; i++) {
+            clock.advance(Duration.ofSeconds(6));
+            assertThat(registry.touch(courier)).isFalse();
+            StepVerifier.create(registry.advance()).verifyComplete();
+        }
+
+        assertThat(registry.isAvailable(courier)).isTrue();
+        verify(deliveryPersonSearchRepository, never()).bulkUpdateAvailability(anyCollection(), eq(false));
+    }
+
+    @Test
+    void markOffline_ShouldSkipCourierBackOnlineBeforeFlush() {
+        UUID courier = UUID.randomUUID();
+        registry.touch(courier);
+        registry.markOffline(courier);
+        assertThat(registry.touch(courier)).isTrue();
+
+        StepVerifier.create(registry.advance()).verifyComplete();
+
+        assertThat(registry.isAvailable(courier)).isTrue();
+        verify(deliveryPersonSearchRepository, never()).bulkUpdateAvailability(anyCollection(), eq(false));
+    }
+
+    @Test
+    void advance_ShouldRescheduleCourierPingedWhileExpiring() {
+        when(deliveryPersonSearchRepository.bulkUpdateAvailability(anyCollection(), eq(false)))
+                .thenReturn(Mono.empty());
+        UUID courier = UUID.randomUUID();
+        AtomicBoolean pingDuringExpiry = new AtomicBoolean();
+        // Lands a ping between the expiry check and the removal of the courier
+        ReflectionTestUtils.setField(registry, "lastSeen", new ConcurrentHashMap<UUID, Long>() {
+            @Override
+            public boolean remove(Object key, Object value) {
+                if (pingDuringExpiry.compareAndSet(true, false)) {
+                    registry.touch((UUID) key);
+                }
+                return super.remove(key, value);
+            }
+        });
+        registry.touch(courier);
+
+        clock.advance(Duration.ofSeconds(11));
+        pingDuringExpiry.set(true);
+        StepVerifier.create(registry.advance()).verifyComplete();
+        assertThat(registry.isAvailable(courier)).isTrue();
+
+        clock.advance(Duration.ofSeconds(11));
+        StepVerifier.create(registry.advance()).verifyComplete();
+
+        assertThat(registry.isAvailable(courier)).isFalse();
+        verify(deliveryPersonSearchRepository).bulkUpdateAvailability(List.of(courier), false);
+    }
+
+    @Test
+    void advance_ShouldLeaveCourierPingingAnotherNodeOnline() {
+        UUID courier = UUID.randomUUID();
+        registry.touch(courier);
+        clock.advance(Duration.ofSeconds(5));
+        registry.observe(new CourierLocationChangedEvent(courier, 3.86, 11.52, true, clock.instant(), null));
+
+        clock.advance(Duration.ofSeconds(6));
+        StepVerifier.create(registry.advance()).verifyComplete();
+
+        assertThat(registry.isAvailable(courier)).isFalse();
+        verify(courierSpatialIndex, never()).remove(courier);
+        verify(kafkaEventPublisher, never()).publishCourierLocationChanged(any());
+        verify(deliveryPersonSearchRepository, never()).bulkUpdateAvailability(anyCollection(), eq(false));
+    }
+
+    @Test
+    void markOffline_ShouldTakeCourierOfflineWhenOnlySeenByThisNode() {
+        when(deliveryPersonSearchRepository.bulkUpdateAvailability(anyCollection(), eq(false)))
+                .thenReturn(Mono.empty());
+        UUID courier = UUID.randomUUID();
+        Instant pingedAt = clock.instant();
+        registry.touch(courier, pingedAt);
+        // Its own ping, read back from the shared stream
+        registry.observe(new CourierLocationChangedEvent(courier, 3.86, 11.52, true, pingedAt, null));
+
+        registry.markOffline(courier);
+        StepVerifier.create(registry.advance()).verifyComplete();
+
+        verify(courierSpatialIndex).remove(courier);
+        verify(kafkaEventPublisher).publishCourierLocationChanged(any());
+        verify(deliveryPersonSearchRepository).bulkUpdateAvailability(List.of(courier), false);
+    }
+
+    @Test
+    void markOffline_ShouldNotTakeCourierOfflineWhenItReconnectedElsewhere() {
+        UUID courier = UUID.randomUUID();
+        registry.touch(courier);
+        clock.advance(Duration.ofSeconds(1));
+        registry.observe(new CourierLocationChangedEvent(courier, 3.86, 11.52, true, clock.instant(), null));
+
+        registry.markOffline(courier);
+        StepVerifier.create(registry.advance()).verifyComplete();
+
+        verify(courierSpatialIndex, never()).remove(courier);
+        verify(kafkaEventPublisher, never()).publishCourierLocationChanged(any());
+        verify(deliveryPersonSearchRepository, never()).bulkUpdateAvailability(anyCollection(), eq(false));
+    }
+
+    @Test
+    void observe_ShouldLetNextPingThroughWhenAnotherNodeTookCourierOffline() {
+        UUID courier = UUID.randomUUID();
+        registry.touch(courier);
+
+        registry.observe(new CourierLocationChangedEvent(courier, null, null, false, clock.instant(), null));
+
+        verify(locationUpdateFilter).reset(courier);
+        assertThat(registry.isAvailable(courier)).isTrue();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import com.polytechnique.ticbnpick.models.DeliveryPersonLocationHistory;
+import com.polytechnique.ticbnpick.repositories.DeliveryPersonLocationHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for CourierLocationHistoryRecorder.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class CourierLocationHistoryRecorderTest {
+
+    @Mock
+    private DeliveryPersonLocationHistoryRepository locationHistoryRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CourierLocationHistoryRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        // Background loops are not started: flushes are driven by the tests
+        recorder = new CourierLocationHistoryRecorder(locationHistoryRepository, meterRegistry);
+        // Large batches while recording so that no background flush is triggered
+        ReflectionTestUtils.setField(recorder, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(recorder, "maxBuffered", 3);
+        ReflectionTestUtils.setField(recorder, "droppedCounter", meterRegistry.counter("dropped"));
+        ReflectionTestUtils.setField(recorder, "flushLatencyTimer", meterRegistry.timer("latency"));
+        ReflectionTestUtils.setField(recorder, "batchSizeSummary", meterRegistry.summary("batch"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldKeepEveryPingInBoundedBatches() {
+        when(locationHistoryRepository.insertAll(anyList())).thenReturn(Mono.empty());
+        UUID courier = UUID.randomUUID();
+        Instant now = Instant.now();
+        recorder.record(courier, 3.80, 11.50, now);
+        recorder.record(courier, 3.81, 11.50, now.plusSeconds(1));
+        recorder.record(courier, 3.82, 11.50, now.plusSeconds(2));
+        ReflectionTestUtils.setField(recorder, "maxBatchSize", 2);
+
+        StepVerifier.create(recorder.flush()).verifyComplete();
+
+        ArgumentCaptor<List<DeliveryPersonLocationHistory>> batches = ArgumentCaptor.forClass(List.class);
+        verify(locationHistoryRepository, times(2)).insertAll(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(batches.getAllValues().get(0).get(0).getLatitude()).isEqualTo(3.80);
+    }
+
+    @Test
+    void record_ShouldDropPingsBeyondBufferLimit() {
+        UUID courier = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            recorder.record(courier, 3.80, 11.50, Instant.now());
+        }
+
+        assertThat(meterRegistry.counter("dropped").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void flush_ShouldRequeueFailedBatch() {
+        when(locationHistoryRepository.insertAll(anyList()))
+                .thenReturn(Mono.error(new RuntimeException("connection lost")))
+                .thenReturn(Mono.empty());
+        recorder.record(UUID.randomUUID(), 3.80, 11.50, Instant.now());
+
+        StepVerifier.create(recorder.flush()).verifyComplete();
+        StepVerifier.create(recorder.flush()).verifyComplete();
+        StepVerifier.create(recorder.flush()).verifyComplete();
+
+        verify(locationHistoryRepository, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    void flush_ShouldSkipRepositoryWhenNothingPending() {
+        StepVerifier.create(recorder.flush()).verifyComplete();
+
+        verify(locationHistoryRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void maintainPartitions_ShouldHandleEachDayOnItsOwn() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        ReflectionTestUtils.setField(recorder, "partitionsAhead", 2);
+        ReflectionTestUtils.setField(recorder, "retentionDays", 7);
+        when(locationHistoryRepository.createDailyPartition(any()))
+                .thenReturn(Mono.error(new RuntimeException("rows of that day in DEFAULT")))
+                .thenReturn(Mono.empty());
+        when(locationHistoryRepository.findPartitionDays())
+                .thenReturn(Flux.just(today.minusDays(9), today.minusDays(8), today));
+        when(locationHistoryRepository.dropDailyPartition(today.minusDays(9)))
+                .thenReturn(Mono.error(new RuntimeException("lock timeout")));
+        when(locationHistoryRepository.dropDailyPartition(today.minusDays(8))).thenReturn(Mono.empty());
+
+        StepVerifier.create(recorder.maintainPartitions()).verifyComplete();
+
+        verify(locationHistoryRepository).createDailyPartition(today.plusDays(1));
+        verify(locationHistoryRepository).createDailyPartition(today.plusDays(2));
+        verify(locationHistoryRepository).dropDailyPartition(today.minusDays(8));
+        verify(locationHistoryRepository, never()).dropDailyPartition(today);
+    }
+
+    @Test
+    void startRecording_ShouldCreateTodaysPartitionBeforeRecording() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        ReflectionTestUtils.setField(recorder, "partitionsAhead", 0);
+        ReflectionTestUtils.setField(recorder, "flushIntervalMs", 60_000L);
+        when(locationHistoryRepository.createDailyPartition(today)).thenReturn(Mono.empty());
+
+        recorder.startRecording();
+        try {
+            verify(locationHistoryRepository).createDailyPartition(today);
+        } finally {
+            recorder.stopRecording();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.elasticsearch.repositories.DeliveryPersonSearchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for CourierLocationWriteBehind.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class CourierLocationWriteBehindTest {
+
+    @Mock
+    private DeliveryPersonSearchRepository deliveryPersonSearchRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CourierLocationWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        writeBehind = new CourierLocationWriteBehind(deliveryPersonSearchRepository, meterRegistry);
+        ReflectionTestUtils.setField(writeBehind, "flushIntervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(writeBehind, "maxBatchSize", 500);
+        writeBehind.startFlushing();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(writeBehind, "stopFlushing");
+    }
+
+    private static DeliveryPersonDocument ping(UUID id, double lat) {
+        return DeliveryPersonDocument.builder()
+                .id(id)
+                .location(new GeoPoint(lat, 11.5))
+                .isAvailable(true)
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldCoalescePingsOfSameCourier() {
+        when(deliveryPersonSearchRepository.bulkUpdateLocations(anyList(), anyList())).thenReturn(Mono.empty());
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        writeBehind.submit(ping(first, 3.80), true);
+        writeBehind.submit(ping(first, 3.81), false);
+        DeliveryPersonDocument latest = ping(first, 3.82);
+        writeBehind.submit(latest, false);
+        writeBehind.submit(ping(second, 3.90), false);
+
+        StepVerifier.create(writeBehind.flush()).verifyComplete();
+
+        ArgumentCaptor<List<DeliveryPersonDocument>> locationUpdates = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<DeliveryPersonDocument>> fullWrites = ArgumentCaptor.forClass(List.class);
+        verify(deliveryPersonSearchRepository, times(1))
+                .bulkUpdateLocations(locationUpdates.capture(), fullWrites.capture());
+        // The first ping asked for a full write, which survives the newer pings
+        assertThat(fullWrites.getValue()).containsExactly(latest);
+        assertThat(locationUpdates.getValue()).extracting(DeliveryPersonDocument::getId).containsExactly(second);
+        assertThat(meterRegistry.counter("courier.location.updates.superseded").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.summary("courier.location.flush.batch.size").totalAmount()).isEqualTo(2.0);
+    }
+
+    @Test
+    void flush_ShouldRequeueFailedBatch() {
+        when(deliveryPersonSearchRepository.bulkUpdateLocations(anyList(), anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("ES down")))
+                .thenReturn(Mono.empty());
+        writeBehind.submit(ping(UUID.randomUUID(), 3.80), false);
+
+        StepVerifier.create(writeBehind.flush()).verifyComplete();
+        StepVerifier.create(writeBehind.flush()).verifyComplete();
+
+        verify(deliveryPersonSearchRepository, times(2)).bulkUpdateLocations(anyList(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldKeepFailedFullWriteWhenNewerPingArrived() {
+        UUID courier = UUID.randomUUID();
+        DeliveryPersonDocument newer = ping(courier, 3.81);
+        when(deliveryPersonSearchRepository.bulkUpdateLocations(anyList(), anyList()))
+                .thenAnswer(invocation -> {
+                    // Pinged again while the full write was in flight
+                    writeBehind.submit(newer, false);
+                    return Mono.error(new IllegalStateException("ES down"));
+                })
+                .thenReturn(Mono.empty());
+        writeBehind.submit(ping(courier, 3.80), true);
+
+        StepVerifier.create(writeBehind.flush()).verifyComplete();
+        StepVerifier.create(writeBehind.flush()).verifyComplete();
+
+        ArgumentCaptor<List<DeliveryPersonDocument>> locationUpdates = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<DeliveryPersonDocument>> fullWrites = ArgumentCaptor.forClass(List.class);
+        verify(deliveryPersonSearchRepository, times(2))
+                .bulkUpdateLocations(locationUpdates.capture(), fullWrites.capture());
+        assertThat(fullWrites.getAllValues().get(1)).containsExactly(newer);
+        assertThat(locationUpdates.getAllValues().get(1)).isEmpty();
+    }
+}
@@ -0,0 +1,109 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import com.polytechnique.ticbnpick.exceptions.DeliveryPersonNotFoundException;
+import com.polytechnique.ticbnpick.models.DeliveryPerson;
+import com.polytechnique.ticbnpick.models.Logistics;
+import com.polytechnique.ticbnpick.models.Person;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsClass;
+import com.polytechnique.ticbnpick.services.logistics.LectureLogisticsService;
+import com.polytechnique.ticbnpick.services.person.LecturePersonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for CourierProfileCache.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class CourierProfileCacheTest {
+
+    @Mock
+    private LectureDeliveryPersonService lectureDeliveryPersonService;
+    @Mock
+    private LecturePersonService lecturePersonService;
+    @Mock
+    private LectureLogisticsService lectureLogisticsService;
+
+    @InjectMocks
+    private CourierProfileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 30L);
+        cache.buildCache();
+    }
+
+    private void givenCourier(UUID dpId) {
+        DeliveryPerson dp = new DeliveryPerson();
+        dp.setId(dpId);
+        dp.setPersonId(UUID.randomUUID());
+        dp.setIsActive(true);
+        Person person = new Person();
+        person.setEmail("courier@test.com");
+        Logistics bike = new Logistics();
+        bike.setLuggageMaxCapacity(20.0);
+        bike.setLogisticsClass(LogisticsClass.STANDARD);
+        Logistics van = new Logistics();
+        van.setLuggageMaxCapacity(3000.0);
+        van.setLogisticsClass(LogisticsClass.PREMIUM);
+
+        when(lectureDeliveryPersonService.findById(dpId)).thenReturn(Mono.just(dp));
+        when(lecturePersonService.findById(dp.getPersonId())).thenReturn(Mono.just(person));
+        when(lectureLogisticsService.findAllByDeliveryPersonId(dpId)).thenReturn(Flux.just(bike, van));
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndKeepMainVehicle() {
+        UUID dpId = UUID.randomUUID();
+        givenCourier(dpId);
+
+        StepVerifier.create(cache.get(dpId))
+                .expectNextMatches(profile -> profile.getLuggageMaxCapacity() == 3000.0
+                        && profile.getLogisticsClass() == LogisticsClass.PREMIUM
+                        && "courier@test.com".equals(profile.getEmail()))
+                .verifyComplete();
+        StepVerifier.create(cache.get(dpId)).expectNextCount(1).verifyComplete();
+
+        verify(lectureDeliveryPersonService, times(1)).findById(dpId);
+    }
+
+    @Test
+    void evict_ShouldReloadOnNextGet() {
+        UUID dpId = UUID.randomUUID();
+        givenCourier(dpId);
+
+        StepVerifier.create(cache.get(dpId)).expectNextCount(1).verifyComplete();
+        cache.evict(dpId);
+        StepVerifier.create(cache.get(dpId)).expectNextCount(1).verifyComplete();
+
+        verify(lectureDeliveryPersonService, times(2)).findById(dpId);
+    }
+
+    @Test
+    void get_ShouldNotCacheUnknownCourier() {
+        UUID dpId = UUID.randomUUID();
+        when(lectureDeliveryPersonService.findById(dpId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(dpId)).expectError(DeliveryPersonNotFoundException.class).verify();
+
+        assertThat(cache.isCached(dpId)).isFalse();
+    }
+}
@@ -0,0 +1,117 @@
+package com.polytechnique.ticbnpick.services.deliveryperson;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for LocationUpdateFilter.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class LocationUpdateFilterTest {
+
+    private static final UUID COURIER = UUID.randomUUID();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-16T08:00:00Z"));
+    private LocationUpdateFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new LocationUpdateFilter(meterRegistry, clock);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "minDistanceMeters", 25.0);
+        ReflectionTestUtils.setField(filter, "headingChangeDegrees", 30.0);
+        ReflectionTestUtils.setField(filter, "minHeadingDistanceMeters", 5.0);
+        ReflectionTestUtils.setField(filter, "maxSilenceSeconds", 30L);
+    }
+
+    @Test
+    void accept_ShouldSuppressParkedCourierUntilSilenceInterval() {
+        assertThat(filter.accept(COURIER, 3.84800, 11.50210)).isTrue();
+
+        clock.advance(Duration.ofSeconds(5));
+        assertThat(filter.accept(COURIER, 3.84801, 11.50211)).isFalse();
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(filter.accept(COURIER, 3.84800, 11.50209)).isFalse();
+
+        clock.advance(Duration.ofSeconds(15));
+        assertThat(filter.accept(COURIER, 3.84800, 11.50210)).isTrue();
+        assertThat(meterRegistry.get("courier.location.suppression.ratio").gauge().value())
+                .isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    void accept_ShouldKeepEveryPingOfMovingCourier() {
+        for (int i = 0; i < 10; i++) {
+            clock.advance(Duration.ofSeconds(2));
+            // About 33 m north every ping
+            assertThat(filter.accept(COURIER, 3.8480 + i * 0.0003, 11.5021)).isTrue();
+        }
+    }
+
+    @Test
+    void accept_ShouldAcceptTurnBelowDistanceThreshold() {
+        filter.accept(COURIER, 3.84800, 11.50210);
+        // About 33 m north sets the heading
+        assertThat(filter.accept(COURIER, 3.84830, 11.50210)).isTrue();
+        // About 11 m further north, same heading
+        assertThat(filter.accept(COURIER, 3.84840, 11.50210)).isFalse();
+        // About 11 m east of the last accepted fix, a 90 degree turn
+        assertThat(filter.accept(COURIER, 3.84830, 11.50220)).isTrue();
+    }
+
+    @Test
+    void reset_ShouldLetNextPingThrough() {
+        filter.accept(COURIER, 3.84800, 11.50210);
+        filter.reset(COURIER);
+
+        assertThat(filter.accept(COURIER, 3.84800, 11.50210)).isTrue();
+    }
+
+    @Test
+    void angleBetween_ShouldWrapAround() {
+        assertThat(LocationUpdateFilter.angleBetween(350.0, 10.0)).isCloseTo(20.0, within(1e-9));
+        assertThat(LocationUpdateFilter.bearingDegrees(0.0, 0.0, 0.0, 1.0)).isCloseTo(90.0, within(1e-9));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
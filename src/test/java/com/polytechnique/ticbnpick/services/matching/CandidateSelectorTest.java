@@ -0,0 +1,109 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.models.enums.delivery.DeliveryUrgency;
+import com.polytechnique.ticbnpick.services.matching.EllipseMatcher.EllipseMatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for CandidateSelector.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class CandidateSelectorTest {
+
+    @Mock
+    private CandidateScorer candidateScorer;
+    @Mock
+    private ScoringProfiles scoringProfiles;
+
+    @InjectMocks
+    private CandidateSelector candidateSelector;
+
+    private static DeliveryPersonDocument courier() {
+        return DeliveryPersonDocument.builder().id(UUID.randomUUID()).build();
+    }
+
+    private static ScoringProfile topK(int k) {
+        return ScoringProfile.builder().topK(k).detourWeight(1.0).build();
+    }
+
+    private static EllipseMatch match(List<DeliveryPersonDocument> candidates, double... excesses) {
+        return new EllipseMatch(1.5, 10.0, candidates, excesses);
+    }
+
+    @Test
+    void select_ShouldKeepBestKByScoreForTheAnnouncementUrgency() {
+        DeliveryPersonDocument first = courier();
+        DeliveryPersonDocument second = courier();
+        DeliveryPersonDocument third = courier();
+        AnnouncementDocument announcement = AnnouncementDocument.builder().urgency(DeliveryUrgency.EXPRESS).build();
+        ScoringProfile profile = topK(2);
+        when(scoringProfiles.forUrgency(DeliveryUrgency.EXPRESS)).thenReturn(profile);
+        when(candidateScorer.score(first, 0.1, announcement, profile)).thenReturn(0.5);
+        when(candidateScorer.score(second, 0.4, announcement, profile)).thenReturn(2.0);
+        when(candidateScorer.score(third, 0.9, announcement, profile)).thenReturn(1.0);
+
+        List<DeliveryPersonDocument> selected = candidateSelector.select(announcement,
+                match(List.of(first, second, third), 0.1, 0.4, 0.9));
+
+        assertThat(selected).containsExactly(second, third);
+    }
+
+    @Test
+    void select_ShouldSkipScoringWhenWithinK() {
+        List<DeliveryPersonDocument> candidates = List.of(courier(), courier());
+        when(scoringProfiles.forUrgency(any())).thenReturn(topK(2));
+
+        List<DeliveryPersonDocument> selected = candidateSelector.select(new AnnouncementDocument(),
+                match(candidates, 0.1, 0.2));
+
+        assertThat(selected).isEqualTo(candidates);
+        verify(candidateScorer, never()).score(any(), anyDouble(), any(), any());
+    }
+
+    @Test
+    void select_ShouldNotifyEveryCandidateWhenKIsNotPositive() {
+        List<DeliveryPersonDocument> candidates = List.of(courier(), courier(), courier());
+        when(scoringProfiles.forUrgency(any())).thenReturn(topK(0));
+
+        List<DeliveryPersonDocument> selected = candidateSelector.select(new AnnouncementDocument(),
+                match(candidates, 0.1, 0.2, 0.3));
+
+        assertThat(selected).isEqualTo(candidates);
+        verify(candidateScorer, never()).score(any(), anyDouble(), any(), any());
+    }
+
+    @Test
+    void select_ShouldPreferCloserCandidateOnEqualScores() {
+        DeliveryPersonDocument closest = courier();
+        DeliveryPersonDocument farther = courier();
+        DeliveryPersonDocument farthest = courier();
+        when(scoringProfiles.forUrgency(any())).thenReturn(topK(1));
+        when(candidateScorer.score(any(), anyDouble(), any(), any())).thenReturn(1.0);
+
+        List<DeliveryPersonDocument> selected = candidateSelector.select(new AnnouncementDocument(),
+                match(List.of(closest, farther, farthest), 0.1, 0.2, 0.3));
+
+        assertThat(selected).containsExactly(closest);
+        verify(candidateScorer).score(eq(farthest), eq(0.3), any(), any());
+    }
+}
@@ -0,0 +1,120 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.dtos.packet.PacketDTO;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for CourierSpatialIndex.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class CourierSpatialIndexTest {
+
+    private final CourierSpatialIndex index = new CourierSpatialIndex();
+
+    private static DeliveryPersonDocument courier(double lat, double lon) {
+        return DeliveryPersonDocument.builder()
+                .id(UUID.randomUUID())
+                .location(new GeoPoint(lat, lon))
+                .isActive(true)
+                .isAvailable(true)
+                .build();
+    }
+
+    @Test
+    void findWithinRadius_ShouldReturnOnlyCouriersInsideRadius() {
+        DeliveryPersonDocument near = courier(3.8480, 11.5021);
+        DeliveryPersonDocument far = courier(4.0511, 9.7679);
+        index.upsert(near);
+        index.upsert(far);
+
+        List<DeliveryPersonDocument> result = index.findWithinRadius(3.8500, 11.5000, 2.0);
+
+        assertThat(result).containsExactly(near);
+    }
+
+    @Test
+    void upsert_ShouldMoveCourierAcrossCells() {
+        DeliveryPersonDocument doc = courier(3.8480, 11.5021);
+        index.upsert(doc);
+
+        DeliveryPersonDocument moved = courier(4.0511, 9.7679);
+        moved.setId(doc.getId());
+        index.upsert(moved);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findWithinRadius(3.8480, 11.5021, 1.0)).isEmpty();
+        assertThat(index.findWithinRadius(4.0511, 9.7679, 1.0)).containsExactly(moved);
+    }
+
+    @Test
+    void upsert_ShouldDropUnavailableCourier() {
+        DeliveryPersonDocument doc = courier(3.8480, 11.5021);
+        DeliveryPersonDocument other = courier(3.8490, 11.5031);
+        index.upsert(doc);
+        index.upsert(other);
+
+        doc.setIsAvailable(false);
+        index.upsert(doc);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findWithinRadius(3.8480, 11.5021, 5.0)).containsExactly(other);
+    }
+
+    @Test
+    void warmUp_ShouldKeepFresherLiveUpdates() {
+        DeliveryPersonDocument live = courier(3.8480, 11.5021);
+        index.upsert(live);
+
+        DeliveryPersonDocument stale = courier(4.0511, 9.7679);
+        stale.setId(live.getId());
+        index.warmUp(List.of(stale, courier(4.0500, 9.7600)));
+
+        assertThat(index.isWarm()).isTrue();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findWithinRadius(3.8480, 11.5021, 1.0)).containsExactly(live);
+    }
+
+    @Test
+    void findWithinRadius_ShouldHandleLargeRadiusOverSparseFleet() {
+        for (int i = 0; i < 50; i++) {
+            index.upsert(courier(3.0 + i * 0.05, 11.0 + i * 0.05));
+        }
+
+        assertThat(index.findWithinRadius(4.0, 12.0, 500.0)).hasSize(50);
+    }
+
+    @Test
+    void findWithinRadius_ShouldSkipVehiclesThatCannotCarryPacket() {
+        DeliveryPersonDocument bike = courier(3.8480, 11.5021);
+        bike.setLuggageMaxCapacity(20.0);
+        DeliveryPersonDocument van = courier(3.8481, 11.5022);
+        van.setLuggageMaxCapacity(3000.0);
+        DeliveryPersonDocument damagedVan = courier(3.8482, 11.5023);
+        damagedVan.setLuggageMaxCapacity(3000.0);
+        damagedVan.setLogisticsClass(LogisticsClass.DAMAGED);
+        DeliveryPersonDocument unknown = courier(3.8483, 11.5024);
+        index.upsert(bike);
+        index.upsert(van);
+        index.upsert(damagedVan);
+        index.upsert(unknown);
+
+        PacketDTO packet = new PacketDTO();
+        packet.setWidth(60.0);
+        packet.setLength(50.0);
+        packet.setThickness(40.0);
+        packet.setFragile(true);
+
+        assertThat(index.findWithinRadius(3.8480, 11.5021, 1.0, PacketRequirement.of(packet)))
+                .containsExactlyInAnyOrder(van, unknown);
+    }
+}
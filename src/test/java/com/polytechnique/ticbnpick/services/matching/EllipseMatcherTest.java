@@ -0,0 +1,108 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.services.matching.EllipseMatcher.EllipseMatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for EllipseMatcher, checked against the step-by-step delta expansion
+ * it replaces.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class EllipseMatcherTest {
+
+    private static final GeoPoint PICKUP = new GeoPoint(3.8480, 11.5021);
+    private static final GeoPoint DELIVERY = new GeoPoint(3.8700, 11.5200);
+
+    private static DeliveryPersonDocument courier(double lat, double lon) {
+        return DeliveryPersonDocument.builder()
+                .id(UUID.randomUUID())
+                .location(new GeoPoint(lat, lon))
+                .isActive(true)
+                .isAvailable(true)
+                .build();
+    }
+
+    /**
+     * Reference implementation: the former recursive expansion.
+     */
+    private static List<DeliveryPersonDocument> legacyMatch(List<DeliveryPersonDocument> fleet, GeoPoint f1,
+            GeoPoint f2) {
+        double distF1F2 = GeoDistance.haversineKm(f1.getLat(), f1.getLon(), f2.getLat(), f2.getLon());
+        for (double delta = EllipseMatcher.INITIAL_DELTA_KM; ; delta += EllipseMatcher.DELTA_INCREMENT_KM) {
+            double dMax = distF1F2 + (2 * delta);
+            List<DeliveryPersonDocument> eligible = new ArrayList<>();
+            for (DeliveryPersonDocument candidate : fleet) {
+                double lat = candidate.getLocation().getLat();
+                double lon = candidate.getLocation().getLon();
+                if (GeoDistance.haversineKm(lat, lon, f1.getLat(), f1.getLon()) > dMax) {
+                    continue; // outside the Elasticsearch radius
+                }
+                if (GeoDistance.haversineKm(lat, lon, f1.getLat(), f1.getLon())
+                        + GeoDistance.haversineKm(lat, lon, f2.getLat(), f2.getLon()) <= dMax) {
+                    eligible.add(candidate);
+                }
+            }
+            if (!eligible.isEmpty() || delta >= EllipseMatcher.MAX_DELTA_KM) {
+                return eligible;
+            }
+        }
+    }
+
+    @Test
+    void match_ShouldAgreeWithDeltaExpansion() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<DeliveryPersonDocument> fleet = new ArrayList<>();
+            int fleetSize = random.nextInt(40);
+            double spread = round % 2 == 0 ? 0.2 : 1.5;
+            for (int i = 0; i < fleetSize; i++) {
+                fleet.add(courier(3.8 + (random.nextDouble() - 0.5) * spread,
+                        11.5 + (random.nextDouble() - 0.5) * spread));
+            }
+
+            List<DeliveryPersonDocument> expected = legacyMatch(fleet, PICKUP, DELIVERY);
+            Optional<EllipseMatch> actual = EllipseMatcher.match(fleet, PICKUP, DELIVERY);
+
+            if (expected.isEmpty()) {
+                assertThat(actual).isEmpty();
+            } else {
+                assertThat(actual).isPresent();
+                assertThat(new HashSet<>(actual.get().getCandidates())).isEqualTo(new HashSet<>(expected));
+            }
+        }
+    }
+
+    @Test
+    void match_ShouldOrderCandidatesByExcess() {
+        DeliveryPersonDocument onSegment = courier(3.8590, 11.5110);
+        DeliveryPersonDocument aside = courier(3.8600, 11.5000);
+        DeliveryPersonDocument farAside = courier(3.8650, 11.4900);
+
+        EllipseMatch match = EllipseMatcher.match(List.of(farAside, aside, onSegment), PICKUP, DELIVERY)
+                .orElseThrow();
+
+        assertThat(match.getDelta()).isEqualTo(EllipseMatcher.INITIAL_DELTA_KM);
+        assertThat(match.getCandidates()).containsExactly(onSegment, aside, farAside);
+        assertThat(match.getExcesses()).isSorted();
+    }
+
+    @Test
+    void match_ShouldReturnEmptyBeyondMaxDelta() {
+        DeliveryPersonDocument tooFar = courier(10.0, 20.0);
+
+        assertThat(EllipseMatcher.match(List.of(tooFar), PICKUP, DELIVERY)).isEmpty();
+    }
+}
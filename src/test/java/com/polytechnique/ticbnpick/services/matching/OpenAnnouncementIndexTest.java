@@ -0,0 +1,202 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for OpenAnnouncementIndex.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class OpenAnnouncementIndexTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-16T08:00:00Z"));
+    private final OpenAnnouncementIndex index = new OpenAnnouncementIndex(clock);
+
+    private Instant expiresAt() {
+        return clock.instant().plus(TTL);
+    }
+
+    private static AnnouncementDocument announcement() {
+        // Yaoundé center to Mvan, about 6 km
+        return AnnouncementDocument.builder()
+                .id(UUID.randomUUID())
+                .pickupLocation(new GeoPoint(3.8667, 11.5167))
+                .deliveryLocation(new GeoPoint(3.8200, 11.5300))
+                .build();
+    }
+
+    private static DeliveryPersonDocument courier(double lat, double lon) {
+        return DeliveryPersonDocument.builder()
+                .id(UUID.randomUUID())
+                .location(new GeoPoint(lat, lon))
+                .isActive(true)
+                .isAvailable(true)
+                .build();
+    }
+
+    /**
+     * Finds the matches of a courier and records them as claimed, as a node
+     * winning every shared claim would.
+     */
+    private List<AnnouncementDocument> claim(DeliveryPersonDocument courier) {
+        List<OpenAnnouncementIndex.Match> matches = index.findMatches(courier);
+        matches.forEach(match -> index.recordClaim(match.announcement().getId(), courier.getId(), match.delta()));
+        return matches.stream().map(OpenAnnouncementIndex.Match::announcement).toList();
+    }
+
+    @Test
+    void findMatches_ShouldNotRecordAnythingUntilClaimed() {
+        AnnouncementDocument announcement = announcement();
+        index.register(announcement, null, List.of(UUID.randomUUID()), 3, expiresAt());
+        DeliveryPersonDocument courier = courier(3.8500, 11.5200);
+
+        assertThat(index.findMatches(courier)).singleElement().satisfies(match -> {
+            assertThat(match.announcement()).isSameAs(announcement);
+            assertThat(match.delta()).isEqualTo(EllipseMatcher.INITIAL_DELTA_KM);
+            assertThat(match.cap()).isEqualTo(2);
+        });
+        assertThat(index.findMatches(courier)).hasSize(1);
+    }
+
+    @Test
+    void recordClaim_ShouldSkipCourierClaimedByAnotherNode() {
+        AnnouncementDocument announcement = announcement();
+        index.register(announcement, null, List.of(), 0, expiresAt());
+        DeliveryPersonDocument courier = courier(3.8500, 11.5200);
+
+        index.recordClaim(announcement.getId(), courier.getId(), null);
+
+        assertThat(index.findMatches(courier)).isEmpty();
+        // No delta was fixed here, a farther courier is still a candidate
+        assertThat(index.findMatches(courier(3.8500, 11.7000))).hasSize(1);
+    }
+
+    @Test
+    void findMatches_ShouldMatchCourierInsideCorridorOnlyOnce() {
+        AnnouncementDocument announcement = announcement();
+        index.register(announcement, null, List.of(), 0, expiresAt());
+        DeliveryPersonDocument courier = courier(3.8500, 11.5200);
+
+        assertThat(claim(courier)).containsExactly(announcement);
+        assertThat(claim(courier)).isEmpty();
+    }
+
+    @Test
+    void findMatches_ShouldKeepForwardMatchingDelta() {
+        AnnouncementDocument announcement = announcement();
+        index.register(announcement, EllipseMatcher.INITIAL_DELTA_KM, List.of(), 0, expiresAt());
+
+        // About 20 km off the route: inside the 50 km ellipse, outside the 1.5 km one
+        assertThat(claim(courier(3.8500, 11.7000))).isEmpty();
+        assertThat(claim(courier(3.8500, 11.5200))).containsExactly(announcement);
+    }
+
+    @Test
+    void findMatches_ShouldFixDeltaWithFirstCourierWhenUnmatched() {
+        AnnouncementDocument announcement = announcement();
+        index.register(announcement, null, List.of(), 0, expiresAt());
+
+        assertThat(claim(courier(3.8500, 11.5200))).containsExactly(announcement);
+        // The first courier settled the delta at the initial step, a farther one is out
+        assertThat(claim(courier(3.8500, 11.7000))).isEmpty();
+        assertThat(claim(courier(3.8510, 11.5210))).containsExactly(announcement);
+    }
+
+    @Test
+    void register_ShouldIgnoreExpiredAnnouncement() {
+        index.register(announcement(), null, List.of(), 0, clock.instant().minusSeconds(1));
+
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void findMatches_ShouldIgnoreCourierOutsideCorridor() {
+        index.register(announcement(), null, List.of(), 0, expiresAt());
+
+        // Douala, about 200 km away
+        assertThat(claim(courier(4.0511, 9.7679))).isEmpty();
+    }
+
+    @Test
+    void findMatches_ShouldCloseAnnouncementOnceCapReached() {
+        AnnouncementDocument announcement = announcement();
+        index.register(announcement, null, List.of(UUID.randomUUID()), 2, expiresAt());
+
+        assertThat(claim(courier(3.8500, 11.5200))).containsExactly(announcement);
+        assertThat(index.size()).isZero();
+        assertThat(claim(courier(3.8510, 11.5210))).isEmpty();
+    }
+
+    @Test
+    void findMatches_ShouldSkipNotifiedAndUnavailableCouriers() {
+        DeliveryPersonDocument notified = courier(3.8500, 11.5200);
+        index.register(announcement(), null, List.of(notified.getId()), 0, expiresAt());
+        DeliveryPersonDocument unavailable = courier(3.8500, 11.5200);
+        unavailable.setIsAvailable(false);
+
+        assertThat(claim(notified)).isEmpty();
+        assertThat(claim(unavailable)).isEmpty();
+    }
+
+    @Test
+    void evictExpired_ShouldDropAnnouncementsPastTtl() {
+        index.register(announcement(), null, List.of(), 0, expiresAt());
+        clock.advance(TTL.plusSeconds(1));
+
+        assertThat(index.evictExpired()).isEqualTo(1);
+        assertThat(claim(courier(3.8500, 11.5200))).isEmpty();
+    }
+
+    @Test
+    void remove_ShouldCloseAnnouncement() {
+        AnnouncementDocument announcement = announcement();
+        index.register(announcement, null, List.of(), 0, expiresAt());
+        index.remove(announcement.getId());
+
+        assertThat(index.size()).isZero();
+        assertThat(claim(courier(3.8500, 11.5200))).isEmpty();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
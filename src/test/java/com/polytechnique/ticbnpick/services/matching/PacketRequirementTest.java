@@ -0,0 +1,71 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.dtos.packet.PacketDTO;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for PacketRequirement.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class PacketRequirementTest {
+
+    private static PacketDTO packet(Double width, Double length, Double thickness, boolean fragile) {
+        PacketDTO packet = new PacketDTO();
+        packet.setWidth(width);
+        packet.setLength(length);
+        packet.setThickness(thickness);
+        packet.setFragile(fragile);
+        return packet;
+    }
+
+    private static DeliveryPersonDocument courier(Double capacity, LogisticsClass logisticsClass) {
+        return DeliveryPersonDocument.builder()
+                .luggageMaxCapacity(capacity)
+                .logisticsClass(logisticsClass)
+                .build();
+    }
+
+    @Test
+    void of_ShouldComputeVolumeInLiters() {
+        PacketRequirement requirement = PacketRequirement.of(packet(50.0, 40.0, 30.0, false));
+
+        assertThat(requirement.getMinLuggageCapacity()).isEqualTo(60.0);
+        assertThat(requirement.accepts(courier(60.0, LogisticsClass.STANDARD))).isTrue();
+        assertThat(requirement.accepts(courier(59.0, LogisticsClass.STANDARD))).isFalse();
+        assertThat(requirement.accepts(courier(null, null))).isTrue();
+    }
+
+    @Test
+    void of_ShouldBeUnconstrainedWithoutDimensions() {
+        assertThat(PacketRequirement.of(null).isUnconstrained()).isTrue();
+        assertThat(PacketRequirement.of(packet(50.0, null, 30.0, false)).isUnconstrained()).isTrue();
+    }
+
+    @Test
+    void accepts_ShouldRejectDamagedVehicleForFragilePacket() {
+        PacketRequirement requirement = PacketRequirement.of(packet(null, null, null, true));
+
+        assertThat(requirement.accepts(courier(100.0, LogisticsClass.DAMAGED))).isFalse();
+        assertThat(requirement.accepts(courier(100.0, LogisticsClass.PREMIUM))).isTrue();
+    }
+
+    @Test
+    void loosest_ShouldKeepSmallestCapacityAndCommonFragility() {
+        PacketRequirement loosest = PacketRequirement.loosest(List.of(
+                PacketRequirement.of(packet(50.0, 40.0, 30.0, true)),
+                PacketRequirement.of(packet(10.0, 10.0, 10.0, false))));
+
+        assertThat(loosest.getMinLuggageCapacity()).isEqualTo(1.0);
+        assertThat(loosest.isFragile()).isFalse();
+        assertThat(PacketRequirement.loosest(List.of(PacketRequirement.NONE,
+                PacketRequirement.of(packet(50.0, 40.0, 30.0, false)))).isUnconstrained()).isTrue();
+    }
+}
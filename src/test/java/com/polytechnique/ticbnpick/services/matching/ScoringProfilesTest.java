@@ -0,0 +1,72 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.models.enums.delivery.DeliveryUrgency;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for ScoringProfiles.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class ScoringProfilesTest {
+
+    @Test
+    void forUrgency_ShouldUseDefaultsWithoutProperties() {
+        ScoringProfiles profiles = new ScoringProfiles(new MockEnvironment());
+
+        ScoringProfile normal = profiles.forUrgency(DeliveryUrgency.NORMAL);
+        assertThat(normal.getTopK()).isEqualTo(10);
+        assertThat(normal.getDetourWeight()).isEqualTo(1.0);
+        assertThat(normal.getRatingWeight()).isEqualTo(1.0);
+        assertThat(normal.getCapacityWeight()).isEqualTo(0.5);
+        assertThat(normal.getFailedDeliveriesWeight()).isEqualTo(1.0);
+        assertThat(normal.getVehicleWeight()).isEqualTo(0.5);
+
+        ScoringProfile express = profiles.forUrgency(DeliveryUrgency.EXPRESS);
+        assertThat(express.getTopK()).isEqualTo(5);
+        assertThat(express.getDetourWeight()).isEqualTo(2.0);
+        assertThat(express.getRatingWeight()).isEqualTo(0.5);
+        assertThat(express.getCapacityWeight()).isEqualTo(0.25);
+        assertThat(express.getFailedDeliveriesWeight()).isEqualTo(1.0);
+        assertThat(express.getVehicleWeight()).isEqualTo(1.0);
+
+        assertThat(profiles.forUrgency(DeliveryUrgency.STANDARD).getTopK()).isEqualTo(10);
+    }
+
+    @Test
+    void forUrgency_ShouldBindEachUrgencyToItsOwnProperties() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("matching.scoring.standard.top-k", "7")
+                .withProperty("matching.scoring.standard.weight.rating", "3.0")
+                .withProperty("matching.scoring.express.top-k", "0")
+                .withProperty("matching.scoring.express.weight.detour", "4.0");
+
+        ScoringProfiles profiles = new ScoringProfiles(environment);
+
+        ScoringProfile standard = profiles.forUrgency(DeliveryUrgency.STANDARD);
+        assertThat(standard.getTopK()).isEqualTo(7);
+        assertThat(standard.getRatingWeight()).isEqualTo(3.0);
+        assertThat(standard.getDetourWeight()).isEqualTo(1.0);
+
+        ScoringProfile express = profiles.forUrgency(DeliveryUrgency.EXPRESS);
+        assertThat(express.getTopK()).isZero();
+        assertThat(express.getDetourWeight()).isEqualTo(4.0);
+
+        ScoringProfile normal = profiles.forUrgency(DeliveryUrgency.NORMAL);
+        assertThat(normal.getTopK()).isEqualTo(10);
+        assertThat(normal.getRatingWeight()).isEqualTo(1.0);
+    }
+
+    @Test
+    void forUrgency_ShouldUseNormalProfileWithoutUrgency() {
+        ScoringProfiles profiles = new ScoringProfiles(new MockEnvironment()
+                .withProperty("matching.scoring.normal.top-k", "3"));
+
+        assertThat(profiles.forUrgency(null)).isSameAs(profiles.forUrgency(DeliveryUrgency.NORMAL));
+        assertThat(profiles.forUrgency(null).getTopK()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,72 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for TopKSelector.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class TopKSelectorTest {
+
+    @Test
+    void drainDescending_ShouldReturnBestScoresFirst() {
+        TopKSelector selector = new TopKSelector(3);
+        double[] scores = {0.2, 5.0, -1.0, 3.0, 4.0, 0.0};
+        for (int i = 0; i < scores.length; i++) {
+            selector.offer(i, scores[i]);
+        }
+
+        assertThat(selector.drainDescending()).containsExactly(1, 4, 3);
+        assertThat(selector.size()).isZero();
+    }
+
+    @Test
+    void drainDescending_ShouldPreferLowerIndexOnTies() {
+        TopKSelector selector = new TopKSelector(2);
+        selector.offer(0, 1.0);
+        selector.offer(1, 1.0);
+        selector.offer(2, 1.0);
+
+        assertThat(selector.drainDescending()).containsExactly(0, 1);
+    }
+
+    @Test
+    void drainDescending_ShouldReturnAllWhenFewerThanK() {
+        TopKSelector selector = new TopKSelector(10);
+        selector.offer(0, 1.0);
+        selector.offer(1, 2.0);
+
+        assertThat(selector.drainDescending()).containsExactly(1, 0);
+    }
+
+    @Test
+    void drainDescending_ShouldMatchFullSort() {
+        Random random = new Random(42);
+        double[] scores = random.doubles(5000, -10, 10).toArray();
+        TopKSelector selector = new TopKSelector(25);
+        for (int i = 0; i < scores.length; i++) {
+            selector.offer(i, scores[i]);
+        }
+
+        int[] expected = IntStream.range(0, scores.length).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).reversed())
+                .limit(25)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        assertThat(selector.drainDescending()).containsExactly(expected);
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveK() {
+        assertThatThrownBy(() -> new TopKSelector(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
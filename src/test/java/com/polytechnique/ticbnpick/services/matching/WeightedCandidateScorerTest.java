@@ -0,0 +1,94 @@
+package com.polytechnique.ticbnpick.services.matching;
+
+import com.polytechnique.ticbnpick.elasticsearch.models.AnnouncementDocument;
+import com.polytechnique.ticbnpick.elasticsearch.models.DeliveryPersonDocument;
+import com.polytechnique.ticbnpick.models.enums.logistics.LogisticsType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for WeightedCandidateScorer.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class WeightedCandidateScorerTest {
+
+    private static final ScoringProfile UNIT_WEIGHTS = ScoringProfile.builder()
+            .topK(10)
+            .detourWeight(1.0)
+            .ratingWeight(1.0)
+            .capacityWeight(1.0)
+            .failedDeliveriesWeight(1.0)
+            .vehicleWeight(1.0)
+            .build();
+
+    private final WeightedCandidateScorer scorer = new WeightedCandidateScorer();
+    private final AnnouncementDocument announcement = new AnnouncementDocument();
+
+    @Test
+    void score_ShouldBeNeutralForUnknownValues() {
+        DeliveryPersonDocument unknown = new DeliveryPersonDocument();
+
+        // Rating 0.5, no capacity, vehicle 0.5, no failures
+        assertThat(scorer.score(unknown, 0.0, announcement, UNIT_WEIGHTS)).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void score_ShouldNormalizeEachTerm() {
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder()
+                .rating(4.0)
+                .luggageMaxCapacity(50.0)
+                .failedDeliveries(0)
+                .logisticsType(LogisticsType.MOTORBIKE)
+                .build();
+
+        // 4/5 rating + 50/(50+50) capacity + motorbike speed
+        assertThat(scorer.score(courier, 0.0, announcement, UNIT_WEIGHTS)).isCloseTo(0.8 + 0.5 + 1.0, within(1e-9));
+    }
+
+    @Test
+    void score_ShouldPenalizeDetourPerKilometerAndFailures() {
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder()
+                .rating(5.0)
+                .failedDeliveries(3)
+                .logisticsType(LogisticsType.TRUCK)
+                .build();
+
+        double score = scorer.score(courier, 2.5, announcement, UNIT_WEIGHTS);
+
+        assertThat(score).isCloseTo(-2.5 + 1.0 + 0.2 - Math.log1p(3), within(1e-9));
+    }
+
+    @Test
+    void score_ShouldApplyProfileWeights() {
+        ScoringProfile detourOnly = ScoringProfile.builder().topK(10).detourWeight(2.0).build();
+        DeliveryPersonDocument courier = DeliveryPersonDocument.builder()
+                .rating(5.0)
+                .luggageMaxCapacity(3000.0)
+                .failedDeliveries(10)
+                .logisticsType(LogisticsType.MOTORBIKE)
+                .build();
+
+        assertThat(scorer.score(courier, 1.5, announcement, detourOnly)).isCloseTo(-3.0, within(1e-9));
+    }
+
+    @Test
+    void score_ShouldRankCloseReliableCourierFirst() {
+        DeliveryPersonDocument close = DeliveryPersonDocument.builder()
+                .rating(4.5)
+                .failedDeliveries(0)
+                .logisticsType(LogisticsType.BIKE)
+                .build();
+        DeliveryPersonDocument far = DeliveryPersonDocument.builder()
+                .rating(4.5)
+                .failedDeliveries(4)
+                .logisticsType(LogisticsType.BIKE)
+                .build();
+
+        assertThat(scorer.score(close, 0.2, announcement, UNIT_WEIGHTS))
+                .isGreaterThan(scorer.score(far, 1.8, announcement, UNIT_WEIGHTS));
+    }
+}
@@ -0,0 +1,93 @@
+package com.polytechnique.ticbnpick.services.push;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for HttpPushProvider against a local HTTP stand-in of the provider.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class HttpPushProviderTest {
+
+    private HttpServer server;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicReference<String> responseBody = new AtomicReference<>();
+    private final AtomicReference<String> requestBody = new AtomicReference<>();
+    private final AtomicReference<String> authorization = new AtomicReference<>();
+    private HttpPushProvider provider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/send", exchange -> {
+            requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            byte[] body = responseBody.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status.get(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        provider = new HttpPushProvider(WebClient.builder(),
+                "http://localhost:" + server.getAddress().getPort() + "/send", "secret", 500, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void send_ShouldMapEachTokenOutcome() {
+        responseBody.set("{\"results\":[{\"error\":null},{\"error\":\"UNREGISTERED\"},{\"error\":\"UNAVAILABLE\"}]}");
+
+        StepVerifier.create(provider.send(new PushMessage("Nouvelle course", "Une course correspond"),
+                        List.of("t1", "t2", "t3")))
+                .assertNext(result -> {
+                    assertThat(result.delivered()).isEqualTo(1);
+                    assertThat(result.invalidTokens()).containsExactly("t2");
+                    assertThat(result.failedTokens()).containsExactly("t3");
+                })
+                .verifyComplete();
+
+        assertThat(requestBody.get()).contains("\"tokens\":[\"t1\",\"t2\",\"t3\"]")
+                .contains("\"title\":\"Nouvelle course\"");
+        assertThat(authorization.get()).isEqualTo("Bearer secret");
+    }
+
+    @Test
+    void send_ShouldOnlyRetryServerErrors() {
+        responseBody.set("{}");
+        status.set(503);
+        StepVerifier.create(provider.send(new PushMessage("t", "b"), List.of("t1")))
+                .expectErrorSatisfies(e -> assertThat(provider.isRetryable(e)).isTrue())
+                .verify();
+
+        status.set(401);
+        StepVerifier.create(provider.send(new PushMessage("t", "b"), List.of("t1")))
+                .expectErrorSatisfies(e -> {
+                    assertThat(e).isInstanceOf(WebClientResponseException.class);
+                    assertThat(provider.isRetryable(e)).isFalse();
+                })
+                .verify();
+    }
+}
@@ -0,0 +1,171 @@
+package com.polytechnique.ticbnpick.services.support;
+
+import com.polytechnique.ticbnpick.events.NotificationReceiptEvent;
+import com.polytechnique.ticbnpick.models.EmailOutboxMessage;
+import com.polytechnique.ticbnpick.models.enums.notification.NotificationStatus;
+import com.polytechnique.ticbnpick.repositories.EmailOutboxJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for EmailOutboxDispatcher.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxJdbcRepository emailOutboxJdbcRepository;
+
+    @Mock
+    private Transport transport;
+
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    private int connections;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailOutboxDispatcher(emailOutboxJdbcRepository, new JavaMailSenderImpl(),
+                kafkaEventPublisher, new SimpleMeterRegistry()) {
+            @Override
+            Transport connect() {
+                connections++;
+                return transport;
+            }
+        };
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 20);
+        ReflectionTestUtils.setField(dispatcher, "messagesPerSession", 100);
+        ReflectionTestUtils.setField(dispatcher, "sessionIdleSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(dispatcher, "from", "noreply@ticbnpick.com");
+        dispatcher.registerMetrics();
+    }
+
+    private static EmailOutboxMessage email(int attempts) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setId(UUID.randomUUID());
+        message.setRecipient("courier@ticbnpick.com");
+        message.setSubject("Nouvelle course disponible !");
+        message.setBody("Une course correspond à votre position.");
+        message.setAttempts(attempts);
+        message.setNotificationId(UUID.randomUUID());
+        return message;
+    }
+
+    @Test
+    void drainOnce_ShouldSendBatchOverOneSession() throws MessagingException {
+        List<EmailOutboxMessage> batch = List.of(email(1), email(1), email(1));
+        when(emailOutboxJdbcRepository.claimDue(eq(20), any(Duration.class))).thenReturn(batch);
+        when(transport.isConnected()).thenReturn(true);
+
+        int processed = dispatcher.new Worker().drainOnce();
+
+        assertThat(processed).isEqualTo(3);
+        assertThat(connections).isEqualTo(1);
+        verify(transport, times(3)).sendMessage(any(MimeMessage.class), any(Address[].class));
+        batch.forEach(message -> verify(emailOutboxJdbcRepository).markSent(message.getId()));
+        ArgumentCaptor<NotificationReceiptEvent> receipts = ArgumentCaptor.forClass(NotificationReceiptEvent.class);
+        verify(kafkaEventPublisher, times(3)).publishNotificationReceipt(receipts.capture());
+        assertThat(receipts.getAllValues()).extracting(NotificationReceiptEvent::getNotificationId)
+                .containsExactlyElementsOf(batch.stream().map(EmailOutboxMessage::getNotificationId).toList());
+        assertThat(receipts.getAllValues()).extracting(NotificationReceiptEvent::getStatus)
+                .containsOnly(NotificationStatus.SENT);
+    }
+
+    @Test
+    void drainOnce_ShouldRescheduleWithBackoffAndReconnect() throws MessagingException {
+        EmailOutboxMessage failing = email(2);
+        EmailOutboxMessage next = email(1);
+        when(emailOutboxJdbcRepository.claimDue(anyInt(), any(Duration.class))).thenReturn(List.of(failing, next));
+        doThrow(new MessagingException("connection reset"))
+                .doNothing()
+                .when(transport).sendMessage(any(MimeMessage.class), any(Address[].class));
+
+        dispatcher.new Worker().drainOnce();
+
+        verify(emailOutboxJdbcRepository).markForRetry(eq(failing.getId()), eq(Duration.ofSeconds(60)),
+                anyString());
+        verify(emailOutboxJdbcRepository).markSent(next.getId());
+        assertThat(connections).isEqualTo(2);
+        // Still to be retried: only the sent email is reported
+        ArgumentCaptor<NotificationReceiptEvent> receipt = ArgumentCaptor.forClass(NotificationReceiptEvent.class);
+        verify(kafkaEventPublisher).publishNotificationReceipt(receipt.capture());
+        assertThat(receipt.getValue().getNotificationId()).isEqualTo(next.getNotificationId());
+    }
+
+    @Test
+    void drainOnce_ShouldGiveUpOnRejectedRecipientOrLastAttempt() throws MessagingException {
+        EmailOutboxMessage rejected = email(1);
+        EmailOutboxMessage exhausted = email(3);
+        when(emailOutboxJdbcRepository.claimDue(anyInt(), any(Duration.class)))
+                .thenReturn(List.of(rejected, exhausted));
+        when(transport.isConnected()).thenReturn(true);
+        doThrow(new SendFailedException("550 no such user"))
+                .doThrow(new MessagingException("timeout"))
+                .when(transport).sendMessage(any(MimeMessage.class), any(Address[].class));
+
+        dispatcher.new Worker().drainOnce();
+
+        verify(emailOutboxJdbcRepository).markFailed(eq(rejected.getId()), anyString());
+        verify(emailOutboxJdbcRepository).markFailed(eq(exhausted.getId()), anyString());
+        verify(emailOutboxJdbcRepository, never()).markForRetry(any(), any(), any());
+        ArgumentCaptor<NotificationReceiptEvent> receipts = ArgumentCaptor.forClass(NotificationReceiptEvent.class);
+        verify(kafkaEventPublisher, times(2)).publishNotificationReceipt(receipts.capture());
+        assertThat(receipts.getAllValues()).extracting(NotificationReceiptEvent::getStatus)
+                .containsOnly(NotificationStatus.FAILED);
+    }
+
+    @Test
+    void drainOnce_ShouldNotReportEmailsWithoutNotification() throws MessagingException {
+        EmailOutboxMessage accountEmail = email(1);
+        accountEmail.setNotificationId(null);
+        when(emailOutboxJdbcRepository.claimDue(anyInt(), any(Duration.class))).thenReturn(List.of(accountEmail));
+
+        dispatcher.new Worker().drainOnce();
+
+        verify(emailOutboxJdbcRepository).markSent(accountEmail.getId());
+        verify(kafkaEventPublisher, never()).publishNotificationReceipt(any());
+    }
+
+    @Test
+    void backoff_ShouldDoubleUpToMaximum() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(dispatcher.backoff(4)).isEqualTo(Duration.ofSeconds(240));
+        assertThat(dispatcher.backoff(30)).isEqualTo(Duration.ofSeconds(3600));
+    }
+}
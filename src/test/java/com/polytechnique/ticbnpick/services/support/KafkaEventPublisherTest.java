@@ -0,0 +1,109 @@
+package com.polytechnique.ticbnpick.services.support;
+
+import com.polytechnique.ticbnpick.events.NotificationRequestedEvent;
+import com.polytechnique.ticbnpick.events.SubscriptionAttemptEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for KafkaEventPublisher.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class KafkaEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KafkaEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new KafkaEventPublisher(kafkaTemplate, meterRegistry);
+    }
+
+    private static SendResult<String, Object> acked(String topic, String key, Object event) {
+        return new SendResult<>(new ProducerRecord<>(topic, key, event),
+                new RecordMetadata(new TopicPartition(topic, 3), 42, 0, 0L, 0, 0));
+    }
+
+    @Test
+    void send_ShouldEmitTheAcknowledgementAndRecordLatency() {
+        Object event = new Object();
+        when(kafkaTemplate.send("announcement-published", "key", event))
+                .thenReturn(CompletableFuture.completedFuture(acked("announcement-published", "key", event)));
+
+        StepVerifier.create(publisher.send("announcement-published", "key", event))
+                .assertNext(result -> assertThat(result.getRecordMetadata().partition()).isEqualTo(3))
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("kafka.producer.send.latency").tag("topic", "announcement-published").timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void send_ShouldReportFailuresPerTopic() {
+        when(kafkaTemplate.send(eq("notification-requested"), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        StepVerifier.create(publisher.publishNotificationRequested(NotificationRequestedEvent.builder()
+                        .notificationId(UUID.randomUUID())
+                        .recipientId(UUID.randomUUID())
+                        .build()))
+                .verifyError(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("kafka.producer.send.errors").tag("topic", "notification-requested").counter()
+                .count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void send_ShouldReportSynchronousSendFailures() {
+        Object event = new Object();
+        when(kafkaTemplate.send("announcement-published", "key", event))
+                .thenThrow(new IllegalArgumentException("cannot serialize"));
+
+        StepVerifier.create(publisher.send("announcement-published", "key", event))
+                .verifyError(IllegalArgumentException.class);
+
+        assertThat(meterRegistry.get("kafka.producer.send.errors").tag("topic", "announcement-published").counter()
+                .count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void publishSubscriptionAttempt_ShouldSendKeyedByAnnouncement() {
+        UUID announcementId = UUID.randomUUID();
+        SubscriptionAttemptEvent event = new SubscriptionAttemptEvent();
+        event.setAnnouncementId(announcementId);
+        event.setDeliveryPersonId(UUID.randomUUID());
+        when(kafkaTemplate.send("subscription-attempts", announcementId.toString(), event))
+                .thenReturn(CompletableFuture.completedFuture(
+                        acked("subscription-attempts", announcementId.toString(), event)));
+
+        publisher.publishSubscriptionAttempt(event);
+
+        verify(kafkaTemplate).send("subscription-attempts", announcementId.toString(), event);
+    }
+}
@@ -0,0 +1,143 @@
+package com.polytechnique.ticbnpick.services.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polytechnique.ticbnpick.events.SubscriptionAttemptEvent;
+import com.polytechnique.ticbnpick.models.OutboxEvent;
+import com.polytechnique.ticbnpick.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for OutboxRelay.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    @Mock
+    private ReactiveTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getReactiveTransaction(any()))
+                .thenReturn(Mono.just(mock(ReactiveTransaction.class)));
+        lenient().when(transactionManager.commit(any())).thenReturn(Mono.empty());
+        lenient().when(transactionManager.rollback(any())).thenReturn(Mono.empty());
+        relay = new OutboxRelay(outboxEventRepository, kafkaEventPublisher, objectMapper, meterRegistry,
+                transactionManager);
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        relay.registerMetrics();
+    }
+
+    private OutboxEvent event(long id, UUID announcementId) throws Exception {
+        SubscriptionAttemptEvent payload = new SubscriptionAttemptEvent(announcementId, UUID.randomUUID(),
+                Instant.parse("2026-10-16T08:00:00Z"));
+        return new OutboxEvent(id, "subscription-attempts", announcementId.toString(),
+                SubscriptionAttemptEvent.class.getName(), objectMapper.writeValueAsString(payload), Instant.now());
+    }
+
+    @Test
+    void relayBatch_ShouldSendInIdOrderThenDelete() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(outboxEventRepository.tryLockRelay()).thenReturn(Mono.just(true));
+        when(outboxEventRepository.claimBatch(10)).thenReturn(Flux.just(event(1, first), event(2, second)));
+        when(kafkaEventPublisher.send(anyString(), anyString(), any())).thenReturn(Mono.empty());
+        when(outboxEventRepository.deleteAll(List.of(1L, 2L))).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(relay.relayBatch())
+                .expectNext(2)
+                .verifyComplete();
+
+        InOrder order = inOrder(kafkaEventPublisher, outboxEventRepository);
+        order.verify(kafkaEventPublisher).send(eq("subscription-attempts"), eq(first.toString()),
+                any(SubscriptionAttemptEvent.class));
+        order.verify(kafkaEventPublisher).send(eq("subscription-attempts"), eq(second.toString()),
+                any(SubscriptionAttemptEvent.class));
+        order.verify(outboxEventRepository).deleteAll(List.of(1L, 2L));
+        assertThat(meterRegistry.get("outbox.relay.published").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void drain_ShouldKeepTheBatchWhenASendFails() throws Exception {
+        when(outboxEventRepository.tryLockRelay()).thenReturn(Mono.just(true));
+        when(outboxEventRepository.claimBatch(10)).thenReturn(Flux.just(event(1, UUID.randomUUID())));
+        when(kafkaEventPublisher.send(anyString(), anyString(), any()))
+                .thenReturn(Mono.error(new IllegalStateException("broker down")));
+
+        StepVerifier.create(relay.drain()).verifyComplete();
+
+        verify(outboxEventRepository, never()).deleteAll(any());
+        verify(transactionManager).rollback(any());
+        assertThat(meterRegistry.get("outbox.relay.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void relayBatch_ShouldLeaveTheOutboxToTheRelayHoldingTheLock() {
+        when(outboxEventRepository.tryLockRelay()).thenReturn(Mono.just(false));
+
+        StepVerifier.create(relay.relayBatch())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(outboxEventRepository, never()).claimBatch(anyInt());
+    }
+
+    @Test
+    void relayBatch_ShouldDropUnreadableEvents() throws Exception {
+        UUID announcementId = UUID.randomUUID();
+        OutboxEvent unreadable = new OutboxEvent(1L, "subscription-attempts", "key", "java.lang.Runtime", "{}",
+                Instant.now());
+        when(outboxEventRepository.tryLockRelay()).thenReturn(Mono.just(true));
+        when(outboxEventRepository.claimBatch(10)).thenReturn(Flux.just(unreadable, event(2, announcementId)));
+        when(kafkaEventPublisher.send(anyString(), anyString(), any())).thenReturn(Mono.empty());
+        when(outboxEventRepository.deleteAll(List.of(1L, 2L))).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(relay.relayBatch())
+                .expectNext(2)
+                .verifyComplete();
+
+        verify(kafkaEventPublisher).send(eq("subscription-attempts"), eq(announcementId.toString()),
+                any(SubscriptionAttemptEvent.class));
+        verify(kafkaEventPublisher, never()).send(eq("subscription-attempts"), eq("key"), any());
+    }
+}
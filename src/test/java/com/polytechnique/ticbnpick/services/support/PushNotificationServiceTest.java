@@ -0,0 +1,142 @@
+package com.polytechnique.ticbnpick.services.support;
+
+import com.polytechnique.ticbnpick.repositories.DeviceTokenRepository;
+import com.polytechnique.ticbnpick.repositories.DeviceTokenRepository.RecipientToken;
+import com.polytechnique.ticbnpick.services.person.LecturePersonService;
+import com.polytechnique.ticbnpick.services.push.PushMessage;
+import com.polytechnique.ticbnpick.services.push.PushProvider;
+import com.polytechnique.ticbnpick.services.push.PushResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for PushNotificationService.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class PushNotificationServiceTest {
+
+    @Mock
+    private PushProvider pushProvider;
+
+    @Mock
+    private DeviceTokenRepository deviceTokenRepository;
+
+    @Mock
+    private LecturePersonService lecturePersonService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PushNotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(pushProvider.name()).thenReturn("test");
+        lenient().when(pushProvider.maxTokensPerCall()).thenReturn(2);
+        lenient().when(pushProvider.isRetryable(any())).thenReturn(true);
+        lenient().when(deviceTokenRepository.deleteTokens(anyCollection())).thenReturn(Mono.just(0L));
+        service = new PushNotificationService(pushProvider, deviceTokenRepository, lecturePersonService,
+                meterRegistry);
+        ReflectionTestUtils.setField(service, "callConcurrency", 4);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "initialBackoffMs", 1L);
+        service.registerMetrics();
+    }
+
+    private double tokens(String outcome) {
+        return meterRegistry.get("push.tokens").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void sendPushNotifications_ShouldMulticastInBatchesAndPruneInvalidTokens() {
+        List<UUID> users = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(deviceTokenRepository.findTokens(users)).thenReturn(Flux.just(new RecipientToken(users.get(0), "t1"),
+                new RecipientToken(users.get(0), "t2"), new RecipientToken(users.get(1), "t3")));
+        when(pushProvider.send(any(PushMessage.class), eq(List.of("t1", "t2"))))
+                .thenReturn(Mono.just(new PushResult(1, List.of("t2"), List.of())));
+        when(pushProvider.send(any(PushMessage.class), eq(List.of("t3"))))
+                .thenReturn(Mono.just(new PushResult(1, List.of(), List.of())));
+
+        StepVerifier.create(service.sendPushNotifications(users, "Nouvelle course", "Une course"))
+                .expectNext(Set.copyOf(users))
+                .verifyComplete();
+
+        verify(pushProvider, times(2)).send(any(PushMessage.class), anyList());
+        verify(deviceTokenRepository).deleteTokens(List.of("t2"));
+        assertThat(tokens("delivered")).isEqualTo(2);
+        assertThat(tokens("invalid")).isEqualTo(1);
+        assertThat(meterRegistry.get("push.provider.call.latency").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void sendPushNotifications_ShouldOnlyReturnRecipientsReachedOnSomeDevice() {
+        UUID reached = UUID.randomUUID();
+        UUID uninstalled = UUID.randomUUID();
+        List<UUID> users = List.of(reached, uninstalled);
+        when(deviceTokenRepository.findTokens(users)).thenReturn(Flux.just(new RecipientToken(reached, "t1"),
+                new RecipientToken(uninstalled, "t2")));
+        when(pushProvider.send(any(PushMessage.class), eq(List.of("t1", "t2"))))
+                .thenReturn(Mono.just(new PushResult(1, List.of("t2"), List.of())));
+
+        StepVerifier.create(service.sendPushNotifications(users, "Nouvelle course", "Une course"))
+                .expectNext(Set.of(reached))
+                .verifyComplete();
+    }
+
+    @Test
+    void sendPushNotifications_ShouldRetryOnlyFailedTokens() {
+        UUID user = UUID.randomUUID();
+        when(deviceTokenRepository.findTokens(List.of(user)))
+                .thenReturn(Flux.just(new RecipientToken(user, "t1"), new RecipientToken(user, "t2")));
+        when(pushProvider.send(any(PushMessage.class), eq(List.of("t1", "t2"))))
+                .thenReturn(Mono.just(new PushResult(1, List.of(), List.of("t2"))));
+        when(pushProvider.send(any(PushMessage.class), eq(List.of("t2"))))
+                .thenReturn(Mono.error(new IllegalStateException("unavailable")))
+                .thenReturn(Mono.just(new PushResult(1, List.of(), List.of())));
+
+        StepVerifier.create(service.sendPushNotification(user, "Nouvelle course", "Une course"))
+                .verifyComplete();
+
+        verify(pushProvider, times(2)).send(any(PushMessage.class), eq(List.of("t2")));
+        assertThat(tokens("delivered")).isEqualTo(2);
+        assertThat(tokens("failed")).isZero();
+    }
+
+    @Test
+    void sendPushNotifications_ShouldGiveUpAfterMaxAttempts() {
+        UUID user = UUID.randomUUID();
+        when(deviceTokenRepository.findTokens(List.of(user))).thenReturn(Flux.just(new RecipientToken(user, "t1")));
+        when(pushProvider.send(any(PushMessage.class), eq(List.of("t1"))))
+                .thenReturn(Mono.error(new IllegalStateException("unavailable")));
+
+        StepVerifier.create(service.sendPushNotification(user, "Nouvelle course", "Une course"))
+                .verifyComplete();
+
+        verify(pushProvider, times(3)).send(any(PushMessage.class), eq(List.of("t1")));
+        assertThat(tokens("failed")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.polytechnique.ticbnpick.websocket;
+
+import com.polytechnique.ticbnpick.dtos.websocket.CourierOutboundFrame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for CourierSessionRegistry.
+ *
+ * @author François-Charles ATANGA
+ * @date 16/10/2026
+ */
+class CourierSessionRegistryTest {
+
+    private final CourierSessionRegistry registry = new CourierSessionRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(registry, "outboundBuffer", 2);
+    }
+
+    private static CourierOutboundFrame offer() {
+        return CourierOutboundFrame.builder()
+                .type(CourierOutboundFrame.OFFER)
+                .announcementId(UUID.randomUUID())
+                .build();
+    }
+
+    @Test
+    void send_ShouldDeliverToConnectedCourier() {
+        UUID courier = UUID.randomUUID();
+        Sinks.Many<CourierOutboundFrame> sink = registry.register(courier);
+
+        assertThat(registry.send(courier, offer())).isTrue();
+        assertThat(registry.send(UUID.randomUUID(), offer())).isFalse();
+
+        registry.unregister(courier, sink);
+        StepVerifier.create(sink.asFlux()).expectNextCount(1).verifyComplete();
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void send_ShouldDropFramesWhenBufferIsFull() {
+        UUID courier = UUID.randomUUID();
+        registry.register(courier);
+
+        assertThat(registry.send(courier, offer())).isTrue();
+        assertThat(registry.send(courier, offer())).isTrue();
+        assertThat(registry.send(courier, offer())).isFalse();
+    }
+
+    @Test
+    void register_ShouldReplacePreviousConnection() {
+        UUID courier = UUID.randomUUID();
+        Sinks.Many<CourierOutboundFrame> first = registry.register(courier);
+        Sinks.Many<CourierOutboundFrame> second = registry.register(courier);
+
+        StepVerifier.create(first.asFlux()).verifyComplete();
+
+        // A late close of the first connection must not drop the second one
+        registry.unregister(courier, first);
+        assertThat(registry.send(courier, offer())).isTrue();
+        assertThat(registry.size()).isEqualTo(1);
+        second.tryEmitComplete();
+    }
+}